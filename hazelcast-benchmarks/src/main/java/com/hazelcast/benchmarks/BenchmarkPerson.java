@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+
+/**
+ * An {@link IdentifiedDataSerializable} value used by the benchmarks.
+ */
+public class BenchmarkPerson implements IdentifiedDataSerializable {
+
+    /**
+     * The id of the {@link DataSerializableFactory} creating BenchmarkPerson instances.
+     */
+    public static final int FACTORY_ID = 1000;
+
+    /**
+     * The id of the BenchmarkPerson class.
+     */
+    public static final int CLASS_ID = 1;
+
+    private String name;
+    private int age;
+    private long salary;
+
+    public BenchmarkPerson() {
+    }
+
+    public BenchmarkPerson(String name, int age, long salary) {
+        this.name = name;
+        this.age = age;
+        this.salary = salary;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public long getSalary() {
+        return salary;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return FACTORY_ID;
+    }
+
+    @Override
+    public int getId() {
+        return CLASS_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeInt(age);
+        out.writeLong(salary);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        age = in.readInt();
+        salary = in.readLong();
+    }
+
+    /**
+     * Creates the BenchmarkPerson instances during deserialization.
+     */
+    public static class Factory implements DataSerializableFactory {
+        @Override
+        public IdentifiedDataSerializable create(int typeId) {
+            return typeId == CLASS_ID ? new BenchmarkPerson() : null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.client.impl.protocol.util.SafeBuffer;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoding and decoding of a {@link ClientMessage} using the {@link MapPutCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClientMessageBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int valueSize;
+
+    private String name;
+    private Data key;
+    private Data value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        name = "map";
+        key = serializationService.toData("key");
+        value = serializationService.toData(new byte[valueSize]);
+
+        ClientMessage clientMessage = MapPutCodec.encodeRequest(name, key, value, 1, -1);
+        encoded = Arrays.copyOf(clientMessage.buffer().byteArray(), clientMessage.getFrameLength());
+    }
+
+    @Benchmark
+    public ClientMessage encodeRequest() {
+        return MapPutCodec.encodeRequest(name, key, value, 1, -1);
+    }
+
+    @Benchmark
+    public MapPutCodec.RequestParameters decodeRequest() {
+        ClientMessage clientMessage = ClientMessage.createForDecode(new SafeBuffer(encoded), 0);
+        return MapPutCodec.decodeRequest(clientMessage);
+    }
+}
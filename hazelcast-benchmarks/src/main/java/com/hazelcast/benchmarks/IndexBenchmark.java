@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.IndexImpl;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures inserting entries into and looking up entries in an {@link IndexImpl}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final int ENTRY_COUNT = 100000;
+    private static final int AGE_COUNT = 100;
+
+    @Param({"true", "false"})
+    public boolean ordered;
+
+    private SerializationService serializationService;
+    private IndexImpl index;
+    private QueryableEntry[] entries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        index = new IndexImpl("age", ordered, serializationService, Extractors.empty());
+        entries = new QueryableEntry[ENTRY_COUNT];
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = serializationService.toData(i);
+            BenchmarkPerson person = new BenchmarkPerson("name" + i, i % AGE_COUNT, i);
+            entries[i] = new QueryEntry(serializationService, key, person, Extractors.empty());
+            index.saveEntryIndex(entries[i], null);
+        }
+    }
+
+    @Benchmark
+    public void insert() {
+        // the entry is already indexed, so the index size stays the same
+        index.saveEntryIndex(nextEntry(), null);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> lookup_equal() {
+        return index.getRecords(next++ % AGE_COUNT);
+    }
+
+    @Benchmark
+    public Set<QueryableEntry> lookup_between() {
+        int from = next++ % AGE_COUNT;
+        return index.getSubRecordsBetween(from, from + 2);
+    }
+
+    private QueryableEntry nextEntry() {
+        return entries[next++ % ENTRY_COUNT];
+    }
+}
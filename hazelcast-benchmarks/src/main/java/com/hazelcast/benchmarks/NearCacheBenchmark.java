@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a get on a client side near cache where every get is a hit; so the remote call is never made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NearCacheBenchmark {
+
+    private static final String MAP_NAME = "nearCachedMap";
+    private static final int KEY_COUNT = 10000;
+
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+    private IMap<Integer, String> map;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        member = Hazelcast.newHazelcastInstance(config);
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig(new NearCacheConfig(MAP_NAME));
+        client = HazelcastClient.newHazelcastClient(clientConfig);
+
+        map = client.getMap(MAP_NAME);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+        // populate the near cache
+        for (int i = 0; i < KEY_COUNT; i++) {
+            map.get(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.shutdown();
+        member.shutdown();
+    }
+
+    @Benchmark
+    public String get() {
+        return map.get(next++ % KEY_COUNT);
+    }
+}
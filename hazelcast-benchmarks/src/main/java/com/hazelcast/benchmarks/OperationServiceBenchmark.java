@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.PartitionAwareOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.instance.TestUtil.getNode;
+
+/**
+ * Measures the round trip of a local partition invocation through the {@link OperationService}: scheduling on the
+ * partition thread, running the operation and completing the future with the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OperationServiceBenchmark {
+
+    private HazelcastInstance hz;
+    private OperationService operationService;
+    private int partitionCount;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Config config = new Config();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        hz = Hazelcast.newHazelcastInstance(config);
+        operationService = getNode(hz).nodeEngine.getOperationService();
+        partitionCount = hz.getPartitionService().getPartitions().size();
+    }
+
+    @TearDown
+    public void tearDown() {
+        hz.shutdown();
+    }
+
+    @Benchmark
+    public Object invokeOnPartition() {
+        int partitionId = next++ % partitionCount;
+        return operationService.invokeOnPartition(MapService.SERVICE_NAME, new ResponseOperation(), partitionId).getSafely();
+    }
+
+    private static class ResponseOperation extends AbstractOperation implements PartitionAwareOperation {
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public Object getResponse() {
+            return Boolean.TRUE;
+        }
+    }
+}
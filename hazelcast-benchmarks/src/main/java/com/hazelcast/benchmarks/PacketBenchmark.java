@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.nio.Packet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the framing of a {@link Packet}: writing it to and reading it from a {@link ByteBuffer}, as done by the
+ * member to member connections. The frame header only variant is what the gathering write path does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PacketBenchmark {
+
+    @Param({"64", "1024", "65536"})
+    public int payloadSize;
+
+    private byte[] payload;
+    private ByteBuffer buffer;
+    private ByteBuffer headerBuffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        payload = new byte[payloadSize];
+        buffer = ByteBuffer.allocate(payloadSize + Packet.FRAME_HEADER_SIZE);
+        headerBuffer = ByteBuffer.allocate(Packet.FRAME_HEADER_SIZE);
+
+        Packet packet = newPacket();
+        encoded = ByteBuffer.allocate(payloadSize + Packet.FRAME_HEADER_SIZE);
+        packet.writeTo(encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public boolean writeTo() {
+        buffer.clear();
+        return newPacket().writeTo(buffer);
+    }
+
+    @Benchmark
+    public ByteBuffer writeFrameHeader() {
+        headerBuffer.clear();
+        newPacket().writeFrameHeader(headerBuffer);
+        return ByteBuffer.wrap(payload);
+    }
+
+    @Benchmark
+    public Packet readFrom() {
+        encoded.rewind();
+        Packet packet = new Packet();
+        packet.readFrom(encoded);
+        return packet;
+    }
+
+    private Packet newPacket() {
+        Packet packet = new Packet(payload, 1);
+        packet.setHeader(Packet.HEADER_OP);
+        return packet;
+    }
+}
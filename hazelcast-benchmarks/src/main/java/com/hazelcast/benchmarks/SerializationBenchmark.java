@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization and deserialization by the {@link SerializationService} of a String, an
+ * {@link com.hazelcast.nio.serialization.IdentifiedDataSerializable} and a {@link com.hazelcast.nio.serialization.Portable}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private SerializationService serializationService;
+    private String string;
+    private BenchmarkPerson identified;
+    private PortableBenchmarkPerson portable;
+    private Data stringData;
+    private Data identifiedData;
+    private Data portableData;
+
+    @Setup
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder()
+                .addDataSerializableFactory(BenchmarkPerson.FACTORY_ID, new BenchmarkPerson.Factory())
+                .addPortableFactory(PortableBenchmarkPerson.FACTORY_ID, new PortableBenchmarkPerson.Factory())
+                .build();
+        string = "Lorem ipsum dolor sit amet, consectetur adipiscing elit";
+        identified = new BenchmarkPerson("John Doe", 42, 100000);
+        portable = new PortableBenchmarkPerson("John Doe", 42, 100000);
+        stringData = serializationService.toData(string);
+        identifiedData = serializationService.toData(identified);
+        portableData = serializationService.toData(portable);
+    }
+
+    @TearDown
+    public void tearDown() {
+        serializationService.destroy();
+    }
+
+    @Benchmark
+    public Data toData_string() {
+        return serializationService.toData(string);
+    }
+
+    @Benchmark
+    public Object toObject_string() {
+        return serializationService.toObject(stringData);
+    }
+
+    @Benchmark
+    public Data toData_identifiedDataSerializable() {
+        return serializationService.toData(identified);
+    }
+
+    @Benchmark
+    public Object toObject_identifiedDataSerializable() {
+        return serializationService.toObject(identifiedData);
+    }
+
+    @Benchmark
+    public Data toData_portable() {
+        return serializationService.toData(portable);
+    }
+
+    @Benchmark
+    public Object toObject_portable() {
+        return serializationService.toObject(portableData);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.strategy.DefaultPartitioningStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures put and get on the {@link StorageImpl} of a record store with the {@link InMemoryFormat#BINARY} format.
+ * <p/>
+ * Lives in the record store package since {@link StorageImpl} is package private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StorageBenchmark {
+
+    private static final int KEY_COUNT = 100000;
+
+    private StorageImpl<Record> storage;
+    private Data[] keys;
+    private Record[] records;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        DataRecordFactory recordFactory = new DataRecordFactory(new MapConfig("map"), serializationService,
+                new DefaultPartitioningStrategy());
+        storage = new StorageImpl(recordFactory, InMemoryFormat.BINARY);
+        keys = new Data[KEY_COUNT];
+        records = new Record[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = serializationService.toData(i);
+            records[i] = recordFactory.newRecord("value" + i);
+            storage.put(keys[i], records[i]);
+        }
+    }
+
+    @Benchmark
+    public void put() {
+        int index = next++ % KEY_COUNT;
+        storage.put(keys[index], records[index]);
+    }
+
+    @Benchmark
+    public Record get() {
+        return storage.get(keys[next++ % KEY_COUNT]);
+    }
+}
@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.util.Preconditions.checkHasText;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -78,6 +79,24 @@ public enum ClientProperty implements HazelcastProperty {
      */
     MAX_CONCURRENT_INVOCATIONS("hazelcast.client.max.concurrent.invocations", Integer.MAX_VALUE),
 
+    /**
+     * Enables the coalescing of outbound messages.
+     * <p/>
+     * If enabled, a connection with a partially filled write buffer waits up to
+     * {@link #IO_WRITE_COALESCING_DELAY_MICROS} for more messages before writing the buffer to the socket. This reduces
+     * the number of socket writes if many small messages are sent, e.g. by a stream of async map operations, at the
+     * price of some latency.
+     * <p/>
+     * Write coalescing is disabled by default.
+     */
+    IO_WRITE_COALESCING_ENABLED("hazelcast.client.io.write.coalescing.enabled", false),
+
+    /**
+     * The maximum time in microseconds a connection waits for more outbound messages before writing a partially
+     * filled buffer to the socket if {@link #IO_WRITE_COALESCING_ENABLED} is set.
+     */
+    IO_WRITE_COALESCING_DELAY_MICROS("hazelcast.client.io.write.coalescing.delay.micros", 50, MICROSECONDS),
+
     /**
      * <p>Enables the Discovery SPI lookup over the old native implementations. This property is temporary and will
      * eventually be removed when the experimental marker is removed.</p>
@@ -76,6 +76,12 @@ public abstract class AbstractClientSelectionHandler implements SelectionHandler
         }
     }
 
+    final void unregisterOp(final int operation) {
+        if (sk != null && sk.isValid()) {
+            sk.interestOps(sk.interestOps() & ~operation);
+        }
+    }
+
     public void register() {
         ioThread.addTaskAndWakeup(this);
     }
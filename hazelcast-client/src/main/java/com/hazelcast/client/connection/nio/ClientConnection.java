@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.connection.nio;
 
+import com.hazelcast.client.config.ClientProperties;
 import com.hazelcast.client.connection.ClientConnectionManager;
 import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
 import com.hazelcast.core.LifecycleService;
@@ -40,6 +41,8 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.hazelcast.client.config.ClientProperty.IO_WRITE_COALESCING_DELAY_MICROS;
+import static com.hazelcast.client.config.ClientProperty.IO_WRITE_COALESCING_ENABLED;
 import static com.hazelcast.util.StringUtil.stringToBytes;
 
 public class ClientConnection implements Connection, Closeable {
@@ -69,7 +72,8 @@ public class ClientConnection implements Connection, Closeable {
         this.socketChannelWrapper = socketChannelWrapper;
         this.connectionId = connectionId;
         this.readHandler = new ClientReadHandler(this, in, socket.getReceiveBufferSize());
-        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize());
+        this.writeHandler = new ClientWriteHandler(this, out, socket.getSendBufferSize(),
+                getWriteCoalescingDelayNanos(client.getClientProperties()), client.getClientExecutionService());
     }
 
     public ClientConnection(HazelcastClientInstanceImpl client,
@@ -83,6 +87,13 @@ public class ClientConnection implements Connection, Closeable {
         socketChannelWrapper = null;
     }
 
+    private static long getWriteCoalescingDelayNanos(ClientProperties clientProperties) {
+        if (!clientProperties.getBoolean(IO_WRITE_COALESCING_ENABLED)) {
+            return 0;
+        }
+        return clientProperties.getNanos(IO_WRITE_COALESCING_DELAY_MICROS);
+    }
+
     public void incrementPendingPacketCount() {
         pendingPacketCount.incrementAndGet();
     }
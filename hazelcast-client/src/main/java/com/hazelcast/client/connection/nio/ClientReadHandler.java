@@ -42,7 +42,7 @@ public class ClientReadHandler
             public void handleMessage(ClientMessage message) {
                 connectionManager.handleClientMessage(message, connection);
             }
-        });
+        }, ioThread.getClientBufferPool());
     }
 
     @Override
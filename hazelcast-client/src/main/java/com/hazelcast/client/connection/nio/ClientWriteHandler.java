@@ -17,6 +17,7 @@
 package com.hazelcast.client.connection.nio;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.spi.ClientExecutionService;
 import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.tcp.nonblocking.NonBlockingIOThread;
 import com.hazelcast.util.Clock;
@@ -26,8 +27,18 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SelectionKey;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Writes the {@link ClientMessage}s of a {@link ClientConnection} to its socket.
+ * <p/>
+ * All queued messages that fit into the buffer are written with a single socket write. If write coalescing is enabled,
+ * a partially filled buffer is held back up to the coalescing delay to pick up messages that are enqueued in the
+ * meantime. While the buffer is held back the handler is not registered for OP_WRITE, so the IO thread doesn't spin on
+ * the writable socket; it is registered again when a message is enqueued or when a flush task scheduled at the end of
+ * the coalescing delay runs.
+ */
 public class ClientWriteHandler extends AbstractClientSelectionHandler implements Runnable {
 
     private final Queue<ClientMessage> writeQueue = new ConcurrentLinkedQueue<ClientMessage>();
@@ -36,15 +47,42 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
 
     private final ByteBuffer buffer;
 
+    private final long coalescingDelayNanos;
+
+    private final ClientExecutionService executionService;
+
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            register();
+        }
+    };
+
     private boolean ready;
 
+    private boolean coalescing;
+
+    private long coalescingDeadlineNanos;
+
     private ClientMessage lastMessage;
 
     private volatile long lastHandle;
 
     public ClientWriteHandler(ClientConnection connection, NonBlockingIOThread ioThread, int bufferSize) {
+        this(connection, ioThread, bufferSize, 0, null);
+    }
+
+    /**
+     * @param coalescingDelayNanos the maximum time to wait for more messages before a partially filled buffer is
+     *                             written, 0 to disable write coalescing
+     * @param executionService     schedules the write of a held back buffer, may be null if write coalescing is disabled
+     */
+    public ClientWriteHandler(ClientConnection connection, NonBlockingIOThread ioThread, int bufferSize,
+                              long coalescingDelayNanos, ClientExecutionService executionService) {
         super(connection, ioThread);
-        buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.coalescingDelayNanos = coalescingDelayNanos;
+        this.executionService = executionService;
     }
 
     @Override
@@ -65,24 +103,25 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
 
         writeBuffer();
         ready = false;
-        registerWrite();
+        if (coalescing) {
+            unregisterOp(SelectionKey.OP_WRITE);
+        } else {
+            registerWrite();
+        }
     }
 
     private void writeBuffer() throws IOException {
-        while (buffer.hasRemaining() && lastMessage != null) {
-            boolean complete = lastMessage.writeTo(buffer);
-            if (complete) {
-                lastMessage = poll();
-            } else {
-                break;
-            }
-        }
+        fillBuffer();
 
         if (buffer.position() == 0) {
             // there is nothing to write, we are done
             return;
         }
 
+        if (holdBack()) {
+            return;
+        }
+
         buffer.flip();
         socketChannel.write(buffer);
 
@@ -93,6 +132,43 @@ public class ClientWriteHandler extends AbstractClientSelectionHandler implement
         }
     }
 
+    private void fillBuffer() {
+        while (buffer.hasRemaining() && lastMessage != null) {
+            boolean complete = lastMessage.writeTo(buffer);
+            if (complete) {
+                lastMessage = poll();
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Checks if the partially filled buffer should be held back to pick up more messages; that is as long as the buffer
+     * has room for them and the coalescing delay, which starts when the first message is held back, has not passed.
+     * When the delay starts, a flush task is scheduled to write the buffer once the delay has passed.
+     */
+    private boolean holdBack() {
+        if (coalescingDelayNanos == 0 || lastMessage != null || !buffer.hasRemaining()) {
+            coalescing = false;
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (!coalescing) {
+            coalescing = true;
+            coalescingDeadlineNanos = now + coalescingDelayNanos;
+            executionService.schedule(flushTask, coalescingDelayNanos, TimeUnit.NANOSECONDS);
+            return true;
+        }
+
+        if (now - coalescingDeadlineNanos < 0) {
+            return true;
+        }
+        coalescing = false;
+        return false;
+    }
+
     public void enqueue(OutboundFrame frame) {
         writeQueue.offer((ClientMessage) frame);
         if (informSelector.compareAndSet(true, false)) {
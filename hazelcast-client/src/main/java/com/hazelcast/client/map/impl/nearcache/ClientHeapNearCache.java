@@ -24,16 +24,12 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.nearcache.NearCacheRecord;
+import com.hazelcast.map.impl.nearcache.NearCacheRecordHashMap;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
-import java.util.Comparator;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -58,6 +54,11 @@ public class ClientHeapNearCache<K>
      */
     private static final int TTL_CLEANUP_INTERVAL_MILLS = 5000;
 
+    /**
+     * Initial capacity of the record map
+     */
+    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
+
     private final int maxSize;
     private final long maxIdleMillis;
     private final long timeToLiveMillis;
@@ -68,9 +69,8 @@ public class ClientHeapNearCache<K>
     private final ClientContext context;
     private final AtomicBoolean canCleanUp;
     private final AtomicBoolean canEvict;
-    private final ConcurrentMap<K, NearCacheRecord> cache;
+    private final NearCacheRecordHashMap<K> cache;
     private final NearCacheStatsImpl stats;
-    private final Comparator<NearCacheRecord> selectedComparator;
 
     private volatile long lastCleanup;
 
@@ -87,8 +87,7 @@ public class ClientHeapNearCache<K>
         timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         invalidateOnChange = nearCacheConfig.isInvalidateOnChange();
         evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        cache = new ConcurrentHashMap<K, NearCacheRecord>();
+        cache = new NearCacheRecordHashMap<K>(DEFAULT_INITIAL_CAPACITY);
         canCleanUp = new AtomicBoolean(true);
         canEvict = new AtomicBoolean(true);
         lastCleanup = Clock.currentTimeMillis();
@@ -127,16 +126,8 @@ public class ClientHeapNearCache<K>
                 executionService.executeInternal(new Runnable() {
                     public void run() {
                         try {
-                            Set<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
                             int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
+                            cache.evict(evictSize + 1, evictionPolicy, null);
                         } finally {
                             canEvict.set(true);
                         }
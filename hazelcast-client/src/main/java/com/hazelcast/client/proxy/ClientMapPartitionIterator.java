@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.proxy;
+
+import com.hazelcast.client.impl.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapFetchEntriesCodec;
+import com.hazelcast.client.impl.protocol.codec.MapFetchKeysCodec;
+import com.hazelcast.client.spi.ClientContext;
+import com.hazelcast.client.spi.impl.ClientInvocation;
+import com.hazelcast.map.impl.iterator.AbstractMapPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.util.ExceptionUtil;
+
+/**
+ * Iterates over the entries of a single map partition, by fetching batches of entries from the partition owner.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @see AbstractMapPartitionIterator
+ */
+public class ClientMapPartitionIterator<K, V> extends AbstractMapPartitionIterator<K, V> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+
+    public ClientMapPartitionIterator(ClientMapProxy<K, V> mapProxy, ClientContext context, int fetchSize,
+                                      int partitionId, boolean prefetchValues) {
+        super(mapProxy, context.getSerializationService(), fetchSize, partitionId, prefetchValues);
+        this.mapProxy = mapProxy;
+        this.context = context;
+    }
+
+    @Override
+    protected MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        ClientMessage request = MapFetchKeysCodec.encodeRequest(mapProxy.getName(), partitionId, tableIndex, size);
+        MapFetchKeysCodec.ResponseParameters responseParameters = MapFetchKeysCodec.decodeResponse(invoke(request));
+        return new MapKeysWithCursor(responseParameters.keys, responseParameters.tableIndex);
+    }
+
+    @Override
+    protected MapEntriesWithCursor fetchEntries(int tableIndex, int size) {
+        ClientMessage request = MapFetchEntriesCodec.encodeRequest(mapProxy.getName(), partitionId, tableIndex, size);
+        MapFetchEntriesCodec.ResponseParameters responseParameters = MapFetchEntriesCodec.decodeResponse(invoke(request));
+        return new MapEntriesWithCursor(responseParameters.entries, responseParameters.tableIndex);
+    }
+
+    private ClientMessage invoke(ClientMessage request) {
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        try {
+            return new ClientInvocation(client, request, partitionId).invoke().get();
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hazelcast.client.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.client.impl.ClientMessageDecoder;
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerCodec;
@@ -25,6 +26,7 @@ import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerWithPredicate
 import com.hazelcast.client.impl.protocol.codec.MapAddIndexCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddInterceptorCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddPartitionLostListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.MapAggregateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapClearCodec;
 import com.hazelcast.client.impl.protocol.codec.MapClearNearCacheCodec;
 import com.hazelcast.client.impl.protocol.codec.MapContainsKeyCodec;
@@ -52,6 +54,7 @@ import com.hazelcast.client.impl.protocol.codec.MapKeySetWithPredicateCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLoadAllCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLoadGivenKeysCodec;
 import com.hazelcast.client.impl.protocol.codec.MapLockCodec;
+import com.hazelcast.client.impl.protocol.codec.MapProjectCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutAllCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutIfAbsentCodec;
@@ -94,12 +97,18 @@ import com.hazelcast.core.IMapEvent;
 import com.hazelcast.core.MapEvent;
 import com.hazelcast.core.Member;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.BulkLoadSession;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
 import com.hazelcast.map.MapPartitionLostEvent;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.AbstractBulkLoadSession;
 import com.hazelcast.map.impl.DataAwareEntryEvent;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.PutAllFuture;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -117,8 +126,10 @@ import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.IterationType;
@@ -133,6 +144,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -143,6 +155,7 @@ import static com.hazelcast.cluster.memberselector.MemberSelectors.LITE_MEMBER_S
 import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
 import static com.hazelcast.map.impl.MapListenerFlagOperator.setAndGetListenerFlags;
 import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkTrue;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 import static java.util.Collections.emptyMap;
 
@@ -152,6 +165,8 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
     protected static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
     protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Aggregator should not be null!";
+    protected static final String NULL_PROJECTION_IS_NOT_ALLOWED = "Projection should not be null!";
 
 
     private static final ClientMessageDecoder getAsyncResponseDecoder = new ClientMessageDecoder() {
@@ -1177,6 +1192,28 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         throw new UnsupportedOperationException("Locality is ambiguous for client!!!");
     }
 
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        throw new UnsupportedOperationException("Query cache is not supported by client yet!");
+    }
+
+    /**
+     * Returns an iterator over the entries of the given partition, which fetches the entries in batches from the
+     * partition owner.
+     *
+     * @param fetchSize      the minimum number of entries to fetch per batch
+     * @param partitionId    the id of the partition to iterate over
+     * @param prefetchValues true if the values should be fetched together with the keys, false if the value of an
+     *                       entry should be retrieved when the entry is reached
+     * @return the iterator over the entries of the partition
+     * @see ClientMapPartitionIterator
+     */
+    public Iterator<Entry<K, V>> iterator(int fetchSize, int partitionId, boolean prefetchValues) {
+        int partitionCount = getContext().getPartitionService().getPartitionCount();
+        checkTrue(partitionId >= 0 && partitionId < partitionCount, "Invalid partition id!");
+        return new ClientMapPartitionIterator<K, V>(this, getContext(), fetchSize, partitionId, prefetchValues);
+    }
+
     @Override
     public void addIndex(String attribute, boolean ordered) {
         ClientMessage request = MapAddIndexCodec.encodeRequest(name, attribute, ordered);
@@ -1273,6 +1310,38 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         return prepareResult(resultParameters.response);
     }
 
+    @Override
+    public <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        ClientMessage request = MapAggregateCodec.encodeRequest(name, toData(aggregator), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapAggregateCodec.ResponseParameters resultParameters = MapAggregateCodec.decodeResponse(response);
+        return toObject(resultParameters.response);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection) {
+        return project(projection, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        ClientMessage request = MapProjectCodec.encodeRequest(name, toData(projection), toData(predicate));
+        ClientMessage response = invoke(request);
+        MapProjectCodec.ResponseParameters resultParameters = MapProjectCodec.decodeResponse(response);
+        return toObject(resultParameters.response);
+    }
+
     @Override
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
@@ -1351,6 +1420,29 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
     @Override
     public void putAll(Map<? extends K, ? extends V> m) {
+        putAllInternal(groupEntriesPerPartition(m));
+    }
+
+    @Override
+    public ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "Null map is not allowed!");
+
+        Map<Integer, List<Map.Entry<Data, Data>>> entryMap = groupEntriesPerPartition(m);
+        PutAllFuture future = new PutAllFuture(getContext().getExecutionService().getAsyncExecutor(),
+                Logger.getLogger(PutAllFuture.class), entryMap.size());
+        for (Entry<Integer, List<Map.Entry<Data, Data>>> entry : entryMap.entrySet()) {
+            ICompletableFuture partitionFuture = invokePutAll(entry.getKey(), entry.getValue());
+            partitionFuture.andThen(future);
+        }
+        return future;
+    }
+
+    @Override
+    public BulkLoadSession<K, V> newBulkLoadSession(int batchSize, int maxInFlightBatches) {
+        return new ClientMapBulkLoadSession(batchSize, maxInFlightBatches);
+    }
+
+    private Map<Integer, List<Map.Entry<Data, Data>>> groupEntriesPerPartition(Map<? extends K, ? extends V> m) {
         ClientPartitionService partitionService = getContext().getPartitionService();
         Map<Integer, List<Map.Entry<Data, Data>>> entryMap = new HashMap<Integer, List<Map.Entry<Data, Data>>>(partitionService.getPartitionCount());
 
@@ -1369,18 +1461,15 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
 
             partition.add(new AbstractMap.SimpleEntry<Data, Data>(keyData, toData(entry.getValue())));
         }
-
-        putAllInternal(entryMap);
+        return entryMap;
     }
 
     protected void putAllInternal(Map<Integer, List<Map.Entry<Data, Data>>> entryMap) {
         List<Future<?>> futures = new ArrayList<Future<?>>(entryMap.size());
         for (final Entry<Integer, List<Map.Entry<Data, Data>>> entry : entryMap.entrySet()) {
-            final Integer partitionId = entry.getKey();
             //If there is only one entry, consider how we can use MapPutRequest
             //without having to get back the return value.
-            ClientMessage request = MapPutAllCodec.encodeRequest(name, entry.getValue());
-            futures.add(new ClientInvocation(getClient(), request, partitionId).invoke());
+            futures.add(invokePutAll(entry.getKey(), entry.getValue()));
         }
 
         try {
@@ -1392,6 +1481,11 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
         }
     }
 
+    protected ClientInvocationFuture invokePutAll(int partitionId, Collection<Map.Entry<Data, Data>> entries) {
+        ClientMessage request = MapPutAllCodec.encodeRequest(name, entries);
+        return new ClientInvocation(getClient(), request, partitionId).invoke();
+    }
+
     @Override
     public void clear() {
         ClientMessage request = MapClearCodec.encodeRequest(name);
@@ -1507,4 +1601,31 @@ public class ClientMapProxy<K, V> extends ClientProxy implements IMap<K, V> {
             listener.partitionLost(new MapPartitionLostEvent(name, member, -1, partitionId));
         }
     }
+
+    private final class ClientMapBulkLoadSession extends AbstractBulkLoadSession<K, V> {
+
+        ClientMapBulkLoadSession(int batchSize, int maxInFlightBatches) {
+            super(getContext().getPartitionService().getPartitionCount(), batchSize, maxInFlightBatches);
+        }
+
+        @Override
+        protected Data toKeyData(K key) {
+            return toData(key);
+        }
+
+        @Override
+        protected Data toValueData(V value) {
+            return toData(value);
+        }
+
+        @Override
+        protected int getPartitionId(Data key) {
+            return getContext().getPartitionService().getPartitionId(key);
+        }
+
+        @Override
+        protected ICompletableFuture<?> invokePutAll(int partitionId, MapEntries entries) {
+            return ClientMapProxy.this.invokePutAll(partitionId, entries.entries());
+        }
+    }
 }
@@ -22,7 +22,6 @@ import com.hazelcast.client.spi.ClientProxy;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
-import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.ITopic;
 import com.hazelcast.core.Member;
 import com.hazelcast.core.Message;
@@ -33,7 +32,6 @@ import com.hazelcast.logging.Logger;
 import com.hazelcast.monitor.LocalTopicStats;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.ringbuffer.OverflowPolicy;
-import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.exception.DistributedObjectDestroyedException;
@@ -41,7 +39,9 @@ import com.hazelcast.topic.ReliableMessageListener;
 import com.hazelcast.topic.TopicOverloadException;
 import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
+import com.hazelcast.topic.impl.reliable.ReliableTopicBatch;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.ReliableTopicReader;
 import com.hazelcast.util.UuidUtil;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -64,6 +64,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     private final ClientReliableTopicConfig config;
     private final Executor executor;
     private final TopicOverloadPolicy overloadPolicy;
+    private final ReliableTopicReader reader;
 
     public ClientReliableTopicProxy(String objectId, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId);
@@ -73,6 +74,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         this.config = client.getClientConfig().getReliableTopicConfig(objectId);
         this.executor = getExecutor(config, client);
         this.overloadPolicy = config.getTopicOverloadPolicy();
+        this.reader = new ReliableTopicReader(ringbuffer, config.getReadBatchSize(), executor, serializationService);
     }
 
     private Executor getExecutor(ClientReliableTopicConfig config, HazelcastClientInstanceImpl client) {
@@ -185,7 +187,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         return "ITopic{" + "name='" + name + '\'' + '}';
     }
 
-    class MessageRunner implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+    class MessageRunner implements ExecutionCallback<ReliableTopicBatch> {
 
         final ReliableMessageListener<E> listener;
         private final String id;
@@ -209,26 +211,23 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
                 return;
             }
 
-            ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f
-                    = ringbuffer.readManyAsync(sequence, 1, config.getReadBatchSize(), null);
-            f.andThen(this, executor);
+            reader.read(sequence, this);
         }
 
         // This method is called from the provided executor.
         @Override
-        public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+        public void onResponse(ReliableTopicBatch batch) {
             // we process all messages in batch. So we don't release the thread and reschedule ourselves;
-            // but we'll process whatever was received in 1 go.
-            for (Object item : result) {
-                ReliableTopicMessage message = (ReliableTopicMessage) item;
-
+            // but we'll process whatever was received in 1 go. The batch can start before our sequence if it was
+            // read for another listener.
+            while (sequence < batch.nextSequence()) {
                 if (cancelled) {
                     return;
                 }
 
                 try {
                     listener.storeSequence(sequence);
-                    process(message);
+                    process(batch, sequence);
                 } catch (Throwable t) {
                     if (terminate(t)) {
                         cancel();
@@ -242,17 +241,18 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
             next();
         }
 
-        private void process(ReliableTopicMessage message) throws Throwable {
+        private void process(ReliableTopicBatch batch, long sequence) throws Throwable {
             //  proxy.localTopicStats.incrementReceives();
-            listener.onMessage(toMessage(message));
+            listener.onMessage(toMessage(batch, sequence));
         }
 
-        private Message<E> toMessage(ReliableTopicMessage m) {
+        private Message<E> toMessage(ReliableTopicBatch batch, long sequence) {
+            ReliableTopicMessage m = batch.getMessage(sequence);
             Member member = null;
             if (m.getPublisherAddress() != null) {
                 member = new com.hazelcast.client.impl.MemberImpl(m.getPublisherAddress());
             }
-            E payload = serializationService.toObject(m.getPayload());
+            E payload = batch.getPayload(sequence);
             return new Message<E>(name, payload, m.getPublishTime(), member);
         }
 
@@ -24,6 +24,7 @@ import com.hazelcast.client.impl.protocol.codec.MapRemoveCodec;
 import com.hazelcast.client.impl.protocol.codec.MapRemoveEntryListenerCodec;
 import com.hazelcast.client.map.impl.nearcache.ClientHeapNearCache;
 import com.hazelcast.client.spi.EventHandler;
+import com.hazelcast.client.spi.impl.ClientInvocationFuture;
 import com.hazelcast.client.spi.impl.ListenerMessageCodec;
 import com.hazelcast.client.util.ClientDelegatingFuture;
 import com.hazelcast.config.NearCacheConfig;
@@ -306,13 +307,11 @@ public class NearCachedClientMapProxy<K, V> extends ClientMapProxy<K, V> {
     }
 
     @Override
-    protected void putAllInternal(Map<Integer, List<Map.Entry<Data, Data>>> entryMap) {
-        for (List<Entry<Data, Data>> entries : entryMap.values()) {
-            for (Entry<Data, Data> entry : entries) {
-                invalidateNearCache(entry.getKey());
-            }
+    protected ClientInvocationFuture invokePutAll(int partitionId, Collection<Map.Entry<Data, Data>> entries) {
+        for (Entry<Data, Data> entry : entries) {
+            invalidateNearCache(entry.getKey());
         }
-        super.putAllInternal(entryMap);
+        return super.invokePutAll(partitionId, entries);
     }
 
     @Override
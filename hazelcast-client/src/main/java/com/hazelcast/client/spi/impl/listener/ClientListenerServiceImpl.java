@@ -111,6 +111,8 @@ public abstract class ClientListenerServiceImpl implements ClientListenerService
 
                 eventHandler.handle(clientMessage);
             } finally {
+                // an event is decoded by its handler and not accessed afterwards, so its buffer can be returned to the pool
+                clientMessage.release();
                 connection.decrementPendingPacketCount();
             }
 
@@ -167,6 +167,9 @@ public class ClientDelegatingFuture<V> implements ICompletableFuture<V> {
     }
 
     private Object resolveMessageToValue(ClientMessage message) {
+        // a message can be decoded more than once, e.g. when the decoded response is null; so decoding starts from the
+        // beginning of the payload instead of the index left behind by a previous decode
+        message.index(message.getDataOffset());
         return clientMessageDecoder.decodeClientMessage(message);
     }
 
@@ -0,0 +1,78 @@
+package com.hazelcast.client.connection.nio;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.config.ClientProperty;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.core.Pipelining;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientWriteCoalescingTest extends HazelcastTestSupport {
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        Hazelcast.newHazelcastInstance(new Config());
+
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(ClientProperty.IO_WRITE_COALESCING_ENABLED.getName(), "true");
+        clientConfig.setProperty(ClientProperty.IO_WRITE_COALESCING_DELAY_MICROS.getName(), "200");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void syncCalls() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void pipelinedCalls() throws Exception {
+        Pipelining<Integer> putPipelining = new Pipelining<Integer>(50);
+        for (int i = 0; i < 10000; i++) {
+            putPipelining.add((ICompletableFuture<Integer>) map.putAsync(i, i));
+        }
+        putPipelining.results();
+
+        Pipelining<Integer> getPipelining = new Pipelining<Integer>(50);
+        for (int i = 0; i < 10000; i++) {
+            getPipelining.add((ICompletableFuture<Integer>) map.getAsync(i));
+        }
+        List<Integer> results = getPipelining.results();
+
+        assertEquals(10000, results.size());
+        for (int i = 0; i < 10000; i++) {
+            assertEquals(i, (int) results.get(i));
+        }
+    }
+}
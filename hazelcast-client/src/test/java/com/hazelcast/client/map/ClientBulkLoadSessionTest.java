@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.BulkLoadSession;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientBulkLoadSessionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private final TestHazelcastFactory hazelcastFactory = new TestHazelcastFactory();
+    private HazelcastInstance client;
+
+    @Before
+    public void setup() {
+        hazelcastFactory.newHazelcastInstance(getConfig());
+        hazelcastFactory.newHazelcastInstance(getConfig());
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.addNearCacheConfig(new NearCacheConfig("nearCached*"));
+        client = hazelcastFactory.newHazelcastClient(clientConfig);
+    }
+
+    @After
+    public void tearDown() {
+        hazelcastFactory.terminateAll();
+    }
+
+    @Test
+    public void putAllAsync() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        ICompletableFuture<Void> future = map.putAllAsync(entries(ENTRY_COUNT, 0));
+
+        assertNull(future.get());
+        assertEntries(map, ENTRY_COUNT, 0);
+    }
+
+    @Test
+    public void session() throws Exception {
+        IMap<Integer, Integer> map = client.getMap(randomMapName());
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(10, 2);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            session.add(i, i);
+        }
+        session.close();
+
+        assertEquals(ENTRY_COUNT, session.getAddedCount());
+        assertEntries(map, ENTRY_COUNT, 0);
+    }
+
+    @Test
+    public void session_invalidatesNearCache() throws Exception {
+        IMap<Integer, Integer> map = client.getMap("nearCached" + randomMapName());
+        map.putAll(entries(ENTRY_COUNT, 0));
+        // populate the near cache
+        assertEntries(map, ENTRY_COUNT, 0);
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(10, 4);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            session.add(i, i + 1);
+        }
+        session.close();
+
+        assertEntries(map, ENTRY_COUNT, 1);
+    }
+
+    private static Map<Integer, Integer> entries(int count, int valueOffset) {
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int i = 0; i < count; i++) {
+            entries.put(i, i + valueOffset);
+        }
+        return entries;
+    }
+
+    private static void assertEntries(IMap<Integer, Integer> map, int count, int valueOffset) {
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i + valueOffset), map.get(i));
+        }
+    }
+}
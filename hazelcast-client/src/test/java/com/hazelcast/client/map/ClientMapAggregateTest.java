@@ -0,0 +1,73 @@
+package com.hazelcast.client.map;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomMapName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapAggregateTest {
+
+    private TestHazelcastFactory factory;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance(new Config().setLiteMember(true));
+        HazelcastInstance client = factory.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenAggregatorNull() {
+        map.aggregate(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPagingPredicate() {
+        map.aggregate(Aggregators.count(), new PagingPredicate(10));
+    }
+
+    @Test
+    public void whenMapEmpty() {
+        assertEquals(Long.valueOf(0), map.aggregate(Aggregators.count()));
+        assertNull(map.aggregate(Aggregators.longMax()));
+    }
+
+    @Test
+    public void aggregate() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.count()));
+        assertEquals(Long.valueOf(4950), map.aggregate(Aggregators.longSum()));
+        assertEquals(Long.valueOf(945), map.aggregate(Aggregators.longSum(), new SqlPredicate("this >= 90")));
+        assertEquals(Integer.valueOf(9), map.aggregate(Aggregators.<Integer>comparableMax(), new SqlPredicate("this < 10")));
+    }
+}
@@ -0,0 +1,90 @@
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.proxy.ClientMapProxy;
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomMapName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapPartitionIteratorTest {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private TestHazelcastFactory factory;
+
+    private ClientMapProxy<Integer, String> map;
+
+    private int partitionCount;
+
+    @Before
+    public void setUp() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        HazelcastInstance client = factory.newHazelcastClient();
+        map = (ClientMapProxy<Integer, String>) client.<Integer, String>getMap(randomMapName());
+        partitionCount = client.getPartitionService().getPartitions().size();
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPartitionIdInvalid() {
+        map.iterator(10, partitionCount, false);
+    }
+
+    @Test
+    public void whenMapEmpty() {
+        assertFalse(map.iterator(10, 0, true).hasNext());
+    }
+
+    @Test
+    public void iterator_whenKeysAreFetched() {
+        assertAllEntriesReturned(false);
+    }
+
+    @Test
+    public void iterator_whenValuesArePrefetched() {
+        assertAllEntriesReturned(true);
+    }
+
+    private void assertAllEntriesReturned(boolean prefetchValues) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+
+        Map<Integer, String> entries = new HashMap<Integer, String>();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            Iterator<Map.Entry<Integer, String>> iterator = map.iterator(7, partitionId, prefetchValues);
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                assertNull("Entry returned twice: " + entry, entries.put(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        assertEquals(ENTRY_COUNT, entries.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, entries.get(i));
+        }
+    }
+}
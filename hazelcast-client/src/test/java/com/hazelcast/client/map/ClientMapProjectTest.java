@@ -0,0 +1,77 @@
+package com.hazelcast.client.map;
+
+import com.hazelcast.client.test.TestHazelcastFactory;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+
+import static com.hazelcast.test.HazelcastTestSupport.randomMapName;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientMapProjectTest {
+
+    private TestHazelcastFactory factory;
+
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void setUp() {
+        factory = new TestHazelcastFactory();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance();
+        factory.newHazelcastInstance(new Config().setLiteMember(true));
+        HazelcastInstance client = factory.newHazelcastClient();
+        map = client.getMap(randomMapName());
+    }
+
+    @After
+    public void tearDown() {
+        factory.terminateAll();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenProjectionNull() {
+        map.project(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPagingPredicate() {
+        map.project(Projections.singleAttribute("this"), new PagingPredicate(10));
+    }
+
+    @Test
+    public void whenMapEmpty() {
+        assertTrue(map.project(Projections.singleAttribute("this")).isEmpty());
+    }
+
+    @Test
+    public void project() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        Collection<Integer> keys = map.project(Projections.<Integer>singleAttribute("__key"), new SqlPredicate("this >= 90"));
+        Collection<Object[]> rows = map.project(Projections.multiAttribute("__key", "this"), new SqlPredicate("this = 5"));
+
+        assertEquals(10, keys.size());
+        assertEquals(1, rows.size());
+        assertArrayEquals(new Object[]{5, 5}, rows.iterator().next());
+    }
+}
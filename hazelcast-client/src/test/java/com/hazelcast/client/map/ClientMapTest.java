@@ -42,6 +42,7 @@ import com.hazelcast.nio.serialization.PortableFactory;
 import com.hazelcast.nio.serialization.TestSerializationConstants;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.TruePredicate;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -847,6 +848,13 @@ public class ClientMapTest extends HazelcastTestSupport {
         assertOpenEventually(latch, 10);
     }
 
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetQueryCache_notSupported() {
+        IMap<String, String> map = createMap();
+
+        map.getQueryCache("cache", TruePredicate.INSTANCE, true);
+    }
+
     private <K, V> IMap<K, V> createMap() {
         return client.getMap(randomString());
     }
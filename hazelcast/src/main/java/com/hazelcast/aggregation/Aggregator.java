@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import java.io.Serializable;
+
+/**
+ * Aggregates the entries of a map into a single result, e.g. the sum of an attribute of all entries matching a
+ * predicate.
+ * <p/>
+ * An aggregation is executed in 3 phases:
+ * <ol>
+ * <li>accumulation: on each member, a copy of the aggregator accumulates the entries of the partitions owned by that
+ * member; the input is the entry, which can also be used as an {@link com.hazelcast.query.impl.Extractable}.</li>
+ * <li>combination: on the caller, the aggregators returned by the members are combined into a single one.</li>
+ * <li>aggregation: the combined aggregator calculates the result.</li>
+ * </ol>
+ * Because the aggregator is serialized to the members and back, the aggregator needs to be serializable. The instance
+ * passed to {@link com.hazelcast.core.IMap#aggregate(Aggregator)} isn't modified.
+ * <p/>
+ * A set of predefined aggregators can be found in {@link Aggregators}.
+ *
+ * @param <I> the type of the input
+ * @param <R> the type of the result
+ */
+public abstract class Aggregator<I, R> implements Serializable {
+
+    /**
+     * Accumulates the given input. This method is called once per entry on the member owning the entry.
+     *
+     * @param input the input to accumulate
+     */
+    public abstract void accumulate(I input);
+
+    /**
+     * Combines the state of the given aggregator, which has been accumulated on a different member, into this one.
+     *
+     * @param aggregator the aggregator to combine, an instance of the same class as this aggregator
+     */
+    public abstract void combine(Aggregator aggregator);
+
+    /**
+     * Calculates the result of the aggregation. This method is called once on the caller, after all aggregators
+     * have been combined.
+     *
+     * @return the result of the aggregation
+     */
+    public abstract R aggregate();
+}
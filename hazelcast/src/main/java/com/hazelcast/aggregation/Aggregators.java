@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.aggregation.impl.ComparableMaxAggregator;
+import com.hazelcast.aggregation.impl.ComparableMinAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
+import com.hazelcast.aggregation.impl.DistinctValuesAggregator;
+import com.hazelcast.aggregation.impl.DoubleAverageAggregator;
+import com.hazelcast.aggregation.impl.DoubleMaxAggregator;
+import com.hazelcast.aggregation.impl.DoubleMinAggregator;
+import com.hazelcast.aggregation.impl.DoubleSumAggregator;
+import com.hazelcast.aggregation.impl.LongAverageAggregator;
+import com.hazelcast.aggregation.impl.LongMaxAggregator;
+import com.hazelcast.aggregation.impl.LongMinAggregator;
+import com.hazelcast.aggregation.impl.LongSumAggregator;
+
+import java.util.Set;
+
+/**
+ * Factory for the predefined {@link Aggregator}s.
+ * <p/>
+ * The methods without an attribute path aggregate the values of the entries; the methods with an attribute path
+ * aggregate the attribute at that path, e.g. {@code "price"} or {@code "orders[any].price"}, in the same way as
+ * attributes are extracted for predicates. Null values are skipped.
+ * <p/>
+ * The long aggregators accumulate into primitive longs and accept any integral {@link Number}; the double aggregators
+ * accumulate into primitive doubles and accept any {@link Number}.
+ */
+public final class Aggregators {
+
+    private Aggregators() {
+    }
+
+    /**
+     * @return an aggregator counting the entries
+     */
+    public static Aggregator<Object, Long> count() {
+        return new CountAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator counting the non-null attribute values
+     */
+    public static Aggregator<Object, Long> count(String attributePath) {
+        return new CountAggregator(attributePath);
+    }
+
+    /**
+     * @param <R> the type of the values
+     * @return an aggregator collecting the distinct values
+     */
+    public static <R> Aggregator<Object, Set<R>> distinct() {
+        return new DistinctValuesAggregator<R>();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @param <R>           the type of the attribute
+     * @return an aggregator collecting the distinct attribute values
+     */
+    public static <R> Aggregator<Object, Set<R>> distinct(String attributePath) {
+        return new DistinctValuesAggregator<R>(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the sum of the values
+     */
+    public static Aggregator<Object, Long> longSum() {
+        return new LongSumAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator calculating the sum of the attribute values
+     */
+    public static Aggregator<Object, Long> longSum(String attributePath) {
+        return new LongSumAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the sum of the values
+     */
+    public static Aggregator<Object, Double> doubleSum() {
+        return new DoubleSumAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator calculating the sum of the attribute values
+     */
+    public static Aggregator<Object, Double> doubleSum(String attributePath) {
+        return new DoubleSumAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the average of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> longAvg() {
+        return new LongAverageAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator calculating the average of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> longAvg(String attributePath) {
+        return new LongAverageAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator calculating the average of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleAvg() {
+        return new DoubleAverageAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator calculating the average of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleAvg(String attributePath) {
+        return new DoubleAverageAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator finding the minimum of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Long> longMin() {
+        return new LongMinAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator finding the minimum of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Long> longMin(String attributePath) {
+        return new LongMinAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator finding the maximum of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Long> longMax() {
+        return new LongMaxAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator finding the maximum of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Long> longMax(String attributePath) {
+        return new LongMaxAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator finding the minimum of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleMin() {
+        return new DoubleMinAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator finding the minimum of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleMin(String attributePath) {
+        return new DoubleMinAggregator(attributePath);
+    }
+
+    /**
+     * @return an aggregator finding the maximum of the values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleMax() {
+        return new DoubleMaxAggregator();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @return an aggregator finding the maximum of the attribute values, or null if there are no values
+     */
+    public static Aggregator<Object, Double> doubleMax(String attributePath) {
+        return new DoubleMaxAggregator(attributePath);
+    }
+
+    /**
+     * @param <R> the type of the values
+     * @return an aggregator finding the minimum of the values, or null if there are no values
+     */
+    public static <R extends Comparable> Aggregator<Object, R> comparableMin() {
+        return new ComparableMinAggregator<R>();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @param <R>           the type of the attribute
+     * @return an aggregator finding the minimum of the attribute values, or null if there are no values
+     */
+    public static <R extends Comparable> Aggregator<Object, R> comparableMin(String attributePath) {
+        return new ComparableMinAggregator<R>(attributePath);
+    }
+
+    /**
+     * @param <R> the type of the values
+     * @return an aggregator finding the maximum of the values, or null if there are no values
+     */
+    public static <R extends Comparable> Aggregator<Object, R> comparableMax() {
+        return new ComparableMaxAggregator<R>();
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @param <R>           the type of the attribute
+     * @return an aggregator finding the maximum of the attribute values, or null if there are no values
+     */
+    public static <R extends Comparable> Aggregator<Object, R> comparableMax(String attributePath) {
+        return new ComparableMaxAggregator<R>(attributePath);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.Map;
+
+/**
+ * Base class for the predefined aggregators. Extracts the value to aggregate from the input: the attribute at the
+ * attribute path if one is given, else the value of the entry. Null values are skipped; the values of a
+ * {@link MultiResult}, e.g. of an attribute path with the {@code [any]} operator, are aggregated one by one.
+ *
+ * @param <R> the type of the result
+ */
+public abstract class AbstractAggregator<R> extends Aggregator<Object, R> {
+
+    private final String attributePath;
+
+    protected AbstractAggregator() {
+        this(null);
+    }
+
+    protected AbstractAggregator(String attributePath) {
+        this.attributePath = attributePath;
+    }
+
+    @Override
+    public final void accumulate(Object input) {
+        Object value = extract(input);
+        if (value instanceof MultiResult) {
+            for (Object result : ((MultiResult) value).getResults()) {
+                if (result != null) {
+                    accumulateExtracted(result);
+                }
+            }
+        } else if (value != null) {
+            accumulateExtracted(value);
+        }
+    }
+
+    /**
+     * Accumulates a non-null value extracted from the input.
+     *
+     * @param value the extracted value
+     */
+    protected abstract void accumulateExtracted(Object value);
+
+    private Object extract(Object input) {
+        if (attributePath == null) {
+            return input instanceof Map.Entry ? ((Map.Entry) input).getValue() : input;
+        }
+        if (input instanceof Extractable) {
+            return ((Extractable) input).getAttributeValue(attributePath);
+        }
+        throw new IllegalArgumentException("Can't extract attribute '" + attributePath + "' from " + input);
+    }
+}
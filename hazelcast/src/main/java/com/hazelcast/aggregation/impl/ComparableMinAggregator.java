@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Finds the minimum of comparable values. The result is null if there are no values.
+ *
+ * @param <R> the type of the values
+ */
+public final class ComparableMinAggregator<R extends Comparable> extends AbstractAggregator<R> {
+
+    private R min;
+
+    public ComparableMinAggregator() {
+    }
+
+    public ComparableMinAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void accumulateExtracted(Object value) {
+        accumulate((R) value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void accumulate(R value) {
+        if (min == null || value.compareTo(min) < 0) {
+            min = value;
+        }
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        R other = ((ComparableMinAggregator<R>) aggregator).min;
+        if (other != null) {
+            accumulate(other);
+        }
+    }
+
+    @Override
+    public R aggregate() {
+        return min;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Counts the entries, or the non-null attribute values if an attribute path is given.
+ */
+public final class CountAggregator extends AbstractAggregator<Long> {
+
+    private long count;
+
+    public CountAggregator() {
+    }
+
+    public CountAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateExtracted(Object value) {
+        count++;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        count += ((CountAggregator) aggregator).count;
+    }
+
+    @Override
+    public Long aggregate() {
+        return count;
+    }
+}
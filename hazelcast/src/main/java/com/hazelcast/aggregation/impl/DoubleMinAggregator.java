@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Finds the minimum of numeric values. The result is null if there are no values.
+ */
+public final class DoubleMinAggregator extends AbstractAggregator<Double> {
+
+    private double min = Double.POSITIVE_INFINITY;
+    private boolean found;
+
+    public DoubleMinAggregator() {
+    }
+
+    public DoubleMinAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateExtracted(Object value) {
+        accumulate(((Number) value).doubleValue());
+    }
+
+    private void accumulate(double value) {
+        if (value < min) {
+            min = value;
+        }
+        found = true;
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        DoubleMinAggregator other = (DoubleMinAggregator) aggregator;
+        if (other.found) {
+            accumulate(other.min);
+        }
+    }
+
+    @Override
+    public Double aggregate() {
+        return found ? min : null;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.aggregation.Aggregator;
+
+/**
+ * Sums numeric values into a double.
+ */
+public final class DoubleSumAggregator extends AbstractAggregator<Double> {
+
+    private double sum;
+
+    public DoubleSumAggregator() {
+    }
+
+    public DoubleSumAggregator(String attributePath) {
+        super(attributePath);
+    }
+
+    @Override
+    protected void accumulateExtracted(Object value) {
+        sum += ((Number) value).doubleValue();
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        sum += ((DoubleSumAggregator) aggregator).sum;
+    }
+
+    @Override
+    public Double aggregate() {
+        return sum;
+    }
+}
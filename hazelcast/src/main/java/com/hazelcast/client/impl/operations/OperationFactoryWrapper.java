@@ -43,6 +43,10 @@ public final class OperationFactoryWrapper implements OperationFactory {
         return op;
     }
 
+    public OperationFactory getOperationFactory() {
+        return opFactory;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeUTF(uuid);
@@ -18,6 +18,7 @@ package com.hazelcast.client.impl.protocol;
 
 import com.hazelcast.client.impl.protocol.exception.MaxMessageSizeExceeded;
 import com.hazelcast.client.impl.protocol.util.ClientProtocolBuffer;
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.client.impl.protocol.util.MessageFlyweight;
 import com.hazelcast.client.impl.protocol.util.SafeBuffer;
 import com.hazelcast.client.impl.protocol.util.UnsafeBuffer;
@@ -114,6 +115,7 @@ public class ClientMessage
 
     private transient int writeOffset;
     private transient boolean isRetryable;
+    private transient ClientProtocolBufferPool bufferPool;
 
     public ClientMessage() {
     }
@@ -130,6 +132,25 @@ public class ClientMessage
         return clientMessage;
     }
 
+    /**
+     * Creates a ClientMessage, to read a message into, whose buffer is acquired from the given pool. Once the message
+     * isn't needed anymore, its buffer should be returned to the pool with {@link #release()}.
+     *
+     * @param bufferPool the pool to acquire the buffer from
+     * @return the created ClientMessage
+     */
+    public static ClientMessage create(ClientProtocolBufferPool bufferPool) {
+        final ClientMessage clientMessage = new ClientMessage();
+        byte[] array = bufferPool.acquire(INITIAL_BUFFER_SIZE);
+        if (USE_UNSAFE) {
+            clientMessage.wrap(new UnsafeBuffer(array), 0);
+        } else {
+            clientMessage.wrap(new SafeBuffer(array), 0);
+        }
+        clientMessage.bufferPool = bufferPool;
+        return clientMessage;
+    }
+
     public static ClientMessage createForEncode(int initialCapacity) {
         initialCapacity = findSuitableMessageSize(initialCapacity);
         if (USE_UNSAFE) {
@@ -416,6 +437,19 @@ public class ClientMessage
         return false;
     }
 
+    /**
+     * Returns the buffer of this message to the pool it was acquired from. The message should not be accessed after it
+     * has been released. If the buffer isn't pooled, the call is ignored.
+     */
+    public void release() {
+        ClientProtocolBufferPool pool = bufferPool;
+        if (pool == null) {
+            return;
+        }
+        bufferPool = null;
+        pool.release(buffer.byteArray());
+    }
+
     public void setRetryable(boolean isRetryable) {
         this.isRetryable = isRetryable;
     }
@@ -446,8 +480,15 @@ public class ClientMessage
         int capacity = buffer.capacity() > 0 ? buffer.capacity() : 1;
         if (requiredCapacity > capacity) {
             int newCapacity = findSuitableMessageSize(requiredCapacity);
-            byte[] newBuffer = Arrays.copyOf(buffer.byteArray(), newCapacity);
-            buffer.wrap(newBuffer);
+            byte[] oldBuffer = buffer.byteArray();
+            if (bufferPool == null) {
+                buffer.wrap(Arrays.copyOf(oldBuffer, newCapacity));
+            } else {
+                byte[] newBuffer = bufferPool.acquire(newCapacity);
+                System.arraycopy(oldBuffer, 0, newBuffer, 0, oldBuffer.length);
+                buffer.wrap(newBuffer);
+                bufferPool.release(oldBuffer);
+            }
         }
     }
 }
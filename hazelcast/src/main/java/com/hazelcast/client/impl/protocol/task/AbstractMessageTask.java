@@ -54,9 +54,14 @@ public abstract class AbstractMessageTask<P>
     protected P parameters;
 
     private final Node node;
+    // the message is released once it is processed; so the header fields needed afterwards are read up front
+    private final long correlationId;
+    private final int partitionId;
 
     protected AbstractMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
         this.clientMessage = clientMessage;
+        this.correlationId = clientMessage.getCorrelationId();
+        this.partitionId = clientMessage.getPartitionId();
         this.logger = node.getLogger(getClass());
         this.node = node;
         this.nodeEngine = node.nodeEngine;
@@ -82,7 +87,7 @@ public abstract class AbstractMessageTask<P>
 
     @Override
     public int getPartitionId() {
-        return clientMessage.getPartitionId();
+        return partitionId;
     }
 
     @Override
@@ -100,6 +105,9 @@ public abstract class AbstractMessageTask<P>
 
         } catch (Throwable e) {
             handleProcessingFailure(e);
+        } finally {
+            // the decoded parameters don't share the buffer of the message, so it can be returned to its pool
+            clientMessage.release();
         }
     }
 
@@ -197,7 +205,7 @@ public abstract class AbstractMessageTask<P>
     }
 
     protected void sendClientMessage(ClientMessage resultClientMessage) {
-        resultClientMessage.setCorrelationId(clientMessage.getCorrelationId());
+        resultClientMessage.setCorrelationId(correlationId);
         resultClientMessage.addFlag(ClientMessage.BEGIN_AND_END_FLAGS);
         resultClientMessage.setVersion(ClientMessage.VERSION);
         final Connection connection = endpoint.getConnection();
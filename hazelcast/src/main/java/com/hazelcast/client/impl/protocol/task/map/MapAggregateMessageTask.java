@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.task.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapAggregateCodec;
+import com.hazelcast.client.impl.protocol.task.AbstractCallableMessageTask;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.query.MapAggregationEngine;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.security.permission.ActionConstants;
+import com.hazelcast.security.permission.MapPermission;
+
+import java.security.Permission;
+
+public class MapAggregateMessageTask
+        extends AbstractCallableMessageTask<MapAggregateCodec.RequestParameters> {
+
+    public MapAggregateMessageTask(ClientMessage clientMessage, Node node, Connection connection) {
+        super(clientMessage, node, connection);
+    }
+
+    @Override
+    protected Object call() throws Exception {
+        MapService mapService = getService(MapService.SERVICE_NAME);
+        MapAggregationEngine aggregationEngine = mapService.getMapServiceContext().getMapAggregationEngine(parameters.name);
+        Aggregator aggregator = serializationService.toObject(parameters.aggregator);
+        Predicate predicate = serializationService.toObject(parameters.predicate);
+        Aggregator result = aggregationEngine.invokeAggregateAllPartitions(parameters.name, aggregator, predicate);
+        return serializationService.toData(result.aggregate());
+    }
+
+    @Override
+    protected MapAggregateCodec.RequestParameters decodeClientMessage(ClientMessage clientMessage) {
+        return MapAggregateCodec.decodeRequest(clientMessage);
+    }
+
+    @Override
+    protected ClientMessage encodeResponse(Object response) {
+        return MapAggregateCodec.encodeResponse((Data) response);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    public Permission getRequiredPermission() {
+        return new MapPermission(parameters.name, ActionConstants.ACTION_READ);
+    }
+
+    @Override
+    public String getDistributedObjectName() {
+        return parameters.name;
+    }
+
+    @Override
+    public String getMethodName() {
+        return "aggregate";
+    }
+
+    @Override
+    public Object[] getParameters() {
+        return new Object[]{parameters.aggregator, parameters.predicate};
+    }
+}
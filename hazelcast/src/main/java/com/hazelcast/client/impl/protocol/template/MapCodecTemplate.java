@@ -718,4 +718,54 @@ public interface MapCodecTemplate {
 
     @Request(id = 59, retryable = false, response = ResponseMessageConst.VOID)
     void clearNearCache(String name, Address target);
+
+    /**
+     * Applies the aggregation logic on the map entries filtered with the predicate and returns the result. The
+     * aggregation runs on the members owning the entries; only the partial aggregations are combined.
+     *
+     * @param name       name of map
+     * @param aggregator aggregator to aggregate the entries with
+     * @param predicate  predicate to filter the entries with
+     * @return the result of the aggregation
+     */
+    @Request(id = 60, retryable = true, response = ResponseMessageConst.DATA)
+    Object aggregate(String name, Data aggregator, Data predicate);
+
+    /**
+     * Applies the projection logic on the map entries filtered with the predicate and returns the result. The
+     * projection runs on the members owning the entries; only the projected objects are returned.
+     *
+     * @param name       name of map
+     * @param projection projection to transform the entries with
+     * @param predicate  predicate to filter the entries with
+     * @return the list of the projected objects
+     */
+    @Request(id = 61, retryable = true, response = ResponseMessageConst.DATA)
+    Object project(String name, Data projection, Data predicate);
+
+    /**
+     * Fetches a batch of keys from the given partition, starting at the given table index of the partition storage.
+     *
+     * @param name        name of map
+     * @param partitionId the id of the partition to fetch the keys from
+     * @param tableIndex  the table index to start from
+     * @param batch       the minimum number of keys to fetch if available
+     * @return the table index to continue from and the list of fetched keys
+     */
+    @Request(id = 62, retryable = true, response = ResponseMessageConst.CACHE_KEY_ITERATOR_RESULT,
+            partitionIdentifier = "partitionId")
+    Object fetchKeys(String name, int partitionId, int tableIndex, int batch);
+
+    /**
+     * Fetches a batch of entries from the given partition, starting at the given table index of the partition storage.
+     *
+     * @param name        name of map
+     * @param partitionId the id of the partition to fetch the entries from
+     * @param tableIndex  the table index to start from
+     * @param batch       the minimum number of entries to fetch if available
+     * @return the table index to continue from and the list of fetched entries
+     */
+    @Request(id = 63, retryable = true, response = ResponseMessageConst.ENTRIES_WITH_CURSOR,
+            partitionIdentifier = "partitionId")
+    Object fetchEntries(String name, int partitionId, int tableIndex, int batch);
 }
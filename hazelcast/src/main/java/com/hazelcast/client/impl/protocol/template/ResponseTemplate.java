@@ -138,6 +138,13 @@ public interface ResponseTemplate {
     @Response(ResponseMessageConst.CACHE_KEY_ITERATOR_RESULT)
     void CacheKeyIteratorResult(int tableIndex, List<Data> keys);
 
+    /**
+     * @param tableIndex the table index to continue the fetching from
+     * @param entries    list of fetched entries
+     */
+    @Response(ResponseMessageConst.ENTRIES_WITH_CURSOR)
+    void EntriesWithCursor(int tableIndex, List<Map.Entry<Data, Data>> entries);
+
     /**
      * @param errorCode      error code of this exception
      * @param className      java class name of exception
@@ -27,16 +27,28 @@ import static com.hazelcast.client.impl.protocol.ClientMessage.END_FLAG;
 
 /**
  * Builds {@link ClientMessage}s from byte chunks. Fragmented messages are merged into single messages before processed.
+ * <p/>
+ * If a {@link ClientProtocolBufferPool} is provided, every message is read into a pooled buffer and the message is
+ * decoded in place from that buffer. The frames of a fragmented message are released once they are appended; a
+ * complete message passed to the {@link MessageHandler} is owned by the handler, which should
+ * {@link ClientMessage#release() release} it once it has been processed.
  */
 public class ClientMessageBuilder {
 
     private final Long2ObjectHashMap<BufferBuilder> builderBySessionIdMap = new Long2ObjectHashMap<BufferBuilder>();
 
     private final MessageHandler delegate;
-    private ClientMessage message = ClientMessage.create();
+    private final ClientProtocolBufferPool bufferPool;
+    private ClientMessage message;
 
     public ClientMessageBuilder(MessageHandler delegate) {
+        this(delegate, null);
+    }
+
+    public ClientMessageBuilder(MessageHandler delegate, ClientProtocolBufferPool bufferPool) {
         this.delegate = delegate;
+        this.bufferPool = bufferPool;
+        this.message = newMessage();
     }
 
     public void onData(final ByteBuffer buffer) {
@@ -50,7 +62,7 @@ public class ClientMessageBuilder {
             if (message.isFlagSet(BEGIN_AND_END_FLAGS)) {
                 //HANDLE-MESSAGE
                 handleMessage(message);
-                message = ClientMessage.create();
+                message = newMessage();
                 continue;
             }
 
@@ -78,10 +90,15 @@ public class ClientMessageBuilder {
                 }
             }
 
-            message = ClientMessage.create();
+            message.release();
+            message = newMessage();
         }
     }
 
+    private ClientMessage newMessage() {
+        return bufferPool == null ? ClientMessage.create() : ClientMessage.create(bufferPool);
+    }
+
     private void handleMessage(ClientMessage message) {
         message.index(message.getDataOffset());
         delegate.handleMessage(message);
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A pool for the byte arrays backing the {@link ClientProtocolBuffer} of a
+ * {@link com.hazelcast.client.impl.protocol.ClientMessage}.
+ * <p/>
+ * Arrays are pooled per power of two size class between {@link #MIN_POOLED_SIZE} and {@link #MAX_POOLED_SIZE}; so
+ * a message that grows while it is being read, swaps its array for a pooled array of the next size class. Larger
+ * arrays are always allocated and never pooled. Every size class has a bounded number of slots; an array that is
+ * released to a full size class is left to the garbage collector.
+ * <p/>
+ * The pool is thread-safe and doesn't acquire locks; an array is typically acquired by an IO thread and released
+ * by the thread that processed the message.
+ */
+public final class ClientProtocolBufferPool {
+
+    /**
+     * The size of the smallest pooled array.
+     */
+    public static final int MIN_POOLED_SIZE = 1024;
+
+    /**
+     * The size of the largest pooled array.
+     */
+    public static final int MAX_POOLED_SIZE = 64 * 1024;
+
+    /**
+     * The default number of pooled arrays per size class.
+     */
+    public static final int DEFAULT_ARRAYS_PER_SIZE = 8;
+
+    private static final int MIN_POOLED_SIZE_LOG2 = log2(MIN_POOLED_SIZE);
+
+    private final AtomicReferenceArray<byte[]>[] slotsBySizeClass;
+
+    public ClientProtocolBufferPool() {
+        this(DEFAULT_ARRAYS_PER_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ClientProtocolBufferPool(int arraysPerSize) {
+        checkPositive(arraysPerSize, "arraysPerSize should be a positive number");
+        int sizeClassCount = log2(MAX_POOLED_SIZE) - MIN_POOLED_SIZE_LOG2 + 1;
+        this.slotsBySizeClass = new AtomicReferenceArray[sizeClassCount];
+        for (int sizeClass = 0; sizeClass < sizeClassCount; sizeClass++) {
+            slotsBySizeClass[sizeClass] = new AtomicReferenceArray<byte[]>(arraysPerSize);
+        }
+    }
+
+    /**
+     * Acquires an array of at least the given size. The content of the returned array is undefined.
+     *
+     * @param minSize the minimum size of the array
+     * @return the acquired array
+     */
+    public byte[] acquire(int minSize) {
+        int size = minSize <= MIN_POOLED_SIZE ? MIN_POOLED_SIZE : nextPowerOfTwo(minSize);
+        if (size > MAX_POOLED_SIZE || size < 0) {
+            return new byte[minSize];
+        }
+
+        AtomicReferenceArray<byte[]> slots = slotsBySizeClass[sizeClass(size)];
+        for (int i = 0; i < slots.length(); i++) {
+            byte[] array = slots.get(i);
+            if (array != null && slots.compareAndSet(i, array, null)) {
+                return array;
+            }
+        }
+        return new byte[size];
+    }
+
+    /**
+     * Releases an array to this pool. The array should not be accessed after it has been released.
+     *
+     * @param array the array to release
+     */
+    public void release(byte[] array) {
+        int size = array.length;
+        if (size < MIN_POOLED_SIZE || size > MAX_POOLED_SIZE || !isPowerOfTwo(size)) {
+            return;
+        }
+
+        AtomicReferenceArray<byte[]> slots = slotsBySizeClass[sizeClass(size)];
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, array)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of arrays currently pooled. Only meant for testing and monitoring purposes.
+     *
+     * @return the number of pooled arrays
+     */
+    public int pooledCount() {
+        int count = 0;
+        for (AtomicReferenceArray<byte[]> slots : slotsBySizeClass) {
+            for (int i = 0; i < slots.length(); i++) {
+                if (slots.get(i) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int sizeClass(int size) {
+        return log2(size) - MIN_POOLED_SIZE_LOG2;
+    }
+}
@@ -229,6 +229,10 @@ public class MapConfig {
      * BINARY (default): keys and values will be stored as binary data
      * OBJECT : values will be stored in their object forms
      * NATIVE : values will be stored in non-heap region of JVM
+     * <p/>
+     * A map with NATIVE in-memory format doesn't support read-backup-data; and its statistics don't include
+     * the hits, the locked entry count and the last access and update times, since its records may only be
+     * accessed by the partition threads.
      *
      * @param inMemoryFormat the record type to set for this {@link com.hazelcast.core.IMap}
      * @throws IllegalArgumentException if inMemoryFormat is null.
@@ -503,6 +507,8 @@ public class MapConfig {
 
     /**
      * Sets statistics to enabled or disabled for this map.
+     * For a map with {@link InMemoryFormat#NATIVE} in-memory format, the statistics don't include the hits, the
+     * locked entry count and the last access and update times.
      *
      * @param statisticsEnabled True to enable map statistics, false to disable.
      * @return The current map config instance.
@@ -523,6 +529,7 @@ public class MapConfig {
 
     /**
      * Sets read-backup-data (reading local backup entires) for this map.
+     * It is not supported for a map with {@link InMemoryFormat#NATIVE} in-memory format.
      *
      * @param readBackupData True to enable read-backup-data, false to disable.
      * @return The current map config instance.
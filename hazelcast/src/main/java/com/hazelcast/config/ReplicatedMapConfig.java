@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
+import static com.hazelcast.util.Preconditions.checkNotNegative;
+
 /**
  * Contains the configuration for an {@link com.hazelcast.core.ReplicatedMap}
  */
@@ -46,6 +48,10 @@ public class ReplicatedMapConfig {
      * Default policy for merging
      */
     public static final String DEFAULT_MERGE_POLICY = PutIfAbsentMapMergePolicy.class.getName();
+    /**
+     * Default value of the replication batch size, batched replication is disabled
+     */
+    public static final int DEFAULT_REPLICATION_BATCH_SIZE = 0;
 
 
     private String name;
@@ -56,6 +62,7 @@ public class ReplicatedMapConfig {
     private boolean asyncFillup = DEFAULT_ASNYC_FILLUP;
     private boolean statisticsEnabled = true;
     private String mergePolicy = DEFAULT_MERGE_POLICY;
+    private int replicationBatchSize = DEFAULT_REPLICATION_BATCH_SIZE;
 
 
     private List<ListenerConfig> listenerConfigs;
@@ -82,6 +89,7 @@ public class ReplicatedMapConfig {
         this.asyncFillup = replicatedMapConfig.asyncFillup;
         this.statisticsEnabled = replicatedMapConfig.statisticsEnabled;
         this.mergePolicy = replicatedMapConfig.mergePolicy;
+        this.replicationBatchSize = replicatedMapConfig.replicationBatchSize;
     }
 
     /**
@@ -105,36 +113,30 @@ public class ReplicatedMapConfig {
     }
 
     /**
-     * The number of milliseconds after a put is executed before the value is replicated
-     * to other nodes. During this time, multiple puts can be operated and cached up to be sent
-     * out all at once after the delay.
-     * Default value is 100ms before a replication is operated. If 0, no delay is used and
-     * all values are replicated one by one.
+     * The maximum number of milliseconds an update is held back before it is replicated
+     * to the other nodes. During this time, the updates of a partition to a node are collected to be sent
+     * out all at once.
+     * Default value is 100ms. It only has an effect if batched replication is enabled,
+     * see {@link #setReplicationBatchSize(int)}.
      *
-     * @return the number of milliseconds after a put is executed before the value is replicated
-     * to other nodes.
-     * @deprecated since new implementation will route puts to the partition owner nodes,
-     * caching won't help replication speed because most of the time subsequent puts will end up in different nodes.
+     * @return the maximum number of milliseconds an update is held back before it is replicated
+     * to the other nodes.
      */
-    @Deprecated
     public long getReplicationDelayMillis() {
         return replicationDelayMillis;
     }
 
     /**
-     * Sets the number of milliseconds after a put is executed before the value is replicated
-     * to other nodes. During this time, multiple puts can be operated and cached up to be sent
-     * out all at once after the delay.
-     * Default value is 100ms before a replication is operated. If set to 0, no delay is used and
-     * all values are replicated one by one.
+     * Sets the maximum number of milliseconds an update is held back before it is replicated
+     * to the other nodes. During this time, the updates of a partition to a node are collected to be sent
+     * out all at once.
+     * Default value is 100ms. It only has an effect if batched replication is enabled,
+     * see {@link #setReplicationBatchSize(int)}.
      *
-     * @param replicationDelayMillis the number of milliseconds after a put is executed before the value is replicated
-     *                               to other nodes.
+     * @param replicationDelayMillis the maximum number of milliseconds an update is held back before it is
+     *                               replicated to the other nodes.
      * @return The current replicated map config instance.
-     * @deprecated since new implementation will route puts to the partition owner nodes,
-     * caching won't help replication speed because most of the time subsequent puts will end up in different nodes.
      */
-    @Deprecated
     public ReplicatedMapConfig setReplicationDelayMillis(long replicationDelayMillis) {
         this.replicationDelayMillis = replicationDelayMillis;
         return this;
@@ -301,5 +303,33 @@ public class ReplicatedMapConfig {
         return this;
     }
 
+    /**
+     * Gets the number of updates that are replicated to another node in a single batch.
+     *
+     * @return the replication batch size, 0 if batched replication is disabled.
+     * @see #setReplicationBatchSize(int)
+     */
+    public int getReplicationBatchSize() {
+        return replicationBatchSize;
+    }
+
+    /**
+     * Sets the number of updates that are replicated to another node in a single batch.
+     * <p/>
+     * By default the partition owner sends every update to every other node on its own. With batched
+     * replication, the updates of a partition to a node are collected until the batch size is reached or the
+     * {@link #getReplicationDelayMillis() replication delay} has passed, and then sent out all at once.
+     * Only the last update of a key within a batch is sent, so entry listeners on the other nodes
+     * are notified of the last update only. The caller of an update is still updated immediately.
+     *
+     * @param replicationBatchSize the replication batch size, 0 to disable batched replication.
+     * @return The current replicated map config instance.
+     * @throws IllegalArgumentException if replicationBatchSize is negative.
+     */
+    public ReplicatedMapConfig setReplicationBatchSize(int replicationBatchSize) {
+        this.replicationBatchSize = checkNotNegative(replicationBatchSize, "replicationBatchSize can't be negative");
+        return this;
+    }
+
 
 }
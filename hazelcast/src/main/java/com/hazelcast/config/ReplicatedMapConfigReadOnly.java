@@ -64,4 +64,9 @@ class ReplicatedMapConfigReadOnly extends ReplicatedMapConfig {
     public ReplicatedMapConfig setStatisticsEnabled(boolean statisticsEnabled) {
         throw new UnsupportedOperationException("This config is read-only");
     }
+
+    @Override
+    public ReplicatedMapConfig setReplicationBatchSize(int replicationBatchSize) {
+        throw new UnsupportedOperationException("This config is read-only");
+    }
 }
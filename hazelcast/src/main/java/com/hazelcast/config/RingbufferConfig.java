@@ -55,6 +55,10 @@ public class RingbufferConfig {
      * Default value for the InMemoryFormat.
      */
     public static final InMemoryFormat DEFAULT_IN_MEMORY_FORMAT = InMemoryFormat.BINARY;
+    /**
+     * Default value of the capacity of the store of the RingBuffer.
+     */
+    public static final long DEFAULT_STORE_CAPACITY = 10 * 1000 * 1000;
 
     private String name;
     private int capacity = DEFAULT_CAPACITY;
@@ -62,6 +66,8 @@ public class RingbufferConfig {
     private int asyncBackupCount = DEFAULT_ASYNC_BACKUP_COUNT;
     private int timeToLiveSeconds = DEFAULT_TTL_SECONDS;
     private InMemoryFormat inMemoryFormat = DEFAULT_IN_MEMORY_FORMAT;
+    private String storeDirectory;
+    private long storeCapacity = DEFAULT_STORE_CAPACITY;
 
     /**
      * Creates a RingbufferConfig with the provided name.
@@ -87,6 +93,8 @@ public class RingbufferConfig {
         this.asyncBackupCount = config.asyncBackupCount;
         this.timeToLiveSeconds = config.timeToLiveSeconds;
         this.inMemoryFormat = config.inMemoryFormat;
+        this.storeDirectory = config.storeDirectory;
+        this.storeCapacity = config.storeCapacity;
     }
 
     /**
@@ -272,6 +280,65 @@ public class RingbufferConfig {
         return this;
     }
 
+    /**
+     * Gets the directory the items of the ringbuffer are stored in.
+     *
+     * @return the store directory, or null if the store is disabled.
+     * @see #setStoreDirectory(String)
+     */
+    public String getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    /**
+     * Sets the directory the items of the ringbuffer are stored in.
+     * <p/>
+     * If a store directory is set, every item added to the ringbuffer is also appended to memory-mapped segment files
+     * in this directory. Only the last {@link #getCapacity() capacity} items are kept in memory; older items, up to the
+     * {@link #getStoreCapacity() store capacity}, are read from the segment files. When a member restarts, it recovers
+     * the ringbuffers of its partitions from the segment files.
+     * <p/>
+     * The store is local to a member: every member, including the ones holding the backups, writes its own files. So
+     * the directory can't be shared between members. After a migration the new replica starts with the items that are
+     * in memory; older items are only available on the member that stored them.
+     * <p/>
+     * The store is disabled by default.
+     *
+     * @param storeDirectory the store directory, or null to disable the store.
+     * @return the updated RingbufferConfig
+     */
+    public RingbufferConfig setStoreDirectory(String storeDirectory) {
+        this.storeDirectory = storeDirectory;
+        return this;
+    }
+
+    /**
+     * Gets the number of items the store of the ringbuffer retains.
+     *
+     * @return the store capacity.
+     * @see #setStoreCapacity(long)
+     */
+    public long getStoreCapacity() {
+        return storeCapacity;
+    }
+
+    /**
+     * Sets the number of items the store of the ringbuffer retains.
+     * <p/>
+     * The store is truncated a segment file at a time, so it can retain up to a segment more items than the store
+     * capacity. A store capacity smaller than the {@link #getCapacity() capacity} is ignored. It only has an effect if
+     * the {@link #setStoreDirectory(String) store directory} is set.
+     *
+     * @param storeCapacity the store capacity.
+     * @return the updated RingbufferConfig
+     * @throws IllegalArgumentException if storeCapacity smaller than 1.
+     */
+    public RingbufferConfig setStoreCapacity(long storeCapacity) {
+        checkPositive(storeCapacity, "storeCapacity can't be smaller than 1");
+        this.storeCapacity = storeCapacity;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RingbufferConfig{"
@@ -281,6 +348,8 @@ public class RingbufferConfig {
                 + ", asyncBackupCount=" + asyncBackupCount
                 + ", timeToLiveSeconds=" + timeToLiveSeconds
                 + ", inMemoryFormat=" + inMemoryFormat
+                + ", storeDirectory=" + storeDirectory
+                + ", storeCapacity=" + storeCapacity
                 + '}';
     }
 
@@ -318,5 +387,15 @@ public class RingbufferConfig {
         public RingbufferConfig setInMemoryFormat(InMemoryFormat inMemoryFormat) {
             throw new UnsupportedOperationException("This config is read-only");
         }
+
+        @Override
+        public RingbufferConfig setStoreDirectory(String storeDirectory) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
+
+        @Override
+        public RingbufferConfig setStoreCapacity(long storeCapacity) {
+            throw new UnsupportedOperationException("This config is read-only");
+        }
     }
 }
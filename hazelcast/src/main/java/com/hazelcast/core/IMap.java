@@ -16,8 +16,11 @@
 
 package com.hazelcast.core;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.BulkLoadSession;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
 import com.hazelcast.map.QueryResultSizeExceededException;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -25,6 +28,7 @@ import com.hazelcast.mapreduce.JobTracker;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.monitor.LocalMapStats;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
 
 import java.util.Collection;
@@ -81,6 +85,39 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V> {
      */
     void putAll(Map<? extends K, ? extends V> m);
 
+    /**
+     * Asynchronously copies all of the mappings from the specified map to this map.
+     * <p/>
+     * The entries are grouped per partition and a single operation is sent per partition, like {@link #putAll(Map)};
+     * the returned future completes once all of these operations have completed. If any of them fails, the future
+     * completes with that failure.
+     * <p/>
+     * No atomicity guarantees are given. It could be that in case of failure some of the key/value-pairs get written,
+     * while others are not.
+     * <p/>
+     * To load more entries than fit comfortably in a single map, use {@link #newBulkLoadSession(int, int)}.
+     *
+     * @param m mappings to be stored in this map
+     * @return ICompletableFuture that completes once all mappings are stored
+     * @throws NullPointerException if the specified map, or any of its keys or values is null
+     * @since 3.7
+     */
+    ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> m);
+
+    /**
+     * Creates a {@link BulkLoadSession} to load a large number of entries into this map.
+     * <p/>
+     * The session groups the added entries per partition and sends a batch as soon as it contains batchSize entries;
+     * at most maxInFlightBatches batches are in flight at any time.
+     *
+     * @param batchSize          the number of entries per batch
+     * @param maxInFlightBatches the maximum number of batches in flight
+     * @return the created session
+     * @throws IllegalArgumentException if batchSize or maxInFlightBatches is smaller than 1
+     * @since 3.7
+     */
+    BulkLoadSession<K, V> newBulkLoadSession(int batchSize, int maxInFlightBatches);
+
     /**
      * {@inheritDoc}
      * <p/>
@@ -1418,6 +1455,99 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V> {
      */
     Map<K, Object> executeOnEntries(EntryProcessor entryProcessor, Predicate predicate);
 
+    /**
+     * Applies the aggregation logic on all map entries and returns the result.
+     * <p/>
+     * The aggregation runs on the members owning the entries, in parallel; only the partial aggregations are sent over
+     * the wire and combined by the caller. Unlike {@link #aggregate(Supplier, Aggregation)} it doesn't make use of
+     * the MapReduce framework.
+     * <p/>
+     * A predefined set of aggregators can be found in {@link com.hazelcast.aggregation.Aggregators}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException if the aggregator is null
+     * @since 3.7
+     */
+    <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator);
+
+    /**
+     * Applies the aggregation logic on map entries filtered with the predicate and returns the result.
+     * <p/>
+     * The aggregation runs on the members owning the entries, in parallel; only the partial aggregations are sent over
+     * the wire and combined by the caller. If possible, an index is used to select the matching entries.
+     * <p/>
+     * A predefined set of aggregators can be found in {@link com.hazelcast.aggregation.Aggregators}.
+     *
+     * @param aggregator aggregator to aggregate the entries with
+     * @param predicate  predicate to filter the entries with; a {@link com.hazelcast.query.PagingPredicate} is not supported
+     * @param <R>        type of the result
+     * @return the result of the given type
+     * @throws NullPointerException if the aggregator or the predicate is null
+     * @since 3.7
+     */
+    <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate);
+
+    /**
+     * Applies the projection logic on all map entries and returns the result.
+     * <p/>
+     * The projection runs on the members owning the entries, so only the projected objects are sent over the wire
+     * instead of the whole values.
+     * <p/>
+     * A predefined set of projections can be found in {@link com.hazelcast.projection.Projections}.
+     *
+     * @param projection projection to transform the entries with; may return null
+     * @param <R>        type of the projected objects
+     * @return the collection of the projected objects; it isn't backed by the map
+     * @throws NullPointerException if the projection is null
+     * @since 3.7
+     */
+    <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection);
+
+    /**
+     * Applies the projection logic on map entries filtered with the predicate and returns the result.
+     * <p/>
+     * The projection runs on the members owning the entries, so only the projected objects are sent over the wire
+     * instead of the whole values. If possible, an index is used to select the matching entries.
+     * <p/>
+     * A predefined set of projections can be found in {@link com.hazelcast.projection.Projections}.
+     *
+     * @param projection projection to transform the entries with; may return null
+     * @param predicate  predicate to filter the entries with; a {@link com.hazelcast.query.PagingPredicate} is not supported
+     * @param <R>        type of the projected objects
+     * @return the collection of the projected objects; it isn't backed by the map
+     * @throws NullPointerException if the projection or the predicate is null
+     * @since 3.7
+     */
+    <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection, Predicate<K, V> predicate);
+
+    /**
+     * Returns the {@link QueryCache} with the given name, creating it if it doesn't exist yet on this member.
+     * <p/>
+     * The query cache is a local, continuously updated replica of the entries of this map matching the predicate. It
+     * is populated when it is created; afterwards the owners of the partitions send the updates of the matching
+     * entries in batches. Reading from the query cache doesn't cause any remote call.
+     * <p/>
+     * If a {@link com.hazelcast.config.QueryCacheConfig} with the given name is defined for this map, its settings
+     * are applied, except the predicate and the include-value flag. If a query cache with the given name already
+     * exists, it is returned regardless of the given predicate and includeValue arguments.
+     * <p/>
+     * Query caches are only supported on members yet; the map proxy of a client throws an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param name         the name of the query cache
+     * @param predicate    predicate to select the cached entries with; a {@link com.hazelcast.query.PagingPredicate} is
+     *                     not supported
+     * @param includeValue {@code true} if the values should be cached, {@code false} if only the keys should be cached
+     * @return the query cache
+     * @throws NullPointerException          if the name or the predicate is null
+     * @throws IllegalArgumentException      if the predicate is a {@link com.hazelcast.query.PagingPredicate}
+     * @throws UnsupportedOperationException if called on a client
+     * @since 3.7
+     */
+    QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue);
+
     /**
      * Executes a predefined aggregation on the maps data set. The {@link com.hazelcast.mapreduce.aggregation.Supplier}
      * is used to either select or to select and extract a (sub-)value. A predefined set of aggregations can be found in
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.core;
+
+import com.hazelcast.spi.annotation.Beta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Pipelining issues many asynchronous calls without waiting for each of them to complete, while bounding the number of
+ * calls in flight.
+ * <p/>
+ * Instead of calling e.g. {@link IMap#get(Object)} repeatedly and paying a full round trip per call, the caller adds
+ * the futures of the asynchronous calls to the pipelining; the futures returned by the async methods of the data
+ * structures are {@link ICompletableFuture}s:
+ * <pre>
+ *     Pipelining&lt;String&gt; pipelining = new Pipelining&lt;String&gt;(100);
+ *     for (Long key : keys) {
+ *         pipelining.add((ICompletableFuture&lt;String&gt;) map.getAsync(key));
+ *     }
+ *     List&lt;String&gt; results = pipelining.results();
+ * </pre>
+ * {@link #add(ICompletableFuture)} blocks as long as the depth of the pipelining is reached; so the caller can't
+ * overload the system with an unbounded number of pending calls.
+ * <p/>
+ * A Pipelining instance is not thread-safe; it should be used by a single thread.
+ *
+ * @param <E> the type of the results
+ * @since 3.7
+ */
+@Beta
+public class Pipelining<E> {
+
+    private final Semaphore inFlight;
+    private final List<ICompletableFuture<E>> futures = new ArrayList<ICompletableFuture<E>>();
+    private final ExecutionCallback<E> releaseCallback = new ExecutionCallback<E>() {
+        @Override
+        public void onResponse(E response) {
+            inFlight.release();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            inFlight.release();
+        }
+    };
+
+    /**
+     * Creates a Pipelining with the given depth.
+     *
+     * @param depth the maximum number of calls in flight
+     * @throws IllegalArgumentException if depth is smaller than 1
+     */
+    public Pipelining(int depth) {
+        checkPositive(depth, "depth must be positive");
+        this.inFlight = new Semaphore(depth);
+    }
+
+    /**
+     * Adds the future of an asynchronous call to this pipelining.
+     * <p/>
+     * Blocks until the number of calls in flight drops below the depth of this pipelining.
+     *
+     * @param future the future to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if future is null
+     */
+    public void add(ICompletableFuture<E> future) throws InterruptedException {
+        checkNotNull(future, "future can't be null");
+
+        inFlight.acquire();
+        futures.add(future);
+        future.andThen(releaseCallback);
+    }
+
+    /**
+     * Returns the results of all added calls in the order the calls are added.
+     * <p/>
+     * Blocks until all calls are completed.
+     *
+     * @return the results
+     * @throws Exception if any of the calls failed
+     */
+    public List<E> results() throws Exception {
+        List<E> results = new ArrayList<E>(futures.size());
+        for (ICompletableFuture<E> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+}
@@ -22,8 +22,10 @@ import com.hazelcast.client.impl.protocol.MessageTaskFactory;
 import com.hazelcast.client.impl.protocol.MessageTaskFactoryImpl;
 import com.hazelcast.cluster.ClusterState;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.PartitioningStrategy;
+import com.hazelcast.internal.memory.NativeMemoryManager;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
@@ -61,12 +63,23 @@ public class DefaultNodeExtension implements NodeExtension {
     protected final ILogger logger;
     protected final ILogger systemLogger;
 
-    private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final NativeMemoryManager nativeMemoryManager;
+    private final MemoryStats memoryStats;
 
     public DefaultNodeExtension(Node node) {
         this.node = node;
         logger = node.getLogger(NodeExtension.class);
         systemLogger = node.getLogger("com.hazelcast.system");
+
+        NativeMemoryConfig nativeMemoryConfig = node.getConfig().getNativeMemoryConfig();
+        if (nativeMemoryConfig != null && nativeMemoryConfig.isEnabled()) {
+            nativeMemoryManager = new NativeMemoryManager(nativeMemoryConfig);
+            memoryStats = nativeMemoryManager.getMemoryStats();
+            logger.info("Native memory is enabled: " + nativeMemoryConfig);
+        } else {
+            nativeMemoryManager = null;
+            memoryStats = new DefaultMemoryStats();
+        }
     }
 
     @Override
@@ -207,6 +220,11 @@ public class DefaultNodeExtension implements NodeExtension {
         return memoryStats;
     }
 
+    @Override
+    public NativeMemoryManager getNativeMemoryManager() {
+        return nativeMemoryManager;
+    }
+
     @Override
     public void beforeShutdown() {
     }
@@ -214,6 +232,9 @@ public class DefaultNodeExtension implements NodeExtension {
     @Override
     public void shutdown() {
         logger.info("Destroying node NodeExtension.");
+        if (nativeMemoryManager != null) {
+            nativeMemoryManager.dispose();
+        }
     }
 
     @Override
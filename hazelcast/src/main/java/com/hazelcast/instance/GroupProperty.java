@@ -29,6 +29,7 @@ import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.util.Preconditions.checkHasText;
 import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -78,6 +79,36 @@ public enum GroupProperty implements HazelcastProperty {
      */
     GENERIC_OPERATION_THREAD_COUNT("hazelcast.operation.generic.thread.count", -1),
 
+    /**
+     * The type of queue used by the partition operation threads.
+     * <p/>
+     * <ul>
+     * <li>blocking: an unbounded blocking queue; an idle thread is parked and unparked as soon as work arrives.</li>
+     * <li>mpsc: a bounded lock-free array queue that is drained in batches; an idle thread makes use of the
+     * {@link #PARTITION_OPERATION_IDLE_STRATEGY} and is never unparked by a producer.</li>
+     * </ul>
+     * The default is blocking.
+     */
+    PARTITION_OPERATION_QUEUE_TYPE("hazelcast.operation.partition.queue.type", "blocking"),
+
+    /**
+     * The capacity of the queue of a partition operation thread when {@link #PARTITION_OPERATION_QUEUE_TYPE} is mpsc.
+     * <p/>
+     * If the queue is full, the producer is delayed until space becomes available.
+     */
+    PARTITION_OPERATION_QUEUE_CAPACITY("hazelcast.operation.partition.queue.capacity", 65536),
+
+    /**
+     * The idle strategy of a partition operation thread when {@link #PARTITION_OPERATION_QUEUE_TYPE} is mpsc.
+     * <p/>
+     * <ul>
+     * <li>backoff: spins, then yields and then parks with an exponential backoff up to 100 microseconds.</li>
+     * <li>busyspin: spins; this gives the lowest latency but an idle thread will consume a full core.</li>
+     * </ul>
+     * The default is backoff.
+     */
+    PARTITION_OPERATION_IDLE_STRATEGY("hazelcast.operation.partition.idle.strategy", "backoff"),
+
     /**
      * The number of threads that the client engine has available for processing requests that are not partition specific.
      * Most of the requests, such as map.put and map.get, are partition specific and will use a partition-operation-thread, but
@@ -266,6 +297,28 @@ public enum GroupProperty implements HazelcastProperty {
      */
     OPERATION_BACKUP_TIMEOUT_MILLIS("hazelcast.operation.backup.timeout.millis", 5000, MILLISECONDS),
 
+    /**
+     * If enabled, the backups that are sent by a partition operation thread are coalesced per member into a single
+     * packet instead of sending a packet per backup. The backups in a batch are applied by a single partition operation
+     * thread on the receiving member when possible.
+     * <p/>
+     * The default is true.
+     */
+    OPERATION_BACKUP_BATCH_ENABLED("hazelcast.operation.backup.batch.enabled", true),
+
+    /**
+     * The maximum number of backups in a batch when {@link #OPERATION_BACKUP_BATCH_ENABLED} is true. If the batch for
+     * a member is full, it is sent immediately.
+     */
+    OPERATION_BACKUP_BATCH_MAX_SIZE("hazelcast.operation.backup.batch.max.size", 64),
+
+    /**
+     * The maximum time the first backup of a batch can be delayed when {@link #OPERATION_BACKUP_BATCH_ENABLED} is true
+     * and the partition operation thread keeps adding backups. A batch is always sent as soon as the partition operation
+     * thread has processed the tasks that were pending when the first backup was added.
+     */
+    OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS("hazelcast.operation.backup.batch.max.delay.micros", 100, MICROSECONDS),
+
     SOCKET_BIND_ANY("hazelcast.socket.bind.any", true),
     SOCKET_SERVER_BIND_ANY("hazelcast.socket.server.bind.any", SOCKET_BIND_ANY),
     SOCKET_CLIENT_BIND_ANY("hazelcast.socket.client.bind.any", SOCKET_BIND_ANY),
@@ -308,6 +361,14 @@ public enum GroupProperty implements HazelcastProperty {
     SOCKET_KEEP_ALIVE("hazelcast.socket.keep.alive", true),
     SOCKET_NO_DELAY("hazelcast.socket.no.delay", true),
 
+    /**
+     * If enabled, the packets of a member to member connection are written to the socket using a gathering write. So
+     * the payload of a packet isn't copied into the output buffer of the connection before it is written.
+     * <p/>
+     * The default is true.
+     */
+    SOCKET_GATHERING_WRITE_ENABLED("hazelcast.socket.gathering.write.enabled", true),
+
     SHUTDOWNHOOK_ENABLED("hazelcast.shutdownhook.enabled", true),
 
     WAIT_SECONDS_BEFORE_JOIN("hazelcast.wait.seconds.before.join", 5, SECONDS),
@@ -368,6 +429,15 @@ public enum GroupProperty implements HazelcastProperty {
     PARTITION_TABLE_SEND_INTERVAL("hazelcast.partition.table.send.interval", 15, SECONDS),
     PARTITION_BACKUP_SYNC_INTERVAL("hazelcast.partition.backup.sync.interval", 30, SECONDS),
     PARTITION_MAX_PARALLEL_REPLICATIONS("hazelcast.partition.max.parallel.replications", 5),
+
+    /**
+     * The number of segments the data of a partition replica is divided into when a backup replica compares its data with
+     * the owner using digests. If a backup replica runs out of sync, only the segments with a different digest are sent.
+     * <p/>
+     * A value smaller than 1 disables digest based replica sync; the owner will then send all data of the partition.
+     * The default is 64.
+     */
+    PARTITION_REPLICA_DIGEST_SEGMENT_COUNT("hazelcast.partition.replica.digest.segment.count", 64),
     PARTITIONING_STRATEGY_CLASS("hazelcast.partitioning.strategy.class", ""),
 
     GRACEFUL_SHUTDOWN_MAX_WAIT("hazelcast.graceful.shutdown.max.wait", 600, SECONDS),
@@ -469,6 +539,19 @@ public enum GroupProperty implements HazelcastProperty {
      */
     MAP_INVALIDATION_MESSAGE_BATCH_FREQUENCY_SECONDS("hazelcast.map.invalidation.batchfrequency.seconds", 10, SECONDS),
 
+    /**
+     * Defines the maximum number of query cache events of a partition which are sent to a query cache in a single batch.
+     */
+    QUERY_CACHE_BATCH_SIZE("hazelcast.map.query.cache.batch.size", 100),
+
+    /**
+     * Defines the query cache event batch sending frequency in milliseconds.
+     * <p/>
+     * When the number of events do not come up to {@link #QUERY_CACHE_BATCH_SIZE} in the given time period (which
+     * is defined by this property), those events are gathered into a batch and sent to the query cache.
+     */
+    QUERY_CACHE_BATCH_FREQUENCY_MILLIS("hazelcast.map.query.cache.batch.frequency.millis", 10, MILLISECONDS),
+
     /**
      * Using back pressure, you can prevent an overload of pending asynchronous backups. With a map with a
      * single asynchronous backup, producing asynchronous backups could happen at a higher rate than
@@ -534,6 +617,9 @@ public enum GroupProperty implements HazelcastProperty {
      * When you have a large dataset and/or slow predicate you may benefit from parallel predicate evaluations.
      * Set to true if you are using slow predicates or have > 100,000s entries per member.
      * <p/>
+     * The partitions are then scanned by the threads of the query executor ("hz:query"); its pool size can be changed
+     * with an {@link com.hazelcast.config.ExecutorConfig} of that name.
+     * <p/>
      * The default is false.
      */
     QUERY_PREDICATE_PARALLEL_EVALUATION("hazelcast.query.predicate.parallel.evaluation", false),
@@ -18,6 +18,7 @@ package com.hazelcast.instance;
 
 import com.hazelcast.client.impl.protocol.MessageTaskFactory;
 import com.hazelcast.cluster.ClusterState;
+import com.hazelcast.internal.memory.NativeMemoryManager;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.memory.MemoryStats;
 import com.hazelcast.nio.IOService;
@@ -155,6 +156,14 @@ public interface NodeExtension {
      */
     MemoryStats getMemoryStats();
 
+    /**
+     * Returns the manager of the off-heap memory, used by the data structures configured with the
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+     *
+     * @return the native memory manager or <tt>null</tt> if native memory is not enabled
+     */
+    NativeMemoryManager getNativeMemoryManager();
+
     /**
      * Called before <tt>Node.shutdown()</tt>
      */
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+/**
+ * Allocates and frees blocks of off-heap memory.
+ * <p/>
+ * The content of an allocated block is undefined. The caller is responsible for freeing a block using the same size
+ * as it was allocated with.
+ */
+public interface MemoryAllocator {
+
+    /**
+     * The address that is never returned by {@link #allocate(long)}.
+     */
+    long NULL_ADDRESS = 0L;
+
+    /**
+     * Allocates a block of off-heap memory.
+     *
+     * @param size the size of the block in bytes
+     * @return the address of the block
+     * @throws com.hazelcast.memory.NativeOutOfMemoryError if there is not enough native memory
+     */
+    long allocate(long size);
+
+    /**
+     * Frees a block of off-heap memory.
+     *
+     * @param address the address of the block
+     * @param size    the size of the block, as passed to {@link #allocate(long)}
+     */
+    void free(long address, long size);
+
+    /**
+     * Releases all the memory retained by this allocator.
+     * <p/>
+     * Blocks allocated from this allocator should not be accessed after this method has been called.
+     */
+    void dispose();
+}
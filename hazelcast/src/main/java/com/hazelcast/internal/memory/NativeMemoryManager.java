@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.memory.MemoryStats;
+
+import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE_AVAILABLE;
+import static com.hazelcast.util.Preconditions.checkState;
+import static com.hazelcast.util.QuickMath.modPowerOfTwo;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Owns the {@link MemoryAllocator}s used for the off-heap data of a member, configured by the
+ * {@link NativeMemoryConfig}.
+ * <p/>
+ * To reduce contention, the allocators are striped by partition; all allocations for a given partition are made by
+ * the same allocator. All the allocators share a single {@link NativeMemoryStats}, so the
+ * {@link NativeMemoryConfig#getSize()} limit applies to the member as a whole.
+ */
+public final class NativeMemoryManager {
+
+    private final NativeMemoryStats memoryStats;
+    private final MemoryAllocator[] allocators;
+
+    public NativeMemoryManager(NativeMemoryConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    public NativeMemoryManager(NativeMemoryConfig config, int stripeCount) {
+        checkState(UNSAFE_AVAILABLE, "Native memory can't be used since sun.misc.Unsafe is not available");
+
+        this.memoryStats = new NativeMemoryStats(config.getSize().bytes());
+        this.allocators = new MemoryAllocator[nextPowerOfTwo(stripeCount)];
+        for (int i = 0; i < allocators.length; i++) {
+            allocators[i] = config.getAllocatorType() == POOLED
+                    ? new PoolingMemoryAllocator(memoryStats, config.getMinBlockSize(), config.getPageSize())
+                    : new StandardMemoryAllocator(memoryStats);
+        }
+    }
+
+    /**
+     * Returns the allocator to be used for the data of the given partition.
+     *
+     * @param partitionId the id of the partition
+     * @return the allocator
+     */
+    public MemoryAllocator getAllocator(int partitionId) {
+        return allocators[modPowerOfTwo(partitionId, allocators.length)];
+    }
+
+    public MemoryStats getMemoryStats() {
+        return memoryStats;
+    }
+
+    /**
+     * Releases the memory retained by the allocators. Should only be called when no data structure is accessing the
+     * off-heap memory anymore.
+     */
+    public void dispose() {
+        for (MemoryAllocator allocator : allocators) {
+            allocator.dispose();
+        }
+    }
+}
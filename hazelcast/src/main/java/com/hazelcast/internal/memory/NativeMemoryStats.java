@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.memory.DefaultMemoryStats;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link com.hazelcast.memory.MemoryStats} which, next to the heap statistics, keeps track of the native memory
+ * committed and used by the {@link MemoryAllocator}s of a {@link NativeMemoryManager}.
+ * <p/>
+ * The committed native memory is the memory obtained from the operating system; the used native memory is the part of
+ * the committed memory which is handed out to the users of the allocators.
+ */
+public class NativeMemoryStats extends DefaultMemoryStats {
+
+    private final long maxNative;
+    private final AtomicLong committedNative = new AtomicLong();
+    private final AtomicLong usedNative = new AtomicLong();
+
+    public NativeMemoryStats(long maxNative) {
+        this.maxNative = maxNative;
+    }
+
+    /**
+     * Reserves native memory to be committed.
+     *
+     * @param size the number of bytes to commit
+     * @throws NativeOutOfMemoryError if committing would exceed the maximum native memory
+     */
+    void reserveCommitted(long size) {
+        for (; ; ) {
+            long current = committedNative.get();
+            long update = current + size;
+            if (update > maxNative) {
+                throw new NativeOutOfMemoryError("Not enough native memory available! Cannot allocate "
+                        + MemorySize.toPrettyString(size) + ". Max native memory: " + MemorySize.toPrettyString(maxNative)
+                        + ", committed native memory: " + MemorySize.toPrettyString(current)
+                        + ", used native memory: " + MemorySize.toPrettyString(usedNative.get()));
+            }
+            if (committedNative.compareAndSet(current, update)) {
+                return;
+            }
+        }
+    }
+
+    void releaseCommitted(long size) {
+        committedNative.addAndGet(-size);
+    }
+
+    void addUsed(long size) {
+        usedNative.addAndGet(size);
+    }
+
+    @Override
+    public long getMaxNativeMemory() {
+        return maxNative;
+    }
+
+    @Override
+    public long getCommittedNativeMemory() {
+        return committedNative.get();
+    }
+
+    @Override
+    public long getUsedNativeMemory() {
+        return usedNative.get();
+    }
+
+    @Override
+    public long getFreeNativeMemory() {
+        return Math.max(0, maxNative - usedNative.get());
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryStats{"
+                + "Total Physical: " + MemorySize.toPrettyString(getTotalPhysical())
+                + ", Free Physical: " + MemorySize.toPrettyString(getFreePhysical())
+                + ", Max Heap: " + MemorySize.toPrettyString(getMaxHeap())
+                + ", Committed Heap: " + MemorySize.toPrettyString(getCommittedHeap())
+                + ", Used Heap: " + MemorySize.toPrettyString(getUsedHeap())
+                + ", Free Heap: " + MemorySize.toPrettyString(getFreeHeap())
+                + ", Max Native Memory: " + MemorySize.toPrettyString(getMaxNativeMemory())
+                + ", Committed Native Memory: " + MemorySize.toPrettyString(getCommittedNativeMemory())
+                + ", Used Native Memory: " + MemorySize.toPrettyString(getUsedNativeMemory())
+                + ", Free Native Memory: " + MemorySize.toPrettyString(getFreeNativeMemory())
+                + ", " + getGCStats()
+                + '}';
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static com.hazelcast.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.util.QuickMath.log2;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * {@link MemoryAllocator} which pools blocks of power-of-two sizes.
+ * <p/>
+ * A request is rounded up to the nearest size class between the minimum block size and the page size. Each size class
+ * has a free list; the address of the next free block is stored in the first 8 bytes of a free block, so the free
+ * lists don't need any additional memory. When a free list is empty, a slab of memory is obtained from the operating
+ * system and carved up into blocks of that size class. Slabs are only returned to the operating system when the
+ * allocator is disposed.
+ * <p/>
+ * Requests larger than the page size are not pooled and go straight to the operating system.
+ * <p/>
+ * This allocator is thread safe, but it is meant to be used by a small number of threads; e.g. the partition threads
+ * mapped to a single {@link NativeMemoryManager} stripe.
+ */
+public final class PoolingMemoryAllocator implements MemoryAllocator {
+
+    static final int MIN_BLOCK_SIZE = 8;
+    static final int BLOCKS_PER_SLAB = 256;
+
+    private final NativeMemoryStats memoryStats;
+    private final MemoryAllocator largeBlockAllocator;
+    private final int minShift;
+    private final int pageSize;
+    private final long[] freeLists;
+    private final List<Slab> slabs = new ArrayList<Slab>();
+
+    public PoolingMemoryAllocator(NativeMemoryStats memoryStats, int minBlockSize, int pageSize) {
+        checkTrue(minBlockSize >= MIN_BLOCK_SIZE && isPowerOfTwo(minBlockSize),
+                "minBlockSize should be a power of two of at least " + MIN_BLOCK_SIZE + " but was " + minBlockSize);
+        checkTrue(pageSize >= minBlockSize && isPowerOfTwo(pageSize),
+                "pageSize should be a power of two not smaller than minBlockSize but was " + pageSize);
+        this.memoryStats = memoryStats;
+        this.largeBlockAllocator = new StandardMemoryAllocator(memoryStats);
+        this.minShift = log2(minBlockSize);
+        this.pageSize = pageSize;
+        this.freeLists = new long[log2(pageSize) - minShift + 1];
+    }
+
+    @Override
+    public synchronized long allocate(long size) {
+        if (size > pageSize) {
+            return largeBlockAllocator.allocate(size);
+        }
+
+        int sizeClass = sizeClass(size);
+        long address = freeLists[sizeClass];
+        if (address == NULL_ADDRESS) {
+            address = allocateSlab(sizeClass);
+        }
+        freeLists[sizeClass] = UNSAFE.getLong(address);
+        memoryStats.addUsed(blockSize(sizeClass));
+        return address;
+    }
+
+    @Override
+    public synchronized void free(long address, long size) {
+        if (size > pageSize) {
+            largeBlockAllocator.free(address, size);
+            return;
+        }
+
+        int sizeClass = sizeClass(size);
+        UNSAFE.putLong(address, freeLists[sizeClass]);
+        freeLists[sizeClass] = address;
+        memoryStats.addUsed(-blockSize(sizeClass));
+    }
+
+    @Override
+    public synchronized void dispose() {
+        for (Slab slab : slabs) {
+            UNSAFE.freeMemory(slab.address);
+            memoryStats.releaseCommitted(slab.size);
+        }
+        slabs.clear();
+        for (int sizeClass = 0; sizeClass < freeLists.length; sizeClass++) {
+            freeLists[sizeClass] = NULL_ADDRESS;
+        }
+    }
+
+    private int sizeClass(long size) {
+        long blockSize = nextPowerOfTwo(Math.max(size, 1L << minShift));
+        return log2(blockSize) - minShift;
+    }
+
+    private long blockSize(int sizeClass) {
+        return 1L << (sizeClass + minShift);
+    }
+
+    /**
+     * Obtains a new slab from the operating system and puts its blocks on the free list of the given size class.
+     *
+     * @return the address of the first block of the slab
+     */
+    private long allocateSlab(int sizeClass) {
+        long blockSize = blockSize(sizeClass);
+        long slabSize = Math.max(blockSize, Math.min(pageSize, blockSize * BLOCKS_PER_SLAB));
+
+        memoryStats.reserveCommitted(slabSize);
+        long slabAddress;
+        try {
+            slabAddress = UNSAFE.allocateMemory(slabSize);
+        } catch (OutOfMemoryError e) {
+            memoryStats.releaseCommitted(slabSize);
+            throw new NativeOutOfMemoryError("Cannot allocate a slab of " + MemorySize.toPrettyString(slabSize)
+                    + " of native memory", e);
+        }
+        slabs.add(new Slab(slabAddress, slabSize));
+
+        long last = slabAddress + slabSize - blockSize;
+        for (long block = slabAddress; block < last; block += blockSize) {
+            UNSAFE.putLong(block, block + blockSize);
+        }
+        UNSAFE.putLong(last, NULL_ADDRESS);
+        freeLists[sizeClass] = slabAddress;
+        return slabAddress;
+    }
+
+    private static final class Slab {
+        private final long address;
+        private final long size;
+
+        private Slab(long address, long size) {
+            this.address = address;
+            this.size = size;
+        }
+    }
+}
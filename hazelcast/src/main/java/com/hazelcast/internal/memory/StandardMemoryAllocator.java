@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+
+/**
+ * {@link MemoryAllocator} which directly allocates every block from the operating system using
+ * {@link sun.misc.Unsafe#allocateMemory(long)}.
+ * <p/>
+ * This allocator is thread safe.
+ */
+public final class StandardMemoryAllocator implements MemoryAllocator {
+
+    private final NativeMemoryStats memoryStats;
+
+    public StandardMemoryAllocator(NativeMemoryStats memoryStats) {
+        this.memoryStats = memoryStats;
+    }
+
+    @Override
+    public long allocate(long size) {
+        memoryStats.reserveCommitted(size);
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            memoryStats.releaseCommitted(size);
+            throw new NativeOutOfMemoryError("Cannot allocate " + MemorySize.toPrettyString(size)
+                    + " of native memory", e);
+        }
+        memoryStats.addUsed(size);
+        return address;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        UNSAFE.freeMemory(address);
+        memoryStats.addUsed(-size);
+        memoryStats.releaseCommitted(size);
+    }
+
+    @Override
+    public void dispose() {
+        // blocks are not tracked; they are freed by their owners.
+    }
+}
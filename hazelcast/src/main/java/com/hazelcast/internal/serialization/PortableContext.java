@@ -43,6 +43,15 @@ public interface PortableContext {
 
     FieldDefinition getFieldDefinition(ClassDefinition cd, String name);
 
+    /**
+     * Returns the accessor of the given field, which is compiled once per class definition and field name.
+     *
+     * @param cd   the class definition of the serialized Portables
+     * @param name the name of the field; the names of nested fields are separated by dots
+     * @return the accessor, or null if the class definition doesn't have the field
+     */
+    PortableFieldAccessor getFieldAccessor(ClassDefinition cd, String name);
+
     ManagedContext getManagedContext();
 
     ByteOrder getByteOrder();
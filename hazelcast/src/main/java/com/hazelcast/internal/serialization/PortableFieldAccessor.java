@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization;
+
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.FieldDefinition;
+
+import java.io.IOException;
+
+/**
+ * Locates a single, possibly nested, field in serialized Portables of a class definition, without creating a
+ * {@link com.hazelcast.nio.serialization.PortableReader}.
+ * <p/>
+ * An accessor is compiled once per class definition and field name, see
+ * {@link PortableContext#getFieldAccessor(com.hazelcast.nio.serialization.ClassDefinition, String)}; it keeps the
+ * field definitions of the path to the field, so locating the field only reads the field offsets from the stream.
+ */
+public interface PortableFieldAccessor {
+
+    /**
+     * @return the definition of the field
+     */
+    FieldDefinition getFieldDefinition();
+
+    /**
+     * Moves the input to the value of the field.
+     *
+     * @param in the input of the serialized Portable, positioned right after its factory id, class id and version
+     * @return true if the input is positioned at the value, false if a nested Portable of another version doesn't
+     * have the field
+     * @throws NullPointerException if a parent Portable of a nested field is null
+     */
+    boolean moveToField(BufferObjectDataInput in) throws IOException;
+}
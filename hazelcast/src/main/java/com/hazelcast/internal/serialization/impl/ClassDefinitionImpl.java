@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.serialization.impl;
 
+import com.hazelcast.internal.serialization.PortableFieldAccessor;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.FieldDefinition;
 import com.hazelcast.nio.serialization.FieldType;
@@ -24,6 +25,8 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ClassDefinitionImpl implements ClassDefinition {
 
@@ -31,6 +34,8 @@ public class ClassDefinitionImpl implements ClassDefinition {
     private int classId;
     private int version = -1;
     private final Map<String, FieldDefinition> fieldDefinitionsMap = new LinkedHashMap<String, FieldDefinition>();
+    private final ConcurrentMap<String, PortableFieldAccessor> fieldAccessors =
+            new ConcurrentHashMap<String, PortableFieldAccessor>();
 
     public ClassDefinitionImpl(int factoryId, int classId, int version) {
         this.factoryId = factoryId;
@@ -60,6 +65,14 @@ public class ClassDefinitionImpl implements ClassDefinition {
         throw new IndexOutOfBoundsException("Index: " + fieldIndex + ", Size: " + fieldDefinitionsMap.size());
     }
 
+    PortableFieldAccessor getFieldAccessor(String name) {
+        return fieldAccessors.get(name);
+    }
+
+    void putFieldAccessor(String name, PortableFieldAccessor accessor) {
+        fieldAccessors.put(name, accessor);
+    }
+
     @Override
     public boolean hasField(String fieldName) {
         return fieldDefinitionsMap.containsKey(fieldName);
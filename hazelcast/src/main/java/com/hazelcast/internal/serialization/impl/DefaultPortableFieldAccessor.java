@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.serialization.PortableFieldAccessor;
+import com.hazelcast.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.ClassDefinition;
+import com.hazelcast.nio.serialization.FieldDefinition;
+
+import java.io.IOException;
+
+import static com.hazelcast.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * A {@link PortableFieldAccessor} holding the class and field definitions of each level of the path to the field.
+ * <p/>
+ * A nested Portable can be serialized with another version than the compiled one; then the field of that level is
+ * looked up by name in the class definition of the version found in the stream.
+ */
+final class DefaultPortableFieldAccessor implements PortableFieldAccessor {
+
+    /**
+     * The finalPosition and fieldCount of a Portable precede its field offsets.
+     */
+    private static final int FIELD_OFFSETS_OFFSET = 2 * INT_SIZE_IN_BYTES;
+
+    private final PortableContextImpl context;
+    private final ClassDefinition[] classDefinitions;
+    private final FieldDefinition[] fieldDefinitions;
+
+    DefaultPortableFieldAccessor(PortableContextImpl context, ClassDefinition[] classDefinitions,
+                                 FieldDefinition[] fieldDefinitions) {
+        this.context = context;
+        this.classDefinitions = classDefinitions;
+        this.fieldDefinitions = fieldDefinitions;
+    }
+
+    @Override
+    public FieldDefinition getFieldDefinition() {
+        return fieldDefinitions[fieldDefinitions.length - 1];
+    }
+
+    @Override
+    public boolean moveToField(BufferObjectDataInput in) throws IOException {
+        FieldDefinition fd = fieldDefinitions[0];
+        int lastLevel = fieldDefinitions.length - 1;
+        for (int level = 0; ; level++) {
+            int offset = in.position() + FIELD_OFFSETS_OFFSET;
+            int pos = in.readInt(offset + fd.getIndex() * INT_SIZE_IN_BYTES);
+            // the name length, the name and the type of the field precede its value
+            in.position(pos + SHORT_SIZE_IN_BYTES + fd.getName().length() + BYTE_SIZE_IN_BYTES);
+            if (level == lastLevel) {
+                return true;
+            }
+
+            boolean isNull = in.readBoolean();
+            if (isNull) {
+                throw new NullPointerException("Parent field is null: " + fd.getName());
+            }
+            int factoryId = in.readInt();
+            int classId = in.readInt();
+            int version = in.readInt();
+
+            fd = fieldDefinitions[level + 1];
+            ClassDefinition cd = classDefinitions[level + 1];
+            if (cd.getFactoryId() != factoryId || cd.getClassId() != classId || cd.getVersion() != version) {
+                fd = context.lookupFieldDefinition(in, factoryId, classId, version, fd.getName());
+                if (fd == null) {
+                    return false;
+                }
+            }
+        }
+    }
+}
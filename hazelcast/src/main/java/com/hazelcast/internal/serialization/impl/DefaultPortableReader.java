@@ -388,9 +388,8 @@ public class DefaultPortableReader implements PortableReader {
 
     private int readPosition(FieldDefinition fd) throws IOException {
         int pos = in.readInt(offset + fd.getIndex() * Bits.INT_SIZE_IN_BYTES);
-        short len = in.readShort(pos);
-        // name + len + type
-        return pos + Bits.SHORT_SIZE_IN_BYTES + len + 1;
+        // name + len + type; the class definition is the one of the stream, so its name length can be used
+        return pos + Bits.SHORT_SIZE_IN_BYTES + fd.getName().length() + 1;
     }
 
     @Override
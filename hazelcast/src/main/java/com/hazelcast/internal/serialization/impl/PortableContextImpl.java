@@ -27,6 +27,7 @@ import com.hazelcast.nio.serialization.FieldType;
 import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.Portable;
 import com.hazelcast.internal.serialization.PortableContext;
+import com.hazelcast.internal.serialization.PortableFieldAccessor;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
@@ -43,6 +44,9 @@ final class PortableContextImpl implements PortableContext {
 
     private static final Pattern NESTED_FIELD_PATTERN = Pattern.compile("\\.");
 
+    private static final PortableFieldAccessor MISSING_FIELD_ACCESSOR = new DefaultPortableFieldAccessor(null,
+            new ClassDefinition[0], new FieldDefinition[0]);
+
     private final int version;
     private final ConcurrentHashMap<Integer, ClassDefinitionContext> classDefContextMap =
             new ConcurrentHashMap<Integer, ClassDefinitionContext>();
@@ -178,29 +182,108 @@ final class PortableContextImpl implements PortableContext {
 
     @Override
     public FieldDefinition getFieldDefinition(ClassDefinition classDef, String name) {
+        PortableFieldAccessor accessor = getFieldAccessor(classDef, name);
+        return accessor != null ? accessor.getFieldDefinition() : null;
+    }
+
+    @Override
+    public PortableFieldAccessor getFieldAccessor(ClassDefinition classDef, String name) {
+        if (!(classDef instanceof ClassDefinitionImpl)) {
+            return compileFieldAccessor(classDef, name);
+        }
+
+        ClassDefinitionImpl classDefImpl = (ClassDefinitionImpl) classDef;
+        PortableFieldAccessor accessor = classDefImpl.getFieldAccessor(name);
+        if (accessor == null) {
+            accessor = compileFieldAccessor(classDef, name);
+            classDefImpl.putFieldAccessor(name, accessor);
+        }
+        return accessor != MISSING_FIELD_ACCESSOR ? accessor : null;
+    }
+
+    /**
+     * Compiles the accessor for a field of the class definition or, if the name is a path like {@code a.b.c}, for a
+     * field of a nested Portable.
+     *
+     * @return the accessor, or {@link #MISSING_FIELD_ACCESSOR} if the field doesn't exist
+     */
+    private PortableFieldAccessor compileFieldAccessor(ClassDefinition classDef, String name) {
         FieldDefinition fd = classDef.getField(name);
+        if (fd != null) {
+            return newFieldAccessor(new ClassDefinition[]{classDef}, new FieldDefinition[]{fd});
+        }
+
+        String[] fieldNames = NESTED_FIELD_PATTERN.split(name);
+        if (fieldNames.length == 1) {
+            return MISSING_FIELD_ACCESSOR;
+        }
+        ClassDefinition[] classDefs = new ClassDefinition[fieldNames.length];
+        FieldDefinition[] fieldDefs = new FieldDefinition[fieldNames.length];
+        resolveNestedPath(classDef, fieldNames, classDefs, fieldDefs);
+        return newFieldAccessor(classDefs, fieldDefs);
+    }
+
+    /**
+     * Resolves the class and field definitions of each level of a nested path. The field of the last level is left
+     * null if it doesn't exist.
+     *
+     * @throws IllegalArgumentException if a parent field doesn't exist or isn't a registered Portable
+     */
+    private void resolveNestedPath(ClassDefinition classDef, String[] fieldNames, ClassDefinition[] classDefs,
+                                   FieldDefinition[] fieldDefs) {
+        int lastLevel = fieldNames.length - 1;
+        ClassDefinition currentClassDef = classDef;
+        for (int level = 0; level < lastLevel; level++) {
+            FieldDefinition fd = currentClassDef.getField(fieldNames[level]);
+            classDefs[level] = currentClassDef;
+            fieldDefs[level] = fd;
+            currentClassDef = lookupNestedClassDefinition(currentClassDef, fd, fieldNames[level]);
+        }
+        classDefs[lastLevel] = currentClassDef;
+        fieldDefs[lastLevel] = currentClassDef.getField(fieldNames[lastLevel]);
+    }
+
+    private ClassDefinition lookupNestedClassDefinition(ClassDefinition parentClassDef, FieldDefinition fd,
+                                                        String fieldName) {
         if (fd == null) {
-            String[] fieldNames = NESTED_FIELD_PATTERN.split(name);
-            if (fieldNames.length > 1) {
-                ClassDefinition currentClassDef = classDef;
-                for (int i = 0; i < fieldNames.length; i++) {
-                    name = fieldNames[i];
-                    fd = currentClassDef.getField(name);
-                    if (i == fieldNames.length - 1) {
-                        break;
-                    }
-                    if (fd == null) {
-                        throw new IllegalArgumentException("Unknown field: " + name);
-                    }
-                    currentClassDef = lookupClassDefinition(fd.getFactoryId(), fd.getClassId(),
-                            currentClassDef.getVersion());
-                    if (currentClassDef == null) {
-                        throw new IllegalArgumentException("Not a registered Portable field: " + fd);
-                    }
-                }
-            }
+            throw new IllegalArgumentException("Unknown field: " + fieldName);
+        }
+        ClassDefinition classDef = lookupClassDefinition(fd.getFactoryId(), fd.getClassId(), parentClassDef.getVersion());
+        if (classDef == null) {
+            throw new IllegalArgumentException("Not a registered Portable field: " + fd);
+        }
+        return classDef;
+    }
+
+    /**
+     * Creates the accessor for the resolved path; the value at the end of the path is read by the extractor of its
+     * {@link com.hazelcast.nio.serialization.FieldType}.
+     *
+     * @return the accessor, or {@link #MISSING_FIELD_ACCESSOR} if the field at the end of the path doesn't exist
+     */
+    private PortableFieldAccessor newFieldAccessor(ClassDefinition[] classDefs, FieldDefinition[] fieldDefs) {
+        if (fieldDefs[fieldDefs.length - 1] == null) {
+            return MISSING_FIELD_ACCESSOR;
+        }
+        return new DefaultPortableFieldAccessor(this, classDefs, fieldDefs);
+    }
+
+    /**
+     * Looks up a field of a nested Portable by the class definition version found in the stream. Reads and registers
+     * the class definition from the stream if it isn't registered yet.
+     *
+     * @param in the input positioned right after the version of the nested Portable
+     */
+    FieldDefinition lookupFieldDefinition(BufferObjectDataInput in, int factoryId, int classId, int version, String name)
+            throws IOException {
+        int effectiveVersion = version < 0 ? this.version : version;
+        ClassDefinition cd = lookupClassDefinition(factoryId, classId, effectiveVersion);
+        if (cd == null) {
+            int begin = in.position();
+            cd = readClassDefinition(in, factoryId, classId, effectiveVersion);
+            in.position(begin);
         }
-        return fd;
+        return cd.getField(name);
     }
 
     private ClassDefinitionContext getClassDefContext(int factoryId) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.spi.annotation.Beta;
+
+/**
+ * A session to load a large number of entries into an {@link com.hazelcast.core.IMap}.
+ * <p/>
+ * Entries are added one by one and are grouped per partition on the caller side. As soon as the batch of a partition
+ * reaches the batch size, it is sent to the partition owner as a single put-all operation, without waiting for the
+ * result; no old values are returned. The number of batches in flight is bounded: {@link #add(Object, Object)} blocks
+ * as long as the maximum is reached; so the caller is slowed down to the pace of the cluster instead of piling up
+ * pending entries in memory.
+ * <p/>
+ * A session is created with {@link com.hazelcast.core.IMap#newBulkLoadSession(int, int)}:
+ * <pre>
+ *     BulkLoadSession&lt;Long, String&gt; session = map.newBulkLoadSession(1000, 16);
+ *     try {
+ *         for (Record record : records) {
+ *             session.add(record.getId(), record.getValue());
+ *         }
+ *     } finally {
+ *         session.close();
+ *     }
+ * </pre>
+ * No atomicity guarantees are given; if the session fails, some of the entries could be written, while others are
+ * not. A failed batch is not retried and is reported by the next call to {@link #add(Object, Object)},
+ * {@link #flush()} or {@link #close()}.
+ * <p/>
+ * A BulkLoadSession is not thread-safe; it should be used by a single thread.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 3.7
+ */
+@Beta
+public interface BulkLoadSession<K, V> {
+
+    /**
+     * Adds an entry to this session. The entry is sent once the batch of its partition is full.
+     * <p/>
+     * Blocks while the maximum number of batches is in flight.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws NullPointerException  if the key or value is null
+     * @throws IllegalStateException if the session is closed
+     */
+    void add(K key, V value) throws InterruptedException;
+
+    /**
+     * Sends all partially filled batches and waits until all batches sent by this session are completed.
+     *
+     * @throws InterruptedException  if the thread is interrupted while waiting
+     * @throws IllegalStateException if the session is closed
+     */
+    void flush() throws InterruptedException;
+
+    /**
+     * Flushes and closes this session. Closing a closed session has no effect.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void close() throws InterruptedException;
+
+    /**
+     * Returns the number of entries added to this session.
+     *
+     * @return the number of added entries
+     */
+    long getAddedCount();
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.map.BulkLoadSession;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Base class of the {@link BulkLoadSession} of the member and client map proxies.
+ * <p/>
+ * The entries are collected in a {@link MapEntries} per partition; a full batch is handed to
+ * {@link #invokePutAll(int, MapEntries)}. A semaphore with a permit per batch in flight provides the backpressure;
+ * the permit is released by the callback of the batch.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public abstract class AbstractBulkLoadSession<K, V> implements BulkLoadSession<K, V> {
+
+    protected static final String NULL_KEY_IS_NOT_ALLOWED = "Null key is not allowed!";
+    protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
+
+    private final int batchSize;
+    private final int maxInFlightBatches;
+    private final MapEntries[] batchByPartition;
+    private final Semaphore inFlightBatches;
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+    private final ExecutionCallback<Object> batchCallback = new ExecutionCallback<Object>() {
+        @Override
+        public void onResponse(Object response) {
+            inFlightBatches.release();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure.compareAndSet(null, t);
+            inFlightBatches.release();
+        }
+    };
+
+    private long addedCount;
+    private boolean closed;
+
+    protected AbstractBulkLoadSession(int partitionCount, int batchSize, int maxInFlightBatches) {
+        this.batchSize = checkPositive(batchSize, "batchSize should be a positive number");
+        this.maxInFlightBatches = checkPositive(maxInFlightBatches, "maxInFlightBatches should be a positive number");
+        this.batchByPartition = new MapEntries[partitionCount];
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+    }
+
+    /**
+     * Converts a key to its serialized form, taking the partitioning strategy of the map into account.
+     */
+    protected abstract Data toKeyData(K key);
+
+    protected abstract Data toValueData(V value);
+
+    protected abstract int getPartitionId(Data key);
+
+    /**
+     * Sends a batch of entries to the owner of the given partition.
+     *
+     * @return the future that is completed once the batch is stored
+     */
+    protected abstract ICompletableFuture<?> invokePutAll(int partitionId, MapEntries entries);
+
+    @Override
+    public void add(K key, V value) throws InterruptedException {
+        checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
+        checkNotNull(value, NULL_VALUE_IS_NOT_ALLOWED);
+        checkNotClosed();
+        checkNoFailure();
+
+        Data keyData = toKeyData(key);
+        int partitionId = getPartitionId(keyData);
+        MapEntries batch = batchByPartition[partitionId];
+        if (batch == null) {
+            batch = new MapEntries();
+            batchByPartition[partitionId] = batch;
+        }
+        batch.add(keyData, toValueData(value));
+        addedCount++;
+
+        if (batch.size() >= batchSize) {
+            send(partitionId, batch);
+        }
+    }
+
+    @Override
+    public void flush() throws InterruptedException {
+        checkNotClosed();
+
+        for (int partitionId = 0; partitionId < batchByPartition.length; partitionId++) {
+            MapEntries batch = batchByPartition[partitionId];
+            if (batch != null) {
+                send(partitionId, batch);
+            }
+        }
+
+        // once all permits are acquired, no batch is in flight anymore
+        inFlightBatches.acquire(maxInFlightBatches);
+        inFlightBatches.release(maxInFlightBatches);
+        checkNoFailure();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (closed) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+        }
+    }
+
+    @Override
+    public long getAddedCount() {
+        return addedCount;
+    }
+
+    /**
+     * Sends the batch of a partition. The batch is only removed once it is sent; so if the send fails, e.g. because the
+     * calling thread is interrupted while waiting for a permit, its entries are sent by a later flush.
+     */
+    @SuppressWarnings("unchecked")
+    private void send(int partitionId, MapEntries batch) throws InterruptedException {
+        inFlightBatches.acquire();
+        try {
+            ICompletableFuture<Object> future = (ICompletableFuture<Object>) invokePutAll(partitionId, batch);
+            future.andThen(batchCallback);
+        } catch (RuntimeException e) {
+            inFlightBatches.release();
+            throw e;
+        }
+        batchByPartition[partitionId] = null;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Bulk load session is closed");
+        }
+    }
+
+    private void checkNoFailure() {
+        Throwable t = failure.get();
+        if (t != null) {
+            throw rethrow(t);
+        }
+    }
+}
@@ -34,11 +34,14 @@ import com.hazelcast.util.ConcurrencyUtil;
 import com.hazelcast.util.ConstructorFunction;
 import com.hazelcast.util.ExceptionUtil;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+
 /**
  * Provides node local statistics of a map via {@link #createLocalMapStats}
  * and also holds all {@link com.hazelcast.monitor.impl.LocalMapStatsImpl} implementations of all maps.
@@ -130,7 +133,10 @@ public class LocalMapStatsProvider {
         long lastUpdateTime = 0;
         long hits = 0;
 
-        Iterator<Record> iterator = recordStore.iterator();
+        // the records of a map with NATIVE in-memory format are stored off-heap and may only be accessed by the
+        // partition thread, so the per-record statistics are not collected for such a map.
+        boolean nativeFormat = recordStore.getMapContainer().getMapConfig().getInMemoryFormat() == NATIVE;
+        Iterator<Record> iterator = nativeFormat ? Collections.<Record>emptyList().iterator() : recordStore.iterator();
         while (iterator.hasNext()) {
             Record record = iterator.next();
             Data key = record.getKey();
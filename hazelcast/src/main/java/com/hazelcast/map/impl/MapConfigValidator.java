@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 
@@ -40,4 +41,32 @@ public final class MapConfigValidator {
         }
 
     }
+
+    /**
+     * Throws {@link IllegalArgumentException} if the supplied {@link InMemoryFormat} of a map is
+     * {@link InMemoryFormat#NATIVE} while native memory is not enabled.
+     *
+     * @param inMemoryFormat     supplied inMemoryFormat.
+     * @param nativeMemoryConfig the native memory configuration of the member.
+     */
+    public static void checkMapInMemoryFormat(InMemoryFormat inMemoryFormat, NativeMemoryConfig nativeMemoryConfig) {
+        if (NATIVE == inMemoryFormat && (nativeMemoryConfig == null || !nativeMemoryConfig.isEnabled())) {
+            throw new IllegalArgumentException("NATIVE storage format requires native memory to be enabled. "
+                    + "Make sure NativeMemoryConfig is enabled in the member configuration!");
+        }
+    }
+
+    /**
+     * Throws {@link IllegalArgumentException} if read-backup-data is enabled for a map with {@link InMemoryFormat#NATIVE}
+     * in-memory format; its records may only be accessed by the partition thread, so backups can't be read locally.
+     *
+     * @param inMemoryFormat supplied inMemoryFormat.
+     * @param readBackupData supplied read-backup-data setting.
+     */
+    public static void checkReadBackupData(InMemoryFormat inMemoryFormat, boolean readBackupData) {
+        if (NATIVE == inMemoryFormat && readBackupData) {
+            throw new IllegalArgumentException("NATIVE storage format does not support read-backup-data. "
+                    + "Disable read-backup-data in the map configuration!");
+        }
+    }
 }
@@ -30,6 +30,7 @@ import com.hazelcast.map.impl.eviction.EvictorImpl;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.merge.MapMergePolicy;
@@ -134,6 +135,8 @@ public class MapContainer {
                         return new DataRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     case OBJECT:
                         return new ObjectRecordFactory(mapConfig, serializationService);
+                    case NATIVE:
+                        return new NativeRecordFactory(mapConfig, serializationService, partitioningStrategy);
                     default:
                         throw new IllegalArgumentException("Invalid storage format: " + mapConfig.getInMemoryFormat());
                 }
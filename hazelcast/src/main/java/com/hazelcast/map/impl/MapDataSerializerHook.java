@@ -19,13 +19,21 @@ package com.hazelcast.map.impl;
 import com.hazelcast.internal.serialization.DataSerializerHook;
 import com.hazelcast.internal.serialization.impl.ArrayDataSerializableFactory;
 import com.hazelcast.internal.serialization.impl.FactoryIdHelper;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.operation.GetOperation;
 import com.hazelcast.map.impl.operation.PutBackupOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
 import com.hazelcast.map.impl.operation.RemoveBackupOperation;
 import com.hazelcast.map.impl.operation.RemoveOperation;
+import com.hazelcast.map.impl.query.AggregationResult;
+import com.hazelcast.map.impl.query.ProjectingAggregator;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheSnapshot;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheSnapshotOperation;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.util.ConstructorFunction;
@@ -53,8 +61,16 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int QUERY_RESULT_ROW = 13;
     //public static final int QUERY_RESULT_SET = 14;
     public static final int QUERY_RESULT = 15;
+    public static final int AGGREGATION_RESULT = 16;
+    public static final int PROJECTING_AGGREGATOR = 17;
+    public static final int QUERY_CACHE_EVENT_FILTER = 18;
+    public static final int QUERY_CACHE_EVENT_BATCH = 19;
+    public static final int QUERY_CACHE_SNAPSHOT_OPERATION = 20;
+    public static final int QUERY_CACHE_SNAPSHOT = 21;
+    public static final int KEYS_WITH_CURSOR = 22;
+    public static final int ENTRIES_WITH_CURSOR = 23;
 
-    private static final int LEN = QUERY_RESULT + 1;
+    private static final int LEN = ENTRIES_WITH_CURSOR + 1;
 
     @Override
     public int getFactoryId() {
@@ -126,6 +142,46 @@ public final class MapDataSerializerHook implements DataSerializerHook {
                 return new QueryResult();
             }
         };
+        constructors[AGGREGATION_RESULT] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new AggregationResult();
+            }
+        };
+        constructors[PROJECTING_AGGREGATOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new ProjectingAggregator();
+            }
+        };
+        constructors[QUERY_CACHE_EVENT_FILTER] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new QueryCacheEventFilter();
+            }
+        };
+        constructors[QUERY_CACHE_EVENT_BATCH] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new QueryCacheEventBatch();
+            }
+        };
+        constructors[QUERY_CACHE_SNAPSHOT_OPERATION] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new QueryCacheSnapshotOperation();
+            }
+        };
+        constructors[QUERY_CACHE_SNAPSHOT] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new QueryCacheSnapshot();
+            }
+        };
+        constructors[KEYS_WITH_CURSOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapKeysWithCursor();
+            }
+        };
+        constructors[ENTRIES_WITH_CURSOR] = new ConstructorFunction<Integer, IdentifiedDataSerializable>() {
+            public IdentifiedDataSerializable createNew(Integer arg) {
+                return new MapEntriesWithCursor();
+            }
+        };
 
         return new ArrayDataSerializableFactory(constructors);
     }
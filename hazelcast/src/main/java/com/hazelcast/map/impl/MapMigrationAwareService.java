@@ -25,10 +25,10 @@ import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.MigrationEndpoint;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ReplicaDigestAwareService;
 import com.hazelcast.util.Clock;
 
 import java.util.Iterator;
@@ -38,7 +38,7 @@ import java.util.Iterator;
  *
  * @see MapService
  */
-class MapMigrationAwareService implements MigrationAwareService {
+class MapMigrationAwareService implements ReplicaDigestAwareService {
 
     protected final MapServiceContext mapServiceContext;
     protected final SerializationService serializationService;
@@ -62,6 +62,24 @@ class MapMigrationAwareService implements MigrationAwareService {
         return operation;
     }
 
+    @Override
+    public long[] getReplicaDigests(PartitionReplicationEvent event, int segmentCount) {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
+        return MapReplicaDigests.calculate(container, event.getReplicaIndex(), segmentCount, mapServiceContext);
+    }
+
+    @Override
+    public Operation prepareReplicationOperation(PartitionReplicationEvent event, long[] replicaDigests) {
+        PartitionContainer container = mapServiceContext.getPartitionContainer(event.getPartitionId());
+        MapReplicationOperation operation = new MapReplicationOperation(mapServiceContext.getService(), container,
+                event.getPartitionId(), event.getReplicaIndex(), replicaDigests);
+        if (operation.isEmpty()) {
+            return null;
+        }
+        operation.setService(mapServiceContext.getService());
+        return operation;
+    }
+
     @Override
     public void commitMigration(PartitionMigrationEvent event) {
         migrateIndex(event);
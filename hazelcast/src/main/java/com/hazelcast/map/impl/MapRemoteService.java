@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.config.Config;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
@@ -26,6 +27,8 @@ import com.hazelcast.spi.RemoteService;
 import java.util.Map;
 
 import static com.hazelcast.map.impl.MapConfigValidator.checkInMemoryFormat;
+import static com.hazelcast.map.impl.MapConfigValidator.checkMapInMemoryFormat;
+import static com.hazelcast.map.impl.MapConfigValidator.checkReadBackupData;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
 /**
@@ -45,8 +48,10 @@ class MapRemoteService implements RemoteService {
 
     @Override
     public DistributedObject createDistributedObject(String name) {
-        MapConfig mapConfig = nodeEngine.getConfig().findMapConfig(name);
-        checkInMemoryFormat(mapConfig.getInMemoryFormat());
+        Config config = nodeEngine.getConfig();
+        MapConfig mapConfig = config.findMapConfig(name);
+        checkMapInMemoryFormat(mapConfig.getInMemoryFormat(), config.getNativeMemoryConfig());
+        checkReadBackupData(mapConfig.getInMemoryFormat(), mapConfig.isReadBackupData());
 
         if (mapConfig.isNearCacheEnabled()) {
             checkInMemoryFormat(mapConfig.getNearCacheConfig().getInMemoryFormat());
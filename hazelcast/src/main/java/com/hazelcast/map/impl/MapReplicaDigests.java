@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordStatistics;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Iterator;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static com.hazelcast.util.HashUtil.hashToIndex;
+
+/**
+ * Calculates the segment digests of the map data of a partition replica.
+ * <p/>
+ * A record belongs to the segment determined by the hash of its key; so a segment contains records of all maps in the
+ * partition. The digest of a segment is the sum of the hashes of its records, where the hash of a record is derived from
+ * the map name, the key, the value and the metadata which is replicated with the record: the TTL, the version and the
+ * expiration time. Because a sum is used, the digest doesn't depend on the iteration order of the records.
+ * <p/>
+ * With max-idle expiration, reading an entry moves its expiration time on the owner only; the next sync then replicates
+ * the segment, so the backups don't expire entries that are still in use.
+ *
+ * @see MapMigrationAwareService#getReplicaDigests(com.hazelcast.spi.PartitionReplicationEvent, int)
+ */
+public final class MapReplicaDigests {
+
+    private static final int PRIME = 31;
+
+    private MapReplicaDigests() {
+    }
+
+    /**
+     * Calculates the segment digests of the maps in the given partition container that have a backup for the given
+     * replica index.
+     *
+     * @param container         the partition container
+     * @param replicaIndex      the replica index
+     * @param segmentCount      the number of segments
+     * @param mapServiceContext the MapServiceContext used to serialize the values
+     * @return the digests of all segments
+     */
+    public static long[] calculate(PartitionContainer container, int replicaIndex, int segmentCount,
+                                   MapServiceContext mapServiceContext) {
+        long[] digests = new long[segmentCount];
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (!isReplicated(recordStore, replicaIndex)) {
+                continue;
+            }
+
+            long nameHash = recordStore.getName().hashCode();
+            Iterator<Record> iterator = recordStore.iterator();
+            while (iterator.hasNext()) {
+                Record record = iterator.next();
+                Data key = record.getKey();
+                Data value = mapServiceContext.toData(record.getValue());
+                digests[getSegment(key, segmentCount)] += hash(nameHash, key, value, record);
+            }
+        }
+        return digests;
+    }
+
+    /**
+     * Returns the segment of the given key.
+     *
+     * @param key          the key
+     * @param segmentCount the number of segments
+     * @return the segment
+     */
+    public static int getSegment(Data key, int segmentCount) {
+        return hashToIndex((int) key.hash64(), segmentCount);
+    }
+
+    /**
+     * Checks if the map of the given record store has a backup for the given replica index.
+     *
+     * @param recordStore  the record store
+     * @param replicaIndex the replica index
+     * @return true if replicated, false otherwise
+     */
+    public static boolean isReplicated(RecordStore recordStore, int replicaIndex) {
+        return recordStore.getMapContainer().getMapConfig().getTotalBackupCount() >= replicaIndex;
+    }
+
+    private static long hash(long nameHash, Data key, Data value, Record record) {
+        long hash = PRIME * nameHash + key.hash64();
+        hash = PRIME * hash + (value == null ? 0 : value.hash64());
+        hash = PRIME * hash + record.getTtl();
+        hash = PRIME * hash + record.getVersion();
+        hash = PRIME * hash + getExpirationTime(record);
+        return MurmurHash3_fmix(hash);
+    }
+
+    private static long getExpirationTime(Record record) {
+        // the expiration time is only tracked if the statistics are enabled
+        RecordStatistics statistics = record.getStatistics();
+        return statistics == null ? 0 : statistics.getExpirationTime();
+    }
+}
@@ -35,6 +35,7 @@ import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.PostJoinAwareService;
 import com.hazelcast.spi.QuorumAwareService;
 import com.hazelcast.spi.RemoteService;
+import com.hazelcast.spi.ReplicaDigestAwareService;
 import com.hazelcast.spi.ReplicationSupportingService;
 import com.hazelcast.spi.SplitBrainHandlerService;
 import com.hazelcast.spi.StatisticsAwareService;
@@ -65,7 +66,7 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
  * @see MapClientAwareService
  * @see MapServiceContext
  */
-public class MapService implements ManagedService, MigrationAwareService,
+public class MapService implements ManagedService, ReplicaDigestAwareService,
         TransactionalService, RemoteService, EventPublishingService<Object, ListenerAdapter>,
         PostJoinAwareService, SplitBrainHandlerService, ReplicationSupportingService, StatisticsAwareService,
         PartitionAwareService, ClientAwareService, QuorumAwareService, NotifiableEventListener {
@@ -114,6 +115,22 @@ public class MapService implements ManagedService, MigrationAwareService,
         return migrationAwareService.prepareReplicationOperation(event);
     }
 
+    @Override
+    public long[] getReplicaDigests(PartitionReplicationEvent event, int segmentCount) {
+        if (migrationAwareService instanceof ReplicaDigestAwareService) {
+            return ((ReplicaDigestAwareService) migrationAwareService).getReplicaDigests(event, segmentCount);
+        }
+        return null;
+    }
+
+    @Override
+    public Operation prepareReplicationOperation(PartitionReplicationEvent event, long[] replicaDigests) {
+        if (migrationAwareService instanceof ReplicaDigestAwareService) {
+            return ((ReplicaDigestAwareService) migrationAwareService).prepareReplicationOperation(event, replicaDigests);
+        }
+        return migrationAwareService.prepareReplicationOperation(event);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -206,6 +223,8 @@ public class MapService implements ManagedService, MigrationAwareService,
 
     @Override
     public void onDeregister(Object service, String serviceName, String topic, EventRegistration registration) {
+        mapServiceContext.getQueryCacheContext().getPublisher().onDeregister(registration);
+
         EventFilter filter = registration.getFilter();
         if (!(filter instanceof EventListenerFilter) || !filter.eval(INVALIDATION.getType())) {
             return;
@@ -21,7 +21,9 @@ import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.ExpirationManager;
 import com.hazelcast.map.impl.nearcache.NearCacheProvider;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.query.MapAggregationEngine;
 import com.hazelcast.map.impl.query.MapQueryEngine;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.merge.MergePolicyProvider;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
@@ -117,6 +119,10 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     MapQueryEngine getMapQueryEngine(String name);
 
+    MapAggregationEngine getMapAggregationEngine(String name);
+
+    QueryCacheContext getQueryCacheContext();
+
     LocalMapStatsProvider getLocalMapStatsProvider();
 
     MapOperationProvider getMapOperationProvider(String name);
@@ -32,8 +32,10 @@ import com.hazelcast.map.impl.operation.GetOperation;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.operation.MapOperationProviders;
 import com.hazelcast.map.impl.operation.MapPartitionDestroyTask;
+import com.hazelcast.map.impl.query.MapAggregationEngine;
 import com.hazelcast.map.impl.query.MapQueryEngine;
 import com.hazelcast.map.impl.query.MapQueryEngineImpl;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.recordstore.DefaultRecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.listener.MapPartitionLostListener;
@@ -100,6 +102,8 @@ class MapServiceContextImpl implements MapServiceContext {
     protected final LocalMapStatsProvider localMapStatsProvider;
     protected final MergePolicyProvider mergePolicyProvider;
     protected final MapQueryEngine mapQueryEngine;
+    protected final MapAggregationEngine mapAggregationEngine;
+    protected final QueryCacheContext queryCacheContext;
     protected MapEventPublisher mapEventPublisher;
     protected MapService mapService;
     protected EventService eventService;
@@ -116,6 +120,8 @@ class MapServiceContextImpl implements MapServiceContext {
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.mapQueryEngine = createMapQueryEngine();
+        this.mapAggregationEngine = new MapAggregationEngine(this, newOptimizer(nodeEngine.getGroupProperties()));
+        this.queryCacheContext = new QueryCacheContext(this);
         this.eventService = nodeEngine.getEventService();
         this.operationProviders = createOperationProviders();
     }
@@ -234,6 +240,7 @@ class MapServiceContextImpl implements MapServiceContext {
     @Override
     public void destroyMap(final String mapName) {
         localMapStatsProvider.destroyLocalMapStatsImpl(mapName);
+        queryCacheContext.destroyQueryCaches(mapName);
         final PartitionContainer[] containers = partitionContainers;
         final Semaphore semaphore = new Semaphore(0);
         InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
@@ -253,12 +260,14 @@ class MapServiceContextImpl implements MapServiceContext {
     public void reset() {
         clearPartitions(false);
         getNearCacheProvider().reset();
+        queryCacheContext.reset();
     }
 
     @Override
     public void shutdown() {
         clearPartitions(true);
         nearCacheProvider.shutdown();
+        queryCacheContext.shutdown();
         mapContainers.clear();
     }
 
@@ -327,6 +336,16 @@ class MapServiceContextImpl implements MapServiceContext {
         return mapQueryEngine;
     }
 
+    @Override
+    public MapAggregationEngine getMapAggregationEngine(String mapName) {
+        return mapAggregationEngine;
+    }
+
+    @Override
+    public QueryCacheContext getQueryCacheContext() {
+        return queryCacheContext;
+    }
+
     @Override
     public LocalMapStatsProvider getLocalMapStatsProvider() {
         return localMapStatsProvider;
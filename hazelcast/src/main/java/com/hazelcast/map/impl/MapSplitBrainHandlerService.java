@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.logging.ILogger;
@@ -26,25 +27,32 @@ import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.merge.MapMergePolicy;
 import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.SplitBrainHandlerService;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 
 class MapSplitBrainHandlerService implements SplitBrainHandlerService {
 
+    private static final long PREPARE_MERGE_TIMEOUT_SECONDS = 30;
+
     protected final MapServiceContext mapServiceContext;
     protected final NodeEngine nodeEngine;
 
@@ -58,35 +66,56 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
         final long now = getNow();
 
         final Map<String, MapContainer> mapContainers = getMapContainers();
-        final Map<MapContainer, Collection<Record>> recordMap = new HashMap<MapContainer,
-                Collection<Record>>(mapContainers.size());
+        final Map<MapContainer, Collection<EntryView<Data, Data>>> entryViewMap
+                = new HashMap<MapContainer, Collection<EntryView<Data, Data>>>(mapContainers.size());
         final InternalPartitionService partitionService = nodeEngine.getPartitionService();
         final int partitionCount = partitionService.getPartitionCount();
         final Address thisAddress = nodeEngine.getClusterService().getThisAddress();
+        final InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
 
         for (MapContainer mapContainer : mapContainers.values()) {
+            // the records of a map with NATIVE in-memory format are stored off-heap and may only be accessed
+            // by the partition thread
+            boolean nativeFormat = mapContainer.getMapConfig().getInMemoryFormat() == NATIVE;
+            Collection<EntryView<Data, Data>> entryViews
+                    = Collections.synchronizedList(new ArrayList<EntryView<Data, Data>>());
+            Semaphore semaphore = new Semaphore(0);
             for (int i = 0; i < partitionCount; i++) {
                 RecordStore recordStore = mapServiceContext.getPartitionContainer(i).getRecordStore(mapContainer.getName());
                 // add your owned entries to the map so they will be merged
-                if (thisAddress.equals(partitionService.getPartitionOwner(i))) {
-                    Collection<Record> records = recordMap.get(mapContainer);
-                    if (records == null) {
-                        records = new ArrayList<Record>();
-                        recordMap.put(mapContainer, records);
-                    }
-                    final Iterator<Record> iterator = recordStore.iterator(now, false);
-                    while (iterator.hasNext()) {
-                        final Record record = iterator.next();
-                        records.add(record);
-                    }
+                boolean owned = thisAddress.equals(partitionService.getPartitionOwner(i));
+                PrepareMergeTask task = new PrepareMergeTask(recordStore, i, owned, now, entryViews, semaphore);
+                if (nativeFormat) {
+                    operationService.execute(task);
+                } else {
+                    task.run();
                 }
-                // clear all records either owned or backup
-                recordStore.reset();
             }
+            awaitPrepareMerge(mapContainer.getName(), semaphore, partitionCount);
+            entryViewMap.put(mapContainer, entryViews);
             Indexes indexes = mapContainer.getIndexes();
             indexes.clearIndexes();
         }
-        return new Merger(recordMap);
+        return new Merger(entryViewMap);
+    }
+
+    /**
+     * Waits until the entries of all partitions are collected. The tasks that already ran have cleared their record
+     * stores, so the wait is not given up while the node is running; otherwise their entries would not be merged.
+     */
+    private void awaitPrepareMerge(String mapName, Semaphore semaphore, int partitionCount) {
+        try {
+            while (!semaphore.tryAcquire(partitionCount, PREPARE_MERGE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                if (!nodeEngine.isRunning()) {
+                    throw new HazelcastInstanceNotActiveException();
+                }
+                nodeEngine.getLogger(MapSplitBrainHandlerService.class).warning("Collecting the entries of map "
+                        + mapName + " to merge takes longer than " + PREPARE_MERGE_TIMEOUT_SECONDS + " seconds, "
+                        + (partitionCount - semaphore.availablePermits()) + " partitions are still pending");
+            }
+        } catch (InterruptedException e) {
+            throw ExceptionUtil.rethrow(e);
+        }
     }
 
     protected Map<String, MapContainer> getMapContainers() {
@@ -101,10 +130,10 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
 
         private static final int TIMEOUT_FACTOR = 500;
 
-        private Map<MapContainer, Collection<Record>> recordMap;
+        private Map<MapContainer, Collection<EntryView<Data, Data>>> entryViewMap;
 
-        Merger(Map<MapContainer, Collection<Record>> recordMap) {
-            this.recordMap = recordMap;
+        Merger(Map<MapContainer, Collection<EntryView<Data, Data>>> entryViewMap) {
+            this.entryViewMap = entryViewMap;
         }
 
         @Override
@@ -126,9 +155,9 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
                 }
             };
 
-            for (MapContainer mapContainer : recordMap.keySet()) {
+            for (MapContainer mapContainer : entryViewMap.keySet()) {
                 String mapName = mapContainer.getName();
-                Collection<Record> recordList = recordMap.get(mapContainer);
+                Collection<EntryView<Data, Data>> entryViews = entryViewMap.get(mapContainer);
                 String mergePolicyName = mapContainer.getMapConfig().getMergePolicy();
 
                 // todo number of records may be high.
@@ -136,15 +165,12 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
                 final MapMergePolicy finalMergePolicy
                         = mapServiceContext.getMergePolicyProvider().getMergePolicy(mergePolicyName);
                 MapOperationProvider operationProvider = mapServiceContext.getMapOperationProvider(mapName);
-                for (Record record : recordList) {
+                for (EntryView<Data, Data> entryView : entryViews) {
                     recordCount++;
-                    EntryView entryView = EntryViews.createSimpleEntryView(record.getKey(),
-                            mapServiceContext.toData(record.getValue()), record);
-
                     MapOperation operation = operationProvider.createMergeOperation(mapName,
-                            record.getKey(), entryView, finalMergePolicy, false);
+                            entryView.getKey(), entryView, finalMergePolicy, false);
                     try {
-                        int partitionId = nodeEngine.getPartitionService().getPartitionId(record.getKey());
+                        int partitionId = nodeEngine.getPartitionService().getPartitionId(entryView.getKey());
                         ICompletableFuture f = nodeEngine.getOperationService()
                                 .invokeOnPartition(SERVICE_NAME, operation, partitionId);
 
@@ -163,4 +189,50 @@ class MapSplitBrainHandlerService implements SplitBrainHandlerService {
         }
 
     }
+
+    /**
+     * Collects the owned entries of a record store as entry views and clears the record store.
+     */
+    private final class PrepareMergeTask implements PartitionSpecificRunnable {
+
+        private final RecordStore recordStore;
+        private final int partitionId;
+        private final boolean owned;
+        private final long now;
+        private final Collection<EntryView<Data, Data>> entryViews;
+        private final Semaphore semaphore;
+
+        private PrepareMergeTask(RecordStore recordStore, int partitionId, boolean owned, long now,
+                                 Collection<EntryView<Data, Data>> entryViews, Semaphore semaphore) {
+            this.recordStore = recordStore;
+            this.partitionId = partitionId;
+            this.owned = owned;
+            this.now = now;
+            this.entryViews = entryViews;
+            this.semaphore = semaphore;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (owned) {
+                    Iterator<Record> iterator = recordStore.iterator(now, false);
+                    while (iterator.hasNext()) {
+                        Record record = iterator.next();
+                        entryViews.add(EntryViews.createSimpleEntryView(record.getKey(),
+                                mapServiceContext.toData(record.getValue()), record));
+                    }
+                }
+                // clear all records either owned or backup
+                recordStore.reset();
+            } finally {
+                semaphore.release();
+            }
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+    }
 }
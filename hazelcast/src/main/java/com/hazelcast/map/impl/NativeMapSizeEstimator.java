@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.map.impl.record.Record;
+
+/**
+ * Size estimator for maps which have {@link InMemoryFormat#NATIVE} memory-format.
+ * <p/>
+ * Estimates the off-heap memory used by the records; the key is stored inline in the record so it has no separate cost.
+ */
+class NativeMapSizeEstimator implements SizeEstimator {
+
+    private volatile long size;
+
+    NativeMapSizeEstimator() {
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public void add(long size) {
+        this.size += size;
+    }
+
+    @Override
+    public void reset() {
+        size = 0L;
+    }
+
+    @Override
+    public long calculateSize(Object object) {
+        if (object instanceof Record) {
+            return ((Record) object).getCost();
+        }
+        return 0L;
+    }
+}
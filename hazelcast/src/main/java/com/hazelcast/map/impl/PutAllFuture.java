@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.AbstractCompletableFuture;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The future of an asynchronous put-all; it completes once the put-all operations of all partitions have completed,
+ * or as soon as one of them fails.
+ * <p/>
+ * The future is registered as callback of the per partition futures; it expects to be notified exactly once per
+ * partition.
+ */
+public class PutAllFuture extends AbstractCompletableFuture<Void> implements ExecutionCallback<Object> {
+
+    private final AtomicInteger pendingPartitions;
+
+    public PutAllFuture(Executor executor, ILogger logger, int partitionCount) {
+        super(executor, logger);
+        this.pendingPartitions = new AtomicInteger(partitionCount);
+        if (partitionCount == 0) {
+            setResult(null);
+        }
+    }
+
+    @Override
+    public void onResponse(Object response) {
+        if (pendingPartitions.decrementAndGet() == 0) {
+            setResult(null);
+        }
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+        setResult(t);
+    }
+}
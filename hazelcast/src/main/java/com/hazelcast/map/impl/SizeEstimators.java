@@ -22,6 +22,7 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.map.impl.nearcache.NearCacheSizeEstimator;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
 
 /**
  * Static factory methods for various size estimators.
@@ -39,6 +40,8 @@ public final class SizeEstimators {
     public static SizeEstimator createMapSizeEstimator(InMemoryFormat inMemoryFormat) {
         if (BINARY.equals(inMemoryFormat)) {
             return new BinaryMapSizeEstimator();
+        } else if (NATIVE.equals(inMemoryFormat)) {
+            return new NativeMapSizeEstimator();
         } else {
             return ZERO_SIZE_ESTIMATOR;
         }
@@ -25,6 +25,8 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapPartitionLostEventFilter;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.query.QueryEventFilter;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheEventFilter;
+import com.hazelcast.map.impl.querycache.publisher.QueryCachePublisher;
 import com.hazelcast.map.impl.wan.MapReplicationRemove;
 import com.hazelcast.map.impl.wan.MapReplicationUpdate;
 import com.hazelcast.nio.Address;
@@ -107,7 +109,7 @@ public class MapEventPublisherImpl implements MapEventPublisher {
                 }
             }
 
-            if (!(filter instanceof MapPartitionLostEventFilter)) {
+            if (!(filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter)) {
                 if (registrations == null) {
                     registrations = new ArrayList<EventRegistration>();
                 }
@@ -174,6 +176,28 @@ public class MapEventPublisherImpl implements MapEventPublisher {
             int orderKey = pickOrderKey(dataKey);
             publishEventInternal(nullValueRegistrations, eventData, orderKey);
         }
+
+        publishQueryCacheEvent(mapName, registrations, eventType, dataKey, oldValue, value);
+    }
+
+    private void publishQueryCacheEvent(String mapName, Collection<EventRegistration> registrations,
+                                        EntryEventType eventType, Data dataKey, Object oldValue, Object value) {
+        List<EventRegistration> queryCacheRegistrations = getQueryCacheRegistrations(registrations);
+        if (!isEmpty(queryCacheRegistrations)) {
+            QueryCachePublisher queryCachePublisher = mapServiceContext.getQueryCacheContext().getPublisher();
+            queryCachePublisher.publishEvent(mapName, queryCacheRegistrations, eventType, dataKey, oldValue, value);
+        }
+    }
+
+    private List<EventRegistration> getQueryCacheRegistrations(Collection<EventRegistration> registrations) {
+        List<EventRegistration> queryCacheRegistrations = null;
+        for (EventRegistration registration : registrations) {
+            if (registration.getFilter() instanceof QueryCacheEventFilter) {
+                queryCacheRegistrations = getOrCreateList(queryCacheRegistrations);
+                queryCacheRegistrations.add(registration);
+            }
+        }
+        return queryCacheRegistrations;
     }
 
     protected List<EventRegistration> getOrCreateList(List<EventRegistration> registrations) {
@@ -187,7 +211,8 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     protected boolean doFilter(EventFilter filter, Data dataKey,
                                Object dataOldValue, Object dataValue, EntryEventType eventType, String mapNameOrNull) {
 
-        if (filter instanceof MapPartitionLostEventFilter) {
+        // the query cache registrations are served by the QueryCachePublisher
+        if (filter instanceof MapPartitionLostEventFilter || filter instanceof QueryCacheEventFilter) {
             return false;
         }
 
@@ -262,7 +287,16 @@ public class MapEventPublisherImpl implements MapEventPublisher {
     @Override
     public void hintMapEvent(Address caller, String mapName, EntryEventType eventType,
                              int numberOfEntriesAffected, int partitionId) {
-        // NOP
+        // only the query caches are interested in the per partition events
+        if (partitionId < 0) {
+            return;
+        }
+
+        List<EventRegistration> queryCacheRegistrations = getQueryCacheRegistrations(getRegistrations(mapName));
+        if (!isEmpty(queryCacheRegistrations)) {
+            QueryCachePublisher queryCachePublisher = mapServiceContext.getQueryCacheContext().getPublisher();
+            queryCachePublisher.publishPartitionEvent(mapName, queryCacheRegistrations, eventType, partitionId);
+        }
     }
 
     protected Collection<EventRegistration> getRegistrations(String mapName) {
@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.ListenerAdapter;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.nearcache.Invalidation;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventBatch;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.NodeEngine;
 
@@ -61,6 +62,11 @@ public class MapEventPublishingService implements EventPublishingService<Object,
             return;
         }
 
+        if (eventData instanceof QueryCacheEventBatch) {
+            listener.onEvent(eventData);
+            return;
+        }
+
         if (eventData instanceof Invalidation) {
             listener.onEvent(eventData);
             incrementEventStats(((Invalidation) eventData));
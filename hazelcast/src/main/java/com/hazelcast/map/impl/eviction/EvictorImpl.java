@@ -19,9 +19,19 @@ package com.hazelcast.map.impl.eviction;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.EvictionStrategy;
+import com.hazelcast.internal.eviction.EvictionStrategyProvider;
+import com.hazelcast.internal.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.SampleableStorage;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartition;
 import com.hazelcast.partition.InternalPartitionService;
@@ -30,13 +40,24 @@ import com.hazelcast.util.Clock;
 import java.util.Arrays;
 import java.util.Iterator;
 
+import static com.hazelcast.internal.eviction.EvictionChecker.EVICT_ALWAYS;
+
 /**
  * Eviction helper methods.
+ * <p/>
+ * If the storage of a record store is a {@link SampleableStorage}, the records are evicted one by one with the sampling
+ * based {@link EvictionStrategy}; so the cost of an eviction is bounded by the sample size instead of the partition size.
+ * Otherwise the eviction criteria of all records are sorted to find the records to evict.
  */
 public class EvictorImpl implements Evictor {
 
     protected static final int ONE_HUNDRED_PERCENT = 100;
 
+    private static final EvictionPolicyEvaluator<Data, Evictable> LRU_EVALUATOR
+            = new LRUEvictionPolicyEvaluator<Data, Evictable>();
+    private static final EvictionPolicyEvaluator<Data, Evictable> LFU_EVALUATOR
+            = new LFUEvictionPolicyEvaluator<Data, Evictable>();
+
     protected final MapServiceContext mapServiceContext;
     protected final EvictionChecker evictionChecker;
 
@@ -50,8 +71,45 @@ public class EvictorImpl implements Evictor {
         return evictionChecker;
     }
 
+    /**
+     * Evicts by sampling whenever the storage is a {@link SampleableStorage}, whatever the removal size is; every
+     * evicted record is the best of a small sample, so the record store is never sorted as a whole.
+     */
     @Override
     public void removeSize(int removalSize, RecordStore recordStore) {
+        if (recordStore.getStorage() instanceof SampleableStorage) {
+            removeSizeBySampling(removalSize, recordStore);
+        } else {
+            removeSizeBySorting(removalSize, recordStore);
+        }
+    }
+
+    private void removeSizeBySampling(int removalSize, RecordStore recordStore) {
+        MapConfig mapConfig = recordStore.getMapContainer().getMapConfig();
+        EvictionPolicyEvaluator<Data, Evictable> evaluator = getEvictionPolicyEvaluator(mapConfig.getEvictionPolicy());
+        EvictionStrategy<Data, Evictable, SampleableEvictableStore<Data, Evictable>> strategy
+                = EvictionStrategyProvider.getDefaultEvictionStrategy();
+        RecordStoreEvictableStore evictableStore
+                = new RecordStoreEvictableStore(recordStore, isBackup(recordStore), Clock.currentTimeMillis());
+
+        // every round evicts at most one record; a round may evict nothing, e.g. if the selected key is locked.
+        for (int round = 0; round < removalSize && recordStore.size() > 0; round++) {
+            strategy.evict(evictableStore, evaluator, EVICT_ALWAYS, null);
+        }
+    }
+
+    private static EvictionPolicyEvaluator<Data, Evictable> getEvictionPolicyEvaluator(EvictionPolicy evictionPolicy) {
+        switch (evictionPolicy) {
+            case LRU:
+                return LRU_EVALUATOR;
+            case LFU:
+                return LFU_EVALUATOR;
+            default:
+                throw new IllegalArgumentException("Not an appropriate eviction policy [" + evictionPolicy + ']');
+        }
+    }
+
+    private void removeSizeBySorting(int removalSize, RecordStore recordStore) {
         long now = Clock.currentTimeMillis();
         MapConfig mapConfig = recordStore.getMapContainer().getMapConfig();
 
@@ -195,4 +253,44 @@ public class EvictorImpl implements Evictor {
         return value;
     }
 
+    /**
+     * Exposes the sampleable storage of a record store to the sampling based {@link EvictionStrategy}.
+     */
+    private final class RecordStoreEvictableStore implements SampleableEvictableStore<Data, Evictable> {
+
+        private final RecordStore recordStore;
+        private final SampleableStorage storage;
+        private final boolean backup;
+        private final long now;
+
+        RecordStoreEvictableStore(RecordStore recordStore, boolean backup, long now) {
+            this.recordStore = recordStore;
+            this.storage = (SampleableStorage) recordStore.getStorage();
+            this.backup = backup;
+            this.now = now;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <C extends EvictionCandidate<Data, Evictable>> Iterable<C> sample(int sampleCount) {
+            return (Iterable<C>) storage.getRandomSamples(sampleCount);
+        }
+
+        @Override
+        public <C extends EvictionCandidate<Data, Evictable>> int evict(Iterable<C> evictionCandidates,
+                                                                       EvictionListener<Data, Evictable> evictionListener) {
+            if (evictionCandidates == null) {
+                return 0;
+            }
+            int evictedCount = 0;
+            for (C evictionCandidate : evictionCandidates) {
+                Data key = evictionCandidate.getAccessor();
+                Record record = recordStore.getRecord(key);
+                if (record != null && tryEvict(key, record, recordStore, backup, now)) {
+                    evictedCount++;
+                }
+            }
+            return evictedCount;
+        }
+    }
 }
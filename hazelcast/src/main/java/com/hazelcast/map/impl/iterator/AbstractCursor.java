@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of items fetched from a map partition, together with the table index to continue the fetching from.
+ *
+ * @param <T> the type of the items in the batch
+ * @see com.hazelcast.map.impl.recordstore.Storage#fetchRecords(int, int, List)
+ */
+public abstract class AbstractCursor<T> implements IdentifiedDataSerializable {
+
+    private List<T> batch;
+    private int nextTableIndexToReadFrom;
+
+    public AbstractCursor() {
+    }
+
+    public AbstractCursor(List<T> batch, int nextTableIndexToReadFrom) {
+        this.batch = batch;
+        this.nextTableIndexToReadFrom = nextTableIndexToReadFrom;
+    }
+
+    public List<T> getBatch() {
+        return batch;
+    }
+
+    /**
+     * Returns the table index to continue the fetching from, or a negative number if the partition has been fetched
+     * completely.
+     */
+    public int getNextTableIndexToReadFrom() {
+        return nextTableIndexToReadFrom;
+    }
+
+    abstract void writeElement(ObjectDataOutput out, T element) throws IOException;
+
+    abstract T readElement(ObjectDataInput in) throws IOException;
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(nextTableIndexToReadFrom);
+        out.writeInt(batch.size());
+        for (T element : batch) {
+            writeElement(out, element);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        nextTableIndexToReadFrom = in.readInt();
+        int size = in.readInt();
+        batch = new ArrayList<T>(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(readElement(in));
+        }
+    }
+}
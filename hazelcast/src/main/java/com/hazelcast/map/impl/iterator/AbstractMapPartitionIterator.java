@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.core.IMap;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Base class for iterating over the entries of a single map partition.
+ * <p/>
+ * The entries are fetched in batches; a batch contains at least {@code fetchSize} entries, unless the end of the
+ * partition is reached. A batch is fetched by passing a table index, which is a cursor into the storage of the
+ * partition; the response contains the table index to continue from. So neither the member nor the caller needs to
+ * keep more than a single batch in memory, and no state is kept on the member between two fetches.
+ * <p/>
+ * If {@code prefetchValues} is false, only the keys are fetched and the value of an entry is retrieved when the
+ * entry is reached; entries that have been removed in the meantime are skipped. Otherwise the values are fetched
+ * together with the keys.
+ * <p/>
+ * The iterator is weakly consistent: it doesn't fail on concurrent modifications or migrations, but entries which are
+ * added or removed, or entries of a partition which is resized or migrated during the iteration, may be missed or
+ * returned more than once.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public abstract class AbstractMapPartitionIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+    protected final IMap<K, V> map;
+    protected final int fetchSize;
+    protected final int partitionId;
+    protected final boolean prefetchValues;
+
+    private final SerializationService serializationService;
+
+    private int lastTableIndex = Integer.MAX_VALUE;
+    private List<?> batch = Collections.emptyList();
+    private int index;
+    private Map.Entry<K, V> nextEntry;
+    private Map.Entry<K, V> lastReturned;
+
+    public AbstractMapPartitionIterator(IMap<K, V> map, SerializationService serializationService, int fetchSize,
+                                        int partitionId, boolean prefetchValues) {
+        this.map = map;
+        this.serializationService = serializationService;
+        this.fetchSize = checkPositive(fetchSize, "fetchSize should be a positive number");
+        this.partitionId = partitionId;
+        this.prefetchValues = prefetchValues;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (nextEntry == null) {
+            if (index < batch.size()) {
+                nextEntry = toEntry(batch.get(index++));
+            } else if (lastTableIndex < 0) {
+                return false;
+            } else {
+                fetch();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Map.Entry<K, V> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        lastReturned = nextEntry;
+        nextEntry = null;
+        return lastReturned;
+    }
+
+    @Override
+    public void remove() {
+        if (lastReturned == null) {
+            throw new IllegalStateException("Iterator.next() must be called before remove()!");
+        }
+        map.delete(lastReturned.getKey());
+        lastReturned = null;
+    }
+
+    /**
+     * Fetches a batch of keys from the partition.
+     *
+     * @param tableIndex the table index to start from
+     * @param size       the minimum number of keys to fetch if available
+     * @return the fetched keys and the table index to continue from
+     */
+    protected abstract MapKeysWithCursor fetchKeys(int tableIndex, int size);
+
+    /**
+     * Fetches a batch of entries from the partition.
+     *
+     * @param tableIndex the table index to start from
+     * @param size       the minimum number of entries to fetch if available
+     * @return the fetched entries and the table index to continue from
+     */
+    protected abstract MapEntriesWithCursor fetchEntries(int tableIndex, int size);
+
+    private void fetch() {
+        AbstractCursor<?> cursor = prefetchValues
+                ? fetchEntries(lastTableIndex, fetchSize)
+                : fetchKeys(lastTableIndex, fetchSize);
+        batch = cursor.getBatch();
+        index = 0;
+        lastTableIndex = cursor.getNextTableIndexToReadFrom();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map.Entry<K, V> toEntry(Object item) {
+        if (prefetchValues) {
+            Map.Entry<Data, Data> entry = (Map.Entry<Data, Data>) item;
+            K key = serializationService.toObject(entry.getKey());
+            V value = serializationService.toObject(entry.getValue());
+            return new AbstractMap.SimpleImmutableEntry<K, V>(key, value);
+        }
+        K key = serializationService.toObject(item);
+        V value = map.get(key);
+        return value == null ? null : new AbstractMap.SimpleImmutableEntry<K, V>(key, value);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of entries fetched from a map partition.
+ */
+public class MapEntriesWithCursor extends AbstractCursor<Map.Entry<Data, Data>> {
+
+    public MapEntriesWithCursor() {
+    }
+
+    public MapEntriesWithCursor(List<Map.Entry<Data, Data>> entries, int nextTableIndexToReadFrom) {
+        super(entries, nextTableIndexToReadFrom);
+    }
+
+    @Override
+    void writeElement(ObjectDataOutput out, Map.Entry<Data, Data> element) throws IOException {
+        out.writeData(element.getKey());
+        out.writeData(element.getValue());
+    }
+
+    @Override
+    Map.Entry<Data, Data> readElement(ObjectDataInput in) throws IOException {
+        Data key = in.readData();
+        Data value = in.readData();
+        return new AbstractMap.SimpleImmutableEntry<Data, Data>(key, value);
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.ENTRIES_WITH_CURSOR;
+    }
+}
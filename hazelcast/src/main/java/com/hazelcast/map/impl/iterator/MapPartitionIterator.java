@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.spi.InternalCompletableFuture;
+
+/**
+ * Iterates over the entries of a single map partition, by fetching batches of entries from the partition owner.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @see AbstractMapPartitionIterator
+ */
+public class MapPartitionIterator<K, V> extends AbstractMapPartitionIterator<K, V> {
+
+    private final MapProxyImpl<K, V> mapProxy;
+    private final MapOperationProvider operationProvider;
+
+    public MapPartitionIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int partitionId, boolean prefetchValues) {
+        super(mapProxy, mapProxy.getNodeEngine().getSerializationService(), fetchSize, partitionId, prefetchValues);
+        this.mapProxy = mapProxy;
+        this.operationProvider = mapProxy.getService().getMapServiceContext().getMapOperationProvider(mapProxy.getName());
+    }
+
+    @Override
+    protected MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        return invoke(operationProvider.createFetchKeysOperation(mapProxy.getName(), tableIndex, size));
+    }
+
+    @Override
+    protected MapEntriesWithCursor fetchEntries(int tableIndex, int size) {
+        return invoke(operationProvider.createFetchEntriesOperation(mapProxy.getName(), tableIndex, size));
+    }
+
+    private <T> T invoke(MapOperation operation) {
+        InternalCompletableFuture<T> future = mapProxy.getOperationService()
+                .invokeOnPartition(MapService.SERVICE_NAME, operation, partitionId);
+        return future.getSafely();
+    }
+}
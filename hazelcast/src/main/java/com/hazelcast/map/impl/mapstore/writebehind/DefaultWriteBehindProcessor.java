@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -128,23 +129,55 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         if (size == 0) {
             return Collections.emptyList();
         }
-        // if we want to write all store operations on a key into the MapStore, not same as write-coalescing, we don't call
-        // batch processing methods e.g., MapStore{#storeAll,#deleteAll}, instead we call methods which process single entries
-        // e.g. MapStore{#store,#delete}. This is because MapStore#storeAll requires a Map type in its signature and Map type
-        // can only contain one store operation type per key, so only last update on a key can be included when batching.
-        // Due to that limitation it is not possible to provide a correct no-write-coalescing write-behind behavior.
-        // Under that limitation of current MapStore interface, we are making a workaround and persisting all
-        // entries one by one for no-write-coalescing write-behind map-stores and as a result not doing batching
-        // when writeCoalescing is false.
-        if (size == 1 || !writeCoalescing) {
+        if (size == 1) {
             return processEntriesOneByOne(delayedEntries, operationType);
         }
+        if (!writeCoalescing) {
+            return processEntriesInDistinctKeyBatches(delayedEntries, operationType);
+        }
         final DelayedEntry[] delayedEntriesArray = delayedEntries.toArray(new DelayedEntry[delayedEntries.size()]);
         final Map<Object, DelayedEntry> batchMap = prepareBatchMap(delayedEntriesArray);
+        return callBatchHandler(batchMap, operationType);
+    }
+
+    /**
+     * Passes the entries to the batch handling methods without write-coalescing, so every store operation on a key
+     * reaches the MapStore.
+     * <p/>
+     * The Map of MapStore#storeAll and the key collection of MapStore#deleteAll can only hold one operation per key, so
+     * the entries are cut into consecutive chunks in which every key occurs once. A later operation on a key always
+     * ends up in a later chunk, which keeps the per-key order of the operations.
+     *
+     * @param delayedEntries sorted entries of the same operation type.
+     * @return failed entry list if any.
+     */
+    private List<DelayedEntry> processEntriesInDistinctKeyBatches(Collection<DelayedEntry> delayedEntries,
+                                                                  StoreOperationType operationType) {
+        final List<DelayedEntry> failures = new ArrayList<DelayedEntry>();
+        final Map<Object, DelayedEntry> batchMap = new LinkedHashMap<Object, DelayedEntry>();
+        for (DelayedEntry delayedEntry : delayedEntries) {
+            final Object key = delayedEntry.getKey();
+            if (batchMap.containsKey(key)) {
+                failures.addAll(callBatchHandler(batchMap, operationType));
+                batchMap.clear();
+            }
+            batchMap.put(key, delayedEntry);
+        }
+        failures.addAll(callBatchHandler(batchMap, operationType));
+        return failures;
+    }
 
+    /**
+     * Stores the entries of the batch map with a single batch call, or with a single store call if there is only one.
+     * Entries of a failed batch call are retried one by one.
+     *
+     * @param batchMap entries to be processed, at most one per key.
+     * @return failed entry list if any.
+     */
+    private List<DelayedEntry> callBatchHandler(Map<Object, DelayedEntry> batchMap, StoreOperationType operationType) {
         // if all batch is on same key, call single store.
         if (batchMap.size() == 1) {
-            final DelayedEntry delayedEntry = delayedEntriesArray[delayedEntriesArray.length - 1];
+            final DelayedEntry delayedEntry = batchMap.values().iterator().next();
             return callSingleStoreWithListeners(delayedEntry, operationType);
         }
         final List<DelayedEntry> failedEntryList = callBatchStoreWithListeners(batchMap, operationType);
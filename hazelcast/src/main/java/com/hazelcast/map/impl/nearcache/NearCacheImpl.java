@@ -21,6 +21,7 @@ import com.hazelcast.config.Config;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.monitor.impl.NearCacheStatsImpl;
@@ -30,12 +31,7 @@ import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 
-import java.util.Comparator;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -49,6 +45,7 @@ public class NearCacheImpl implements NearCache<Data, Object> {
     public static final String NEAR_CACHE_EXECUTOR_NAME = "hz:near-cache";
     private static final double EVICTION_FACTOR = 0.2;
     private static final int CLEANUP_INTERVAL = 5000;
+    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
     private final int maxSize;
     private final String mapName;
     private volatile long lastCleanup;
@@ -59,10 +56,10 @@ public class NearCacheImpl implements NearCache<Data, Object> {
     private final NodeEngine nodeEngine;
     private final AtomicBoolean canCleanUp;
     private final AtomicBoolean canEvict;
-    private final ConcurrentMap<Data, NearCacheRecord> cache;
+    private final NearCacheRecordHashMap<Data> cache;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
-    private final Comparator<NearCacheRecord> selectedComparator;
+    private final EvictionListener<Data, NearCacheRecord> evictionListener;
     private final boolean invalidateOnChange;
 
     private SizeEstimator nearCacheSizeEstimator;
@@ -80,8 +77,13 @@ public class NearCacheImpl implements NearCache<Data, Object> {
         this.inMemoryFormat = nearCacheConfig.getInMemoryFormat();
         this.timeToLiveMillis = TimeUnit.SECONDS.toMillis(nearCacheConfig.getTimeToLiveSeconds());
         this.evictionPolicy = EvictionPolicy.valueOf(nearCacheConfig.getEvictionPolicy());
-        this.selectedComparator = NearCacheRecord.getComparator(evictionPolicy);
-        this.cache = new ConcurrentHashMap<Data, NearCacheRecord>();
+        this.cache = new NearCacheRecordHashMap<Data>(DEFAULT_INITIAL_CAPACITY);
+        this.evictionListener = new EvictionListener<Data, NearCacheRecord>() {
+            @Override
+            public void onEvict(Data key, NearCacheRecord record) {
+                updateSizeEstimator(-calculateCost(record));
+            }
+        };
         this.canCleanUp = new AtomicBoolean(true);
         this.canEvict = new AtomicBoolean(true);
         this.nearCacheStats = new NearCacheStatsImpl();
@@ -144,17 +146,8 @@ public class NearCacheImpl implements NearCache<Data, Object> {
                 executionService.execute(NEAR_CACHE_EXECUTOR_NAME, new Runnable() {
                     public void run() {
                         try {
-                            Set<NearCacheRecord> records = new TreeSet<NearCacheRecord>(selectedComparator);
-                            records.addAll(cache.values());
                             int evictSize = (int) (cache.size() * EVICTION_FACTOR);
-                            int i = 0;
-                            for (NearCacheRecord record : records) {
-                                cache.remove(record.getKey());
-                                updateSizeEstimator(-calculateCost(record));
-                                if (++i > evictSize) {
-                                    break;
-                                }
-                            }
+                            cache.evict(evictSize + 1, evictionPolicy, evictionListener);
                         } finally {
                             canEvict.set(true);
                         }
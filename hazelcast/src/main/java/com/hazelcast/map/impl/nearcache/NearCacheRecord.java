@@ -16,43 +16,16 @@
 
 package com.hazelcast.map.impl.nearcache;
 
-import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.Evictable;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.util.Clock;
-import com.hazelcast.util.QuickMath;
 
-import java.util.Comparator;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Entry holder to be used in Client and Node side Near cache
  */
-public class NearCacheRecord {
-    private static final Comparator<NearCacheRecord> LRU_COMPARATOR = new Comparator<NearCacheRecord>() {
-        public int compare(NearCacheRecord o1, NearCacheRecord o2) {
-            final int result = QuickMath.compareLongs(o1.lastAccessTime, o2.lastAccessTime);
-            if (result != 0) {
-                return result;
-            }
-            return QuickMath.compareIntegers(o1.key.hashCode(), o2.key.hashCode());
-        }
-    };
-
-    private static final Comparator<NearCacheRecord> LFU_COMPARATOR = new Comparator<NearCacheRecord>() {
-        public int compare(NearCacheRecord o1, NearCacheRecord o2) {
-            final int result = QuickMath.compareLongs(o1.hit.get(), o2.hit.get());
-            if (result != 0) {
-                return result;
-            }
-            return QuickMath.compareIntegers(o1.key.hashCode(), o2.key.hashCode());
-        }
-    };
-
-    private static final Comparator<NearCacheRecord> DEFAULT_COMPARATOR = new Comparator<NearCacheRecord>() {
-        public int compare(NearCacheRecord o1, NearCacheRecord o2) {
-            return QuickMath.compareIntegers(o1.key.hashCode(), o2.key.hashCode());
-        }
-    };
+public class NearCacheRecord implements Evictable {
 
     private final Object key;
     private final Object value;
@@ -77,6 +50,21 @@ public class NearCacheRecord {
         return value;
     }
 
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public long getAccessTime() {
+        return lastAccessTime;
+    }
+
+    @Override
+    public int getAccessHit() {
+        return (int) Math.min(hit.get(), Integer.MAX_VALUE);
+    }
+
     public void access() {
         hit.incrementAndGet();
         lastAccessTime = Clock.currentTimeMillis();
@@ -105,20 +93,4 @@ public class NearCacheRecord {
         return (maxIdleMillis > 0 && time > lastAccessTime + maxIdleMillis)
                 || (timeToLiveMillis > 0 && time > creationTime + timeToLiveMillis);
     }
-
-    /**
-     * @param evictionPolicy EvictionPolicy
-     * @return appropriate comparator function depending on the eviction policy
-     */
-    public static Comparator<NearCacheRecord> getComparator(EvictionPolicy evictionPolicy) {
-        if (EvictionPolicy.LRU.equals(evictionPolicy)) {
-            return NearCacheRecord.LRU_COMPARATOR;
-        } else if (EvictionPolicy.LFU.equals(evictionPolicy)) {
-            return NearCacheRecord.LFU_COMPARATOR;
-        } else {
-            return NearCacheRecord.DEFAULT_COMPARATOR;
-        }
-    }
-
-
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.nearcache;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.EvictionStrategy;
+import com.hazelcast.internal.eviction.EvictionStrategyProvider;
+import com.hazelcast.internal.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+import static com.hazelcast.internal.eviction.EvictionChecker.EVICT_ALWAYS;
+
+/**
+ * Holds the {@link NearCacheRecord}s of the member and the client side map near caches.
+ * <p/>
+ * Records are evicted with the sampling based {@link EvictionStrategy}; so evicting a record costs a constant number of
+ * samples, and the near cache doesn't need to be copied and sorted to find the records to evict.
+ *
+ * @param <K> the type of the keys
+ */
+public class NearCacheRecordHashMap<K> extends SampleableConcurrentHashMap<K, NearCacheRecord>
+        implements SampleableEvictableStore<K, NearCacheRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final EvictionPolicyEvaluator<Object, NearCacheRecord> LRU_EVALUATOR
+            = new LRUEvictionPolicyEvaluator<Object, NearCacheRecord>();
+    private static final EvictionPolicyEvaluator<Object, NearCacheRecord> LFU_EVALUATOR
+            = new LFUEvictionPolicyEvaluator<Object, NearCacheRecord>();
+
+    public NearCacheRecordHashMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Evicts records as specified by the eviction policy.
+     *
+     * @param evictionCount    the number of records to evict
+     * @param evictionPolicy   the eviction policy; {@link EvictionPolicy#RANDOM} evicts arbitrary records
+     * @param evictionListener the listener notified for every evicted record, can be {@code null}
+     * @return the number of evicted records
+     */
+    @SuppressWarnings("unchecked")
+    public int evict(int evictionCount, EvictionPolicy evictionPolicy, EvictionListener<K, NearCacheRecord> evictionListener) {
+        EvictionPolicyEvaluator<K, NearCacheRecord> evaluator = (EvictionPolicyEvaluator) getEvaluator(evictionPolicy);
+        EvictionStrategy<K, NearCacheRecord, NearCacheRecordHashMap<K>> strategy
+                = EvictionStrategyProvider.getDefaultEvictionStrategy();
+
+        int evictedCount = 0;
+        for (int i = 0; i < evictionCount && size() > 0; i++) {
+            if (evaluator == null) {
+                evictedCount += evict(sample(1), evictionListener);
+            } else {
+                evictedCount += strategy.evict(this, evaluator, EVICT_ALWAYS, evictionListener);
+            }
+        }
+        return evictedCount;
+    }
+
+    private static EvictionPolicyEvaluator<Object, NearCacheRecord> getEvaluator(EvictionPolicy evictionPolicy) {
+        switch (evictionPolicy) {
+            case LRU:
+                return LRU_EVALUATOR;
+            case LFU:
+                return LFU_EVALUATOR;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public <C extends EvictionCandidate<K, NearCacheRecord>> int evict(Iterable<C> evictionCandidates,
+                                                                      EvictionListener<K, NearCacheRecord> evictionListener) {
+        if (evictionCandidates == null) {
+            return 0;
+        }
+        int evictedCount = 0;
+        for (C evictionCandidate : evictionCandidates) {
+            K key = evictionCandidate.getAccessor();
+            NearCacheRecord record = evictionCandidate.getEvictable();
+            // the record is only removed if it isn't replaced in the meantime
+            if (remove(key, record)) {
+                evictedCount++;
+                if (evictionListener != null) {
+                    evictionListener.onEvict(key, record);
+                }
+            }
+        }
+        return evictedCount;
+    }
+
+    @Override
+    public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+
+    @Override
+    protected <E extends SamplingEntry> E createSamplingEntry(K key, NearCacheRecord record) {
+        return (E) new EvictableSamplingEntry(key, record);
+    }
+
+    /**
+     * A sampled near cache record.
+     */
+    public class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate<K, NearCacheRecord> {
+
+        public EvictableSamplingEntry(K key, NearCacheRecord record) {
+            super(key, record);
+        }
+
+        @Override
+        public K getAccessor() {
+            return getKey();
+        }
+
+        @Override
+        public NearCacheRecord getEvictable() {
+            return getValue();
+        }
+    }
+}
@@ -196,6 +196,16 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new LoadMapOperation(name, replaceExistingValues);
     }
 
+    @Override
+    public MapOperation createFetchKeysOperation(String name, int lastTableIndex, int fetchSize) {
+        return new MapFetchKeysOperation(name, lastTableIndex, fetchSize);
+    }
+
+    @Override
+    public MapOperation createFetchEntriesOperation(String name, int lastTableIndex, int fetchSize) {
+        return new MapFetchEntriesOperation(name, lastTableIndex, fetchSize);
+    }
+
     @Override
     public OperationFactory createPartitionWideEntryWithPredicateOperationFactory(String name,
                                                                                   EntryProcessor entryProcessor,
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Fetches a batch of keys from a map partition, starting at a table index of the partition storage.
+ *
+ * @see RecordStore#fetchKeys(int, int)
+ */
+public class MapFetchKeysOperation extends MapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private int lastTableIndex;
+    private int fetchSize;
+    private MapKeysWithCursor response;
+
+    public MapFetchKeysOperation() {
+    }
+
+    public MapFetchKeysOperation(String name, int lastTableIndex, int fetchSize) {
+        super(name);
+        this.lastTableIndex = lastTableIndex;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void run() throws Exception {
+        RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), name);
+        recordStore.checkIfLoaded();
+        response = recordStore.fetchKeys(lastTableIndex, fetchSize);
+    }
+
+    @Override
+    public Object getResponse() {
+        return response;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeInt(lastTableIndex);
+        out.writeInt(fetchSize);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        lastTableIndex = in.readInt();
+        fetchSize = in.readInt();
+    }
+}
@@ -89,6 +89,10 @@ public interface MapOperationProvider {
 
     MapOperation createLoadMapOperation(String name, boolean replaceExistingValues);
 
+    MapOperation createFetchKeysOperation(String name, int lastTableIndex, int fetchSize);
+
+    MapOperation createFetchEntriesOperation(String name, int lastTableIndex, int fetchSize);
+
 
     OperationFactory createPartitionWideEntryOperationFactory(String name, EntryProcessor entryProcessor);
 
@@ -228,4 +228,14 @@ public abstract class MapOperationProviderDelegator implements MapOperationProvi
     public MapOperation createLoadMapOperation(String name, boolean replaceExistingValues) {
         return getDelegate().createLoadMapOperation(name, replaceExistingValues);
     }
+
+    @Override
+    public MapOperation createFetchKeysOperation(String name, int lastTableIndex, int fetchSize) {
+        return getDelegate().createFetchKeysOperation(name, lastTableIndex, fetchSize);
+    }
+
+    @Override
+    public MapOperation createFetchEntriesOperation(String name, int lastTableIndex, int fetchSize) {
+        return getDelegate().createFetchEntriesOperation(name, lastTableIndex, fetchSize);
+    }
 }
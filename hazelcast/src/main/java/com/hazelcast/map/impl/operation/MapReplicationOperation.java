@@ -16,8 +16,8 @@
 
 package com.hazelcast.map.impl.operation;
 
-import com.hazelcast.config.MapConfig;
 import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapReplicaDigests;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -58,6 +58,16 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
      * @see WriteBehindStore#flushCounter
      */
     private Map<String, Integer> flushCounters;
+    /**
+     * The number of segments if only the segments with a different digest are replicated; 0 if all data is replicated.
+     *
+     * @see MapReplicaDigests
+     */
+    private int segmentCount;
+    /**
+     * The segments that are replicated if segmentCount is larger than 0.
+     */
+    private int[] segments;
 
     public MapReplicationOperation() {
     }
@@ -66,31 +76,71 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
                                    int replicaIndex) {
         this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
 
+        readRecords(mapService, container, null);
+        readDelayedEntries(container, false);
+    }
+
+    /**
+     * Creates a MapReplicationOperation that only contains the records of the segments whose digest differs from the
+     * given replica digests. The write behind queues are always replicated completely.
+     */
+    public MapReplicationOperation(MapService mapService, PartitionContainer container, int partitionId,
+                                   int replicaIndex, long[] replicaDigests) {
+        this.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+
+        segmentCount = replicaDigests.length;
+        long[] digests = MapReplicaDigests.calculate(container, replicaIndex, segmentCount,
+                mapService.getMapServiceContext());
+        boolean[] differs = new boolean[segmentCount];
+        int differCount = 0;
+        for (int segment = 0; segment < segmentCount; segment++) {
+            if (digests[segment] != replicaDigests[segment]) {
+                differs[segment] = true;
+                differCount++;
+            }
+        }
+        segments = new int[differCount];
+        int k = 0;
+        for (int segment = 0; segment < segmentCount; segment++) {
+            if (differs[segment]) {
+                segments[k++] = segment;
+            }
+        }
+
+        readRecords(mapService, container, differs);
+        // an empty write behind queue is replicated as well, since the backup queue isn't cleared otherwise
+        readDelayedEntries(container, true);
+    }
+
+    private void readRecords(MapService mapService, PartitionContainer container, boolean[] differs) {
+        int replicaIndex = getReplicaIndex();
         data = new HashMap<String, Set<RecordReplicationInfo>>(container.getMaps().size());
         for (Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
             RecordStore recordStore = entry.getValue();
-            MapContainer mapContainer = recordStore.getMapContainer();
-            final MapConfig mapConfig = mapContainer.getMapConfig();
-            if (mapConfig.getTotalBackupCount() < replicaIndex) {
+            if (!MapReplicaDigests.isReplicated(recordStore, replicaIndex)) {
                 continue;
             }
             String name = entry.getKey();
             // now prepare data to migrate records
-            Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>(recordStore.size());
+            Set<RecordReplicationInfo> recordSet = new HashSet<RecordReplicationInfo>();
             final Iterator<Record> iterator = recordStore.iterator();
             while (iterator.hasNext()) {
                 Record record = iterator.next();
                 Data key = record.getKey();
+                if (differs != null && !differs[MapReplicaDigests.getSegment(key, segmentCount)]) {
+                    continue;
+                }
                 RecordReplicationInfo recordReplicationInfo;
                 recordReplicationInfo = createRecordReplicationInfo(key, record, mapService);
                 recordSet.add(recordReplicationInfo);
             }
-            data.put(name, recordSet);
+            if (differs == null || !recordSet.isEmpty()) {
+                data.put(name, recordSet);
+            }
         }
-        readDelayedEntries(container);
     }
 
-    private void readDelayedEntries(PartitionContainer container) {
+    private void readDelayedEntries(PartitionContainer container, boolean includeEmpty) {
         flushCounters = new HashMap<String, Integer>(container.getMaps().size());
         delayedEntries = new HashMap<String, Collection<DelayedEntry>>(container.getMaps().size());
         for (Entry<String, RecordStore> entry : container.getMaps().entrySet()) {
@@ -102,7 +152,7 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             WriteBehindStore mapDataStore = (WriteBehindStore) recordStore.getMapDataStore();
             WriteBehindQueue<DelayedEntry> writeBehindQueue = mapDataStore.getWriteBehindQueue();
             Collection<DelayedEntry> entries = writeBehindQueue.asList();
-            if (entries != null && entries.size() == 0) {
+            if (!includeEmpty && entries != null && entries.size() == 0) {
                 continue;
             }
             String mapName = entry.getKey();
@@ -115,12 +165,17 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
     public void run() {
         MapService mapService = getService();
         final MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        if (segmentCount > 0) {
+            removeSegments(mapServiceContext);
+        }
         if (data != null) {
             for (Entry<String, Set<RecordReplicationInfo>> dataEntry : data.entrySet()) {
                 Set<RecordReplicationInfo> recordReplicationInfos = dataEntry.getValue();
                 final String mapName = dataEntry.getKey();
                 RecordStore recordStore = mapServiceContext.getRecordStore(getPartitionId(), mapName);
-                recordStore.reset();
+                if (segmentCount == 0) {
+                    recordStore.reset();
+                }
 
                 for (RecordReplicationInfo recordReplicationInfo : recordReplicationInfos) {
                     Data key = recordReplicationInfo.getKey();
@@ -146,6 +201,34 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
         }
     }
 
+    /**
+     * Removes the records of the replicated segments, so they can be replaced by the records of the owner.
+     */
+    private void removeSegments(MapServiceContext mapServiceContext) {
+        boolean[] replicated = new boolean[segmentCount];
+        for (int segment : segments) {
+            replicated[segment] = true;
+        }
+
+        PartitionContainer container = mapServiceContext.getPartitionContainer(getPartitionId());
+        for (RecordStore recordStore : container.getMaps().values()) {
+            if (!MapReplicaDigests.isReplicated(recordStore, getReplicaIndex())) {
+                continue;
+            }
+            List<Record> removed = new ArrayList<Record>();
+            Iterator<Record> iterator = recordStore.iterator();
+            while (iterator.hasNext()) {
+                Record record = iterator.next();
+                if (replicated[MapReplicaDigests.getSegment(record.getKey(), segmentCount)]) {
+                    removed.add(record);
+                }
+            }
+            for (Record record : removed) {
+                recordStore.getStorage().removeRecord(record);
+            }
+        }
+    }
+
     @Override
     public String getServiceName() {
         return MapService.SERVICE_NAME;
@@ -189,6 +272,10 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             int count = in.readInt();
             flushCounters.put(mapName, count);
         }
+        segmentCount = in.readInt();
+        if (segmentCount > 0) {
+            segments = in.readIntArray();
+        }
     }
 
     @Override
@@ -224,10 +311,16 @@ public class MapReplicationOperation extends AbstractOperation implements Mutati
             out.writeUTF(entry.getKey());
             out.writeInt(entry.getValue());
         }
+        out.writeInt(segmentCount);
+        if (segmentCount > 0) {
+            out.writeIntArray(segments);
+        }
     }
 
     public boolean isEmpty() {
-        return (data == null || data.isEmpty())
+        boolean noSegments = segments == null || segments.length == 0;
+        return noSegments
+                && (data == null || data.isEmpty())
                 && (delayedEntries == null || delayedEntries.isEmpty());
     }
 
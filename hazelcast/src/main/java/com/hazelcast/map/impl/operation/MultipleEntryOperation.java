@@ -60,6 +60,9 @@ public class MultipleEntryOperation extends AbstractMultipleEntryOperation imple
                 continue;
             }
             final Object oldValue = recordStore.get(dataKey, false);
+            if (!isEntryProcessable(dataKey, oldValue)) {
+                continue;
+            }
 
             final Map.Entry entry = createMapEntry(dataKey, oldValue);
 
@@ -81,6 +84,14 @@ public class MultipleEntryOperation extends AbstractMultipleEntryOperation imple
         }
     }
 
+    /**
+     * Returns true if the entry processor should be applied to the given entry; every entry of the
+     * given keys is processed by default.
+     */
+    protected boolean isEntryProcessable(Data key, Object value) {
+        return true;
+    }
+
     @Override
     public Object getResponse() {
         return responses;
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.map.EntryBackupProcessor;
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.Operation;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Processes the entries of the given keys which still match the predicate. The keys are the result of an index
+ * query, so the predicate is applied again, since an entry may have been updated or removed after the query.
+ *
+ * @see PartitionWideEntryWithPredicateOperationFactory
+ */
+public class MultipleEntryWithPredicateOperation extends MultipleEntryOperation {
+
+    private Predicate predicate;
+    private transient Set<Data> processedKeys;
+
+    public MultipleEntryWithPredicateOperation() {
+    }
+
+    public MultipleEntryWithPredicateOperation(String name, Set<Data> keys, EntryProcessor entryProcessor,
+                                               Predicate predicate) {
+        super(name, keys, entryProcessor);
+        this.predicate = predicate;
+    }
+
+    @Override
+    protected boolean isEntryProcessable(Data key, Object value) {
+        if (value == null) {
+            return false;
+        }
+        QueryableEntry queryEntry = mapContainer.newQueryEntry(key, value);
+        if (!predicate.apply(queryEntry)) {
+            return false;
+        }
+        if (processedKeys == null) {
+            processedKeys = new HashSet<Data>();
+        }
+        processedKeys.add(key);
+        return true;
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return super.shouldBackup() && processedKeys != null;
+    }
+
+    @Override
+    public Operation getBackupOperation() {
+        EntryBackupProcessor backupProcessor = entryProcessor.getBackupProcessor();
+        MultipleEntryBackupOperation backupOperation = null;
+        if (backupProcessor != null) {
+            backupOperation = new MultipleEntryBackupOperation(name, processedKeys, backupProcessor);
+            backupOperation.setWanEventList(wanEventList);
+        }
+        return backupOperation;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        sb.append(", entryProcessor=").append(entryProcessor);
+        sb.append(", predicate=").append(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        predicate = in.readObject();
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(predicate);
+    }
+}
@@ -17,18 +17,45 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
-import com.hazelcast.spi.OperationFactory;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionAwareOperationFactory;
+
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-public class PartitionWideEntryWithPredicateOperationFactory implements OperationFactory {
+/**
+ * Creates the operations applying an entry processor to the entries matching a predicate.
+ * <p/>
+ * If the predicate can be answered by the indexes of the map, the indexes are queried once per member and each
+ * partition only processes the keys found by the query, instead of scanning all of its records. Otherwise, e.g.
+ * when a migration is running, each partition is scanned by a {@link PartitionWideEntryWithPredicateOperation}.
+ */
+public class PartitionWideEntryWithPredicateOperationFactory extends PartitionAwareOperationFactory {
     private String name;
     private EntryProcessor entryProcessor;
     private Predicate predicate;
 
+    /**
+     * The keys found by the index query per partition, or null if the indexes were not used.
+     */
+    private transient Map<Integer, Set<Data>> partitionIdToKeys;
+
     public PartitionWideEntryWithPredicateOperationFactory() {
     }
 
@@ -38,6 +65,73 @@ public class PartitionWideEntryWithPredicateOperationFactory implements Operatio
         this.predicate = predicate;
     }
 
+    private PartitionWideEntryWithPredicateOperationFactory(String name, EntryProcessor entryProcessor, Predicate predicate,
+                                                            Map<Integer, Set<Data>> partitionIdToKeys) {
+        this(name, entryProcessor, predicate);
+        this.partitionIdToKeys = partitionIdToKeys;
+    }
+
+    @Override
+    public PartitionAwareOperationFactory createFactoryOnRunner(NodeEngine nodeEngine, List<Integer> partitions) {
+        Set<QueryableEntry> entries = queryIndexes(nodeEngine);
+        if (entries == null) {
+            return this;
+        }
+
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        Map<Integer, Set<Data>> keys = new HashMap<Integer, Set<Data>>(partitions.size());
+        for (QueryableEntry entry : entries) {
+            Data key = entry.getKeyData();
+            int partitionId = partitionService.getPartitionId(key);
+            Set<Data> partitionKeys = keys.get(partitionId);
+            if (partitionKeys == null) {
+                partitionKeys = new HashSet<Data>();
+                keys.put(partitionId, partitionKeys);
+            }
+            partitionKeys.add(key);
+        }
+        return new PartitionWideEntryWithPredicateOperationFactory(name, entryProcessor, predicate, keys);
+    }
+
+    /**
+     * Queries the indexes of the map for the entries of all partitions owned by this member.
+     *
+     * @return the matching entries, or null if the indexes can't be used
+     */
+    private Set<QueryableEntry> queryIndexes(NodeEngine nodeEngine) {
+        InternalPartitionService partitionService = nodeEngine.getPartitionService();
+        if (partitionService.hasOnGoingMigrationLocal()) {
+            return null;
+        }
+
+        MapService mapService = ((NodeEngineImpl) nodeEngine).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        MapContainer mapContainer = mapServiceContext.getMapContainer(name);
+        if (!mapContainer.getIndexes().hasIndex()) {
+            return null;
+        }
+
+        int partitionStateVersion = partitionService.getPartitionStateVersion();
+        Set<QueryableEntry> entries = mapContainer.getIndexes().query(predicate);
+        if (partitionStateVersion != partitionService.getPartitionStateVersion()) {
+            return null;
+        }
+        return entries;
+    }
+
+    @Override
+    public Operation createPartitionOperation(int partitionId) {
+        if (partitionIdToKeys == null) {
+            return createOperation();
+        }
+
+        Set<Data> keys = partitionIdToKeys.get(partitionId);
+        if (keys == null) {
+            keys = Collections.emptySet();
+        }
+        return new MultipleEntryWithPredicateOperation(name, keys, entryProcessor, predicate);
+    }
+
     @Override
     public Operation createOperation() {
         return new PartitionWideEntryWithPredicateOperation(name, entryProcessor, predicate);
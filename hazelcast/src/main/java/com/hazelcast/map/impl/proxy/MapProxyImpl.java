@@ -17,6 +17,7 @@
 
 package com.hazelcast.map.impl.proxy;
 
+import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.core.EntryListener;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
@@ -24,13 +25,21 @@ import com.hazelcast.core.HazelcastException;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.IMap;
+import com.hazelcast.map.BulkLoadSession;
 import com.hazelcast.map.EntryProcessor;
 import com.hazelcast.map.MapInterceptor;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.AbstractBulkLoadSession;
+import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
+import com.hazelcast.map.impl.iterator.MapPartitionIterator;
+import com.hazelcast.map.impl.query.MapAggregationEngine;
 import com.hazelcast.map.impl.query.MapQueryEngine;
+import com.hazelcast.map.impl.query.ProjectingAggregator;
 import com.hazelcast.map.impl.query.QueryResult;
 import com.hazelcast.map.impl.query.QueryResultCollection;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.listener.MapListener;
 import com.hazelcast.map.listener.MapPartitionLostListener;
 import com.hazelcast.mapreduce.Collator;
@@ -45,6 +54,7 @@ import com.hazelcast.mapreduce.ReducingSubmittableJob;
 import com.hazelcast.mapreduce.aggregation.Aggregation;
 import com.hazelcast.mapreduce.aggregation.Supplier;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.projection.Projection;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
@@ -60,6 +70,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -69,6 +80,7 @@ import java.util.concurrent.TimeUnit;
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.Preconditions.checkTrue;
 import static com.hazelcast.util.Preconditions.isNotNull;
 
 /**
@@ -332,6 +344,18 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
         putAllInternal(m);
     }
 
+    @Override
+    public ICompletableFuture<Void> putAllAsync(Map<? extends K, ? extends V> m) {
+        checkNotNull(m, "Null map is not allowed!");
+
+        return putAllAsyncInternal(m);
+    }
+
+    @Override
+    public BulkLoadSession<K, V> newBulkLoadSession(int batchSize, int maxInFlightBatches) {
+        return new MapBulkLoadSession(batchSize, maxInFlightBatches);
+    }
+
     @Override
     public boolean tryLock(K key) {
         checkNotNull(key, NULL_KEY_IS_NOT_ALLOWED);
@@ -722,6 +746,67 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
     }
 
 
+    @Override
+    public <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator) {
+        return aggregate(aggregator, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    public <R> R aggregate(Aggregator<? super Map.Entry<K, V>, R> aggregator, Predicate<K, V> predicate) {
+        checkNotNull(aggregator, NULL_AGGREGATOR_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        MapAggregationEngine aggregationEngine = getService().getMapServiceContext().getMapAggregationEngine(name);
+        Aggregator<? super Map.Entry<K, V>, R> result = aggregationEngine.invokeAggregateAllPartitions(name, aggregator,
+                predicate);
+        return result.aggregate();
+    }
+
+    @Override
+    public <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection) {
+        return project(projection, (Predicate<K, V>) TruePredicate.INSTANCE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> Collection<R> project(Projection<? super Map.Entry<K, V>, R> projection, Predicate<K, V> predicate) {
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+
+        MapAggregationEngine aggregationEngine = getService().getMapServiceContext().getMapAggregationEngine(name);
+        Aggregator result = aggregationEngine.invokeAggregateAllPartitions(name, new ProjectingAggregator(projection),
+                predicate);
+        return (Collection<R>) result.aggregate();
+    }
+
+    @Override
+    public QueryCache<K, V> getQueryCache(String name, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(name, "Query cache name should not be null!");
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate is not supported by a query cache");
+        }
+
+        QueryCacheContext queryCacheContext = getService().getMapServiceContext().getQueryCacheContext();
+        return queryCacheContext.getOrCreateQueryCache(this.name, name, predicate, includeValue);
+    }
+
+    /**
+     * Returns an iterator over the entries of the given partition, which fetches the entries in batches from the
+     * partition owner.
+     *
+     * @param fetchSize      the minimum number of entries to fetch per batch
+     * @param partitionId    the id of the partition to iterate over
+     * @param prefetchValues true if the values should be fetched together with the keys, false if the value of an
+     *                       entry should be retrieved when the entry is reached
+     * @return the iterator over the entries of the partition
+     * @see MapPartitionIterator
+     */
+    public Iterator<Map.Entry<K, V>> iterator(int fetchSize, int partitionId, boolean prefetchValues) {
+        checkTrue(partitionId >= 0 && partitionId < partitionService.getPartitionCount(), "Invalid partition id!");
+        return new MapPartitionIterator<K, V>(this, fetchSize, partitionId, prefetchValues);
+    }
+
     @Override
     public <SuppliedValue, Result> Result aggregate(Supplier<K, V, SuppliedValue> supplier,
                                                     Aggregation<K, SuppliedValue, Result> aggregation) {
@@ -776,5 +861,31 @@ public class MapProxyImpl<K, V> extends MapProxySupport implements IMap<K, V>, I
     public String toString() {
         return "IMap{name='" + name + '\'' + '}';
     }
-}
 
+    private final class MapBulkLoadSession extends AbstractBulkLoadSession<K, V> {
+
+        MapBulkLoadSession(int batchSize, int maxInFlightBatches) {
+            super(partitionService.getPartitionCount(), batchSize, maxInFlightBatches);
+        }
+
+        @Override
+        protected Data toKeyData(K key) {
+            return toData(key, partitionStrategy);
+        }
+
+        @Override
+        protected Data toValueData(V value) {
+            return toData(value);
+        }
+
+        @Override
+        protected int getPartitionId(Data key) {
+            return partitionService.getPartitionId(key);
+        }
+
+        @Override
+        protected ICompletableFuture<?> invokePutAll(int partitionId, MapEntries entries) {
+            return createPutAllOperationFuture(name, entries, partitionId);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import com.hazelcast.map.impl.EntryEventFilter;
 import com.hazelcast.map.impl.LocalMapStatsProvider;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.PutAllFuture;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
@@ -74,6 +75,7 @@ import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.AbstractDistributedObject;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.EventFilter;
+import com.hazelcast.spi.ExecutionService;
 import com.hazelcast.spi.InitializingObject;
 import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
@@ -98,6 +100,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -118,6 +121,8 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
 
     protected static final String NULL_VALUE_IS_NOT_ALLOWED = "Null value is not allowed!";
     protected static final String NULL_PREDICATE_IS_NOT_ALLOWED = "Predicate should not be null!";
+    protected static final String NULL_AGGREGATOR_IS_NOT_ALLOWED = "Aggregator should not be null!";
+    protected static final String NULL_PROJECTION_IS_NOT_ALLOWED = "Projection should not be null!";
     protected static final String NULL_LISTENER_IS_NOT_ALLOWED = "Null listener is not allowed!";
 
     private static final int CHECK_IF_LOADED_TIMEOUT_SECONDS = 60;
@@ -683,29 +688,9 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
      */
 
     protected void putAllInternal(Map<? extends Object, ? extends Object> m) {
-        int partitionCount = partitionService.getPartitionCount();
-
         try {
-            List<Future> futures = new ArrayList<Future>(partitionCount);
-            MapEntries[] entriesPerPartition = new MapEntries[partitionCount];
-
-            // first we fill entrySetPerPartition
-            for (Entry entry : m.entrySet()) {
-                checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
-                checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
-
-                Data keyData = toData(entry.getKey(), partitionStrategy);
-
-                int partitionId = partitionService.getPartitionId(keyData);
-
-                MapEntries entries = entriesPerPartition[partitionId];
-                if (entries == null) {
-                    entries = new MapEntries();
-                    entriesPerPartition[partitionId] = entries;
-                }
-
-                entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, toData(entry.getValue())));
-            }
+            MapEntries[] entriesPerPartition = groupEntriesPerPartition(m);
+            List<Future> futures = new ArrayList<Future>(entriesPerPartition.length);
 
             // then we invoke the operations
             for (int partitionId = 0; partitionId < entriesPerPartition.length; partitionId++) {
@@ -726,7 +711,54 @@ abstract class MapProxySupport extends AbstractDistributedObject<MapService> imp
         }
     }
 
-    protected Future createPutAllOperationFuture(final String name, MapEntries entries, int partitionId) {
+    /**
+     * Same as {@link #putAllInternal(Map)}, but instead of syncing on the completion of the operations, a future is
+     * returned which completes once all operations have completed.
+     */
+    protected ICompletableFuture<Void> putAllAsyncInternal(Map<? extends Object, ? extends Object> m) {
+        MapEntries[] entriesPerPartition = groupEntriesPerPartition(m);
+        int partitionCount = 0;
+        for (MapEntries entries : entriesPerPartition) {
+            if (entries != null) {
+                partitionCount++;
+            }
+        }
+
+        NodeEngine nodeEngine = getNodeEngine();
+        Executor executor = nodeEngine.getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR);
+        PutAllFuture future = new PutAllFuture(executor, nodeEngine.getLogger(PutAllFuture.class), partitionCount);
+        for (int partitionId = 0; partitionId < entriesPerPartition.length; partitionId++) {
+            MapEntries entries = entriesPerPartition[partitionId];
+            if (entries != null) {
+                createPutAllOperationFuture(name, entries, partitionId).andThen(future);
+            }
+        }
+        return future;
+    }
+
+    private MapEntries[] groupEntriesPerPartition(Map<? extends Object, ? extends Object> m) {
+        MapEntries[] entriesPerPartition = new MapEntries[partitionService.getPartitionCount()];
+        for (Entry entry : m.entrySet()) {
+            checkNotNull(entry.getKey(), NULL_KEY_IS_NOT_ALLOWED);
+            checkNotNull(entry.getValue(), NULL_VALUE_IS_NOT_ALLOWED);
+
+            Data keyData = toData(entry.getKey(), partitionStrategy);
+
+            int partitionId = partitionService.getPartitionId(keyData);
+
+            MapEntries entries = entriesPerPartition[partitionId];
+            if (entries == null) {
+                entries = new MapEntries();
+                entriesPerPartition[partitionId] = entries;
+            }
+
+            entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(keyData, toData(entry.getValue())));
+        }
+        return entriesPerPartition;
+    }
+
+    protected InternalCompletableFuture<Object> createPutAllOperationFuture(final String name, MapEntries entries,
+                                                                           int partitionId) {
         MapOperation op = operationProvider.createPutAllOperation(name, entries, false);
         op.setPartitionId(partitionId);
         final long size = entries.size();
@@ -26,6 +26,7 @@ import com.hazelcast.map.impl.nearcache.NearCacheProvider;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.InternalCompletableFuture;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.util.executor.CompletedFuture;
 
@@ -34,7 +35,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static com.hazelcast.cache.impl.nearcache.NearCache.NULL_OBJECT;
@@ -256,7 +256,8 @@ public class NearCachedMapProxyImpl<K, V> extends MapProxyImpl<K, V> {
     }
 
     @Override
-    protected Future createPutAllOperationFuture(String name, MapEntries mapEntries, int partitionId) {
+    protected InternalCompletableFuture<Object> createPutAllOperationFuture(String name, MapEntries mapEntries,
+                                                                           int partitionId) {
         Collection<Entry<Data, Data>> collection = mapEntries.entries();
         for (Entry<Data, Data> entry : collection) {
             invalidateCache(entry.getKey());
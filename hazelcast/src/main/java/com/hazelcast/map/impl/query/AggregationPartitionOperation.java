@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+
+/**
+ * Aggregates the entries of a single partition. Used for the partitions which aren't covered by the results of the
+ * {@link AggregationOperation}s, e.g. because of a migration.
+ */
+public class AggregationPartitionOperation extends MapOperation implements PartitionAwareOperation, ReadonlyOperation {
+
+    private Data aggregator;
+    private Predicate predicate;
+    private AggregationResult result;
+
+    public AggregationPartitionOperation() {
+    }
+
+    public AggregationPartitionOperation(String mapName, Data aggregator, Predicate predicate) {
+        super(mapName);
+        this.aggregator = aggregator;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public void run() {
+        MapAggregationEngine aggregationEngine = mapServiceContext.getMapAggregationEngine(name);
+        Aggregator localAggregator = getNodeEngine().toObject(aggregator);
+        result = aggregationEngine.aggregateLocalPartition(name, localAggregator, predicate, getPartitionId());
+    }
+
+    @Override
+    public Object getResponse() {
+        return result;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeData(aggregator);
+        out.writeObject(predicate);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        aggregator = in.readData();
+        predicate = in.readObject();
+    }
+}
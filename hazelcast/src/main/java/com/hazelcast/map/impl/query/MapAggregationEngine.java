@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.cluster.ClusterService;
+import com.hazelcast.core.Member;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.predicates.QueryOptimizer;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.executor.ManagedExecutorService;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_SELECTOR;
+import static com.hazelcast.map.impl.query.MapQueryEngineImpl.QUERY_EXECUTION_TIMEOUT_MINUTES;
+import static com.hazelcast.spi.ExecutionService.QUERY_EXECUTOR;
+import static com.hazelcast.util.BitSetUtils.hasAtLeastOneBitSet;
+import static com.hazelcast.util.BitSetUtils.setBits;
+import static com.hazelcast.util.ExceptionUtil.rethrow;
+import static com.hazelcast.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.util.FutureUtil.returnWithDeadline;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+/**
+ * Executes {@link Aggregator}s on the entries of a map.
+ * <p/>
+ * The entries are aggregated by the members owning them, so only the aggregators travel over the wire: each member
+ * accumulates the entries matching the predicate of its partitions into its own copy of the aggregator, using an
+ * index if possible and else scanning the partitions in parallel; the copies are combined on the caller. Like for queries, the
+ * partitions which aren't covered by the member results, e.g. because of a migration, are aggregated one by one.
+ * <p/>
+ * Projections are executed in the same way, by a {@link ProjectingAggregator} collecting the projected objects.
+ */
+public class MapAggregationEngine {
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final SerializationService serializationService;
+    private final InternalPartitionService partitionService;
+    private final OperationService operationService;
+    private final ClusterService clusterService;
+    private final QueryOptimizer queryOptimizer;
+    private final ManagedExecutorService executor;
+    private final QueryResultSizeLimiter queryResultSizeLimiter;
+    private final PartitionScanRunner partitionScanRunner;
+
+    public MapAggregationEngine(MapServiceContext mapServiceContext, QueryOptimizer queryOptimizer) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.serializationService = nodeEngine.getSerializationService();
+        this.partitionService = nodeEngine.getPartitionService();
+        this.operationService = nodeEngine.getOperationService();
+        this.clusterService = nodeEngine.getClusterService();
+        this.queryOptimizer = queryOptimizer;
+        this.executor = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
+        this.queryResultSizeLimiter = new QueryResultSizeLimiter(mapServiceContext,
+                nodeEngine.getLogger(MapAggregationEngine.class));
+        this.partitionScanRunner = new PartitionScanRunner(mapServiceContext);
+    }
+
+    /**
+     * Aggregates the entries of all partitions owned by this member.
+     *
+     * @param mapName    the name of the map
+     * @param aggregator the aggregator to accumulate the entries into
+     * @param predicate  the predicate selecting the entries
+     * @return the result containing the aggregator and, if no migration happened meanwhile, the aggregated partitions
+     */
+    public AggregationResult aggregateLocalPartitions(String mapName, Aggregator aggregator, Predicate predicate) {
+        checkNotPagingPredicate(predicate);
+
+        int initialPartitionStateVersion = partitionService.getPartitionStateVersion();
+        Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+        limitResultSize(aggregator, initialPartitions.size());
+
+        predicate = queryOptimizer.optimize(predicate, mapContainer.getIndexes());
+        if (!tryAggregateUsingIndexes(mapContainer, aggregator, predicate)) {
+            aggregatePartitions(mapName, aggregator, predicate, initialPartitions);
+        }
+
+        AggregationResult result = new AggregationResult(aggregator);
+        if (initialPartitionStateVersion == partitionService.getPartitionStateVersion()) {
+            result.setPartitionIds(initialPartitions);
+        }
+        updateStatistics(mapContainer);
+        return result;
+    }
+
+    /**
+     * Aggregates the entries of a single partition owned by this member. Should be called on the partition thread.
+     *
+     * @param mapName     the name of the map
+     * @param aggregator  the aggregator to accumulate the entries into
+     * @param predicate   the predicate selecting the entries
+     * @param partitionId the id of the partition
+     * @return the result containing the aggregator and the partition
+     */
+    public AggregationResult aggregateLocalPartition(String mapName, Aggregator aggregator, Predicate predicate,
+                                                     int partitionId) {
+        checkNotPagingPredicate(predicate);
+
+        limitResultSize(aggregator, 1);
+        aggregatePartition(mapName, aggregator, predicate, partitionId);
+        AggregationResult result = new AggregationResult(aggregator);
+        result.setPartitionIds(singletonList(partitionId));
+        return result;
+    }
+
+    /**
+     * Aggregates the entries of all partitions in the cluster.
+     *
+     * @param mapName    the name of the map
+     * @param aggregator the aggregator; it isn't modified, copies are used instead
+     * @param predicate  the predicate selecting the entries
+     * @return a copy of the aggregator into which the results of all partitions are combined
+     */
+    public Aggregator invokeAggregateAllPartitions(String mapName, Aggregator aggregator, Predicate predicate) {
+        checkNotPagingPredicate(predicate);
+        if (aggregator instanceof ProjectingAggregator && predicate == TruePredicate.INSTANCE) {
+            queryResultSizeLimiter.checkMaxResultLimitOnLocalPartitions(mapName);
+        }
+
+        Data aggregatorData = serializationService.toData(aggregator);
+        Aggregator result = serializationService.toObject(aggregatorData);
+        int partitionCount = partitionService.getPartitionCount();
+        limitResultSize(result, partitionCount);
+        BitSet finishedPartitions = new BitSet(partitionCount);
+        try {
+            List<Future<AggregationResult>> futures = aggregateOnMembers(mapName, aggregatorData, predicate);
+            combineResults(result, futures, finishedPartitions);
+
+            futures = aggregateMissingPartitions(mapName, aggregatorData, predicate, finishedPartitions, partitionCount);
+            combineResults(result, futures, finishedPartitions);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+        return result;
+    }
+
+    private boolean tryAggregateUsingIndexes(MapContainer mapContainer, Aggregator aggregator, Predicate predicate) {
+        if (partitionService.hasOnGoingMigrationLocal()) {
+            return false;
+        }
+
+        Set<QueryableEntry> entries = mapContainer.getIndexes().query(predicate);
+        if (entries == null) {
+            return false;
+        }
+
+        for (QueryableEntry entry : entries) {
+            aggregator.accumulate(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Aggregates the given partitions in parallel; every task accumulates the entries into its own copy of the aggregator
+     * and the copies are combined into the given aggregator. Like for a full table scan, at most one task per query thread
+     * is submitted and the tasks take the next partition from a shared {@link PartitionScan}. The
+     * records of a map with NATIVE in-memory format are stored off-heap, so such a partition is aggregated on its
+     * partition thread.
+     */
+    private void aggregatePartitions(String mapName, Aggregator aggregator, Predicate predicate,
+                                     Collection<Integer> partitions) {
+        Data aggregatorData = serializationService.toData(aggregator);
+        List<Future<Aggregator>> futures;
+        if (PartitionQueryTask.isNativeMap(mapServiceContext, mapName)) {
+            futures = new ArrayList<Future<Aggregator>>(partitions.size());
+            for (Integer partitionId : partitions) {
+                AggregatePartitionsCallable callable = new AggregatePartitionsCallable(mapName,
+                        copyOf(aggregatorData, partitions.size()), predicate,
+                        new PartitionScan(singletonList(partitionId), Long.MAX_VALUE));
+                futures.add(PartitionQueryTask.execute(operationService, callable, partitionId));
+            }
+        } else {
+            PartitionScan scan = new PartitionScan(partitions, Long.MAX_VALUE);
+            int taskCount = max(1, min(partitions.size(), executor.getMaximumPoolSize()));
+            futures = new ArrayList<Future<Aggregator>>(taskCount);
+            for (int i = 0; i < taskCount; i++) {
+                futures.add(executor.submit(new AggregatePartitionsCallable(mapName,
+                        copyOf(aggregatorData, partitions.size()), predicate, scan)));
+            }
+        }
+
+        Collection<Aggregator> results = returnWithDeadline(futures, QUERY_EXECUTION_TIMEOUT_MINUTES, MINUTES,
+                RETHROW_EVERYTHING);
+        for (Aggregator result : results) {
+            aggregator.combine(result);
+        }
+    }
+
+    private Aggregator copyOf(Data aggregatorData, int partitionCount) {
+        Aggregator aggregator = serializationService.toObject(aggregatorData);
+        limitResultSize(aggregator, partitionCount);
+        return aggregator;
+    }
+
+    /**
+     * Limits the number of objects collected by a projection to the limit of a query on the given number of partitions.
+     */
+    private void limitResultSize(Aggregator aggregator, int partitionCount) {
+        if (aggregator instanceof ProjectingAggregator) {
+            ((ProjectingAggregator) aggregator).setResultLimit(queryResultSizeLimiter.getNodeResultLimit(partitionCount));
+        }
+    }
+
+    private void aggregatePartition(String mapName, Aggregator aggregator, Predicate predicate, int partitionId) {
+        partitionScanRunner.accumulate(mapName, predicate, partitionId, Clock.currentTimeMillis(), aggregator);
+    }
+
+    private List<Future<AggregationResult>> aggregateOnMembers(String mapName, Data aggregator, Predicate predicate) {
+        Collection<Member> members = clusterService.getMembers(DATA_MEMBER_SELECTOR);
+        List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>(members.size());
+        for (Member member : members) {
+            Operation operation = new AggregationOperation(mapName, aggregator, predicate);
+            futures.add(operationService.<AggregationResult>invokeOnTarget(MapService.SERVICE_NAME, operation,
+                    member.getAddress()));
+        }
+        return futures;
+    }
+
+    private List<Future<AggregationResult>> aggregateMissingPartitions(String mapName, Data aggregator, Predicate predicate,
+                                                                       BitSet finishedPartitions, int partitionCount) {
+        List<Future<AggregationResult>> futures = new ArrayList<Future<AggregationResult>>();
+        for (int partitionId = finishedPartitions.nextClearBit(0); partitionId < partitionCount;
+             partitionId = finishedPartitions.nextClearBit(partitionId + 1)) {
+            Operation operation = new AggregationPartitionOperation(mapName, aggregator, predicate);
+            futures.add(operationService.<AggregationResult>invokeOnPartition(MapService.SERVICE_NAME, operation,
+                    partitionId));
+        }
+        return futures;
+    }
+
+    /**
+     * Combines the results into the given aggregator. A result is only combined if it doesn't overlap with the already
+     * combined partitions; an overlap means that a partition migrated while the aggregation was running.
+     */
+    private void combineResults(Aggregator aggregator, List<Future<AggregationResult>> futures,
+                                BitSet finishedPartitions) throws ExecutionException, InterruptedException {
+        for (Future<AggregationResult> future : futures) {
+            AggregationResult result = future.get();
+            if (result == null) {
+                continue;
+            }
+
+            Collection<Integer> partitionIds = result.getPartitionIds();
+            if (partitionIds != null && !hasAtLeastOneBitSet(finishedPartitions, partitionIds)) {
+                setBits(finishedPartitions, partitionIds);
+                aggregator.combine(result.getAggregator());
+            }
+        }
+    }
+
+    private void updateStatistics(MapContainer mapContainer) {
+        if (mapContainer.getMapConfig().isStatisticsEnabled()) {
+            mapServiceContext.getLocalMapStatsProvider().getLocalMapStatsImpl(mapContainer.getName())
+                    .incrementOtherOperations();
+        }
+    }
+
+    private static void checkNotPagingPredicate(Predicate predicate) {
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Predicate should not be a paging predicate");
+        }
+    }
+
+    /**
+     * Aggregates the partitions taken from a shared scan into its own aggregator until none is left.
+     */
+    private final class AggregatePartitionsCallable implements Callable<Aggregator> {
+
+        private final String mapName;
+        private final Aggregator aggregator;
+        private final Predicate predicate;
+        private final PartitionScan scan;
+
+        private AggregatePartitionsCallable(String mapName, Aggregator aggregator, Predicate predicate,
+                                            PartitionScan scan) {
+            this.mapName = mapName;
+            this.aggregator = aggregator;
+            this.predicate = predicate;
+            this.scan = scan;
+        }
+
+        @Override
+        public Aggregator call() {
+            try {
+                int partitionId;
+                while ((partitionId = scan.nextPartition()) != PartitionScan.NO_PARTITION) {
+                    aggregatePartition(mapName, aggregator, predicate, partitionId);
+                }
+            } catch (RuntimeException e) {
+                scan.abort();
+                throw e;
+            }
+            return aggregator;
+        }
+    }
+}
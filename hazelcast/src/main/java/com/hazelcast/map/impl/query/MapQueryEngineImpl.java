@@ -17,7 +17,6 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.cluster.ClusterService;
-import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.core.Member;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.logging.ILogger;
@@ -26,18 +25,12 @@ import com.hazelcast.map.impl.LocalMapStatsProvider;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
-import com.hazelcast.map.impl.PartitionContainer;
-import com.hazelcast.map.impl.record.Record;
-import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.monitor.impl.LocalMapStatsImpl;
-import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.partition.InternalPartitionService;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
-import com.hazelcast.query.impl.CachedQueryEntry;
 import com.hazelcast.query.impl.QueryableEntry;
-import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -52,8 +45,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -67,11 +58,13 @@ import static com.hazelcast.spi.ExecutionService.QUERY_EXECUTOR;
 import static com.hazelcast.util.ExceptionUtil.rethrow;
 import static com.hazelcast.util.FutureUtil.RETHROW_EVERYTHING;
 import static com.hazelcast.util.FutureUtil.returnWithDeadline;
-import static com.hazelcast.util.SortingUtil.compareAnchor;
 import static com.hazelcast.util.SortingUtil.getSortedQueryResultSet;
 import static com.hazelcast.util.SortingUtil.getSortedSubList;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * The {@link MapQueryEngine} implementation.
@@ -93,6 +86,8 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     protected final boolean parallelEvaluation;
     protected final ManagedExecutorService executor;
 
+    private final PartitionScanRunner partitionScanRunner;
+
     public MapQueryEngineImpl(MapServiceContext mapServiceContext, QueryOptimizer optimizer) {
         this.mapServiceContext = mapServiceContext;
         this.nodeEngine = mapServiceContext.getNodeEngine();
@@ -106,6 +101,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         this.localMapStatsProvider = mapServiceContext.getLocalMapStatsProvider();
         this.parallelEvaluation = nodeEngine.getGroupProperties().getBoolean(QUERY_PREDICATE_PARALLEL_EVALUATION);
         this.executor = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
+        this.partitionScanRunner = new PartitionScanRunner(mapServiceContext);
     }
 
     QueryResultSizeLimiter getQueryResultSizeLimiter() {
@@ -116,6 +112,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
     public QueryResult queryLocalPartitions(String mapName, Predicate predicate, IterationType iterationType)
             throws ExecutionException, InterruptedException {
 
+        long startNanos = System.nanoTime();
         int initialPartitionStateVersion = partitionService.getPartitionStateVersion();
         Collection<Integer> initialPartitions = mapServiceContext.getOwnedPartitions();
         MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
@@ -127,7 +124,8 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         // This would be the point where a query-plan should be added. It should determine if a full table scan
         // or an index should be used.
         QueryResult result = tryQueryUsingIndexes(predicate, initialPartitions, mapContainer, iterationType);
-        if (result == null) {
+        boolean indexed = result != null;
+        if (!indexed) {
             result = queryUsingFullTableScan(mapName, predicate, initialPartitions, iterationType);
         }
 
@@ -137,6 +135,11 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
         updateStatistics(mapContainer);
 
+        if (logger.isFinestEnabled()) {
+            logger.finest("Query on map '" + mapName + "' over " + initialPartitions.size() + " partitions returned "
+                    + result.size() + " rows in " + NANOSECONDS.toMicros(System.nanoTime() - startNanos) + " us ("
+                    + (indexed ? "index" : "full scan") + "): " + predicate);
+        }
         return result;
     }
 
@@ -170,7 +173,7 @@ public class MapQueryEngineImpl implements MapQueryEngine {
 
         if (predicate instanceof PagingPredicate) {
             return queryParallelForPaging(name, (PagingPredicate) predicate, partitions, iterationType);
-        } else if (parallelEvaluation) {
+        } else if (parallelEvaluation || PartitionQueryTask.isNativeMap(mapServiceContext, name)) {
             return queryParallel(name, predicate, partitions, iterationType);
         } else {
             return querySequential(name, predicate, partitions, iterationType);
@@ -205,20 +208,9 @@ public class MapQueryEngineImpl implements MapQueryEngine {
                                         IterationType iterationType) throws InterruptedException, ExecutionException {
         QueryResult result = newQueryResult(partitions.size(), iterationType);
 
-        List<Future<Collection<QueryableEntry>>> futures
-                = new ArrayList<Future<Collection<QueryableEntry>>>(partitions.size());
-
-        for (Integer partitionId : partitions) {
-            QueryPartitionCallable task = new QueryPartitionCallable(name, predicate, partitionId);
-            Future<Collection<QueryableEntry>> future = executor.submit(task);
-            futures.add(future);
-        }
-
-        Collection<Collection<QueryableEntry>> returnedResults = getResult(futures);
+        PartitionScan scan = new PartitionScan(partitions, queryResultSizeLimiter.getNodeResultLimit(partitions.size()));
+        Collection<Collection<QueryableEntry>> returnedResults = getResult(submitPartitionQueries(name, predicate, scan));
         for (Collection<QueryableEntry> returnedResult : returnedResults) {
-            if (returnedResult == null) {
-                continue;
-            }
             result.addAll(returnedResult);
         }
 
@@ -229,16 +221,10 @@ public class MapQueryEngineImpl implements MapQueryEngine {
                                                  IterationType iterationType) throws InterruptedException, ExecutionException {
         QueryResult result = newQueryResult(partitions.size(), iterationType);
 
-        List<Future<Collection<QueryableEntry>>> futures =
-                new ArrayList<Future<Collection<QueryableEntry>>>(partitions.size());
-        for (Integer partitionId : partitions) {
-            QueryPartitionCallable task = new QueryPartitionCallable(name, predicate, partitionId);
-            Future<Collection<QueryableEntry>> future = executor.submit(task);
-            futures.add(future);
-        }
-
-        List<QueryableEntry> toMerge = new LinkedList<QueryableEntry>();
-        Collection<Collection<QueryableEntry>> returnedResults = getResult(futures);
+        // the result size limit is checked on the merged page; the partition results are trimmed to the page already
+        PartitionScan scan = new PartitionScan(partitions, Long.MAX_VALUE);
+        List<QueryableEntry> toMerge = new ArrayList<QueryableEntry>();
+        Collection<Collection<QueryableEntry>> returnedResults = getResult(submitPartitionQueries(name, predicate, scan));
         for (Collection<QueryableEntry> returnedResult : returnedResults) {
             toMerge.addAll(returnedResult);
         }
@@ -249,6 +235,35 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return result;
     }
 
+    /**
+     * Submits the scan of the given partitions.
+     * <p/>
+     * The partitions are not submitted one by one; instead at most one task per query thread is submitted and the tasks
+     * take the next partition to scan from the shared {@link PartitionScan}, so the work is spread evenly over the
+     * query threads and a scan can be aborted as soon as its result size limit is exceeded. The records of a map with
+     * NATIVE in-memory format are stored off-heap, so such partitions are queried on their partition threads instead.
+     */
+    protected List<Future<Collection<QueryableEntry>>> submitPartitionQueries(String name, Predicate predicate,
+                                                                             PartitionScan scan) {
+        if (PartitionQueryTask.isNativeMap(mapServiceContext, name)) {
+            List<Future<Collection<QueryableEntry>>> futures
+                    = new ArrayList<Future<Collection<QueryableEntry>>>(scan.partitionCount());
+            int partitionId;
+            while ((partitionId = scan.nextPartition()) != PartitionScan.NO_PARTITION) {
+                QueryPartitionCallable callable = new QueryPartitionCallable(name, predicate, partitionId);
+                futures.add(PartitionQueryTask.execute(operationService, callable, partitionId));
+            }
+            return futures;
+        }
+
+        int taskCount = max(1, min(scan.partitionCount(), executor.getMaximumPoolSize()));
+        List<Future<Collection<QueryableEntry>>> futures = new ArrayList<Future<Collection<QueryableEntry>>>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            futures.add(executor.submit(new QueryPartitionsCallable(name, predicate, scan)));
+        }
+        return futures;
+    }
+
     protected static Collection<Collection<QueryableEntry>> getResult(List<Future<Collection<QueryableEntry>>> lsFutures) {
         return returnWithDeadline(lsFutures, QUERY_EXECUTION_TIMEOUT_MINUTES, MINUTES, RETHROW_EVERYTHING);
     }
@@ -261,45 +276,8 @@ public class MapQueryEngineImpl implements MapQueryEngine {
         return true;
     }
 
-    @SuppressWarnings("unchecked")
     protected Collection<QueryableEntry> queryTheLocalPartition(String mapName, Predicate predicate, int partitionId) {
-        PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
-        List<QueryableEntry> resultList = new LinkedList<QueryableEntry>();
-
-        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
-        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
-        Iterator<Record> iterator = partitionContainer.getRecordStore(mapName).loadAwareIterator(getNow(), false);
-        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
-        boolean useCachedVersion = shouldUseCachedValue(mapContainer);
-        Extractors extractors = mapServiceContext.getExtractors(mapName);
-        while (iterator.hasNext()) {
-            Record record = iterator.next();
-            Object value = useCachedVersion ? Records.getValueOrCachedValue(record, serializationService) : record.getValue();
-            if (value == null) {
-                continue;
-            }
-            Data key = record.getKey();
-            //we want to always use CachedQueryEntry as these are short-living objects anyway
-            QueryableEntry queryEntry = new CachedQueryEntry(serializationService, key, value, extractors);
-
-            if (predicate.apply(queryEntry) && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
-                resultList.add(queryEntry);
-            }
-        }
-        return getSortedSubList(resultList, pagingPredicate, nearestAnchorEntry);
-    }
-
-    private boolean shouldUseCachedValue(MapContainer mapContainer) {
-        CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
-        switch (cacheDeserializedValues) {
-            case NEVER:
-                return false;
-            case ALWAYS:
-                return true;
-            default:
-                //if index exists then cached value is already set -> let's use it
-                return mapContainer.getIndexes().hasIndex();
-        }
+        return partitionScanRunner.run(mapName, predicate, partitionId, getNow());
     }
 
     @Override
@@ -580,4 +558,57 @@ public class MapQueryEngineImpl implements MapQueryEngine {
             return queryEngine.queryTheLocalPartition(name, predicate, partition);
         }
     }
+
+    /**
+     * Scans partitions taken from a shared {@link PartitionScan} until none is left or the scan is aborted.
+     * <p/>
+     * The matches of all scanned partitions are collected in a single list; for a {@link PagingPredicate} that list is
+     * trimmed to the requested page before it is returned.
+     */
+    protected final class QueryPartitionsCallable implements Callable<Collection<QueryableEntry>> {
+
+        protected final String name;
+        protected final Predicate predicate;
+        protected final PartitionScan scan;
+
+        protected QueryPartitionsCallable(String name, Predicate predicate, PartitionScan scan) {
+            this.name = name;
+            this.predicate = predicate;
+            this.scan = scan;
+        }
+
+        @Override
+        public Collection<QueryableEntry> call() throws Exception {
+            MapQueryEngineImpl queryEngine = (MapQueryEngineImpl) mapServiceContext.getMapQueryEngine(name);
+            List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+            RetryableHazelcastException storedException = null;
+            try {
+                int partitionId;
+                while ((partitionId = scan.nextPartition()) != PartitionScan.NO_PARTITION) {
+                    try {
+                        Collection<QueryableEntry> entries = queryEngine.queryTheLocalPartition(name, predicate, partitionId);
+                        scan.addMatches(entries.size());
+                        result.addAll(entries);
+                    } catch (RetryableHazelcastException e) {
+                        // all partitions are touched before the exception is re-thrown, see querySequential()
+                        if (storedException == null) {
+                            storedException = e;
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                scan.abort();
+                throw e;
+            }
+            if (storedException != null) {
+                throw storedException;
+            }
+
+            if (predicate instanceof PagingPredicate) {
+                PagingPredicate pagingPredicate = (PagingPredicate) predicate;
+                return getSortedSubList(result, pagingPredicate, getNearestAnchorEntry(pagingPredicate));
+            }
+            return result;
+        }
+    }
 }
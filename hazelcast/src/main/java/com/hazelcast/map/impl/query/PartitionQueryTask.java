@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.OperationService;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+
+/**
+ * Runs a query or an aggregation of a single partition on the partition thread.
+ * <p/>
+ * Used for maps with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format; their records are stored
+ * off-heap and may only be accessed by the partition thread.
+ *
+ * @param <V> the type of the result
+ */
+final class PartitionQueryTask<V> extends FutureTask<V> implements PartitionSpecificRunnable {
+
+    private final int partitionId;
+
+    PartitionQueryTask(Callable<V> callable, int partitionId) {
+        super(callable);
+        this.partitionId = partitionId;
+    }
+
+    @Override
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    static boolean isNativeMap(MapServiceContext mapServiceContext, String mapName) {
+        return mapServiceContext.getMapContainer(mapName).getMapConfig().getInMemoryFormat() == NATIVE;
+    }
+
+    /**
+     * Executes the callable on the partition thread of the given partition.
+     *
+     * @return the future of the result of the callable
+     */
+    static <V> Future<V> execute(OperationService operationService, Callable<V> callable, int partitionId) {
+        PartitionQueryTask<V> task = new PartitionQueryTask<V>(callable, partitionId);
+        ((InternalOperationService) operationService).execute(task);
+        return task;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.map.QueryResultSizeExceededException;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The partitions of a single full table scan or aggregation, shared by the tasks executing it.
+ * <p/>
+ * Hands out every partition exactly once and keeps track of the number of matches, so the scan is aborted as soon as
+ * the node result limit is exceeded instead of after all partitions are scanned.
+ */
+final class PartitionScan {
+
+    static final int NO_PARTITION = -1;
+
+    private final int[] partitionIds;
+    private final long resultLimit;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private final AtomicLong matches = new AtomicLong();
+    private volatile boolean aborted;
+
+    PartitionScan(Collection<Integer> partitions, long resultLimit) {
+        this.partitionIds = new int[partitions.size()];
+        int i = 0;
+        for (Integer partitionId : partitions) {
+            partitionIds[i++] = partitionId;
+        }
+        this.resultLimit = resultLimit;
+    }
+
+    int partitionCount() {
+        return partitionIds.length;
+    }
+
+    /**
+     * @return the next partition to scan or {@link #NO_PARTITION} if all partitions are handed out or the scan is aborted
+     */
+    int nextPartition() {
+        if (aborted) {
+            return NO_PARTITION;
+        }
+        int index = nextIndex.getAndIncrement();
+        return index < partitionIds.length ? partitionIds[index] : NO_PARTITION;
+    }
+
+    void addMatches(int count) {
+        if (matches.addAndGet(count) > resultLimit) {
+            abort();
+            throw new QueryResultSizeExceededException();
+        }
+    }
+
+    void abort() {
+        aborted = true;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.query.PagingPredicateAccessor.getNearestAnchorEntry;
+import static com.hazelcast.util.SortingUtil.compareAnchor;
+import static com.hazelcast.util.SortingUtil.getSortedSubList;
+
+/**
+ * Applies a predicate to the entries of a single local partition; used by the full table scans of the
+ * {@link MapQueryEngineImpl} and by the {@link MapAggregationEngine}.
+ * <p/>
+ * The entries are short living {@link CachedQueryEntry} instances. If the map caches the deserialized values, e.g.
+ * because it is indexed, the cached value of a record is used, so it isn't deserialized again for every scan.
+ */
+final class PartitionScanRunner {
+
+    private final MapServiceContext mapServiceContext;
+    private final SerializationService serializationService;
+
+    PartitionScanRunner(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.serializationService = mapServiceContext.getNodeEngine().getSerializationService();
+    }
+
+    /**
+     * Returns the entries of the partition matching the predicate; for a {@link PagingPredicate} only the entries of the
+     * requested page, sorted.
+     */
+    @SuppressWarnings("unchecked")
+    List<QueryableEntry> run(String mapName, Predicate predicate, int partitionId, long now) {
+        PagingPredicate pagingPredicate = predicate instanceof PagingPredicate ? (PagingPredicate) predicate : null;
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry(pagingPredicate);
+        List<QueryableEntry> resultList = new ArrayList<QueryableEntry>();
+
+        EntryIterator iterator = new EntryIterator(mapName, partitionId, now);
+        QueryableEntry queryEntry;
+        while ((queryEntry = iterator.next()) != null) {
+            if (predicate.apply(queryEntry) && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
+                resultList.add(queryEntry);
+            }
+        }
+        return getSortedSubList(resultList, pagingPredicate, nearestAnchorEntry);
+    }
+
+    /**
+     * Accumulates the entries of the partition matching the predicate into the aggregator.
+     */
+    void accumulate(String mapName, Predicate predicate, int partitionId, long now, Aggregator aggregator) {
+        EntryIterator iterator = new EntryIterator(mapName, partitionId, now);
+        QueryableEntry queryEntry;
+        while ((queryEntry = iterator.next()) != null) {
+            if (predicate.apply(queryEntry)) {
+                aggregator.accumulate(queryEntry);
+            }
+        }
+    }
+
+    static boolean shouldUseCachedValue(MapContainer mapContainer) {
+        CacheDeserializedValues cacheDeserializedValues = mapContainer.getMapConfig().getCacheDeserializedValues();
+        switch (cacheDeserializedValues) {
+            case NEVER:
+                return false;
+            case ALWAYS:
+                return true;
+            default:
+                //if index exists then cached value is already set -> let's use it
+                return mapContainer.getIndexes().hasIndex();
+        }
+    }
+
+    /**
+     * Iterates over the records of a partition as query entries, skipping the records without a value.
+     */
+    private final class EntryIterator {
+
+        private final Iterator<Record> records;
+        private final boolean useCachedValue;
+        private final Extractors extractors;
+
+        private EntryIterator(String mapName, int partitionId, long now) {
+            MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+            this.records = mapServiceContext.getPartitionContainer(partitionId).getRecordStore(mapName)
+                    .loadAwareIterator(now, false);
+            this.useCachedValue = shouldUseCachedValue(mapContainer);
+            this.extractors = mapServiceContext.getExtractors(mapName);
+        }
+
+        /**
+         * @return the next entry or null if there are no more entries
+         */
+        QueryableEntry next() {
+            while (records.hasNext()) {
+                Record record = records.next();
+                Object value = useCachedValue ? Records.getValueOrCachedValue(record, serializationService) : record.getValue();
+                if (value != null) {
+                    //we want to always use CachedQueryEntry as these are short-living objects anyway
+                    return new CachedQueryEntry(serializationService, record.getKey(), value, extractors);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.projection.Projection;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the projections of the entries, so that a projection can be executed by the {@link MapAggregationEngine}.
+ * <p/>
+ * Only the projected objects are serialized back to the caller, using the Hazelcast serialization instead of the
+ * Java serialization of {@link Aggregator}s. Like the result of a query, the number of projected objects is limited by
+ * the {@link QueryResultSizeLimiter}; the limit isn't serialized, every member sets its own.
+ */
+public class ProjectingAggregator extends Aggregator<Object, List<Object>> implements IdentifiedDataSerializable {
+
+    private Projection projection;
+    private List<Object> results = new ArrayList<Object>();
+    private transient long resultLimit = Long.MAX_VALUE;
+
+    public ProjectingAggregator() {
+    }
+
+    public ProjectingAggregator(Projection projection) {
+        this.projection = projection;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accumulate(Object input) {
+        results.add(projection.transform(input));
+        checkResultLimit();
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        results.addAll(((ProjectingAggregator) aggregator).results);
+        checkResultLimit();
+    }
+
+    @Override
+    public List<Object> aggregate() {
+        return results;
+    }
+
+    void setResultLimit(long resultLimit) {
+        this.resultLimit = resultLimit;
+    }
+
+    private void checkResultLimit() {
+        if (results.size() > resultLimit) {
+            throw new QueryResultSizeExceededException();
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.PROJECTING_AGGREGATOR;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(projection);
+        out.writeInt(results.size());
+        for (Object result : results) {
+            out.writeObject(result);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        projection = in.readObject();
+        int size = in.readInt();
+        results = new ArrayList<Object>(size);
+        for (int i = 0; i < size; i++) {
+            results.add(in.readObject());
+        }
+    }
+}
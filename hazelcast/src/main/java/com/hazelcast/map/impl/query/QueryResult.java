@@ -29,7 +29,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
 
 /**
  * Contains the result of a query evaluation.
@@ -38,8 +38,7 @@ import java.util.LinkedList;
  */
 public class QueryResult implements IdentifiedDataSerializable, Iterable<QueryResultRow> {
 
-    // todo: probably arraylist cheaper.
-    private final Collection<QueryResultRow> rows = new LinkedList<QueryResultRow>();
+    private final List<QueryResultRow> rows = new ArrayList<QueryResultRow>();
 
     private Collection<Integer> partitionIds;
 
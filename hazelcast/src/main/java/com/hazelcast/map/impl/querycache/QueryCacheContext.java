@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache;
+
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.Cluster;
+import com.hazelcast.core.HazelcastInstanceAware;
+import com.hazelcast.core.MembershipAdapter;
+import com.hazelcast.core.MembershipEvent;
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.querycache.publisher.QueryCachePublisher;
+import com.hazelcast.map.impl.querycache.subscriber.DefaultQueryCache;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.ClassLoaderUtil;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.QueryOptimizer;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.ExceptionUtil;
+
+import java.util.EventListener;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.instance.GroupProperty.QUERY_CACHE_BATCH_SIZE;
+import static com.hazelcast.query.impl.predicates.QueryOptimizerFactory.newOptimizer;
+
+/**
+ * Holds the publisher side and the subscriber side of the query caches of a member.
+ */
+public class QueryCacheContext {
+
+    private final MapServiceContext mapServiceContext;
+    private final QueryCachePublisher publisher;
+    private final QueryOptimizer queryOptimizer;
+    private final int defaultBatchSize;
+    // guarded by this; the query caches are read without locking when a member is removed
+    private final ConcurrentMap<String, ConcurrentMap<String, DefaultQueryCache>> queryCaches
+            = new ConcurrentHashMap<String, ConcurrentMap<String, DefaultQueryCache>>();
+
+    private boolean membershipListenerAdded;
+
+    public QueryCacheContext(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.publisher = new QueryCachePublisher(mapServiceContext);
+        GroupProperties groupProperties = mapServiceContext.getNodeEngine().getGroupProperties();
+        this.queryOptimizer = newOptimizer(groupProperties);
+        this.defaultBatchSize = groupProperties.getInteger(QUERY_CACHE_BATCH_SIZE);
+    }
+
+    public MapServiceContext getMapServiceContext() {
+        return mapServiceContext;
+    }
+
+    public QueryCachePublisher getPublisher() {
+        return publisher;
+    }
+
+    public QueryOptimizer getQueryOptimizer() {
+        return queryOptimizer;
+    }
+
+    /**
+     * @return the batch size of the query caches which have no {@link QueryCacheConfig}
+     */
+    public int getDefaultBatchSize() {
+        return defaultBatchSize;
+    }
+
+    /**
+     * Returns the query cache with the given name of the given map; if it doesn't exist, it is created and populated.
+     */
+    public synchronized <K, V> QueryCache<K, V> getOrCreateQueryCache(String mapName, String name, Predicate predicate,
+                                                                      boolean includeValue) {
+        ConcurrentMap<String, DefaultQueryCache> mapQueryCaches = queryCaches.get(mapName);
+        if (mapQueryCaches == null) {
+            mapQueryCaches = new ConcurrentHashMap<String, DefaultQueryCache>();
+            queryCaches.put(mapName, mapQueryCaches);
+        }
+
+        DefaultQueryCache<K, V> queryCache = mapQueryCaches.get(name);
+        if (queryCache == null) {
+            addMembershipListenerIfNeeded();
+            QueryCacheConfig config = findQueryCacheConfig(mapName, name);
+            queryCache = new DefaultQueryCache<K, V>(name, mapName, predicate, includeValue, config, this);
+            queryCache.start();
+            mapQueryCaches.put(name, queryCache);
+        }
+        return queryCache;
+    }
+
+    public synchronized void removeQueryCache(DefaultQueryCache queryCache) {
+        ConcurrentMap<String, DefaultQueryCache> mapQueryCaches = queryCaches.get(queryCache.getMapName());
+        if (mapQueryCaches != null && mapQueryCaches.remove(queryCache.getName(), queryCache)) {
+            queryCache.release();
+        }
+    }
+
+    /**
+     * Destroys the query caches of the given map on this member.
+     */
+    public synchronized void destroyQueryCaches(String mapName) {
+        ConcurrentMap<String, DefaultQueryCache> mapQueryCaches = queryCaches.remove(mapName);
+        if (mapQueryCaches != null) {
+            for (DefaultQueryCache queryCache : mapQueryCaches.values()) {
+                queryCache.release();
+            }
+        }
+    }
+
+    /**
+     * Creates the listener defined by the given config, or returns {@code null} if neither an implementation nor a class
+     * name is defined.
+     */
+    public MapListener initializeListener(EntryListenerConfig listenerConfig) {
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        EventListener listener = listenerConfig.getImplementation();
+        if (listener instanceof EntryListenerConfig.MapListenerToEntryListenerAdapter) {
+            listener = ((EntryListenerConfig.MapListenerToEntryListenerAdapter) listener).getMapListener();
+        }
+        if (listener == null && listenerConfig.getClassName() != null) {
+            try {
+                listener = ClassLoaderUtil.newInstance(nodeEngine.getConfigClassLoader(), listenerConfig.getClassName());
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            }
+        }
+
+        if (listener instanceof HazelcastInstanceAware) {
+            ((HazelcastInstanceAware) listener).setHazelcastInstance(nodeEngine.getHazelcastInstance());
+        }
+        return (MapListener) listener;
+    }
+
+    public void reset() {
+        publisher.reset();
+    }
+
+    public synchronized void shutdown() {
+        publisher.shutdown();
+        queryCaches.clear();
+    }
+
+    private QueryCacheConfig findQueryCacheConfig(String mapName, String name) {
+        MapConfig mapConfig = mapServiceContext.getMapContainer(mapName).getMapConfig();
+        for (QueryCacheConfig queryCacheConfig : mapConfig.getQueryCacheConfigs()) {
+            if (name.equals(queryCacheConfig.getName())) {
+                return queryCacheConfig;
+            }
+        }
+        return null;
+    }
+
+    private void addMembershipListenerIfNeeded() {
+        if (!membershipListenerAdded) {
+            Cluster cluster = mapServiceContext.getNodeEngine().getHazelcastInstance().getCluster();
+            cluster.addMembershipListener(new RecoveringMembershipListener());
+            membershipListenerAdded = true;
+        }
+    }
+
+    /**
+     * The events of the partitions of a removed member may be lost, so all query caches are recovered.
+     */
+    private class RecoveringMembershipListener extends MembershipAdapter {
+
+        @Override
+        public void memberRemoved(MembershipEvent membershipEvent) {
+            for (ConcurrentMap<String, DefaultQueryCache> mapQueryCaches : queryCaches.values()) {
+                for (DefaultQueryCache queryCache : mapQueryCaches.values()) {
+                    queryCache.recoverAsync();
+                }
+            }
+        }
+    }
+}
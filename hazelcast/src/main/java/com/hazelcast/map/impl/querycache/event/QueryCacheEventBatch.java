@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.event;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of sequenced {@link QueryCacheEventData}s of a single partition which is sent to a query cache.
+ * <p/>
+ * The epoch identifies the event sequence of the partition; it changes when a new sequence is started, e.g. when the
+ * partition is owned by another member.
+ */
+public class QueryCacheEventBatch implements IdentifiedDataSerializable {
+
+    private int partitionId;
+    private long epoch;
+    private List<QueryCacheEventData> events;
+
+    public QueryCacheEventBatch() {
+    }
+
+    public QueryCacheEventBatch(int partitionId, long epoch, List<QueryCacheEventData> events) {
+        this.partitionId = partitionId;
+        this.epoch = epoch;
+        this.events = events;
+    }
+
+    public int getPartitionId() {
+        return partitionId;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public List<QueryCacheEventData> getEvents() {
+        return events;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.QUERY_CACHE_EVENT_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(partitionId);
+        out.writeLong(epoch);
+        out.writeInt(events.size());
+        for (QueryCacheEventData event : events) {
+            event.writeData(out);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        partitionId = in.readInt();
+        epoch = in.readLong();
+        int size = in.readInt();
+        events = new ArrayList<QueryCacheEventData>(size);
+        for (int i = 0; i < size; i++) {
+            DefaultQueryCacheEventData event = new DefaultQueryCacheEventData();
+            event.readData(in);
+            events.add(event);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventBatch{"
+                + "partitionId=" + partitionId
+                + ", epoch=" + epoch
+                + ", events=" + events.size()
+                + '}';
+    }
+}
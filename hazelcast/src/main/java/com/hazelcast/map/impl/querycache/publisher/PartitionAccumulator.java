@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.map.impl.querycache.event.DefaultQueryCacheEventData;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Sequences and buffers the events of a single partition for a single query cache.
+ * <p/>
+ * The buffered events are published as a {@link QueryCacheEventBatch} when the batch size or the buffer size is
+ * reached, or when the accumulator is flushed after the oldest buffered event waited for the configured delay.
+ * Sequencing and publishing happen under the same lock, so the batches are published in sequence order.
+ * <p/>
+ * If coalescing is enabled, an event replaces the buffered event of the same key and keeps its sequence. The buffered
+ * event is older than any event published later, so a subscriber which reloads the partition in the meantime still
+ * skips exactly the events contained in the reloaded entries.
+ */
+final class PartitionAccumulator {
+
+    private final int partitionId;
+    private final long epoch;
+    private final EventRegistration registration;
+    private final int publishSize;
+    private final long delayMillis;
+    private final boolean coalesce;
+
+    private long sequence;
+    private List<QueryCacheEventData> buffer;
+    private Map<Data, DefaultQueryCacheEventData> bufferedByKey;
+    private boolean flushScheduled;
+    private boolean closed;
+
+    PartitionAccumulator(int partitionId, long epoch, EventRegistration registration) {
+        QueryCacheEventFilter filter = (QueryCacheEventFilter) registration.getFilter();
+        this.partitionId = partitionId;
+        this.epoch = epoch;
+        this.registration = registration;
+        this.publishSize = Math.min(filter.getBatchSize(), filter.getBufferSize());
+        this.delayMillis = SECONDS.toMillis(filter.getDelaySeconds());
+        this.coalesce = filter.isCoalesce();
+    }
+
+    long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the sequence of the last accumulated event. Should be called on the partition thread, so that no event
+     * is accumulated concurrently.
+     */
+    synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Accumulates the given event.
+     *
+     * @return {@code true} if the accumulator has buffered events now and has to be flushed, {@code false} if it is
+     * already scheduled to be flushed or has nothing to flush
+     */
+    synchronized boolean accumulate(DefaultQueryCacheEventData event, EventService eventService) {
+        if (closed || (coalesce && coalesceWithBuffered(event))) {
+            return false;
+        }
+
+        buffer(event);
+        if (buffer.size() >= publishSize) {
+            publish(eventService);
+            return false;
+        }
+        if (flushScheduled) {
+            return false;
+        }
+        flushScheduled = true;
+        return true;
+    }
+
+    /**
+     * Publishes the buffered events if the oldest one waited for the configured delay.
+     *
+     * @return {@code true} if events are still buffered and the accumulator has to be flushed again later
+     */
+    synchronized boolean flush(EventService eventService, long now) {
+        if (buffer == null || closed) {
+            flushScheduled = false;
+            return false;
+        }
+        if (now - buffer.get(0).getCreationTime() < delayMillis) {
+            return true;
+        }
+        publish(eventService);
+        flushScheduled = false;
+        return false;
+    }
+
+    /**
+     * Drops the buffered events, e.g. because the registration is removed; no events are published afterwards.
+     */
+    synchronized void close() {
+        closed = true;
+        buffer = null;
+        bufferedByKey = null;
+    }
+
+    private void buffer(DefaultQueryCacheEventData event) {
+        event.setSequence(++sequence);
+        if (buffer == null) {
+            buffer = new ArrayList<QueryCacheEventData>();
+        }
+        buffer.add(event);
+        if (coalesce) {
+            rememberBuffered(event);
+        }
+    }
+
+    private boolean coalesceWithBuffered(DefaultQueryCacheEventData event) {
+        Data dataKey = event.getDataKey();
+        if (dataKey == null) {
+            // an event of the whole partition must not be reordered with the buffered events of its keys
+            bufferedByKey = null;
+            return false;
+        }
+        DefaultQueryCacheEventData buffered = bufferedByKey == null ? null : bufferedByKey.get(dataKey);
+        if (buffered == null) {
+            return false;
+        }
+
+        // a key added within the buffer is still an addition for the subscriber
+        if (!(buffered.getEventType() == ADDED.getType() && event.getEventType() == UPDATED.getType())) {
+            buffered.setEventType(event.getEventType());
+        }
+        buffered.setDataNewValue(event.getDataNewValue());
+        return true;
+    }
+
+    private void rememberBuffered(DefaultQueryCacheEventData event) {
+        if (event.getDataKey() == null) {
+            return;
+        }
+        if (bufferedByKey == null) {
+            bufferedByKey = new HashMap<Data, DefaultQueryCacheEventData>();
+        }
+        bufferedByKey.put(event.getDataKey(), event);
+    }
+
+    private void publish(EventService eventService) {
+        QueryCacheEventBatch batch = new QueryCacheEventBatch(partitionId, epoch, buffer);
+        buffer = null;
+        bufferedByKey = null;
+        eventService.publishEvent(SERVICE_NAME, registration, batch, partitionId);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.EventFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The filter of the event registration of a query cache.
+ * <p/>
+ * The events of the registrations with this filter aren't published as entry events; they are sequenced and batched
+ * per partition by the {@link QueryCachePublisher} instead.
+ */
+public class QueryCacheEventFilter implements EventFilter, IdentifiedDataSerializable {
+
+    private Predicate predicate;
+    private boolean includeValue;
+    private int batchSize;
+    private int bufferSize;
+    private int delaySeconds;
+    private boolean coalesce;
+
+    public QueryCacheEventFilter() {
+    }
+
+    public QueryCacheEventFilter(Predicate predicate, boolean includeValue, int batchSize, int bufferSize,
+                                 int delaySeconds, boolean coalesce) {
+        this.predicate = predicate;
+        this.includeValue = includeValue;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+        this.delaySeconds = delaySeconds;
+        this.coalesce = coalesce;
+    }
+
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public boolean isIncludeValue() {
+        return includeValue;
+    }
+
+    /**
+     * @return the maximum number of events of a partition which are sent in a single batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the maximum number of events of a partition which are buffered; a full buffer is sent even if the batch
+     * size or the delay is not reached yet
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the minimum number of seconds an event is buffered unless the batch size is reached
+     */
+    public int getDelaySeconds() {
+        return delaySeconds;
+    }
+
+    /**
+     * @return {@code true} if a buffered event should be replaced by a later event of the same key
+     */
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    @Override
+    public boolean eval(Object arg) {
+        return predicate.apply((Map.Entry) arg);
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.QUERY_CACHE_EVENT_FILTER;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(predicate);
+        out.writeBoolean(includeValue);
+        out.writeInt(batchSize);
+        out.writeInt(bufferSize);
+        out.writeInt(delaySeconds);
+        out.writeBoolean(coalesce);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        predicate = in.readObject();
+        includeValue = in.readBoolean();
+        batchSize = in.readInt();
+        bufferSize = in.readInt();
+        delaySeconds = in.readInt();
+        coalesce = in.readBoolean();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCacheEventFilter{"
+                + "predicate=" + predicate
+                + ", includeValue=" + includeValue
+                + ", batchSize=" + batchSize
+                + ", bufferSize=" + bufferSize
+                + ", delaySeconds=" + delaySeconds
+                + ", coalesce=" + coalesce
+                + '}';
+    }
+}
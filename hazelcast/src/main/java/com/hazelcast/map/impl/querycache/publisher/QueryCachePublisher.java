@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.querycache.event.DefaultQueryCacheEventData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.ExecutionService;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.instance.GroupProperty.QUERY_CACHE_BATCH_FREQUENCY_MILLIS;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * Publishes the events of the partitions owned by this member to the query caches.
+ * <p/>
+ * For every query cache registration and partition there is a {@link PartitionAccumulator} which sequences the events
+ * and sends them in batches. The accumulators of a partition are created with a random epoch, so a subscriber can
+ * tell apart the sequences of different owners of the partition. An accumulator which buffers events is queued to be
+ * flushed periodically, so the flusher only visits the accumulators with pending events.
+ * <p/>
+ * The map events are translated to the view of the query cache: an update of an entry which doesn't match the
+ * predicate anymore becomes a removal, an update of an entry which starts matching the predicate becomes an addition.
+ */
+public class QueryCachePublisher {
+
+    private static final String FLUSHER_EXECUTOR_NAME = QueryCachePublisher.class.getName();
+
+    private final MapServiceContext mapServiceContext;
+    private final NodeEngine nodeEngine;
+    private final EventService eventService;
+    private final int partitionCount;
+    private final long flushPeriodMillis;
+    private final Random random = new Random();
+    private final AtomicBoolean flusherStarted = new AtomicBoolean();
+    private final ConcurrentMap<String, RegistrationAccumulators> accumulators
+            = new ConcurrentHashMap<String, RegistrationAccumulators>();
+    private final Queue<PartitionAccumulator> pendingAccumulators = new ConcurrentLinkedQueue<PartitionAccumulator>();
+
+    public QueryCachePublisher(MapServiceContext mapServiceContext) {
+        this.mapServiceContext = mapServiceContext;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.eventService = nodeEngine.getEventService();
+        this.partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        this.flushPeriodMillis = nodeEngine.getGroupProperties().getMillis(QUERY_CACHE_BATCH_FREQUENCY_MILLIS);
+    }
+
+    /**
+     * Publishes an entry event to the given query cache registrations. Should be called on the partition thread.
+     */
+    public void publishEvent(String mapName, Collection<EventRegistration> registrations, EntryEventType eventType,
+                             Data dataKey, Object oldValue, Object newValue) {
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(dataKey);
+        Extractors extractors = mapServiceContext.getExtractors(mapName);
+        Data dataNewValue = null;
+        for (EventRegistration registration : registrations) {
+            QueryCacheEventFilter filter = (QueryCacheEventFilter) registration.getFilter();
+            EntryEventType queryCacheEventType = toQueryCacheEventType(filter, eventType, dataKey, oldValue, newValue,
+                    extractors);
+            if (queryCacheEventType == null) {
+                continue;
+            }
+
+            DefaultQueryCacheEventData event = createEventData(dataKey, queryCacheEventType, partitionId);
+            if (queryCacheEventType != REMOVED && filter.isIncludeValue()) {
+                if (dataNewValue == null) {
+                    dataNewValue = mapServiceContext.toData(newValue);
+                }
+                event.setDataNewValue(dataNewValue);
+            }
+            accumulate(mapName, registration, partitionId, event);
+        }
+    }
+
+    /**
+     * Publishes an event which affects the whole partition, e.g. {@link EntryEventType#CLEAR_ALL}, to the given query
+     * cache registrations. Should be called on the partition thread.
+     */
+    public void publishPartitionEvent(String mapName, Collection<EventRegistration> registrations,
+                                      EntryEventType eventType, int partitionId) {
+        for (EventRegistration registration : registrations) {
+            DefaultQueryCacheEventData event = createEventData(null, eventType, partitionId);
+            accumulate(mapName, registration, partitionId, event);
+        }
+    }
+
+    /**
+     * Drops the accumulators of the given registration if it is a query cache registration.
+     */
+    public void onDeregister(EventRegistration registration) {
+        if (!(registration.getFilter() instanceof QueryCacheEventFilter)) {
+            return;
+        }
+        RegistrationAccumulators registrationAccumulators = accumulators.remove(registration.getId());
+        if (registrationAccumulators != null) {
+            registrationAccumulators.close();
+        }
+    }
+
+    /**
+     * Returns the query cache registration with the given id, or {@code null} if it doesn't exist.
+     */
+    public EventRegistration findRegistration(String mapName, String registrationId) {
+        for (EventRegistration registration : eventService.getRegistrations(SERVICE_NAME, mapName)) {
+            if (registration.getId().equals(registrationId) && registration.getFilter() instanceof QueryCacheEventFilter) {
+                return registration;
+            }
+        }
+        return null;
+    }
+
+    PartitionAccumulator getOrCreateAccumulator(String mapName, EventRegistration registration, int partitionId) {
+        RegistrationAccumulators registrationAccumulators = accumulators.get(registration.getId());
+        if (registrationAccumulators == null) {
+            registrationAccumulators = new RegistrationAccumulators(partitionCount);
+            RegistrationAccumulators existing = accumulators.putIfAbsent(registration.getId(), registrationAccumulators);
+            if (existing != null) {
+                registrationAccumulators = existing;
+            } else {
+                startFlusher();
+                if (findRegistration(mapName, registration.getId()) == null) {
+                    // the registration was removed concurrently, so onDeregister may have missed these accumulators
+                    onDeregister(registration);
+                }
+            }
+        }
+
+        AtomicReferenceArray<PartitionAccumulator> partitions = registrationAccumulators.partitions;
+        PartitionAccumulator accumulator = partitions.get(partitionId);
+        if (accumulator == null) {
+            accumulator = new PartitionAccumulator(partitionId, nextEpoch(), registration);
+            if (!partitions.compareAndSet(partitionId, null, accumulator)) {
+                accumulator = partitions.get(partitionId);
+            }
+        }
+        return accumulator;
+    }
+
+    public void reset() {
+        for (RegistrationAccumulators registrationAccumulators : accumulators.values()) {
+            registrationAccumulators.close();
+        }
+        accumulators.clear();
+        pendingAccumulators.clear();
+    }
+
+    public void shutdown() {
+        if (flusherStarted.get()) {
+            nodeEngine.getExecutionService().shutdownExecutor(FLUSHER_EXECUTOR_NAME);
+        }
+        accumulators.clear();
+        pendingAccumulators.clear();
+    }
+
+    private void accumulate(String mapName, EventRegistration registration, int partitionId,
+                            DefaultQueryCacheEventData event) {
+        PartitionAccumulator accumulator = getOrCreateAccumulator(mapName, registration, partitionId);
+        if (accumulator.accumulate(event, eventService)) {
+            pendingAccumulators.offer(accumulator);
+        }
+    }
+
+    private EntryEventType toQueryCacheEventType(QueryCacheEventFilter filter, EntryEventType eventType, Data dataKey,
+                                                 Object oldValue, Object newValue, Extractors extractors) {
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+            case MERGED:
+                if (newValue != null && matches(filter, dataKey, newValue, extractors)) {
+                    return eventType == ADDED ? ADDED : UPDATED;
+                }
+                // the entry doesn't match (anymore); if it existed before, it might have to be removed
+                return eventType == ADDED ? null : toRemovedEventType(filter, dataKey, oldValue, extractors);
+            case REMOVED:
+            case EVICTED:
+            case EXPIRED:
+                return toRemovedEventType(filter, dataKey, oldValue, extractors);
+            default:
+                return null;
+        }
+    }
+
+    private EntryEventType toRemovedEventType(QueryCacheEventFilter filter, Data dataKey, Object oldValue,
+                                              Extractors extractors) {
+        // if the old value is unknown, the entry is removed to be safe
+        return oldValue == null || matches(filter, dataKey, oldValue, extractors) ? REMOVED : null;
+    }
+
+    private boolean matches(QueryCacheEventFilter filter, Data dataKey, Object value, Extractors extractors) {
+        return filter.eval(new CachedQueryEntry(nodeEngine.getSerializationService(), dataKey, value, extractors));
+    }
+
+    private DefaultQueryCacheEventData createEventData(Data dataKey, EntryEventType eventType, int partitionId) {
+        DefaultQueryCacheEventData event = new DefaultQueryCacheEventData();
+        event.setDataKey(dataKey);
+        event.setEventType(eventType.getType());
+        event.setPartitionId(partitionId);
+        return event;
+    }
+
+    private long nextEpoch() {
+        synchronized (random) {
+            return random.nextLong();
+        }
+    }
+
+    private void startFlusher() {
+        if (flusherStarted.compareAndSet(false, true)) {
+            ExecutionService executionService = nodeEngine.getExecutionService();
+            executionService.scheduleAtFixedRate(FLUSHER_EXECUTOR_NAME, new Flusher(), flushPeriodMillis,
+                    flushPeriodMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The accumulators of the partitions of a single query cache registration.
+     */
+    private static final class RegistrationAccumulators {
+
+        private final AtomicReferenceArray<PartitionAccumulator> partitions;
+
+        private RegistrationAccumulators(int partitionCount) {
+            this.partitions = new AtomicReferenceArray<PartitionAccumulator>(partitionCount);
+        }
+
+        private void close() {
+            for (int partitionId = 0; partitionId < partitions.length(); partitionId++) {
+                PartitionAccumulator accumulator = partitions.get(partitionId);
+                if (accumulator != null) {
+                    accumulator.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Periodically sends the buffered events of the pending accumulators whose delay has passed.
+     */
+    private class Flusher implements Runnable {
+
+        @Override
+        public void run() {
+            long now = Clock.currentTimeMillis();
+            // the accumulators queued again during this run are flushed by the next run
+            for (int i = pendingAccumulators.size(); i > 0; i--) {
+                PartitionAccumulator accumulator = pendingAccumulators.poll();
+                if (accumulator == null) {
+                    break;
+                }
+                if (accumulator.flush(eventService, now)) {
+                    pendingAccumulators.offer(accumulator);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The matching entries of a partition together with the epoch and the sequence of the last event published to the
+ * query cache at the time the entries were read.
+ */
+public class QueryCacheSnapshot implements IdentifiedDataSerializable {
+
+    private long epoch;
+    private long sequence;
+    private List<Data> keys;
+    private List<Data> values;
+
+    public QueryCacheSnapshot() {
+    }
+
+    public QueryCacheSnapshot(long epoch, long sequence, List<Data> keys, List<Data> values) {
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<Data> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return the values in the order of the keys; a value is {@code null} if the values are not included
+     */
+    public List<Data> getValues() {
+        return values;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.QUERY_CACHE_SNAPSHOT;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeLong(epoch);
+        out.writeLong(sequence);
+        out.writeInt(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            out.writeData(keys.get(i));
+            out.writeData(values.get(i));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        epoch = in.readLong();
+        sequence = in.readLong();
+        int size = in.readInt();
+        keys = new ArrayList<Data>(size);
+        values = new ArrayList<Data>(size);
+        for (int i = 0; i < size; i++) {
+            keys.add(in.readData());
+            values.add(in.readData());
+        }
+    }
+}
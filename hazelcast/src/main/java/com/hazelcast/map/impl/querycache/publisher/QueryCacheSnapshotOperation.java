@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.PartitionAwareOperation;
+import com.hazelcast.spi.ReadonlyOperation;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Reads the matching entries of a partition for a query cache.
+ * <p/>
+ * The operation runs on the partition thread, so the read entries and the returned sequence are consistent: all events
+ * up to the returned sequence are contained in the entries, all later events are not.
+ */
+public class QueryCacheSnapshotOperation extends MapOperation
+        implements PartitionAwareOperation, ReadonlyOperation, IdentifiedDataSerializable {
+
+    private String registrationId;
+    private boolean includeEntries;
+    private QueryCacheSnapshot snapshot;
+
+    public QueryCacheSnapshotOperation() {
+    }
+
+    /**
+     * @param includeEntries {@code false} if only the epoch and the sequence should be returned, e.g. because the
+     *                       query cache shouldn't be populated
+     */
+    public QueryCacheSnapshotOperation(String mapName, String registrationId, boolean includeEntries) {
+        super(mapName);
+        this.registrationId = registrationId;
+        this.includeEntries = includeEntries;
+    }
+
+    @Override
+    public void run() {
+        QueryCachePublisher publisher = mapServiceContext.getQueryCacheContext().getPublisher();
+        EventRegistration registration = publisher.findRegistration(name, registrationId);
+        if (registration == null) {
+            // the query cache is destroyed meanwhile
+            snapshot = new QueryCacheSnapshot(0, 0, Collections.<Data>emptyList(), Collections.<Data>emptyList());
+            return;
+        }
+
+        PartitionAccumulator accumulator = publisher.getOrCreateAccumulator(name, registration, getPartitionId());
+        QueryCacheEventFilter filter = (QueryCacheEventFilter) registration.getFilter();
+        SnapshotAggregator aggregator = new SnapshotAggregator(filter.isIncludeValue());
+        if (includeEntries) {
+            mapServiceContext.getMapAggregationEngine(name).aggregateLocalPartition(name, aggregator,
+                    filter.getPredicate(), getPartitionId());
+        }
+        snapshot = new QueryCacheSnapshot(accumulator.getEpoch(), accumulator.getSequence(), aggregator.getKeys(),
+                aggregator.getValues());
+    }
+
+    @Override
+    public Object getResponse() {
+        return snapshot;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return MapDataSerializerHook.QUERY_CACHE_SNAPSHOT_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(registrationId);
+        out.writeBoolean(includeEntries);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        registrationId = in.readUTF();
+        includeEntries = in.readBoolean();
+    }
+}
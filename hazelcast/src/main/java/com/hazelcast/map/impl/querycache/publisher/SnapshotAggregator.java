@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.publisher;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the serialized keys and values of the matching entries of a partition. It is only used locally by the
+ * {@link QueryCacheSnapshotOperation}, so it is never serialized or combined.
+ */
+final class SnapshotAggregator extends Aggregator<QueryableEntry, Void> {
+
+    private final boolean includeValue;
+    private final List<Data> keys = new ArrayList<Data>();
+    private final List<Data> values = new ArrayList<Data>();
+
+    SnapshotAggregator(boolean includeValue) {
+        this.includeValue = includeValue;
+    }
+
+    @Override
+    public void accumulate(QueryableEntry entry) {
+        keys.add(entry.getKeyData());
+        values.add(includeValue ? entry.getValueData() : null);
+    }
+
+    @Override
+    public void combine(Aggregator aggregator) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Void aggregate() {
+        return null;
+    }
+
+    List<Data> getKeys() {
+        return keys;
+    }
+
+    List<Data> getValues() {
+        return values;
+    }
+}
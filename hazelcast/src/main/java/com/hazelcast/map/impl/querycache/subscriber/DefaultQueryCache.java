@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.QueryCache;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.querycache.QueryCacheContext;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheEventFilter;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.EventRegistration;
+import com.hazelcast.spi.EventService;
+import com.hazelcast.spi.NodeEngine;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.util.Preconditions.checkNotNull;
+
+/**
+ * Default implementation of {@link QueryCache}.
+ * <p/>
+ * The query cache registers an event listener on the map, whose events are sequenced and batched per partition by the
+ * owners of the partitions, and populates itself by reading the matching entries of all partitions. If a
+ * {@link QueryCacheConfig} with the name of the query cache is defined on the map, all its settings except the
+ * predicate and the include-value flag are used; these are given when the query cache is created.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class DefaultQueryCache<K, V> implements QueryCache<K, V> {
+
+    private final String name;
+    private final String mapName;
+    private final Predicate predicate;
+    private final boolean includeValue;
+    private final QueryCacheConfig config;
+    private final InMemoryFormat inMemoryFormat;
+    private final QueryCacheContext context;
+    private final EventService eventService;
+    private final SerializationService serializationService;
+    private final QueryCacheEventNotifier eventNotifier;
+    private final QueryCacheRecordStore recordStore;
+    private final QueryCacheSubscriber subscriber;
+
+    private volatile String registrationId;
+
+    public DefaultQueryCache(String name, String mapName, Predicate predicate, boolean includeValue,
+                             QueryCacheConfig config, QueryCacheContext context) {
+        MapServiceContext mapServiceContext = context.getMapServiceContext();
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        this.name = name;
+        this.mapName = mapName;
+        this.predicate = predicate;
+        this.includeValue = includeValue;
+        this.config = config;
+        this.inMemoryFormat = config == null ? QueryCacheConfig.DEFAULT_IN_MEMORY_FORMAT : config.getInMemoryFormat();
+        this.context = context;
+        this.eventService = nodeEngine.getEventService();
+        this.serializationService = nodeEngine.getSerializationService();
+        this.eventNotifier = new QueryCacheEventNotifier(name, nodeEngine);
+        EvictionConfig evictionConfig = config == null ? null : config.getEvictionConfig();
+        this.recordStore = new QueryCacheRecordStore(serializationService, nodeEngine.getPartitionService(),
+                mapServiceContext.getExtractors(mapName), context.getQueryOptimizer(), eventNotifier, inMemoryFormat,
+                evictionConfig);
+        this.subscriber = new QueryCacheSubscriber(mapName, recordStore, nodeEngine);
+    }
+
+    /**
+     * Registers the event listener of this query cache and populates it.
+     */
+    public void start() {
+        boolean populate = QueryCacheConfig.DEFAULT_POPULATE;
+        int batchSize = context.getDefaultBatchSize();
+        // without a config, the batch size alone limits the buffer
+        int bufferSize = batchSize;
+        int delaySeconds = QueryCacheConfig.DEFAULT_DELAY_SECONDS;
+        boolean coalesce = QueryCacheConfig.DEFAULT_COALESCE;
+        if (config != null) {
+            populate = config.isPopulate();
+            batchSize = config.getBatchSize();
+            bufferSize = config.getBufferSize();
+            delaySeconds = config.getDelaySeconds();
+            coalesce = config.isCoalesce();
+            for (MapIndexConfig indexConfig : config.getIndexConfigs()) {
+                addIndex(indexConfig.getAttribute(), indexConfig.isOrdered());
+            }
+            for (EntryListenerConfig listenerConfig : config.getEntryListenerConfigs()) {
+                MapListener listener = context.initializeListener(listenerConfig);
+                if (listener != null) {
+                    addEntryListener(listener, listenerConfig.isIncludeValue());
+                }
+            }
+        }
+
+        QueryCacheEventFilter filter = new QueryCacheEventFilter(predicate, includeValue, batchSize, bufferSize,
+                delaySeconds, coalesce);
+        EventRegistration registration = eventService.registerListener(SERVICE_NAME, mapName, filter, subscriber);
+        registrationId = registration.getId();
+        subscriber.setRegistrationId(registrationId);
+        subscriber.recoverAll(populate);
+    }
+
+    /**
+     * Recovers all partitions in the background, e.g. after a member left the cluster.
+     */
+    public void recoverAsync() {
+        subscriber.recoverAllAsync();
+    }
+
+    /**
+     * Deregisters the event listener and removes the entries of this query cache.
+     */
+    public void release() {
+        eventService.deregisterListener(SERVICE_NAME, mapName, registrationId);
+        recordStore.clear();
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key, "key cannot be null");
+
+        QueryableEntry entry = recordStore.get(serializationService.toData(key));
+        return entry == null ? null : toValue(entry);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        checkNotNull(key, "key cannot be null");
+
+        return recordStore.get(serializationService.toData(key)) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        checkNotNull(value, "value cannot be null");
+
+        Data valueData = serializationService.toData(value);
+        for (QueryableEntry entry : recordStore.getEntries()) {
+            if (valueData.equals(entry.getValueData())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return recordStore.size() == 0;
+    }
+
+    @Override
+    public int size() {
+        return recordStore.size();
+    }
+
+    @Override
+    public void addIndex(String attribute, boolean ordered) {
+        checkNotNull(attribute, "attribute cannot be null");
+
+        recordStore.addIndex(attribute, ordered);
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkNotNull(keys, "keys cannot be null");
+
+        Map<K, V> result = new HashMap<K, V>();
+        for (K key : keys) {
+            QueryableEntry entry = recordStore.get(serializationService.toData(key));
+            if (entry != null) {
+                result.put(key, toValue(entry));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return toKeySet(recordStore.getEntries());
+    }
+
+    @Override
+    public Set<K> keySet(Predicate predicate) {
+        return toKeySet(query(predicate));
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return toEntrySet(recordStore.getEntries());
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet(Predicate predicate) {
+        return toEntrySet(query(predicate));
+    }
+
+    @Override
+    public Collection<V> values() {
+        return toValues(recordStore.getEntries());
+    }
+
+    @Override
+    public Collection<V> values(Predicate predicate) {
+        return toValues(query(predicate));
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+
+        return eventNotifier.addListener(listener, null, null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, K key, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+        checkNotNull(key, "key cannot be null");
+
+        return eventNotifier.addListener(listener, serializationService.toData(key), null, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+
+        return eventNotifier.addListener(listener, null, predicate, includeValue);
+    }
+
+    @Override
+    public String addEntryListener(MapListener listener, Predicate<K, V> predicate, K key, boolean includeValue) {
+        checkNotNull(listener, "listener cannot be null");
+        checkNotNull(predicate, "predicate cannot be null");
+        checkNotNull(key, "key cannot be null");
+
+        return eventNotifier.addListener(listener, serializationService.toData(key), predicate, includeValue);
+    }
+
+    @Override
+    public boolean removeEntryListener(String id) {
+        checkNotNull(id, "listener id cannot be null");
+
+        return eventNotifier.removeListener(id);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean tryRecover() {
+        return subscriber.recoverAll(true);
+    }
+
+    @Override
+    public void destroy() {
+        context.removeQueryCache(this);
+    }
+
+    private Collection<QueryableEntry> query(Predicate predicate) {
+        checkNotNull(predicate, "predicate cannot be null");
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("PagingPredicate is not supported by a query cache");
+        }
+
+        return recordStore.query(predicate);
+    }
+
+    private Set<K> toKeySet(Collection<QueryableEntry> entries) {
+        Set<K> result = new HashSet<K>(entries.size());
+        for (QueryableEntry entry : entries) {
+            result.add((K) serializationService.toObject(entry.getKeyData()));
+        }
+        return result;
+    }
+
+    private Set<Map.Entry<K, V>> toEntrySet(Collection<QueryableEntry> entries) {
+        Set<Map.Entry<K, V>> result = new HashSet<Map.Entry<K, V>>(entries.size());
+        for (QueryableEntry entry : entries) {
+            K key = serializationService.toObject(entry.getKeyData());
+            V value = toValue(entry);
+            result.add(new AbstractMap.SimpleImmutableEntry<K, V>(key, value));
+        }
+        return result;
+    }
+
+    private Collection<V> toValues(Collection<QueryableEntry> entries) {
+        List<V> result = new ArrayList<V>(entries.size());
+        for (QueryableEntry entry : entries) {
+            result.add(toValue(entry));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the given entry; with {@link InMemoryFormat#OBJECT} the stored instance is returned, like
+     * by a near cache.
+     */
+    private V toValue(QueryableEntry entry) {
+        if (inMemoryFormat == OBJECT) {
+            return (V) entry.getValue();
+        }
+        return (V) serializationService.toObject(entry.getValueData());
+    }
+}
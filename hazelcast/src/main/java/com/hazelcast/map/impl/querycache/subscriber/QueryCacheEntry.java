@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.util.Clock;
+
+/**
+ * An entry of a query cache which tracks its accesses, so it can be evicted by its access time or access count.
+ * <p/>
+ * The access statistics are updated without synchronization; a lost update only affects the choice of an eviction
+ * candidate.
+ */
+class QueryCacheEntry extends CachedQueryEntry implements Evictable {
+
+    private final long creationTime;
+    private volatile long accessTime;
+    private volatile int accessHit;
+
+    QueryCacheEntry(SerializationService serializationService, Data key, Object value, Extractors extractors) {
+        super(serializationService, key, value, extractors);
+        this.creationTime = Clock.currentTimeMillis();
+        this.accessTime = creationTime;
+    }
+
+    void access() {
+        accessTime = Clock.currentTimeMillis();
+        if (accessHit < Integer.MAX_VALUE) {
+            accessHit++;
+        }
+    }
+
+    @Override
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    @Override
+    public long getAccessTime() {
+        return accessTime;
+    }
+
+    @Override
+    public int getAccessHit() {
+        return accessHit;
+    }
+}
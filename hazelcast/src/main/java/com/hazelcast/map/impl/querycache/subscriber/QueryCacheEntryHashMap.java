@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.EvictionStrategy;
+import com.hazelcast.internal.eviction.EvictionStrategyProvider;
+import com.hazelcast.internal.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.strategy.sampling.SampleableEvictableStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+import static com.hazelcast.internal.eviction.EvictionChecker.EVICT_ALWAYS;
+
+/**
+ * Holds the {@link QueryCacheEntry}s of a query cache.
+ * <p/>
+ * Entries are evicted with the sampling based {@link EvictionStrategy}, like the records of a near cache; so evicting
+ * an entry costs a constant number of samples.
+ */
+class QueryCacheEntryHashMap extends SampleableConcurrentHashMap<Data, QueryCacheEntry>
+        implements SampleableEvictableStore<Data, QueryCacheEntry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private static final EvictionPolicyEvaluator<Data, QueryCacheEntry> LRU_EVALUATOR
+            = new LRUEvictionPolicyEvaluator<Data, QueryCacheEntry>();
+    private static final EvictionPolicyEvaluator<Data, QueryCacheEntry> LFU_EVALUATOR
+            = new LFUEvictionPolicyEvaluator<Data, QueryCacheEntry>();
+
+    QueryCacheEntryHashMap() {
+        super(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Evicts a single entry as specified by the eviction policy.
+     *
+     * @param evictionPolicy   the eviction policy; {@link EvictionPolicy#RANDOM} evicts an arbitrary entry
+     * @param evictionListener the listener notified for the evicted entry
+     * @return the number of evicted entries
+     */
+    int evictOne(EvictionPolicy evictionPolicy, EvictionListener<Data, QueryCacheEntry> evictionListener) {
+        EvictionPolicyEvaluator<Data, QueryCacheEntry> evaluator = getEvaluator(evictionPolicy);
+        if (evaluator == null) {
+            return evict(sample(1), evictionListener);
+        }
+        EvictionStrategy<Data, QueryCacheEntry, QueryCacheEntryHashMap> strategy
+                = EvictionStrategyProvider.getDefaultEvictionStrategy();
+        return strategy.evict(this, evaluator, EVICT_ALWAYS, evictionListener);
+    }
+
+    private static EvictionPolicyEvaluator<Data, QueryCacheEntry> getEvaluator(EvictionPolicy evictionPolicy) {
+        switch (evictionPolicy) {
+            case LRU:
+                return LRU_EVALUATOR;
+            case LFU:
+                return LFU_EVALUATOR;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public <C extends EvictionCandidate<Data, QueryCacheEntry>> int evict(Iterable<C> evictionCandidates,
+                                                                         EvictionListener<Data, QueryCacheEntry>
+                                                                                 evictionListener) {
+        if (evictionCandidates == null) {
+            return 0;
+        }
+        int evictedCount = 0;
+        for (C evictionCandidate : evictionCandidates) {
+            Data key = evictionCandidate.getAccessor();
+            QueryCacheEntry entry = evictionCandidate.getEvictable();
+            // the entry is only removed if it isn't replaced in the meantime
+            if (remove(key, entry)) {
+                evictedCount++;
+                if (evictionListener != null) {
+                    evictionListener.onEvict(key, entry);
+                }
+            }
+        }
+        return evictedCount;
+    }
+
+    @Override
+    public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+
+    @Override
+    protected <E extends SamplingEntry> E createSamplingEntry(Data key, QueryCacheEntry entry) {
+        return (E) new EvictableSamplingEntry(key, entry);
+    }
+
+    /**
+     * A sampled query cache entry.
+     */
+    class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate<Data, QueryCacheEntry> {
+
+        EvictableSamplingEntry(Data key, QueryCacheEntry entry) {
+            super(key, entry);
+        }
+
+        @Override
+        public Data getAccessor() {
+            return getKey();
+        }
+
+        @Override
+        public QueryCacheEntry getEvictable() {
+            return getValue();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.Member;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.DataAwareEntryEvent;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.NodeEngine;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.core.EntryEventType.EVICTED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.map.impl.ListenerAdapters.createListenerAdapter;
+import static com.hazelcast.util.UuidUtil.newUnsecureUuidString;
+
+/**
+ * Notifies the listeners of a query cache about the changes of its entries.
+ * <p/>
+ * The listeners are called by the thread which applies the change, so a listener shouldn't block. A cleared partition
+ * is reported as the removal of its entries, an entry evicted from a full query cache as an eviction.
+ */
+class QueryCacheEventNotifier {
+
+    private final String queryCacheName;
+    private final Member localMember;
+    private final SerializationService serializationService;
+    private final ILogger logger;
+    private final ConcurrentMap<String, ListenerRegistration> registrations
+            = new ConcurrentHashMap<String, ListenerRegistration>();
+
+    QueryCacheEventNotifier(String queryCacheName, NodeEngine nodeEngine) {
+        this.queryCacheName = queryCacheName;
+        this.localMember = nodeEngine.getLocalMember();
+        this.serializationService = nodeEngine.getSerializationService();
+        this.logger = nodeEngine.getLogger(getClass());
+    }
+
+    String addListener(MapListener listener, Data key, Predicate predicate, boolean includeValue) {
+        String id = newUnsecureUuidString();
+        registrations.put(id, new ListenerRegistration(createListenerAdapter(listener), key, predicate, includeValue));
+        return id;
+    }
+
+    boolean removeListener(String id) {
+        return registrations.remove(id) != null;
+    }
+
+    void notify(EntryEventType eventType, Data key, QueryableEntry newEntry, QueryableEntry oldEntry) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+
+        QueryableEntry testedEntry = eventType == REMOVED || eventType == EVICTED ? oldEntry : newEntry;
+        for (ListenerRegistration registration : registrations.values()) {
+            if (!registration.matches(key, testedEntry)) {
+                continue;
+            }
+
+            try {
+                registration.adapter.onEvent(createEvent(registration.includeValue, eventType, key, newEntry, oldEntry));
+            } catch (Exception e) {
+                logger.warning("Listener of query cache " + queryCacheName + " failed", e);
+            }
+        }
+    }
+
+    private DataAwareEntryEvent createEvent(boolean includeValue, EntryEventType eventType, Data key,
+                                            QueryableEntry newEntry, QueryableEntry oldEntry) {
+        Data newValue = includeValue && newEntry != null ? newEntry.getValueData() : null;
+        Data oldValue = includeValue && oldEntry != null ? oldEntry.getValueData() : null;
+        return new DataAwareEntryEvent(localMember, eventType.getType(), queryCacheName, key, newValue, oldValue, null,
+                serializationService);
+    }
+
+    private static final class ListenerRegistration {
+
+        private final ListenerAdapter adapter;
+        private final Data key;
+        private final Predicate predicate;
+        private final boolean includeValue;
+
+        private ListenerRegistration(ListenerAdapter adapter, Data key, Predicate predicate, boolean includeValue) {
+            this.adapter = adapter;
+            this.key = key;
+            this.predicate = predicate;
+            this.includeValue = includeValue;
+        }
+
+        private boolean matches(Data eventKey, QueryableEntry entry) {
+            return (key == null || key.equals(eventKey)) && (predicate == null || predicate.apply(entry));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.query.impl.predicates.QueryOptimizer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.config.EvictionConfig.MaxSizePolicy.ENTRY_COUNT;
+import static com.hazelcast.config.InMemoryFormat.OBJECT;
+import static com.hazelcast.core.EntryEventType.ADDED;
+import static com.hazelcast.core.EntryEventType.EVICTED;
+import static com.hazelcast.core.EntryEventType.REMOVED;
+import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Holds the entries of a query cache together with their indexes.
+ * <p/>
+ * The entries of a partition are only modified by a single thread at a time, since the updates of a partition are
+ * applied under the lock of its partition state; reads may happen concurrently from any thread.
+ * <p/>
+ * The values are stored as {@link Data} or, with {@link InMemoryFormat#OBJECT}, deserialized. If an eviction config is
+ * given, an entry is evicted by its eviction policy before a new entry is added to a full query cache. An evicted
+ * entry is added again when it is updated.
+ */
+class QueryCacheRecordStore {
+
+    private final QueryCacheEntryHashMap entries = new QueryCacheEntryHashMap();
+    private final EvictionListener<Data, QueryCacheEntry> evictionListener = new IndexRemovingEvictionListener();
+    private final InMemoryFormat inMemoryFormat;
+    private final int maxSize;
+    private final EvictionPolicy evictionPolicy;
+    private final SerializationService serializationService;
+    private final InternalPartitionService partitionService;
+    private final Extractors extractors;
+    private final QueryOptimizer queryOptimizer;
+    private final Indexes indexes;
+    private final QueryCacheEventNotifier eventNotifier;
+
+    QueryCacheRecordStore(SerializationService serializationService, InternalPartitionService partitionService,
+                          Extractors extractors, QueryOptimizer queryOptimizer, QueryCacheEventNotifier eventNotifier,
+                          InMemoryFormat inMemoryFormat, EvictionConfig evictionConfig) {
+        if (evictionConfig == null || evictionConfig.getEvictionPolicy() == EvictionPolicy.NONE) {
+            this.maxSize = Integer.MAX_VALUE;
+        } else {
+            checkTrue(evictionConfig.getMaximumSizePolicy() == ENTRY_COUNT,
+                    "A query cache only supports the " + ENTRY_COUNT + " max-size policy");
+            this.maxSize = evictionConfig.getSize();
+        }
+        this.evictionPolicy = evictionConfig == null ? EvictionPolicy.NONE : evictionConfig.getEvictionPolicy();
+        this.inMemoryFormat = inMemoryFormat;
+        this.serializationService = serializationService;
+        this.eventNotifier = eventNotifier;
+        this.partitionService = partitionService;
+        this.extractors = extractors;
+        this.queryOptimizer = queryOptimizer;
+        this.indexes = new Indexes(serializationService, extractors);
+    }
+
+    void put(Data key, Data value) {
+        if (entries.size() >= maxSize && !entries.containsKey(key)) {
+            entries.evictOne(evictionPolicy, evictionListener);
+        }
+
+        Object storedValue = inMemoryFormat == OBJECT ? serializationService.toObject(value) : value;
+        QueryCacheEntry entry = new QueryCacheEntry(serializationService, key, storedValue, extractors);
+        QueryableEntry oldEntry = entries.put(key, entry);
+        if (indexes.hasIndex()) {
+            indexes.saveEntryIndex(entry, oldEntry == null ? null : oldEntry.getValue());
+        }
+        eventNotifier.notify(oldEntry == null ? ADDED : UPDATED, key, entry, oldEntry);
+    }
+
+    void remove(Data key) {
+        QueryableEntry oldEntry = entries.remove(key);
+        if (oldEntry == null) {
+            return;
+        }
+        if (indexes.hasIndex()) {
+            indexes.removeEntryIndex(key, oldEntry.getValue());
+        }
+        eventNotifier.notify(REMOVED, key, null, oldEntry);
+    }
+
+    void removePartition(int partitionId) {
+        for (Data key : entries.keySet()) {
+            if (partitionService.getPartitionId(key) == partitionId) {
+                remove(key);
+            }
+        }
+    }
+
+    /**
+     * Replaces the entries of a partition by the given ones. Only the entries which differ are changed, so unchanged
+     * entries don't cause index updates or events.
+     */
+    void replacePartition(int partitionId, List<Data> keys, List<Data> values) {
+        Set<Data> newKeys = new HashSet<Data>(keys);
+        for (Data key : entries.keySet()) {
+            if (!newKeys.contains(key) && partitionService.getPartitionId(key) == partitionId) {
+                remove(key);
+            }
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            Data key = keys.get(i);
+            Data value = values.get(i);
+            QueryableEntry entry = entries.get(key);
+            if (entry == null || !isSameValue(entry.getValueData(), value)) {
+                put(key, value);
+            }
+        }
+    }
+
+    /**
+     * Returns the entry of the given key and records the access for the eviction.
+     */
+    QueryableEntry get(Data key) {
+        QueryCacheEntry entry = entries.get(key);
+        if (entry != null) {
+            entry.access();
+        }
+        return entry;
+    }
+
+    Collection<QueryableEntry> getEntries() {
+        return Collections.<QueryableEntry>unmodifiableCollection(entries.values());
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void addIndex(String attribute, boolean ordered) {
+        Index index = indexes.addOrGetIndex(attribute, ordered);
+        for (QueryableEntry entry : entries.values()) {
+            index.saveEntryIndex(entry, null);
+        }
+    }
+
+    Collection<QueryableEntry> query(Predicate predicate) {
+        if (indexes.hasIndex()) {
+            predicate = queryOptimizer.optimize(predicate, indexes);
+            Set<QueryableEntry> result = indexes.query(predicate);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        List<QueryableEntry> result = new ArrayList<QueryableEntry>();
+        for (QueryableEntry entry : entries.values()) {
+            if (predicate.apply(entry)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    void clear() {
+        entries.clear();
+        indexes.clearIndexes();
+    }
+
+    private static boolean isSameValue(Data value1, Data value2) {
+        return value1 == null ? value2 == null : value1.equals(value2);
+    }
+
+    /**
+     * Removes an evicted entry from the indexes and notifies the listeners.
+     */
+    private class IndexRemovingEvictionListener implements EvictionListener<Data, QueryCacheEntry> {
+
+        @Override
+        public void onEvict(Data key, QueryCacheEntry entry) {
+            if (indexes.hasIndex()) {
+                indexes.removeEntryIndex(key, entry.getValue());
+            }
+            eventNotifier.notify(EVICTED, key, null, entry);
+        }
+    }
+}
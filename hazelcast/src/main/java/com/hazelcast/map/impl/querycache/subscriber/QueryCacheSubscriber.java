@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.querycache.subscriber;
+
+import com.hazelcast.core.EntryEventType;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.ListenerAdapter;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventBatch;
+import com.hazelcast.map.impl.querycache.event.QueryCacheEventData;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheSnapshot;
+import com.hazelcast.map.impl.querycache.publisher.QueryCacheSnapshotOperation;
+import com.hazelcast.spi.InternalCompletableFuture;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.OperationService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+
+/**
+ * Applies the event batches of the partitions to the {@link QueryCacheRecordStore} of a query cache.
+ * <p/>
+ * For every partition the epoch and the next expected sequence is tracked. Events which are already contained in the
+ * store are skipped. If a batch of an unknown epoch is received, or an event is missing, the partition is recovered:
+ * its entries are reloaded by a {@link QueryCacheSnapshotOperation} and the batches received meanwhile are applied on
+ * top of the snapshot.
+ */
+class QueryCacheSubscriber implements ListenerAdapter<QueryCacheEventBatch> {
+
+    private final String mapName;
+    private final QueryCacheRecordStore recordStore;
+    private final OperationService operationService;
+    private final ILogger logger;
+    private final PartitionState[] partitionStates;
+
+    private volatile String registrationId;
+
+    QueryCacheSubscriber(String mapName, QueryCacheRecordStore recordStore, NodeEngine nodeEngine) {
+        this.mapName = mapName;
+        this.recordStore = recordStore;
+        this.operationService = nodeEngine.getOperationService();
+        this.logger = nodeEngine.getLogger(getClass());
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        this.partitionStates = new PartitionState[partitionCount];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            partitionStates[partitionId] = new PartitionState();
+        }
+    }
+
+    void setRegistrationId(String registrationId) {
+        this.registrationId = registrationId;
+    }
+
+    @Override
+    public void onEvent(QueryCacheEventBatch batch) {
+        int partitionId = batch.getPartitionId();
+        PartitionState state = partitionStates[partitionId];
+        int recoveryId;
+        synchronized (state) {
+            if (state.recovering) {
+                state.pending.add(batch);
+                return;
+            }
+            if (state.synced && applyBatch(state, batch)) {
+                return;
+            }
+            recoveryId = state.startRecovery();
+        }
+        recoverAsync(partitionId, recoveryId);
+    }
+
+    /**
+     * Reloads all partitions and waits for the snapshots.
+     *
+     * @param includeEntries {@code false} if only the event sequences should be synchronized, but no entries loaded
+     * @return {@code true} if all partitions have been reloaded, otherwise {@code false}
+     */
+    boolean recoverAll(boolean includeEntries) {
+        int partitionCount = partitionStates.length;
+        int[] recoveryIds = new int[partitionCount];
+        List<InternalCompletableFuture<QueryCacheSnapshot>> futures
+                = new ArrayList<InternalCompletableFuture<QueryCacheSnapshot>>(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            PartitionState state = partitionStates[partitionId];
+            synchronized (state) {
+                recoveryIds[partitionId] = state.startRecovery();
+            }
+            futures.add(invokeSnapshot(partitionId, includeEntries));
+        }
+
+        boolean recovered = true;
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            try {
+                QueryCacheSnapshot snapshot = futures.get(partitionId).getSafely();
+                applySnapshot(partitionId, recoveryIds[partitionId], snapshot, includeEntries);
+            } catch (Exception e) {
+                recoveryFailed(partitionId, recoveryIds[partitionId], e);
+                recovered = false;
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * Recovers all partitions in the background.
+     */
+    void recoverAllAsync() {
+        for (int partitionId = 0; partitionId < partitionStates.length; partitionId++) {
+            PartitionState state = partitionStates[partitionId];
+            int recoveryId;
+            synchronized (state) {
+                recoveryId = state.startRecovery();
+            }
+            recoverAsync(partitionId, recoveryId);
+        }
+    }
+
+    private void recoverAsync(final int partitionId, final int recoveryId) {
+        invokeSnapshot(partitionId, true).andThen(new ExecutionCallback<QueryCacheSnapshot>() {
+            @Override
+            public void onResponse(QueryCacheSnapshot snapshot) {
+                applySnapshot(partitionId, recoveryId, snapshot, true);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                recoveryFailed(partitionId, recoveryId, t);
+            }
+        });
+    }
+
+    private InternalCompletableFuture<QueryCacheSnapshot> invokeSnapshot(int partitionId, boolean includeEntries) {
+        QueryCacheSnapshotOperation operation = new QueryCacheSnapshotOperation(mapName, registrationId, includeEntries);
+        return operationService.invokeOnPartition(SERVICE_NAME, operation, partitionId);
+    }
+
+    private void applySnapshot(int partitionId, int recoveryId, QueryCacheSnapshot snapshot, boolean includeEntries) {
+        PartitionState state = partitionStates[partitionId];
+        boolean recover = false;
+        synchronized (state) {
+            if (recoveryId != state.recoveryId) {
+                // a newer recovery has been started meanwhile
+                return;
+            }
+
+            if (includeEntries) {
+                recordStore.replacePartition(partitionId, snapshot.getKeys(), snapshot.getValues());
+            }
+            state.epoch = snapshot.getEpoch();
+            state.nextSequence = snapshot.getSequence() + 1;
+            state.synced = true;
+            state.recovering = false;
+
+            List<QueryCacheEventBatch> pending = state.pending;
+            state.pending = new ArrayList<QueryCacheEventBatch>();
+            for (QueryCacheEventBatch batch : pending) {
+                if (!applyBatch(state, batch)) {
+                    recoveryId = state.startRecovery();
+                    recover = true;
+                    break;
+                }
+            }
+        }
+
+        if (recover) {
+            recoverAsync(partitionId, recoveryId);
+        }
+    }
+
+    private void recoveryFailed(int partitionId, int recoveryId, Throwable t) {
+        logger.warning("Could not recover partition " + partitionId + " of query cache of map " + mapName, t);
+        PartitionState state = partitionStates[partitionId];
+        synchronized (state) {
+            if (recoveryId == state.recoveryId) {
+                // the next batch of the partition starts a new recovery
+                state.recovering = false;
+                state.pending.clear();
+            }
+        }
+    }
+
+    private boolean applyBatch(PartitionState state, QueryCacheEventBatch batch) {
+        if (batch.getEpoch() != state.epoch) {
+            return false;
+        }
+
+        for (QueryCacheEventData event : batch.getEvents()) {
+            long sequence = event.getSequence();
+            if (sequence < state.nextSequence) {
+                continue;
+            }
+            if (sequence > state.nextSequence || !applyEvent(batch.getPartitionId(), event)) {
+                return false;
+            }
+            state.nextSequence++;
+        }
+        return true;
+    }
+
+    /**
+     * @return {@code false} if the event can't be applied and the partition needs to be recovered
+     */
+    private boolean applyEvent(int partitionId, QueryCacheEventData event) {
+        EntryEventType eventType = EntryEventType.getByType(event.getEventType());
+        switch (eventType) {
+            case ADDED:
+            case UPDATED:
+                recordStore.put(event.getDataKey(), event.getDataNewValue());
+                return true;
+            case REMOVED:
+                recordStore.remove(event.getDataKey());
+                return true;
+            case CLEAR_ALL:
+                recordStore.removePartition(partitionId);
+                return true;
+            default:
+                // e.g. EVICT_ALL; the entries which are left in the partition are unknown
+                return false;
+        }
+    }
+
+    /**
+     * The synchronization state of a single partition. Guarded by its own monitor.
+     */
+    private static final class PartitionState {
+
+        private long epoch;
+        private long nextSequence;
+        private boolean synced;
+        // initially the partition waits for the population of the query cache
+        private boolean recovering = true;
+        private int recoveryId;
+        private List<QueryCacheEventBatch> pending = new ArrayList<QueryCacheEventBatch>();
+
+        private int startRecovery() {
+            synced = false;
+            recovering = true;
+            return ++recoveryId;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.Clock;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.record.RecordStatistics.EMPTY_STATS;
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.LONG_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+
+/**
+ * A {@link Record} of a map with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+ * <p/>
+ * A record is either detached or attached. A detached record keeps its state on the heap; this is the state of a record
+ * created by the {@link NativeRecordFactory}. Once the record is put in the storage, it is attached: its state is
+ * moved to an off-heap block and the record becomes a flyweight over that block. The off-heap block has the following
+ * layout:
+ * <pre>
+ * +-------------------------+----------------------+-------------------------+
+ * | header (11 longs)       | key hash, key size   | key bytes               |
+ * +-------------------------+----------------------+-------------------------+
+ * </pre>
+ * The header contains the address and size of the value block and the record metadata and statistics. Since the key
+ * is immutable it is stored inline; the value is stored in a separate block so that it can be replaced without moving
+ * the record.
+ * <p/>
+ * {@link #getKey()} and {@link #getValue()} return heap copies, so they remain valid after the record is removed. Other
+ * than that, an attached record should only be accessed by the partition thread which owns it.
+ */
+public final class NativeRecord implements Record<Data> {
+
+    /**
+     * Offset of the hash of the key in the off-heap block of a record.
+     */
+    public static final int KEY_HASH_OFFSET = 88;
+    /**
+     * Offset of the size of the key in the off-heap block of a record.
+     */
+    public static final int KEY_SIZE_OFFSET = 96;
+    /**
+     * Offset of the key bytes in the off-heap block of a record.
+     */
+    public static final int KEY_OFFSET = 104;
+
+    private static final int VALUE_ADDRESS_OFFSET = 0;
+    private static final int VALUE_SIZE_OFFSET = 8;
+    private static final int VERSION_OFFSET = 16;
+    private static final int TTL_OFFSET = 24;
+    private static final int LAST_ACCESS_TIME_OFFSET = 32;
+    private static final int LAST_UPDATE_TIME_OFFSET = 40;
+    private static final int CREATION_TIME_OFFSET = 48;
+    private static final int EVICTION_CRITERIA_NUMBER_OFFSET = 56;
+    private static final int HITS_OFFSET = 64;
+    private static final int LAST_STORED_TIME_OFFSET = 72;
+    private static final int EXPIRATION_TIME_OFFSET = 80;
+    private static final int LONG_SHIFT = 3;
+    private static final int HEADER_LONG_COUNT = KEY_OFFSET >> LONG_SHIFT;
+
+    private final boolean statisticsEnabled;
+    private final RecordStatistics statistics;
+    private MemoryAllocator allocator;
+    private long address;
+    // The fields are accessed using UNSAFE.getLong(header, base + offset): for a detached record the header array
+    // is used, for an attached record the header is null and the base is the address of the off-heap block.
+    private long[] header;
+    private long base;
+    private Data key;
+    private Data value;
+
+    NativeRecord(Data value, boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        this.statistics = statisticsEnabled ? new NativeRecordStatistics() : EMPTY_STATS;
+        this.header = new long[HEADER_LONG_COUNT];
+        this.base = LONG_ARRAY_BASE_OFFSET;
+        this.value = value;
+    }
+
+    /**
+     * Creates a flyweight over the attached record at the given address.
+     *
+     * @param address           the address of the off-heap block of the record
+     * @param allocator         the allocator the off-heap blocks of the record are allocated with
+     * @param statisticsEnabled true if the statistics of the record should be exposed
+     */
+    public NativeRecord(long address, MemoryAllocator allocator, boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        this.statistics = statisticsEnabled ? new NativeRecordStatistics() : EMPTY_STATS;
+        this.address = address;
+        this.base = address;
+        this.allocator = allocator;
+    }
+
+    /**
+     * Returns the address of the off-heap block of this record, or {@link MemoryAllocator#NULL_ADDRESS} if this record
+     * is detached.
+     */
+    public long address() {
+        return address;
+    }
+
+    /**
+     * Moves the state of this detached record to newly allocated off-heap blocks.
+     *
+     * @param key       the key of the record
+     * @param allocator the allocator to allocate the off-heap blocks with
+     * @return the address of the off-heap block of this record
+     */
+    public long attach(Data key, MemoryAllocator allocator) {
+        assert address == NULL_ADDRESS : "record is already attached";
+
+        byte[] keyBytes = key.toByteArray();
+        long recordAddress = allocator.allocate(KEY_OFFSET + keyBytes.length);
+        try {
+            writeValue(allocator, recordAddress, value);
+        } catch (Error e) {
+            allocator.free(recordAddress, KEY_OFFSET + keyBytes.length);
+            throw e;
+        }
+        for (int i = VERSION_OFFSET >> LONG_SHIFT; i < HEADER_LONG_COUNT; i++) {
+            UNSAFE.putLong(recordAddress + (i << LONG_SHIFT), header[i]);
+        }
+        UNSAFE.putLong(recordAddress + KEY_HASH_OFFSET, key.hashCode());
+        UNSAFE.putLong(recordAddress + KEY_SIZE_OFFSET, keyBytes.length);
+        UNSAFE.copyMemory(keyBytes, BYTE_ARRAY_BASE_OFFSET, null, recordAddress + KEY_OFFSET, keyBytes.length);
+
+        this.address = recordAddress;
+        this.base = recordAddress;
+        this.allocator = allocator;
+        this.key = key;
+        this.header = null;
+        this.value = null;
+        return recordAddress;
+    }
+
+    /**
+     * Copies the state of this attached record to the heap and frees its off-heap blocks. Afterwards this record
+     * remains usable as a detached record.
+     */
+    public void detach() {
+        assert address != NULL_ADDRESS : "record is not attached";
+
+        long[] heapHeader = new long[HEADER_LONG_COUNT];
+        for (int i = 0; i < HEADER_LONG_COUNT; i++) {
+            heapHeader[i] = UNSAFE.getLong(address + (i << LONG_SHIFT));
+        }
+        Data heapKey = getKey();
+        Data heapValue = getValue();
+        free(address, allocator);
+
+        this.header = heapHeader;
+        this.key = heapKey;
+        this.value = heapValue;
+        this.address = NULL_ADDRESS;
+        this.base = LONG_ARRAY_BASE_OFFSET;
+        this.allocator = null;
+    }
+
+    /**
+     * Frees the off-heap blocks of the attached record at the given address.
+     *
+     * @param address   the address of the off-heap block of the record
+     * @param allocator the allocator the off-heap blocks of the record were allocated with
+     */
+    public static void free(long address, MemoryAllocator allocator) {
+        long valueAddress = UNSAFE.getLong(address + VALUE_ADDRESS_OFFSET);
+        if (valueAddress != NULL_ADDRESS) {
+            allocator.free(valueAddress, UNSAFE.getLong(address + VALUE_SIZE_OFFSET));
+        }
+        allocator.free(address, KEY_OFFSET + UNSAFE.getLong(address + KEY_SIZE_OFFSET));
+    }
+
+    private static void writeValue(MemoryAllocator allocator, long recordAddress, Data value) {
+        byte[] bytes = value == null ? null : value.toByteArray();
+        if (bytes == null || bytes.length == 0) {
+            UNSAFE.putLong(recordAddress + VALUE_ADDRESS_OFFSET, NULL_ADDRESS);
+            UNSAFE.putLong(recordAddress + VALUE_SIZE_OFFSET, value == null ? -1L : 0L);
+            return;
+        }
+
+        long valueAddress = allocator.allocate(bytes.length);
+        UNSAFE.copyMemory(bytes, BYTE_ARRAY_BASE_OFFSET, null, valueAddress, bytes.length);
+        UNSAFE.putLong(recordAddress + VALUE_ADDRESS_OFFSET, valueAddress);
+        UNSAFE.putLong(recordAddress + VALUE_SIZE_OFFSET, bytes.length);
+    }
+
+    @Override
+    public Data getKey() {
+        if (key == null && address != NULL_ADDRESS) {
+            byte[] bytes = new byte[(int) UNSAFE.getLong(address + KEY_SIZE_OFFSET)];
+            UNSAFE.copyMemory(null, address + KEY_OFFSET, bytes, BYTE_ARRAY_BASE_OFFSET, bytes.length);
+            key = new HeapData(bytes);
+        }
+        return key;
+    }
+
+    @Override
+    public Data getValue() {
+        if (address == NULL_ADDRESS) {
+            return value;
+        }
+
+        long valueSize = UNSAFE.getLong(address + VALUE_SIZE_OFFSET);
+        if (valueSize < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[(int) valueSize];
+        if (valueSize > 0) {
+            long valueAddress = UNSAFE.getLong(address + VALUE_ADDRESS_OFFSET);
+            UNSAFE.copyMemory(null, valueAddress, bytes, BYTE_ARRAY_BASE_OFFSET, valueSize);
+        }
+        return new HeapData(bytes);
+    }
+
+    @Override
+    public void setValue(Data value) {
+        if (address == NULL_ADDRESS) {
+            this.value = value;
+            return;
+        }
+
+        // the new value is written before the old one is freed, so the record remains intact if the allocation fails
+        long oldValueAddress = UNSAFE.getLong(address + VALUE_ADDRESS_OFFSET);
+        long oldValueSize = UNSAFE.getLong(address + VALUE_SIZE_OFFSET);
+        writeValue(allocator, address, value);
+        if (oldValueAddress != NULL_ADDRESS) {
+            allocator.free(oldValueAddress, oldValueSize);
+        }
+    }
+
+    /**
+     * Returns the number of off-heap bytes used by this record.
+     */
+    @Override
+    public long getCost() {
+        if (address == NULL_ADDRESS) {
+            return KEY_OFFSET + (key == null ? 0 : key.totalSize()) + (value == null ? 0 : value.totalSize());
+        }
+        return KEY_OFFSET + UNSAFE.getLong(address + KEY_SIZE_OFFSET)
+                + Math.max(0, UNSAFE.getLong(address + VALUE_SIZE_OFFSET));
+    }
+
+    @Override
+    public RecordStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void setStatistics(RecordStatistics stats) {
+        if (stats == null) {
+            return;
+        }
+        UNSAFE.putLong(header, base + HITS_OFFSET, stats.getHits());
+        UNSAFE.putLong(header, base + LAST_STORED_TIME_OFFSET, stats.getLastStoredTime());
+        UNSAFE.putLong(header, base + EXPIRATION_TIME_OFFSET, stats.getExpirationTime());
+    }
+
+    @Override
+    public void onAccess() {
+        statistics.access();
+    }
+
+    @Override
+    public void onUpdate() {
+        UNSAFE.putLong(header, base + VERSION_OFFSET, UNSAFE.getLong(header, base + VERSION_OFFSET) + 1);
+    }
+
+    @Override
+    public void onStore() {
+        statistics.store();
+    }
+
+    @Override
+    public long getVersion() {
+        return UNSAFE.getLong(header, base + VERSION_OFFSET);
+    }
+
+    @Override
+    public void setVersion(long version) {
+        UNSAFE.putLong(header, base + VERSION_OFFSET, version);
+    }
+
+    @Override
+    public void setEvictionCriteriaNumber(long evictionCriteriaNumber) {
+        UNSAFE.putLong(header, base + EVICTION_CRITERIA_NUMBER_OFFSET, evictionCriteriaNumber);
+    }
+
+    @Override
+    public long getEvictionCriteriaNumber() {
+        return UNSAFE.getLong(header, base + EVICTION_CRITERIA_NUMBER_OFFSET);
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getTtl() {
+        return UNSAFE.getLong(header, base + TTL_OFFSET);
+    }
+
+    @Override
+    public void setTtl(long ttl) {
+        UNSAFE.putLong(header, base + TTL_OFFSET, ttl);
+    }
+
+    @Override
+    public long getLastAccessTime() {
+        return UNSAFE.getLong(header, base + LAST_ACCESS_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastAccessTime(long lastAccessTime) {
+        UNSAFE.putLong(header, base + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+    }
+
+    @Override
+    public long getLastUpdateTime() {
+        return UNSAFE.getLong(header, base + LAST_UPDATE_TIME_OFFSET);
+    }
+
+    @Override
+    public void setLastUpdateTime(long lastUpdateTime) {
+        UNSAFE.putLong(header, base + LAST_UPDATE_TIME_OFFSET, lastUpdateTime);
+    }
+
+    @Override
+    public long getCreationTime() {
+        return UNSAFE.getLong(header, base + CREATION_TIME_OFFSET);
+    }
+
+    @Override
+    public void setCreationTime(long creationTime) {
+        UNSAFE.putLong(header, base + CREATION_TIME_OFFSET, creationTime);
+    }
+
+    @Override
+    public long getSequence() {
+        return -1L;
+    }
+
+    @Override
+    public void setSequence(long sequence) {
+    }
+
+    /**
+     * The {@link RecordStatistics} of a {@link NativeRecord}; the statistics are part of the record header.
+     */
+    private final class NativeRecordStatistics implements RecordStatistics {
+
+        @Override
+        public int getHits() {
+            return (int) UNSAFE.getLong(header, base + HITS_OFFSET);
+        }
+
+        @Override
+        public void setHits(int hits) {
+            UNSAFE.putLong(header, base + HITS_OFFSET, hits);
+        }
+
+        @Override
+        public long getExpirationTime() {
+            return UNSAFE.getLong(header, base + EXPIRATION_TIME_OFFSET);
+        }
+
+        @Override
+        public void setExpirationTime(long expirationTime) {
+            UNSAFE.putLong(header, base + EXPIRATION_TIME_OFFSET, expirationTime);
+        }
+
+        @Override
+        public void access() {
+            UNSAFE.putLong(header, base + HITS_OFFSET, UNSAFE.getLong(header, base + HITS_OFFSET) + 1);
+        }
+
+        @Override
+        public void store() {
+            UNSAFE.putLong(header, base + LAST_STORED_TIME_OFFSET, Clock.currentTimeMillis());
+        }
+
+        @Override
+        public long getLastStoredTime() {
+            return UNSAFE.getLong(header, base + LAST_STORED_TIME_OFFSET);
+        }
+
+        @Override
+        public void setLastStoredTime(long lastStoredTime) {
+            UNSAFE.putLong(header, base + LAST_STORED_TIME_OFFSET, lastStoredTime);
+        }
+
+        @Override
+        public long getMemoryCost() {
+            // part of the record header
+            return 0L;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeInt(getHits());
+            out.writeLong(getLastStoredTime());
+            out.writeLong(getExpirationTime());
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            setHits(in.readInt());
+            setLastStoredTime(in.readLong());
+            setExpirationTime(in.readLong());
+        }
+    }
+}
@@ -41,7 +41,7 @@ public final class Records {
 
     public static RecordInfo buildRecordInfo(Record record) {
         final RecordInfo info = new RecordInfo();
-        info.setStatistics(record.getStatistics());
+        info.setStatistics(getStatisticsSnapshot(record));
         info.setVersion(record.getVersion());
         info.setEvictionCriteriaNumber(record.getEvictionCriteriaNumber());
         info.setCreationTime(record.getCreationTime());
@@ -51,6 +51,22 @@ public final class Records {
         return info;
     }
 
+    /**
+     * The statistics of a {@link NativeRecord} are a view on off-heap memory; since the record info can outlive the
+     * record, a heap copy is returned for such a record.
+     */
+    private static RecordStatistics getStatisticsSnapshot(Record record) {
+        RecordStatistics stats = record.getStatistics();
+        if (!(record instanceof NativeRecord) || stats == RecordStatistics.EMPTY_STATS) {
+            return stats;
+        }
+        RecordStatistics snapshot = new RecordStatisticsImpl();
+        snapshot.setHits(stats.getHits());
+        snapshot.setLastStoredTime(stats.getLastStoredTime());
+        snapshot.setExpirationTime(stats.getExpirationTime());
+        return snapshot;
+    }
+
     /**
      * Get current cached value from the record.
      * This method protects you against accidental exposure of cached value mutex into rest of the code.
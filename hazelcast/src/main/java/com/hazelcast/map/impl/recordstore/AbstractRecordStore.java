@@ -20,6 +20,7 @@ import com.hazelcast.concurrent.lock.LockService;
 import com.hazelcast.concurrent.lock.LockStore;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.NativeMemoryManager;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
@@ -28,6 +29,7 @@ import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
@@ -36,6 +38,7 @@ import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.spi.DefaultObjectNamespace;
 import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.util.Clock;
 
 import java.util.Collection;
@@ -102,6 +105,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     @Override
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat == NATIVE) {
+            NodeEngineImpl nodeEngine = (NodeEngineImpl) mapServiceContext.getNodeEngine();
+            NativeMemoryManager nativeMemoryManager = nodeEngine.getNode().getNodeExtension().getNativeMemoryManager();
+            return new NativeStorage((NativeRecordFactory) recordFactory, nativeMemoryManager.getAllocator(partitionId));
+        }
         return new StorageImpl(recordFactory, memoryFormat);
     }
 
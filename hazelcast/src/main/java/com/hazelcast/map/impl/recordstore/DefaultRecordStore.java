@@ -30,6 +30,8 @@ import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.MapKeyLoader;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindQueue;
 import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStore;
@@ -47,6 +49,7 @@ import com.hazelcast.util.CollectionUtil;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.FutureUtil;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -236,6 +239,35 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return iterator(now, backup);
     }
 
+    @Override
+    public MapKeysWithCursor fetchKeys(int tableIndex, int size) {
+        List<Record> records = new ArrayList<Record>(size);
+        int nextTableIndex = storage.fetchRecords(tableIndex, size, records);
+        long now = getNow();
+        List<Data> keys = new ArrayList<Data>(records.size());
+        for (Record record : records) {
+            if (record != null && !isExpired(record, now, false)) {
+                keys.add(record.getKey());
+            }
+        }
+        return new MapKeysWithCursor(keys, nextTableIndex);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(int tableIndex, int size) {
+        List<Record> records = new ArrayList<Record>(size);
+        int nextTableIndex = storage.fetchRecords(tableIndex, size, records);
+        long now = getNow();
+        List<Map.Entry<Data, Data>> entries = new ArrayList<Map.Entry<Data, Data>>(records.size());
+        for (Record record : records) {
+            if (record != null && !isExpired(record, now, false)) {
+                Data value = toData(record.getValue());
+                entries.add(new AbstractMap.SimpleImmutableEntry<Data, Data>(record.getKey(), value));
+            }
+        }
+        return new MapEntriesWithCursor(entries, nextTableIndex);
+    }
+
     @Override
     public void clearPartition(boolean onShutdown) {
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
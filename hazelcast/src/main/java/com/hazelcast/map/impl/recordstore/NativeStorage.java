@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.map.impl.SizeEstimator;
+import com.hazelcast.map.impl.record.NativeRecord;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_HASH_OFFSET;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_OFFSET;
+import static com.hazelcast.map.impl.record.NativeRecord.KEY_SIZE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.BYTE_ARRAY_BASE_OFFSET;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+
+/**
+ * {@link Storage} of a map with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory format.
+ * <p/>
+ * The records are stored off-heap as {@link NativeRecord}s. The storage itself is an off-heap open addressing hash
+ * table with linear probing; every slot contains the address of a record or {@link MemoryAllocator#NULL_ADDRESS}.
+ * Removed slots are filled by shifting back the subsequent entries of the probe sequence, so no tombstones are needed.
+ * The hash of the key is kept in the record, so keys don't need to be deserialized or rehashed on a resize.
+ * <p/>
+ * Since the off-heap memory can be freed at any time by the partition thread, this storage and the records returned by
+ * it should only be accessed by the partition thread.
+ */
+class NativeStorage implements Storage<Data, Record> {
+
+    static final int INITIAL_CAPACITY = 256;
+    static final float LOAD_FACTOR = 0.6f;
+
+    private static final int SLOT_SIZE = 8;
+
+    private final NativeRecordFactory recordFactory;
+    private final MemoryAllocator allocator;
+    private final boolean statisticsEnabled;
+
+    private long table = NULL_ADDRESS;
+    private int capacity;
+    private int size;
+
+    // not final for testing purposes.
+    private SizeEstimator sizeEstimator;
+
+    NativeStorage(NativeRecordFactory recordFactory, MemoryAllocator allocator) {
+        this.recordFactory = recordFactory;
+        this.allocator = allocator;
+        this.statisticsEnabled = recordFactory.isStatisticsEnabled();
+        this.sizeEstimator = createMapSizeEstimator(NATIVE);
+    }
+
+    @Override
+    public void put(Data key, Record record) {
+        NativeRecord nativeRecord = (NativeRecord) record;
+        byte[] keyBytes = key.toByteArray();
+        int hash = key.hashCode();
+
+        if (table == NULL_ADDRESS) {
+            allocateTable(INITIAL_CAPACITY);
+        }
+
+        int slot = findSlot(keyBytes, hash);
+        long existing = slotValue(slot);
+        if (existing == NULL_ADDRESS && size + 1 > capacity * LOAD_FACTOR) {
+            resize(capacity << 1);
+            slot = findSlot(keyBytes, hash);
+        }
+
+        // the new record is attached before the existing one is freed, so the storage remains intact if the
+        // allocation fails
+        long address = nativeRecord.attach(key, allocator);
+        if (existing != NULL_ADDRESS) {
+            updateSizeEstimator(-newFlyweight(existing).getCost());
+            NativeRecord.free(existing, allocator);
+        } else {
+            size++;
+        }
+        UNSAFE.putLong(slotAddress(slot), address);
+        updateSizeEstimator(nativeRecord.getCost());
+    }
+
+    @Override
+    public void updateRecordValue(Data key, Record record, Object value) {
+        updateSizeEstimator(-record.getCost());
+
+        recordFactory.setValue(record, value);
+
+        updateSizeEstimator(record.getCost());
+    }
+
+    @Override
+    public Record get(Data key) {
+        long address = find(key);
+        return address == NULL_ADDRESS ? null : newFlyweight(address);
+    }
+
+    @Override
+    public void removeRecord(Record record) {
+        if (record == null || table == NULL_ADDRESS) {
+            return;
+        }
+
+        Data key = record.getKey();
+        int slot = findSlot(key.toByteArray(), key.hashCode());
+        long address = slotValue(slot);
+        if (address == NULL_ADDRESS) {
+            return;
+        }
+
+        NativeRecord stored = newFlyweight(address);
+        updateSizeEstimator(-stored.getCost());
+        if (record instanceof NativeRecord && ((NativeRecord) record).address() == address) {
+            // the caller may still use the record, so it is moved to the heap
+            ((NativeRecord) record).detach();
+        } else {
+            NativeRecord.free(address, allocator);
+        }
+        removeSlot(slot);
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return find(key) != NULL_ADDRESS;
+    }
+
+    /**
+     * Returns a view on the records of this storage. The iterator of the view is weakly consistent: removing records
+     * while iterating doesn't fail, but could cause a record to be skipped.
+     */
+    @Override
+    public Collection<Record> values() {
+        return new AbstractCollection<Record>() {
+            @Override
+            public Iterator<Record> iterator() {
+                return new RecordIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Fetches the records slot by slot; a slot is a bucket of at most one record. The backward shift on removal moves
+     * records to lower slots; so removing records between two fetches can cause records to be fetched again or missed.
+     */
+    @Override
+    public int fetchRecords(int tableIndex, int size, List<Record> records) {
+        if (table == NULL_ADDRESS) {
+            return -1;
+        }
+        int slot = tableIndex >= 0 && tableIndex < capacity ? tableIndex : capacity - 1;
+        int fetched = 0;
+        for (; slot >= 0 && fetched < size; slot--) {
+            long address = slotValue(slot);
+            if (address != NULL_ADDRESS) {
+                records.add(newFlyweight(address));
+                fetched++;
+            }
+        }
+        return slot;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        if (table != NULL_ADDRESS) {
+            for (int slot = 0; slot < capacity; slot++) {
+                long address = slotValue(slot);
+                if (address != NULL_ADDRESS) {
+                    NativeRecord.free(address, allocator);
+                }
+            }
+            freeTable();
+        }
+        size = 0;
+        sizeEstimator.reset();
+    }
+
+    /**
+     * Frees the hash table of this storage. The records are not freed; if required they should be removed by calling
+     * {@link #clear()} first.
+     */
+    @Override
+    public void destroy() {
+        if (table != NULL_ADDRESS) {
+            freeTable();
+        }
+        size = 0;
+        sizeEstimator.reset();
+    }
+
+    @Override
+    public SizeEstimator getSizeEstimator() {
+        return sizeEstimator;
+    }
+
+    @Override
+    public void setSizeEstimator(SizeEstimator sizeEstimator) {
+        this.sizeEstimator = sizeEstimator;
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        // NOP intentionally; blocks are freed immediately since they are only accessed by the partition thread.
+    }
+
+    private NativeRecord newFlyweight(long address) {
+        return new NativeRecord(address, allocator, statisticsEnabled);
+    }
+
+    private void updateSizeEstimator(long recordSize) {
+        sizeEstimator.add(recordSize);
+    }
+
+    private long find(Data key) {
+        if (table == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        return slotValue(findSlot(key.toByteArray(), key.hashCode()));
+    }
+
+    /**
+     * Returns the slot containing the record with the given key, or the empty slot where it should be inserted.
+     */
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = capacity - 1;
+        int slot = MurmurHash3_fmix(hash) & mask;
+        for (; ; ) {
+            long address = slotValue(slot);
+            if (address == NULL_ADDRESS || keyEquals(address, keyBytes, hash)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static boolean keyEquals(long address, byte[] keyBytes, int hash) {
+        if ((int) UNSAFE.getLong(address + KEY_HASH_OFFSET) != hash
+                || UNSAFE.getLong(address + KEY_SIZE_OFFSET) != keyBytes.length) {
+            return false;
+        }
+        long keyAddress = address + KEY_OFFSET;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (UNSAFE.getByte(keyAddress + i) != UNSAFE.getByte(keyBytes, BYTE_ARRAY_BASE_OFFSET + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int homeSlot(long address, int mask) {
+        return MurmurHash3_fmix((int) UNSAFE.getLong(address + KEY_HASH_OFFSET)) & mask;
+    }
+
+    /**
+     * Empties the given slot and shifts back the entries of the probe sequence which would otherwise become
+     * unreachable. The table is freed once the last record is removed, so an emptied storage holds no off-heap memory.
+     */
+    private void removeSlot(int slot) {
+        size--;
+        if (size == 0) {
+            freeTable();
+            return;
+        }
+
+        int mask = capacity - 1;
+        int hole = slot;
+        int current = (hole + 1) & mask;
+        for (; ; ) {
+            long address = slotValue(current);
+            if (address == NULL_ADDRESS) {
+                break;
+            }
+            int home = homeSlot(address, mask);
+            // the entry can be moved to the hole if its home slot is not cyclically in (hole, current]
+            boolean reachable = hole <= current ? (home > hole && home <= current) : (home > hole || home <= current);
+            if (!reachable) {
+                UNSAFE.putLong(slotAddress(hole), address);
+                hole = current;
+            }
+            current = (current + 1) & mask;
+        }
+        UNSAFE.putLong(slotAddress(hole), NULL_ADDRESS);
+    }
+
+    private void resize(int newCapacity) {
+        long oldTable = table;
+        int oldCapacity = capacity;
+        allocateTable(newCapacity);
+
+        int mask = newCapacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCapacity; oldSlot++) {
+            long address = UNSAFE.getLong(oldTable + (long) oldSlot * SLOT_SIZE);
+            if (address == NULL_ADDRESS) {
+                continue;
+            }
+            int slot = homeSlot(address, mask);
+            while (slotValue(slot) != NULL_ADDRESS) {
+                slot = (slot + 1) & mask;
+            }
+            UNSAFE.putLong(slotAddress(slot), address);
+        }
+        allocator.free(oldTable, (long) oldCapacity * SLOT_SIZE);
+    }
+
+    private void allocateTable(int newCapacity) {
+        long tableSize = (long) newCapacity * SLOT_SIZE;
+        table = allocator.allocate(tableSize);
+        UNSAFE.setMemory(table, tableSize, (byte) 0);
+        capacity = newCapacity;
+    }
+
+    private void freeTable() {
+        allocator.free(table, (long) capacity * SLOT_SIZE);
+        table = NULL_ADDRESS;
+        capacity = 0;
+    }
+
+    private long slotAddress(int slot) {
+        return table + (long) slot * SLOT_SIZE;
+    }
+
+    private long slotValue(int slot) {
+        return UNSAFE.getLong(slotAddress(slot));
+    }
+
+    /**
+     * Iterates over the slots downwards, starting below an empty slot and wrapping around. The backward shift on removal
+     * moves entries to lower slots within a probe sequence and a probe sequence never passes an empty slot; so removing
+     * the current record doesn't cause records to be visited twice or missed. Since the table can be resized or freed
+     * between steps, only the slot index is retained and the slot is read again on {@link #next()}.
+     * <p/>
+     * {@link #remove()} frees the current record; the record returned by {@link #next()} can't be used afterwards. If the
+     * current record was already removed from the storage, e.g. by {@link #removeRecord(Record)}, it does nothing.
+     */
+    private final class RecordIterator implements Iterator<Record> {
+
+        private final int tableCapacity = capacity;
+        private final int start = emptySlot();
+        private int visited;
+        private int slot;
+        private boolean hasCandidate;
+        private int currentSlot;
+        private long currentAddress = NULL_ADDRESS;
+
+        @Override
+        public boolean hasNext() {
+            if (hasCandidate && slot < capacity && slotValue(slot) != NULL_ADDRESS) {
+                return true;
+            }
+            hasCandidate = false;
+            while (visited < tableCapacity) {
+                slot = (start - 1 - visited + tableCapacity) % tableCapacity;
+                visited++;
+                if (slot < capacity && slotValue(slot) != NULL_ADDRESS) {
+                    hasCandidate = true;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasCandidate = false;
+            currentSlot = slot;
+            currentAddress = slotValue(slot);
+            return newFlyweight(currentAddress);
+        }
+
+        @Override
+        public void remove() {
+            if (currentAddress == NULL_ADDRESS) {
+                throw new IllegalStateException();
+            }
+            if (currentSlot < capacity && slotValue(currentSlot) == currentAddress) {
+                updateSizeEstimator(-newFlyweight(currentAddress).getCost());
+                NativeRecord.free(currentAddress, allocator);
+                removeSlot(currentSlot);
+            }
+            currentAddress = NULL_ADDRESS;
+        }
+
+        private int emptySlot() {
+            for (int i = capacity - 1; i >= 0; i--) {
+                if (slotValue(i) == NULL_ADDRESS) {
+                    return i;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.hazelcast.core.EntryView;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
@@ -197,6 +199,26 @@ public interface RecordStore<R extends Record> {
      */
     Iterator<Record> loadAwareIterator(long now, boolean backup);
 
+    /**
+     * Fetches the keys of the non-expired records, starting at the given table index of the storage.
+     *
+     * @param tableIndex the table index to start from
+     * @param size       the minimum number of records to visit if available
+     * @return the fetched keys and the table index to continue from
+     * @see Storage#fetchRecords(int, int, List)
+     */
+    MapKeysWithCursor fetchKeys(int tableIndex, int size);
+
+    /**
+     * Fetches the entries of the non-expired records, starting at the given table index of the storage.
+     *
+     * @param tableIndex the table index to start from
+     * @param size       the minimum number of records to visit if available
+     * @return the fetched entries and the table index to continue from
+     * @see Storage#fetchRecords(int, int, List)
+     */
+    MapEntriesWithCursor fetchEntries(int tableIndex, int size);
+
     Set<Data> keySet();
 
     int size();
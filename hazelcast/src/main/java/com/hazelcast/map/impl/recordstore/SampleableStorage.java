@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.nio.serialization.Data;
+
+/**
+ * A {@link Storage} that is able to return random samples of its records; so the eviction doesn't need to visit every
+ * record of the storage.
+ */
+public interface SampleableStorage {
+
+    /**
+     * Returns random samples of the records of this storage.
+     *
+     * @param sampleCount the maximum number of samples
+     * @return the samples; the accessor of a sample is the key of the record
+     */
+    Iterable<? extends EvictionCandidate<Data, Evictable>> getRandomSamples(int sampleCount);
+}
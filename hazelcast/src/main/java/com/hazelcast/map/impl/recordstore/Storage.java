@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.recordstore;
 import com.hazelcast.map.impl.SizeEstimator;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Represents actual storage layer behind a {@link RecordStore}.
@@ -41,6 +42,21 @@ public interface Storage<K, R> {
 
     Collection<R> values();
 
+    /**
+     * Fetches the records of the buckets starting at the given table index and moving towards the first bucket, until
+     * at least {@code size} records are fetched or the first bucket is reached. Whole buckets are fetched; so more
+     * than {@code size} records can be returned.
+     * <p/>
+     * The table index is a cursor into the storage: the returned index can be passed to a subsequent call to continue
+     * the iteration. If the storage is modified or resized between the calls, records can be missed or fetched again.
+     *
+     * @param tableIndex the table index to start from; an index outside of the table starts from the last bucket
+     * @param size       the minimum number of records to fetch if available
+     * @param records    the list to add the fetched records to
+     * @return the table index to continue from, or a negative number if all buckets have been fetched
+     */
+    int fetchRecords(int tableIndex, int size, List<R> records);
+
     int size();
 
     boolean isEmpty();
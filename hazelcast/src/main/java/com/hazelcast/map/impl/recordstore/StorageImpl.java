@@ -17,6 +17,8 @@
 package com.hazelcast.map.impl.recordstore;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
 import com.hazelcast.map.impl.SizeEstimator;
 import com.hazelcast.map.impl.record.AbstractRecord;
 import com.hazelcast.map.impl.record.Record;
@@ -24,8 +26,7 @@ import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.nio.serialization.Data;
 
 import java.util.Collection;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.List;
 
 import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
 
@@ -34,11 +35,13 @@ import static com.hazelcast.map.impl.SizeEstimators.createMapSizeEstimator;
  *
  * @param <R> the value type to be put in this storage.
  */
-class StorageImpl<R extends Record> implements Storage<Data, R> {
+class StorageImpl<R extends Record> implements Storage<Data, R>, SampleableStorage {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1000;
 
     private final RecordFactory<R> recordFactory;
     // Concurrency level is 1 since at most one thread can write at a time.
-    private final ConcurrentMap<Data, R> records = new ConcurrentHashMap<Data, R>(1000, 0.75f, 1);
+    private final StorageSCHM<R> records = new StorageSCHM<R>(DEFAULT_INITIAL_CAPACITY);
 
     // not final for testing purposes.
     private SizeEstimator sizeEstimator;
@@ -60,6 +63,11 @@ class StorageImpl<R extends Record> implements Storage<Data, R> {
         return records.values();
     }
 
+    @Override
+    public int fetchRecords(int tableIndex, int size, List<R> fetchedRecords) {
+        return records.fetchValues(tableIndex, size, fetchedRecords);
+    }
+
     @Override
     public void put(Data key, R record) {
 
@@ -139,6 +147,11 @@ class StorageImpl<R extends Record> implements Storage<Data, R> {
         this.sizeEstimator = sizeEstimator;
     }
 
+    @Override
+    public Iterable<? extends EvictionCandidate<Data, Evictable>> getRandomSamples(int sampleCount) {
+        return records.sample(sampleCount);
+    }
+
     @Override
     public void disposeDeferredBlocks() {
         // NOP intentionally.
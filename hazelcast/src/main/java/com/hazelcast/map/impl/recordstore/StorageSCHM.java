@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.RecordStatistics;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.SampleableConcurrentHashMap;
+
+import static com.hazelcast.map.impl.record.RecordStatistics.EMPTY_STATS;
+
+/**
+ * The {@link SampleableConcurrentHashMap} holding the records of a {@link StorageImpl}.
+ * <p/>
+ * Its samples are {@link EvictionCandidate}s; so the records can be evicted by a
+ * {@link com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy}.
+ *
+ * @param <R> the type of the records
+ */
+public class StorageSCHM<R extends Record> extends SampleableConcurrentHashMap<Data, R> {
+
+    private static final long serialVersionUID = 1L;
+
+    public StorageSCHM(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <E extends SamplingEntry> E createSamplingEntry(Data key, R record) {
+        return (E) new EvictableSamplingEntry(key, record);
+    }
+
+    /**
+     * Returns random samples of the records.
+     *
+     * @param sampleCount the maximum number of samples
+     * @return the samples
+     */
+    public Iterable<EvictableSamplingEntry> sample(int sampleCount) {
+        return super.getRandomSamples(sampleCount);
+    }
+
+    /**
+     * A sampled record.
+     * <p/>
+     * Without statistics a record doesn't count its hits; then the access hit falls back to the eviction criteria
+     * number, which is the access hit count when the map uses the LFU eviction policy.
+     */
+    public class EvictableSamplingEntry extends SamplingEntry implements EvictionCandidate<Data, Evictable>, Evictable {
+
+        public EvictableSamplingEntry(Data key, R record) {
+            super(key, record);
+        }
+
+        @Override
+        public Data getAccessor() {
+            return getKey();
+        }
+
+        @Override
+        public Evictable getEvictable() {
+            return this;
+        }
+
+        @Override
+        public long getCreationTime() {
+            return getValue().getCreationTime();
+        }
+
+        @Override
+        public long getAccessTime() {
+            return getValue().getLastAccessTime();
+        }
+
+        @Override
+        public int getAccessHit() {
+            RecordStatistics statistics = getValue().getStatistics();
+            if (statistics != EMPTY_STATS) {
+                return statistics.getHits();
+            }
+            return (int) Math.min(getValue().getEvictionCriteriaNumber(), Integer.MAX_VALUE);
+        }
+    }
+}
@@ -102,6 +102,11 @@ public interface IOService {
 
     boolean getSocketNoDelay();
 
+    /**
+     * @return true if packets of member to member connections should be written using a gathering write.
+     */
+    boolean isSocketGatheringWriteEnabled();
+
     int getInputSelectorThreadCount();
 
     int getOutputSelectorThreadCount();
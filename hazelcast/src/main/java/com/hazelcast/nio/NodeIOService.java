@@ -216,6 +216,11 @@ public class NodeIOService implements IOService {
         return node.getGroupProperties().getBoolean(GroupProperty.SOCKET_NO_DELAY);
     }
 
+    @Override
+    public boolean isSocketGatheringWriteEnabled() {
+        return node.getGroupProperties().getBoolean(GroupProperty.SOCKET_GATHERING_WRITE_ENABLED);
+    }
+
     @Override
     public int getInputSelectorThreadCount() {
         return node.groupProperties.getInteger(GroupProperty.IO_INPUT_THREAD_COUNT);
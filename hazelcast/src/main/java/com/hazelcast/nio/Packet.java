@@ -41,6 +41,12 @@ public final class Packet extends HeapData implements OutboundFrame {
     public static final int HEADER_WAN_REPLICATION = 3;
     public static final int HEADER_URGENT = 4;
     public static final int HEADER_BIND = 5;
+    public static final int HEADER_BACKUP_BATCH = 6;
+
+    /**
+     * The number of bytes written in front of the payload: byte(version) + short(header) + int(partitionId) + int(data size).
+     */
+    public static final int FRAME_HEADER_SIZE = 11;
 
     // The value of these constants is important. The order needs to match the order in the read/write process
     private static final short PERSIST_VERSION = 1;
@@ -176,6 +182,21 @@ public final class Packet extends HeapData implements OutboundFrame {
         return true;
     }
 
+    /**
+     * Writes the frame header of this Packet, so everything in front of the payload, to the given ByteBuffer.
+     * <p/>
+     * In combination with a gathering write, this makes it possible to send the payload without copying it. This method
+     * doesn't change the read/write state of this Packet.
+     *
+     * @param dst the ByteBuffer to write to; should have at least {@link #FRAME_HEADER_SIZE} bytes remaining.
+     */
+    public void writeFrameHeader(ByteBuffer dst) {
+        dst.put(VERSION);
+        dst.putShort(header);
+        dst.putInt(partitionId);
+        dst.putInt(totalSize());
+    }
+
     // ========================= version =================================================
 
     private boolean readVersion(ByteBuffer src) {
@@ -355,8 +376,7 @@ public final class Packet extends HeapData implements OutboundFrame {
      * @return the size of the packet.
      */
     public int packetSize() {
-        // 11 = byte(version) + short(header) + int(partitionId) + int(data size)
-        return (payload != null ? totalSize() : 0) + 11;
+        return (payload != null ? totalSize() : 0) + FRAME_HEADER_SIZE;
     }
 
     public boolean done() {
@@ -18,6 +18,7 @@ package com.hazelcast.nio.tcp;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.util.ClientMessageBuilder;
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.IOService;
 
@@ -29,6 +30,9 @@ import java.nio.ByteBuffer;
  * constructed ClientMessage, the {@link #handleMessage(ClientMessage)} is called; which passes the message
  * to the {@link IOService#handleClientMessage(ClientMessage, Connection)}.
  *
+ * The messages are read into buffers from the {@link ClientProtocolBufferPool} of the IO thread reading the connection;
+ * the buffer of a message is returned to the pool once the message task processing it has completed.
+ *
  * Probably the design can be simplified if the IOService would expose a method getMessageHandler; so we
  * don't need to let the NewClientReadHandler act like the MessageHandler, but directly send to the right
  * data-structure.
@@ -41,10 +45,11 @@ public class NewClientReadHandler implements ReadHandler, ClientMessageBuilder.M
     private final Connection connection;
     private final IOService ioService;
 
-    public NewClientReadHandler(Connection connection, IOService ioService) throws IOException {
+    public NewClientReadHandler(Connection connection, IOService ioService, ClientProtocolBufferPool bufferPool)
+            throws IOException {
         this.connection = connection;
         this.ioService = ioService;
-        this.builder = new ClientMessageBuilder(this);
+        this.builder = new ClientMessageBuilder(this, bufferPool);
     }
 
     @Override
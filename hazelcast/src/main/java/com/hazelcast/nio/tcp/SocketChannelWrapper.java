@@ -81,6 +81,11 @@ public interface SocketChannelWrapper extends Closeable {
      */
     int write(ByteBuffer src) throws IOException;
 
+    /**
+     * @see java.nio.channels.SocketChannel#write(ByteBuffer[], int, int)
+     */
+    long write(ByteBuffer[] srcs, int offset, int length) throws IOException;
+
     /**
      * @see java.nio.channels.SocketChannel#configureBlocking(boolean)
      */
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.SocketChannelWrapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.nio.Packet.FRAME_HEADER_SIZE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Writes a batch of {@link Packet}s to a {@link SocketChannelWrapper} using a gathering write.
+ * <p/>
+ * The {@link com.hazelcast.nio.tcp.MemberWriteHandler} copies the payload of every packet into the output buffer of the
+ * {@link NonBlockingSocketWriter}. For large packets, e.g. backups, this copying dominates the cost of writing. The
+ * GatheringPacketWriter passes a header buffer and a wrapped payload per packet to a single
+ * {@link SocketChannelWrapper#write(ByteBuffer[], int, int)} call, so the payload isn't copied into an intermediate buffer.
+ * The header buffers are allocated once and reused for every batch.
+ * <p/>
+ * Packets can be added as long as the batch isn't full; also when a previous write didn't manage to write all bytes. The
+ * batch is reset once it has been written completely.
+ * <p/>
+ * This class is not thread-safe; it should only be accessed by the {@link NonBlockingIOThread} owning the writer.
+ */
+final class GatheringPacketWriter {
+
+    static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    private final ByteBuffer[] headers;
+    private final ByteBuffer[] buffers;
+    private final long maxBatchBytes;
+
+    // the number of packets in the current batch; this is also the index of the next free header
+    private int packetCount;
+    // the index of the first buffer that has not been written completely
+    private int offset;
+    // the number of buffers in the current batch
+    private int length;
+    // the number of bytes added to the current batch
+    private long batchBytes;
+
+    GatheringPacketWriter(int maxBatchSize, long maxBatchBytes) {
+        checkPositive(maxBatchSize, "maxBatchSize should be a positive number");
+        checkPositive(maxBatchBytes, "maxBatchBytes should be a positive number");
+
+        this.maxBatchBytes = maxBatchBytes;
+        this.headers = new ByteBuffer[maxBatchSize];
+        for (int k = 0; k < maxBatchSize; k++) {
+            headers[k] = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        }
+        // every packet takes at most 2 buffers: the header and the payload
+        this.buffers = new ByteBuffer[2 * maxBatchSize];
+    }
+
+    /**
+     * Adds a packet to the current batch.
+     * <p/>
+     * The packet is always accepted if the batch is empty, even if it is bigger than the maximum number of bytes of a batch.
+     *
+     * @param packet the packet to add
+     * @return true if the packet was added, false if the batch is full.
+     */
+    boolean add(Packet packet) {
+        int packetSize = packet.packetSize();
+        if (packetCount == headers.length || (packetCount > 0 && batchBytes + packetSize > maxBatchBytes)) {
+            return false;
+        }
+
+        ByteBuffer header = headers[packetCount];
+        header.clear();
+        packet.writeFrameHeader(header);
+        header.flip();
+        buffers[length++] = header;
+
+        byte[] payload = packet.toByteArray();
+        if (payload != null && payload.length > 0) {
+            buffers[length++] = ByteBuffer.wrap(payload);
+        }
+
+        packetCount++;
+        batchBytes += packetSize;
+        return true;
+    }
+
+    /**
+     * Checks if all packets of the current batch have been written.
+     *
+     * @return true if there is nothing left to write, false otherwise.
+     */
+    boolean isEmpty() {
+        return offset == length;
+    }
+
+    /**
+     * Writes as much of the current batch to the channel as the channel accepts.
+     *
+     * @param channel the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if writing to the channel fails
+     */
+    long write(SocketChannelWrapper channel) throws IOException {
+        if (isEmpty()) {
+            return 0;
+        }
+
+        long written = channel.write(buffers, offset, length - offset);
+
+        while (offset < length && !buffers[offset].hasRemaining()) {
+            // release the reference so the payload can be gc'ed
+            buffers[offset] = null;
+            offset++;
+        }
+
+        if (offset == length) {
+            offset = 0;
+            length = 0;
+            packetCount = 0;
+            batchBytes = 0;
+        }
+        return written;
+    }
+}
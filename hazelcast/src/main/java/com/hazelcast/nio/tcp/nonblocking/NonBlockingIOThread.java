@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio.tcp.nonblocking;
 
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
@@ -55,6 +56,9 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
 
     private final boolean selectNow;
 
+    // shared by the client connections of this thread, so the number of pooled buffers doesn't grow with the connections
+    private final ClientProtocolBufferPool clientBufferPool = new ClientProtocolBufferPool();
+
     private volatile long lastSelectTimeMs;
 
     public NonBlockingIOThread(ThreadGroup threadGroup,
@@ -85,6 +89,15 @@ public class NonBlockingIOThread extends Thread implements OperationHostileThrea
         this.selector = selector;
     }
 
+    /**
+     * Gets the pool for the buffers of the client messages read by this thread.
+     *
+     * @return the ClientProtocolBufferPool
+     */
+    public ClientProtocolBufferPool getClientBufferPool() {
+        return clientBufferPool;
+    }
+
     private static Selector newSelector() {
         try {
             return Selector.open();
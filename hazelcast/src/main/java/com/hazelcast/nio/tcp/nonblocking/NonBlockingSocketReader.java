@@ -208,7 +208,7 @@ public final class NonBlockingSocketReader extends AbstractHandler implements So
             } else if (CLIENT_BINARY_NEW.equals(protocol)) {
                 configureBuffers(ioService.getSocketClientReceiveBufferSize() * KILO_BYTE);
                 socketWriter.setProtocol(CLIENT_BINARY_NEW);
-                readHandler = new NewClientReadHandler(connection, ioService);
+                readHandler = new NewClientReadHandler(connection, ioService, ioThread.getClientBufferPool());
             } else {
                 configureBuffers(ioService.getSocketReceiveBufferSize() * KILO_BYTE);
                 socketWriter.setProtocol(Protocols.TEXT);
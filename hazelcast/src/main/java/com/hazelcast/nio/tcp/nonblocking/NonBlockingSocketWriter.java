@@ -21,6 +21,7 @@ import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.nio.OutboundFrame;
 import com.hazelcast.nio.Packet;
 import com.hazelcast.nio.ascii.TextWriteHandler;
+import com.hazelcast.nio.tcp.MemberWriteHandler;
 import com.hazelcast.nio.tcp.NewClientWriteHandler;
 import com.hazelcast.nio.tcp.SocketWriter;
 import com.hazelcast.nio.tcp.TcpIpConnection;
@@ -75,6 +76,8 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
 
     private volatile OutboundFrame currentFrame;
     private WriteHandler writeHandler;
+    // only set for member to member connections if gathering writes are enabled.
+    private GatheringPacketWriter gatheringWriter;
     private volatile long lastWriteTime;
 
     private boolean shutdown;
@@ -174,8 +177,12 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
     private void createWriterHandler(String protocol) throws IOException {
         if (writeHandler == null) {
             if (CLUSTER.equals(protocol)) {
-                configureBuffers(ioService.getSocketSendBufferSize() * KILO_BYTE);
+                int sendBufferSize = ioService.getSocketSendBufferSize() * KILO_BYTE;
+                configureBuffers(sendBufferSize);
                 writeHandler = ioService.createWriteHandler(connection);
+                if (writeHandler instanceof MemberWriteHandler && ioService.isSocketGatheringWriteEnabled()) {
+                    gatheringWriter = new GatheringPacketWriter(GatheringPacketWriter.DEFAULT_MAX_BATCH_SIZE, sendBufferSize);
+                }
                 outputBuffer.put(stringToBytes(CLUSTER));
                 registerOp(SelectionKey.OP_WRITE);
             } else if (CLIENT_BINARY_NEW.equals(protocol)) {
@@ -278,7 +285,7 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
      * This call is only made by the IO thread.
      */
     private void unschedule() throws IOException {
-        if (dirtyOutputBuffer() || currentFrame != null) {
+        if (dirtyOutputBuffer() || currentFrame != null || (gatheringWriter != null && !gatheringWriter.isEmpty())) {
             // Because not all data was written to the socket, we need to register for OP_WRITE so we get
             // notified when the socketChannel is ready for more data.
             registerOp(SelectionKey.OP_WRITE);
@@ -331,10 +338,14 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
             createWriterHandler(CLUSTER);
         }
 
-        fillOutputBuffer();
+        if (gatheringWriter == null) {
+            fillOutputBuffer();
 
-        if (dirtyOutputBuffer()) {
-            writeOutputBufferToSocket();
+            if (dirtyOutputBuffer()) {
+                writeOutputBufferToSocket();
+            }
+        } else {
+            gatheringWrite();
         }
 
         if (newOwner == null) {
@@ -381,6 +392,43 @@ public final class NonBlockingSocketWriter extends AbstractHandler implements Ru
         }
     }
 
+    /**
+     * Writes the pending packets to the socket using a gathering write, so without copying the payload of the packets
+     * into the outputBuffer.
+     *
+     * The outputBuffer is only used for the protocol bytes; these need to be written before any packet is written.
+     *
+     * @throws IOException
+     */
+    private void gatheringWrite() throws IOException {
+        if (dirtyOutputBuffer()) {
+            writeOutputBufferToSocket();
+            if (dirtyOutputBuffer()) {
+                return;
+            }
+        }
+
+        // Lets add packets to the batch till there are no more frames or till the batch is full.
+        for (; ; ) {
+            if (currentFrame == null) {
+                currentFrame = poll();
+                if (currentFrame == null) {
+                    break;
+                }
+            }
+
+            if (!gatheringWriter.add((Packet) currentFrame)) {
+                // The batch is full, the current frame will be added once the batch has been written.
+                break;
+            }
+
+            currentFrame = null;
+        }
+
+        long written = gatheringWriter.write(socketChannel);
+        bytesWritten.inc(written);
+    }
+
     /**
      * Fills the outBuffer with frames. This is done till there are no more frames or till there is no more space in the
      * outputBuffer.
@@ -75,7 +75,7 @@ public class SpinningIOThreadingModel implements IOThreadingModel {
     @Override
     public SocketReader newSocketReader(TcpIpConnection connection) {
         ILogger logger = loggingService.getLogger(SpinningSocketReader.class);
-        return new SpinningSocketReader(connection, metricsRegistry, logger);
+        return new SpinningSocketReader(connection, metricsRegistry, logger, inputThread.getClientBufferPool());
     }
 
     @Override
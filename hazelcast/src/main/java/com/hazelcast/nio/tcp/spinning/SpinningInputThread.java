@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio.tcp.spinning;
 
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.tcp.TcpIpConnection;
@@ -32,6 +33,8 @@ public class SpinningInputThread extends Thread {
             = newUpdater(SpinningInputThread.class, SocketReaders.class, "socketReaders");
 
     private final ILogger logger;
+    // shared by the client connections of this thread, so the number of pooled buffers doesn't grow with the connections
+    private final ClientProtocolBufferPool clientBufferPool = new ClientProtocolBufferPool();
     private volatile SocketReaders socketReaders;
 
     public SpinningInputThread(HazelcastThreadGroup threadGroup, ILogger logger) {
@@ -40,6 +43,10 @@ public class SpinningInputThread extends Thread {
         this.socketReaders = new SocketReaders();
     }
 
+    public ClientProtocolBufferPool getClientBufferPool() {
+        return clientBufferPool;
+    }
+
     public void addConnection(TcpIpConnection connection) {
         SpinningSocketReader reader = (SpinningSocketReader) connection.getSocketReader();
 
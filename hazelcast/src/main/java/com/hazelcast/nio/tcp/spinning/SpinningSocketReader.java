@@ -16,6 +16,7 @@
 
 package com.hazelcast.nio.tcp.spinning;
 
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
@@ -54,15 +55,18 @@ public class SpinningSocketReader extends AbstractHandler implements SocketReade
     private final SwCounter priorityFramesRead = newSwCounter();
     private final MetricsRegistry metricRegistry;
     private final SocketChannelWrapper socketChannel;
+    private final ClientProtocolBufferPool clientBufferPool;
     private volatile long lastReadTime;
     private ReadHandler readHandler;
     private ByteBuffer inputBuffer;
     private ByteBuffer protocolBuffer = ByteBuffer.allocate(3);
 
-    public SpinningSocketReader(TcpIpConnection connection, MetricsRegistry metricsRegistry, ILogger logger) {
+    public SpinningSocketReader(TcpIpConnection connection, MetricsRegistry metricsRegistry, ILogger logger,
+                                ClientProtocolBufferPool clientBufferPool) {
         super(connection, logger);
         this.metricRegistry = metricsRegistry;
         this.socketChannel = connection.getSocketChannelWrapper();
+        this.clientBufferPool = clientBufferPool;
         metricRegistry.scanAndRegister(this, "tcp.connection[" + connection.getMetricsId() + "]");
     }
 
@@ -159,7 +163,7 @@ public class SpinningSocketReader extends AbstractHandler implements SocketReade
         } else if (CLIENT_BINARY_NEW.equals(protocol)) {
             configureBuffers(ioService.getSocketClientReceiveBufferSize() * KILO_BYTE);
             socketWriter.setProtocol(CLIENT_BINARY_NEW);
-            readHandler = new NewClientReadHandler(connection, ioService);
+            readHandler = new NewClientReadHandler(connection, ioService, clientBufferPool);
         } else {
             configureBuffers(ioService.getSocketReceiveBufferSize() * KILO_BYTE);
             socketWriter.setProtocol(Protocols.TEXT);
@@ -58,7 +58,7 @@ public final class CheckReplicaVersion extends Operation implements PartitionAwa
             response = true;
         } else {
             logBackupVersionMismatch(currentVersion);
-            partitionService.triggerPartitionReplicaSync(partitionId, replicaIndex, 0L);
+            partitionService.triggerPartitionReplicaSync(partitionId, replicaIndex, 0L, true);
             response = false;
         }
     }
@@ -63,7 +63,10 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationResponseHandler;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionAwareService;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ReplicaDigestAwareService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.util.Clock;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.FutureUtil.ExceptionHandler;
@@ -138,6 +141,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     private final long partitionMigrationTimeout;
     private final long backupSyncCheckInterval;
     private final int maxParallelReplications;
+    private final int replicaDigestSegmentCount;
     private final PartitionStateGenerator partitionStateGenerator;
     private final MemberGroupFactory memberGroupFactory;
     private final PartitionServiceProxy proxy;
@@ -231,6 +235,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         backupSyncCheckInterval = definedBackupSyncCheckInterval > 0 ? definedBackupSyncCheckInterval : 1;
         maxParallelReplications = node.groupProperties.getInteger(GroupProperty.PARTITION_MAX_PARALLEL_REPLICATIONS);
         replicaSyncProcessLock = new Semaphore(maxParallelReplications);
+        replicaDigestSegmentCount = node.groupProperties.getInteger(GroupProperty.PARTITION_REPLICA_DIGEST_SEGMENT_COUNT);
         nodeEngine.getMetricsRegistry().scanAndRegister(this, "partitions");
     }
 
@@ -988,6 +993,13 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
     // this method initiates a replica sync operation and registers it to replicaSyncRequest.
     // If another sync request is already registered, it schedules the new replica sync request to a further time.
     void triggerPartitionReplicaSync(int partitionId, int replicaIndex, long delayMillis) {
+        triggerPartitionReplicaSync(partitionId, replicaIndex, delayMillis, false);
+    }
+
+    // If digestSync is true, the replica sync request carries the segment digests of the replica data so that the owner
+    // only needs to send the segments that differ. The digests can only be calculated on the partition thread, so it
+    // should only be set by callers running on the partition thread of the given partition.
+    void triggerPartitionReplicaSync(int partitionId, int replicaIndex, long delayMillis, boolean digestSync) {
         if (replicaIndex < 0 || replicaIndex > InternalPartition.MAX_REPLICA_COUNT) {
             throw new IllegalArgumentException("Invalid replica index! replicaIndex=" + replicaIndex
                     + " for partitionId=" + partitionId);
@@ -1017,7 +1029,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         }
 
         if (replicaSyncRequests.compareAndSet(partitionId, null, syncInfo)) {
-            if (fireSyncReplicaRequest(syncInfo, target)) {
+            if (fireSyncReplicaRequest(syncInfo, target, digestSync)) {
                 return;
             }
 
@@ -1043,7 +1055,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         return scheduleDelay;
     }
 
-    private boolean fireSyncReplicaRequest(ReplicaSyncInfo syncInfo, Address target) {
+    private boolean fireSyncReplicaRequest(ReplicaSyncInfo syncInfo, Address target, boolean digestSync) {
         if (node.clusterService.isMemberRemovedWhileClusterIsNotActive(target)) {
             return false;
         }
@@ -1058,13 +1070,39 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
                         + ", replicaIndex=" + replicaIndex);
             }
             replicaSyncScheduler.schedule(partitionMigrationTimeout, partitionId, syncInfo);
-            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex);
+            Map<String, long[]> replicaDigests = digestSync ? createReplicaDigests(partitionId, replicaIndex) : null;
+            ReplicaSyncRequest syncRequest = new ReplicaSyncRequest(partitionId, replicaIndex, replicaDigests);
             nodeEngine.getOperationService().send(syncRequest, target);
             return true;
         }
         return false;
     }
 
+    // called in the partition thread
+    // returns the segment digests of the replica data per service, or null if there are none.
+    private Map<String, long[]> createReplicaDigests(int partitionId, int replicaIndex) {
+        if (replicaDigestSegmentCount < 1) {
+            return null;
+        }
+
+        PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, replicaIndex);
+        Map<String, long[]> replicaDigests = new HashMap<String, long[]>();
+        for (ServiceInfo serviceInfo : nodeEngine.getServiceInfos(ReplicaDigestAwareService.class)) {
+            ReplicaDigestAwareService service = (ReplicaDigestAwareService) serviceInfo.getService();
+            try {
+                long[] digests = service.getReplicaDigests(event, replicaDigestSegmentCount);
+                if (digests != null) {
+                    replicaDigests.put(serviceInfo.getName(), digests);
+                }
+            } catch (Throwable t) {
+                // the owner will send all data of this service
+                logger.warning("Failed to calculate replica digests of " + serviceInfo.getName() + " for partitionId="
+                        + partitionId + ", replicaIndex=" + replicaIndex, t);
+            }
+        }
+        return replicaDigests.isEmpty() ? null : replicaDigests;
+    }
+
     private void schedulePartitionReplicaSync(ReplicaSyncInfo syncInfo, Address target, long delayMillis, String reason) {
         int partitionId = syncInfo.partitionId;
         int replicaIndex = syncInfo.replicaIndex;
@@ -1505,7 +1543,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService, M
         PartitionReplicaVersions partitionVersion = replicaVersions[partitionId];
         if (!partitionVersion.update(versions, replicaIndex)) {
             // this partition backup is behind the owner.
-            triggerPartitionReplicaSync(partitionId, replicaIndex, 0L);
+            triggerPartitionReplicaSync(partitionId, replicaIndex, 0L, true);
         }
     }
 
@@ -30,23 +30,34 @@ import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.PartitionAwareOperation;
 import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.ReplicaDigestAwareService;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public final class ReplicaSyncRequest extends Operation implements PartitionAwareOperation, MigrationCycleOperation {
 
+    // the segment digests of the replica data per service name; null if all data should be sent.
+    private Map<String, long[]> replicaDigests;
+
     public ReplicaSyncRequest() {
     }
 
     public ReplicaSyncRequest(int partitionId, int replicaIndex) {
+        this(partitionId, replicaIndex, null);
+    }
+
+    public ReplicaSyncRequest(int partitionId, int replicaIndex, Map<String, long[]> replicaDigests) {
         setPartitionId(partitionId);
         setReplicaIndex(replicaIndex);
+        this.replicaDigests = replicaDigests;
     }
 
     @Override
@@ -147,7 +158,7 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         List<Operation> tasks = new LinkedList<Operation>();
         for (ServiceInfo serviceInfo : services) {
             MigrationAwareService service = (MigrationAwareService) serviceInfo.getService();
-            Operation op = service.prepareReplicationOperation(event);
+            Operation op = prepareReplicationOperation(serviceInfo.getName(), service, event);
             if (op != null) {
                 op.setServiceName(serviceInfo.getName());
                 tasks.add(op);
@@ -156,6 +167,15 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
         return tasks;
     }
 
+    private Operation prepareReplicationOperation(String serviceName, MigrationAwareService service,
+                                                  PartitionReplicationEvent event) {
+        long[] digests = replicaDigests != null ? replicaDigests.get(serviceName) : null;
+        if (digests != null && service instanceof ReplicaDigestAwareService) {
+            return ((ReplicaDigestAwareService) service).prepareReplicationOperation(event, digests);
+        }
+        return service.prepareReplicationOperation(event);
+    }
+
     private void sendEmptyResponse() throws IOException {
         sendResponse(null);
     }
@@ -220,9 +240,25 @@ public final class ReplicaSyncRequest extends Operation implements PartitionAwar
 
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
+        int size = replicaDigests != null ? replicaDigests.size() : 0;
+        out.writeInt(size);
+        if (size > 0) {
+            for (Map.Entry<String, long[]> entry : replicaDigests.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLongArray(entry.getValue());
+            }
+        }
     }
 
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        if (size > 0) {
+            replicaDigests = new HashMap<String, long[]>(size);
+            for (int i = 0; i < size; i++) {
+                String serviceName = in.readUTF();
+                replicaDigests.put(serviceName, in.readLongArray());
+            }
+        }
     }
 }
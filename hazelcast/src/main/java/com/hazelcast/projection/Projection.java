@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import java.io.Serializable;
+
+/**
+ * Transforms an entry of a map into a smaller object, e.g. a few attributes of the value.
+ * <p/>
+ * The projection is executed on the member owning the entry, so only the projected objects are sent to the caller
+ * instead of the whole values. The input is the entry, which can also be used as an
+ * {@link com.hazelcast.query.impl.Extractable}. Because the projection is serialized to the members, the projection
+ * needs to be serializable.
+ * <p/>
+ * A set of predefined projections can be found in {@link Projections}.
+ *
+ * @param <I> the type of the input
+ * @param <O> the type of the output
+ */
+public abstract class Projection<I, O> implements Serializable {
+
+    /**
+     * Transforms the input into the output. This method is called once per entry on the member owning the entry.
+     *
+     * @param input the input to transform
+     * @return the output; may be null
+     */
+    public abstract O transform(I input);
+}
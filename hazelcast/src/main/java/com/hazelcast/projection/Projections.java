@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection;
+
+import com.hazelcast.projection.impl.MultiAttributeProjection;
+import com.hazelcast.projection.impl.SingleAttributeProjection;
+
+/**
+ * Factory for the predefined {@link Projection}s.
+ * <p/>
+ * The attributes are extracted in the same way as for predicates, so an attribute path like {@code "address.city"},
+ * a {@link com.hazelcast.query.extractor.ValueExtractor} based attribute, or {@code "__key"} for the key can be used.
+ * If an attribute path contains the {@code [any]} operator, the attribute is projected to the list of the values.
+ */
+public final class Projections {
+
+    private Projections() {
+    }
+
+    /**
+     * @param attributePath the path of the attribute
+     * @param <O>           the type of the attribute
+     * @return a projection extracting the attribute at the given path
+     */
+    public static <O> Projection<Object, O> singleAttribute(String attributePath) {
+        return new SingleAttributeProjection<O>(attributePath);
+    }
+
+    /**
+     * @param attributePaths the paths of the attributes
+     * @return a projection extracting the attributes at the given paths into an array, in the given order
+     */
+    public static Projection<Object, Object[]> multiAttribute(String... attributePaths) {
+        return new MultiAttributeProjection(attributePaths);
+    }
+}
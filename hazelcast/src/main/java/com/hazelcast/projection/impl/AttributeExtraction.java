@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import static com.hazelcast.util.Preconditions.checkHasText;
+
+/**
+ * Utility methods for the attribute based projections.
+ */
+final class AttributeExtraction {
+
+    private AttributeExtraction() {
+    }
+
+    static String checkAttributePath(String attributePath) {
+        return checkHasText(attributePath, "attributePath must not be null or empty");
+    }
+
+    static Object extract(Object input, String attributePath) {
+        if (!(input instanceof Extractable)) {
+            throw new IllegalArgumentException("Can't extract attribute '" + attributePath + "' from " + input);
+        }
+
+        Object value = ((Extractable) input).getAttributeValue(attributePath);
+        if (value instanceof MultiResult) {
+            return ((MultiResult) value).getResults();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.projection.Projection;
+
+import static com.hazelcast.projection.impl.AttributeExtraction.checkAttributePath;
+import static com.hazelcast.projection.impl.AttributeExtraction.extract;
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * Projects an entry to an array of attributes.
+ */
+public final class MultiAttributeProjection extends Projection<Object, Object[]> {
+
+    private final String[] attributePaths;
+
+    public MultiAttributeProjection(String... attributePaths) {
+        checkTrue(attributePaths != null && attributePaths.length > 0, "at least one attributePath should be given");
+        this.attributePaths = new String[attributePaths.length];
+        for (int i = 0; i < attributePaths.length; i++) {
+            this.attributePaths[i] = checkAttributePath(attributePaths[i]);
+        }
+    }
+
+    @Override
+    public Object[] transform(Object input) {
+        Object[] result = new Object[attributePaths.length];
+        for (int i = 0; i < attributePaths.length; i++) {
+            result[i] = extract(input, attributePaths[i]);
+        }
+        return result;
+    }
+}
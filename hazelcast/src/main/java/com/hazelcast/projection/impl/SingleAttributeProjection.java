@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.projection.impl;
+
+import com.hazelcast.projection.Projection;
+
+import static com.hazelcast.projection.impl.AttributeExtraction.checkAttributePath;
+import static com.hazelcast.projection.impl.AttributeExtraction.extract;
+
+/**
+ * Projects an entry to a single attribute.
+ *
+ * @param <O> the type of the attribute
+ */
+public final class SingleAttributeProjection<O> extends Projection<Object, O> {
+
+    private final String attributePath;
+
+    public SingleAttributeProjection(String attributePath) {
+        this.attributePath = checkAttributePath(attributePath);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public O transform(Object input) {
+        return (O) extract(input, attributePath);
+    }
+}
@@ -29,17 +29,52 @@ public abstract class BaseIndexStore implements IndexStore {
 
     protected static final float LOAD_FACTOR = 0.75F;
 
+    /**
+     * The fraction (1/n) of the entries a comparison is assumed to match when it can't be estimated from the values.
+     */
+    protected static final int COMPARISON_SELECTIVITY_DIVISOR = 3;
+
+    /**
+     * The fraction (1/n) of the entries a range is assumed to match when it can't be estimated from the values.
+     */
+    protected static final int RANGE_SELECTIVITY_DIVISOR = 4;
+
     protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     protected ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
     protected ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
 
     private boolean multiResultHasToDetectDuplicates;
 
+    // statistics of the non-null values; only modified while holding the write lock and read while holding the read lock
+    private long entryCount;
+    private int distinctValueCount;
 
     abstract void newIndexInternal(Comparable newValue, QueryableEntry record);
 
     abstract void removeIndexInternal(Comparable oldValue, Data indexKey);
 
+    /**
+     * Estimates the number of entries of the comparison, while holding the read lock. Without knowledge of the value
+     * distribution, a fixed fraction of the entries is assumed to match.
+     */
+    long estimateSubRecordCountInternal(ComparisonType comparisonType, Comparable searchedValue) {
+        if (comparisonType == ComparisonType.NOT_EQUAL) {
+            return entryCount - estimateRecordCountInternal();
+        }
+        return entryCount / COMPARISON_SELECTIVITY_DIVISOR;
+    }
+
+    /**
+     * Estimates the number of entries of the range, while holding the read lock. Without knowledge of the value
+     * distribution, a fixed fraction of the entries is assumed to match.
+     */
+    long estimateSubRecordsBetweenCountInternal(Comparable from, Comparable to) {
+        if (from.compareTo(to) == 0) {
+            return estimateRecordCountInternal();
+        }
+        return entryCount / RANGE_SELECTIVITY_DIVISOR;
+    }
+
     @Override
     public final void newIndex(Object newValue, QueryableEntry record) {
         takeWriteLock();
@@ -100,6 +135,82 @@ public abstract class BaseIndexStore implements IndexStore {
     }
 
 
+    @Override
+    public long getEntryCount() {
+        takeReadLock();
+        try {
+            return entryCount;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public int getDistinctValueCount() {
+        takeReadLock();
+        try {
+            return distinctValueCount;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        takeReadLock();
+        try {
+            return estimateRecordCountInternal();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateSubRecordCount(ComparisonType comparisonType, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            return estimateSubRecordCountInternal(comparisonType, searchedValue);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public long estimateSubRecordsBetweenCount(Comparable from, Comparable to) {
+        takeReadLock();
+        try {
+            return estimateSubRecordsBetweenCountInternal(from, to);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Returns the average number of entries per value, rounded up.
+     */
+    long estimateRecordCountInternal() {
+        return distinctValueCount == 0 ? 0 : (entryCount + distinctValueCount - 1) / distinctValueCount;
+    }
+
+    /**
+     * Updates the statistics after the entries of a value changed; called while holding the write lock.
+     *
+     * @param entryDelta         the change of the number of entries
+     * @param distinctValueDelta the change of the number of distinct values
+     */
+    void updateStatistics(long entryDelta, int distinctValueDelta) {
+        entryCount += entryDelta;
+        distinctValueCount += distinctValueDelta;
+    }
+
+    /**
+     * Resets the statistics after the store is cleared; called while holding the write lock.
+     */
+    void resetStatistics() {
+        entryCount = 0;
+        distinctValueCount = 0;
+    }
+
     void takeWriteLock() {
         writeLock.lock();
     }
@@ -132,6 +243,14 @@ public abstract class BaseIndexStore implements IndexStore {
 
     }
 
+    /**
+     * Checks if an entry can be indexed under multiple values, so that the results of a query over multiple values
+     * can contain duplicates.
+     */
+    protected boolean isMultiResultHasToDetectDuplicates() {
+        return multiResultHasToDetectDuplicates;
+    }
+
     protected MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
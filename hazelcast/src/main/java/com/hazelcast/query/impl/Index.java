@@ -55,6 +55,29 @@ public interface Index {
 
     Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue);
 
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable)} returns for the given value, from the
+     * statistics of this index.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries {@link #getSubRecords(ComparisonType, Comparable)} returns, from the
+     * statistics of this index.
+     */
+    long estimateSubRecordCount(ComparisonType comparisonType, Comparable searchedValue);
+
+    /**
+     * Estimates the number of entries {@link #getSubRecordsBetween(Comparable, Comparable)} returns, from the
+     * statistics of this index.
+     */
+    long estimateSubRecordsBetweenCount(Comparable from, Comparable to);
+
+    /**
+     * Returns the number of entries with a non-null value in this index.
+     */
+    long getEntryCount();
+
     String getAttributeName();
 
     boolean isOrdered();
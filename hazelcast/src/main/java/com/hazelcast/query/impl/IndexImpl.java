@@ -37,11 +37,11 @@ public class IndexImpl implements Index {
 
     public static final NullObject NULL = new NullObject();
 
-    private final IndexStore indexStore;
     private final String attributeName;
     private final boolean ordered;
 
     private volatile TypeConverter converter;
+    private volatile IndexStore indexStore;
 
     private final SerializationService ss;
     private final Extractors extractors;
@@ -50,8 +50,8 @@ public class IndexImpl implements Index {
         this.attributeName = attributeName;
         this.ordered = ordered;
         this.ss = ss;
-        this.indexStore = ordered ? new SortedIndexStore() : new UnsortedIndexStore();
         this.extractors = extractors;
+        this.indexStore = createIndexStore();
     }
 
     @Override
@@ -64,9 +64,16 @@ public class IndexImpl implements Index {
          * this causes to class cast exceptions.
          */
         if (converter == null || converter == NULL_CONVERTER) {
-            converter = entry.getConverter(attributeName);
+            synchronized (this) {
+                initConverter(entry);
+                saveEntryIndexInternal(entry, oldRecordValue);
+            }
+        } else {
+            saveEntryIndexInternal(entry, oldRecordValue);
         }
+    }
 
+    private void saveEntryIndexInternal(QueryableEntry entry, Object oldRecordValue) {
         Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getValue());
         if (oldRecordValue == null) {
             indexStore.newIndex(newAttributeValue, entry);
@@ -76,10 +83,56 @@ public class IndexImpl implements Index {
         }
     }
 
+    /**
+     * Initializes the converter. Once the attribute type is known, an ordered index on a numeric or date attribute
+     * switches to a {@link NumericSortedIndexStore}; until then only entries with a null attribute value can have been
+     * indexed, which are moved to the new index store.
+     * <p/>
+     * Until the converter is initialized, the index is only modified while holding the lock of this index, so no
+     * modification can get lost while switching the index store.
+     */
+    private void initConverter(QueryableEntry entry) {
+        if (converter != null && converter != NULL_CONVERTER) {
+            return;
+        }
+
+        TypeConverter entryConverter = entry.getConverter(attributeName);
+        if (ordered && entryConverter != null && entryConverter != NULL_CONVERTER) {
+            AttributeType attributeType = getAttributeType(entryConverter);
+            if (NumericSortedIndexStore.isSupported(attributeType)) {
+                IndexStore newIndexStore = new NumericSortedIndexStore(attributeType);
+                for (QueryableEntry entryWithNullValue : indexStore.getRecords(NULL)) {
+                    newIndexStore.newIndex(null, entryWithNullValue);
+                }
+                indexStore = newIndexStore;
+            }
+        }
+        converter = entryConverter;
+    }
+
+    private static AttributeType getAttributeType(TypeConverter converter) {
+        for (AttributeType attributeType : AttributeType.values()) {
+            if (attributeType.getConverter() == converter) {
+                return attributeType;
+            }
+        }
+        return null;
+    }
+
+    private IndexStore createIndexStore() {
+        return ordered ? new SortedIndexStore() : new UnsortedIndexStore();
+    }
+
     @Override
     public void removeEntryIndex(Data key, Object value) {
         Object attributeValue = extractAttributeValue(key, value);
-        indexStore.removeIndex(attributeValue, key);
+        if (converter == null || converter == NULL_CONVERTER) {
+            synchronized (this) {
+                indexStore.removeIndex(attributeValue, key);
+            }
+        } else {
+            indexStore.removeIndex(attributeValue, key);
+        }
     }
 
     private Object extractAttributeValue(Data key, Object value) {
@@ -126,6 +179,35 @@ public class IndexImpl implements Index {
         return indexStore.getSubRecordsBetween(convert(fromAttributeValue), convert(toAttributeValue));
     }
 
+    @Override
+    public long estimateRecordCount(Comparable attributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(convert(attributeValue));
+    }
+
+    @Override
+    public long estimateSubRecordCount(ComparisonType comparisonType, Comparable searchedAttributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateSubRecordCount(comparisonType, convert(searchedAttributeValue));
+    }
+
+    @Override
+    public long estimateSubRecordsBetweenCount(Comparable fromAttributeValue, Comparable toAttributeValue) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateSubRecordsBetweenCount(convert(fromAttributeValue), convert(toAttributeValue));
+    }
+
+    @Override
+    public long getEntryCount() {
+        return indexStore.getEntryCount();
+    }
+
     /**
      * Note: the fact that the given attributeValue is of type Comparable doesn't mean that this value is of the same
      * type as the one that's stored in the index, thus the conversion is needed.
@@ -146,8 +228,9 @@ public class IndexImpl implements Index {
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         indexStore.clear();
+        indexStore = createIndexStore();
         converter = null;
     }
 
@@ -36,4 +36,30 @@ public interface IndexStore {
     Set<QueryableEntry> getRecords(Comparable value);
     Set<QueryableEntry> getRecords(Set<Comparable> values);
     ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable indexValue);
+
+    /**
+     * Returns the number of indexed entries with a non-null value; an entry indexed under several values is
+     * counted once per value.
+     */
+    long getEntryCount();
+
+    /**
+     * Returns the number of distinct non-null values in this store.
+     */
+    int getDistinctValueCount();
+
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable)} would return, without looking the value up.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries {@link #getSubRecords(ComparisonType, Comparable)} would return.
+     */
+    long estimateSubRecordCount(ComparisonType comparisonType, Comparable searchedValue);
+
+    /**
+     * Estimates the number of entries {@link #getSubRecordsBetween(Comparable, Comparable)} would return.
+     */
+    long estimateSubRecordsBetweenCount(Comparable from, Comparable to);
 }
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Store indexes rankly for numeric and date attributes.
+ * <p/>
+ * The attribute values are stored as unboxed long keys in a {@link SegmentedLongSortedMap}. Integral values and dates
+ * are stored as is; floating point values are stored as their bits, converted so that the order of the longs is the
+ * order of {@link Double#compareTo(Double)}. The entries of a value are stored in compact {@link Postings}.
+ */
+public class NumericSortedIndexStore extends BaseIndexStore {
+
+    private final ConcurrentMap<Data, QueryableEntry> recordsWithNullValue
+            = new ConcurrentHashMap<Data, QueryableEntry>();
+
+    private final SegmentedLongSortedMap<Object> recordMap = new SegmentedLongSortedMap<Object>();
+
+    private final boolean floatingPoint;
+
+    public NumericSortedIndexStore(AttributeType attributeType) {
+        if (!isSupported(attributeType)) {
+            throw new IllegalArgumentException("Unsupported attribute type: " + attributeType);
+        }
+        this.floatingPoint = attributeType == AttributeType.DOUBLE || attributeType == AttributeType.FLOAT;
+    }
+
+    /**
+     * Checks if the attribute type can be indexed by a {@link NumericSortedIndexStore}.
+     *
+     * @param attributeType the attribute type, can be null
+     * @return true if the attribute type is supported
+     */
+    public static boolean isSupported(AttributeType attributeType) {
+        if (attributeType == null) {
+            return false;
+        }
+        switch (attributeType) {
+            case LONG:
+            case INTEGER:
+            case SHORT:
+            case BYTE:
+            case DOUBLE:
+            case FLOAT:
+            case DATE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private long toKey(Comparable value) {
+        if (floatingPoint) {
+            long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+            // flips all but the sign bit of negative values, so that they order below the positive values
+            return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return ((Number) value).longValue();
+    }
+
+    @Override
+    void newIndexInternal(Comparable newValue, QueryableEntry record) {
+        if (newValue instanceof IndexImpl.NullObject) {
+            recordsWithNullValue.put(record.getKeyData(), record);
+        } else {
+            long key = toKey(newValue);
+            Object postings = recordMap.get(key);
+            // the postings may be updated in place, so their size is taken before
+            int size = postings == null ? 0 : Postings.size(postings);
+            Object newPostings = Postings.add(postings, record);
+            recordMap.put(key, newPostings);
+            updateStatistics(Postings.size(newPostings) - size, postings == null ? 1 : 0);
+        }
+    }
+
+    @Override
+    void removeIndexInternal(Comparable oldValue, Data indexKey) {
+        if (oldValue instanceof IndexImpl.NullObject) {
+            recordsWithNullValue.remove(indexKey);
+            return;
+        }
+
+        long key = toKey(oldValue);
+        Object postings = recordMap.get(key);
+        if (postings == null) {
+            return;
+        }
+        int size = Postings.size(postings);
+        Object newPostings = Postings.remove(postings, indexKey);
+        if (newPostings == null) {
+            recordMap.remove(key);
+            updateStatistics(-1, -1);
+        } else {
+            if (newPostings != postings) {
+                recordMap.put(key, newPostings);
+            }
+            updateStatistics(Postings.size(newPostings) - size, 0);
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            recordsWithNullValue.clear();
+            recordMap.clear();
+            resetStatistics();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecordsBetween(Comparable from, Comparable to) {
+        takeReadLock();
+        try {
+            PostingsResultSet results = createResultSet();
+            if (!(from instanceof IndexImpl.NullObject) && !(to instanceof IndexImpl.NullObject)) {
+                recordMap.visitRange(toKey(from), true, toKey(to), true, results);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getSubRecords(ComparisonType comparisonType, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            PostingsResultSet results = createResultSet();
+            if (searchedValue instanceof IndexImpl.NullObject) {
+                return results;
+            }
+            long key = toKey(searchedValue);
+            switch (comparisonType) {
+                case LESSER:
+                    recordMap.visitRange(Long.MIN_VALUE, true, key, false, results);
+                    break;
+                case LESSER_EQUAL:
+                    recordMap.visitRange(Long.MIN_VALUE, true, key, true, results);
+                    break;
+                case GREATER:
+                    recordMap.visitRange(key, false, Long.MAX_VALUE, true, results);
+                    break;
+                case GREATER_EQUAL:
+                    recordMap.visitRange(key, true, Long.MAX_VALUE, true, results);
+                    break;
+                case NOT_EQUAL:
+                    recordMap.visitRange(Long.MIN_VALUE, true, key, false, results);
+                    recordMap.visitRange(key, false, Long.MAX_VALUE, true, results);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Estimates the number of entries of the comparison from the number of distinct values it matches; the segments
+     * of the sorted values serve as an equi-depth histogram, so counting them is cheap.
+     */
+    @Override
+    long estimateSubRecordCountInternal(ComparisonType comparisonType, Comparable searchedValue) {
+        if (searchedValue instanceof IndexImpl.NullObject) {
+            return 0;
+        }
+        long key = toKey(searchedValue);
+        int valueCount;
+        switch (comparisonType) {
+            case LESSER:
+                valueCount = recordMap.countRange(Long.MIN_VALUE, true, key, false);
+                break;
+            case LESSER_EQUAL:
+                valueCount = recordMap.countRange(Long.MIN_VALUE, true, key, true);
+                break;
+            case GREATER:
+                valueCount = recordMap.countRange(key, false, Long.MAX_VALUE, true);
+                break;
+            case GREATER_EQUAL:
+                valueCount = recordMap.countRange(key, true, Long.MAX_VALUE, true);
+                break;
+            case NOT_EQUAL:
+                valueCount = recordMap.size() - recordMap.countRange(key, true, key, true);
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized comparisonType: " + comparisonType);
+        }
+        return valueCount * estimateRecordCountInternal();
+    }
+
+    @Override
+    long estimateSubRecordsBetweenCountInternal(Comparable from, Comparable to) {
+        if (from instanceof IndexImpl.NullObject || to instanceof IndexImpl.NullObject) {
+            return 0;
+        }
+        return recordMap.countRange(toKey(from), true, toKey(to), true) * estimateRecordCountInternal();
+    }
+
+    @Override
+    public ConcurrentMap<Data, QueryableEntry> getRecordMap(Comparable value) {
+        takeReadLock();
+        try {
+            if (value instanceof IndexImpl.NullObject) {
+                return recordsWithNullValue;
+            } else {
+                return Postings.copyToMap(recordMap.get(toKey(value)));
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            if (value instanceof IndexImpl.NullObject) {
+                return new SingleResultSet(recordsWithNullValue);
+            }
+            PostingsResultSet results = createResultSet();
+            Object postings = recordMap.get(toKey(value));
+            if (postings != null) {
+                results.visit(postings);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            PostingsResultSet results = createResultSet();
+            for (Comparable value : values) {
+                if (value instanceof IndexImpl.NullObject) {
+                    results.addAll(recordsWithNullValue.values());
+                } else {
+                    Object postings = recordMap.get(toKey(value));
+                    if (postings != null) {
+                        results.visit(postings);
+                    }
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private PostingsResultSet createResultSet() {
+        return new PostingsResultSet(isMultiResultHasToDetectDuplicates());
+    }
+
+    @Override
+    public String toString() {
+        return "NumericSortedIndexStore{"
+                + "recordMap=" + recordMap.size()
+                + '}';
+    }
+}
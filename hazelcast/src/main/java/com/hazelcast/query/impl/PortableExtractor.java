@@ -16,12 +16,13 @@
 
 package com.hazelcast.query.impl;
 
+import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.Data;
 import com.hazelcast.nio.serialization.FieldDefinition;
 import com.hazelcast.nio.serialization.FieldType;
 import com.hazelcast.internal.serialization.PortableContext;
-import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.internal.serialization.PortableFieldAccessor;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.query.QueryException;
 
@@ -29,6 +30,9 @@ import java.io.IOException;
 
 /**
  * Utility class to extract a single field from a {@link com.hazelcast.nio.serialization.Portable} binary.
+ * <p/>
+ * The field is read straight from the binary through the {@link PortableFieldAccessor} compiled for the class
+ * definition and field name; no {@link com.hazelcast.nio.serialization.PortableReader} is created.
  */
 final class PortableExtractor {
 
@@ -66,9 +70,26 @@ final class PortableExtractor {
     public static Comparable extractValue(SerializationService serializationService, Data data, String fieldName)
             throws IOException {
         PortableContext context = serializationService.getPortableContext();
-        PortableFieldExtractor fieldExtractor = getFieldExtractor(context, data, fieldName);
-        PortableReader reader = serializationService.createPortableReader(data);
-        return fieldExtractor.extract(reader, fieldName);
+        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        int factoryId = in.readInt();
+        int classId = in.readInt();
+        int version = in.readInt();
+
+        ClassDefinition classDefinition = context.lookupClassDefinition(factoryId, classId, version);
+        if (classDefinition == null) {
+            classDefinition = context.lookupClassDefinition(data);
+        }
+
+        // a field which doesn't exist in this version makes the predicate return false, see NullPortableFieldExtractor
+        PortableFieldAccessor accessor = context.getFieldAccessor(classDefinition, fieldName);
+        if (accessor == null) {
+            return null;
+        }
+        PortableFieldExtractor fieldExtractor = getFieldExtractor(accessor.getFieldDefinition());
+        if (!accessor.moveToField(in)) {
+            return null;
+        }
+        return fieldExtractor.extract(in, fieldName);
     }
 
     private static PortableFieldExtractor getFieldExtractor(PortableContext context, Data data, String fieldName)
@@ -78,22 +99,26 @@ final class PortableExtractor {
         FieldDefinition fieldDefinition = context.getFieldDefinition(classDefinition, fieldName);
 
         if (fieldDefinition != null) {
-            FieldType fieldType = fieldDefinition.getType();
-            int fieldTypeId = fieldType.getId();
-            if (fieldTypeId < 0 || fieldTypeId >= FIELD_EXTRACTORS.length) {
-                throw new ArrayIndexOutOfBoundsException("Invalid fieldType: " + fieldTypeId);
-            }
-
-            PortableFieldExtractor fieldExtractor = FIELD_EXTRACTORS[fieldTypeId];
-            if (fieldExtractor == null) {
-                throw new QueryException("Field extractor is not defined: " + fieldTypeId);
-            }
-            return fieldExtractor;
+            return getFieldExtractor(fieldDefinition);
         } else {
             return NULL_PORTABLE_FIELD_EXTRACTOR;
         }
     }
 
+    private static PortableFieldExtractor getFieldExtractor(FieldDefinition fieldDefinition) {
+        FieldType fieldType = fieldDefinition.getType();
+        int fieldTypeId = fieldType.getId();
+        if (fieldTypeId < 0 || fieldTypeId >= FIELD_EXTRACTORS.length) {
+            throw new ArrayIndexOutOfBoundsException("Invalid fieldType: " + fieldTypeId);
+        }
+
+        PortableFieldExtractor fieldExtractor = FIELD_EXTRACTORS[fieldTypeId];
+        if (fieldExtractor == null) {
+            throw new QueryException("Field extractor is not defined: " + fieldTypeId);
+        }
+        return fieldExtractor;
+    }
+
     public static AttributeType getAttributeType(PortableContext portableContext, Data data, String fieldName) {
         PortableFieldExtractor fieldExtractor;
         try {
@@ -110,8 +135,8 @@ final class PortableExtractor {
 
     private static class PortableIntegerFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readInt(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readInt();
         }
 
         @Override
@@ -122,8 +147,8 @@ final class PortableExtractor {
 
     private static class PortableByteFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readByte(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readByte();
         }
 
         @Override
@@ -134,8 +159,8 @@ final class PortableExtractor {
 
     private static class PortableLongFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readLong(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readLong();
         }
 
         @Override
@@ -146,8 +171,8 @@ final class PortableExtractor {
 
     private static class PortableDoubleFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readDouble(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readDouble();
         }
 
         @Override
@@ -158,8 +183,8 @@ final class PortableExtractor {
 
     private static class PortableFloatFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readFloat(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readFloat();
         }
 
         @Override
@@ -170,8 +195,8 @@ final class PortableExtractor {
 
     private static class PortableShortFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readShort(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readShort();
         }
 
         @Override
@@ -182,8 +207,8 @@ final class PortableExtractor {
 
     private static class PortableUtfFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readUTF(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readUTF();
         }
 
         @Override
@@ -194,8 +219,8 @@ final class PortableExtractor {
 
     private static class PortableCharFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readChar(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readChar();
         }
 
         @Override
@@ -206,8 +231,8 @@ final class PortableExtractor {
 
     private static class PortableBooleanFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
-            return reader.readBoolean(fieldName);
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
+            return in.readBoolean();
         }
 
         @Override
@@ -218,7 +243,7 @@ final class PortableExtractor {
 
     private static class PortableUnsupportedFieldExtractor implements PortableFieldExtractor {
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
             throw new UnsupportedOperationException("Unsupported Portable field in query: " + fieldName);
         }
 
@@ -236,7 +261,7 @@ final class PortableExtractor {
     private static final class NullPortableFieldExtractor implements PortableFieldExtractor {
 
         @Override
-        public Comparable extract(PortableReader reader, String fieldName) throws IOException {
+        public Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException {
             return null;
         }
 
@@ -249,7 +274,12 @@ final class PortableExtractor {
 
     private interface PortableFieldExtractor {
 
-        Comparable extract(PortableReader reader, String fieldName) throws IOException;
+        /**
+         * Reads the value of the field.
+         *
+         * @param in the input positioned at the value of the field
+         */
+        Comparable extract(BufferObjectDataInput in, String fieldName) throws IOException;
 
         AttributeType getAttributeType();
     }
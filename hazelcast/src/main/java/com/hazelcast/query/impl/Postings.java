@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Utility methods for the posting list of a single value of an index: the entries having that value.
+ * <p/>
+ * To keep the overhead low for attributes with many distinct values, the postings object has a representation
+ * depending on the number of entries:
+ * <ul>
+ * <li>a single {@link QueryableEntry}</li>
+ * <li>a {@link QueryableEntry} array of up to {@value #MAX_ARRAY_LENGTH} entries</li>
+ * <li>a {@link HashMap} from key to entry, for more entries</li>
+ * </ul>
+ * The postings are mutated in place where possible, so they should only be accessed under the lock of the index store.
+ */
+final class Postings {
+
+    static final int MAX_ARRAY_LENGTH = 8;
+
+    private Postings() {
+    }
+
+    /**
+     * Adds or replaces the entry in the postings.
+     *
+     * @param postings the postings, or null if there are no postings
+     * @param entry    the entry to add
+     * @return the updated postings
+     */
+    static Object add(Object postings, QueryableEntry entry) {
+        if (postings == null) {
+            return entry;
+        }
+
+        Data key = entry.getKeyData();
+        if (postings instanceof QueryableEntry) {
+            QueryableEntry existing = (QueryableEntry) postings;
+            return key.equals(existing.getKeyData()) ? entry : new QueryableEntry[]{existing, entry};
+        }
+
+        if (postings instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) postings;
+            int index = indexOf(entries, key);
+            if (index >= 0) {
+                entries[index] = entry;
+                return entries;
+            }
+            if (entries.length < MAX_ARRAY_LENGTH) {
+                QueryableEntry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+                newEntries[entries.length] = entry;
+                return newEntries;
+            }
+            Map<Data, QueryableEntry> map = toMap(entries);
+            map.put(key, entry);
+            return map;
+        }
+
+        asMap(postings).put(key, entry);
+        return postings;
+    }
+
+    /**
+     * Removes the entry with the given key from the postings.
+     *
+     * @param postings the postings
+     * @param key      the key of the entry to remove
+     * @return the updated postings, or null if no entry is left
+     */
+    static Object remove(Object postings, Data key) {
+        if (postings instanceof QueryableEntry) {
+            return key.equals(((QueryableEntry) postings).getKeyData()) ? null : postings;
+        }
+
+        if (postings instanceof QueryableEntry[]) {
+            QueryableEntry[] entries = (QueryableEntry[]) postings;
+            int index = indexOf(entries, key);
+            if (index < 0) {
+                return entries;
+            }
+            if (entries.length == 2) {
+                return entries[1 - index];
+            }
+            QueryableEntry[] newEntries = new QueryableEntry[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, newEntries.length - index);
+            return newEntries;
+        }
+
+        Map<Data, QueryableEntry> map = asMap(postings);
+        map.remove(key);
+        if (map.size() > MAX_ARRAY_LENGTH >> 1) {
+            return map;
+        }
+        Collection<QueryableEntry> entries = map.values();
+        return entries.toArray(new QueryableEntry[entries.size()]);
+    }
+
+    static int size(Object postings) {
+        if (postings instanceof QueryableEntry) {
+            return 1;
+        }
+        if (postings instanceof QueryableEntry[]) {
+            return ((QueryableEntry[]) postings).length;
+        }
+        return asMap(postings).size();
+    }
+
+    /**
+     * Adds all entries of the postings to the given collection.
+     */
+    static void addTo(Object postings, Collection<QueryableEntry> target) {
+        if (postings instanceof QueryableEntry) {
+            target.add((QueryableEntry) postings);
+        } else if (postings instanceof QueryableEntry[]) {
+            for (QueryableEntry entry : (QueryableEntry[]) postings) {
+                target.add(entry);
+            }
+        } else {
+            target.addAll(asMap(postings).values());
+        }
+    }
+
+    /**
+     * Creates a copy of the postings as a map from key to entry.
+     *
+     * @param postings the postings, or null if there are no postings
+     * @return the copy of the postings, or null if there are no postings
+     */
+    static ConcurrentMap<Data, QueryableEntry> copyToMap(Object postings) {
+        if (postings == null) {
+            return null;
+        }
+        if (postings instanceof QueryableEntry) {
+            QueryableEntry entry = (QueryableEntry) postings;
+            ConcurrentMap<Data, QueryableEntry> map = new ConcurrentHashMap<Data, QueryableEntry>(1);
+            map.put(entry.getKeyData(), entry);
+            return map;
+        }
+        if (postings instanceof QueryableEntry[]) {
+            return new ConcurrentHashMap<Data, QueryableEntry>(toMap((QueryableEntry[]) postings));
+        }
+        return new ConcurrentHashMap<Data, QueryableEntry>(asMap(postings));
+    }
+
+    private static int indexOf(QueryableEntry[] entries, Data key) {
+        for (int i = 0; i < entries.length; i++) {
+            if (key.equals(entries[i].getKeyData())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<Data, QueryableEntry> toMap(QueryableEntry[] entries) {
+        Map<Data, QueryableEntry> map = new HashMap<Data, QueryableEntry>(entries.length << 1);
+        for (QueryableEntry entry : entries) {
+            map.put(entry.getKeyData(), entry);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Data, QueryableEntry> asMap(Object postings) {
+        return (Map<Data, QueryableEntry>) postings;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.nio.serialization.Data;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A result set of a {@link NumericSortedIndexStore} query.
+ * <p/>
+ * Unlike the result sets of the other index stores, this isn't a view on the index: the postings are mutated in place
+ * under the lock of the index store, so the entries are copied while the lock is held.
+ */
+final class PostingsResultSet extends AbstractSet<QueryableEntry> implements SegmentedLongSortedMap.Visitor<Object> {
+
+    private final List<QueryableEntry> entries = new ArrayList<QueryableEntry>();
+
+    // if there are duplicates, the keys are tracked eagerly; else they are only tracked when contains is called
+    private Set<Data> keys;
+
+    PostingsResultSet(boolean detectDuplicates) {
+        if (detectDuplicates) {
+            keys = new HashSet<Data>();
+        }
+    }
+
+    @Override
+    public void visit(Object postings) {
+        Postings.addTo(postings, this);
+    }
+
+    @Override
+    public boolean add(QueryableEntry entry) {
+        if (keys != null && !keys.add(entry.getKeyData())) {
+            return false;
+        }
+        return entries.add(entry);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (keys == null) {
+            keys = new HashSet<Data>(entries.size() << 1);
+            for (QueryableEntry entry : entries) {
+                keys.add(entry.getKeyData());
+            }
+        }
+        return keys.contains(((QueryableEntry) o).getKeyData());
+    }
+
+    @Override
+    public Iterator<QueryableEntry> iterator() {
+        return Collections.unmodifiableList(entries).iterator();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+}
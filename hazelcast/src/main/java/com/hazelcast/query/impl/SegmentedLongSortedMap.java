@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import static com.hazelcast.util.Preconditions.checkTrue;
+
+/**
+ * A sorted map with primitive long keys.
+ * <p/>
+ * The keys are stored in sorted array segments of a bounded capacity, the segments themselves are kept in a sorted
+ * array as well; so this is a B+-tree with 2 levels. Compared to a {@link java.util.concurrent.ConcurrentSkipListMap}
+ * no node is allocated per mapping and the keys aren't boxed, so the memory overhead per mapping is a long and a
+ * reference. A lookup is a binary search over the segments followed by a binary search within a segment.
+ * <p/>
+ * This map is not thread safe.
+ *
+ * @param <V> the type of the values
+ */
+final class SegmentedLongSortedMap<V> {
+
+    /**
+     * Visits the values of a range of keys.
+     *
+     * @param <V> the type of the values
+     */
+    interface Visitor<V> {
+        void visit(V value);
+    }
+
+    static final int DEFAULT_SEGMENT_CAPACITY = 256;
+
+    private static final int INITIAL_SEGMENT_ARRAY_LENGTH = 8;
+
+    private final int segmentCapacity;
+    private final int minSegmentSize;
+
+    private Segment[] segments = new Segment[INITIAL_SEGMENT_ARRAY_LENGTH];
+    private int segmentCount;
+    private int size;
+
+    SegmentedLongSortedMap() {
+        this(DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    SegmentedLongSortedMap(int segmentCapacity) {
+        checkTrue(segmentCapacity > 1, "segmentCapacity should be larger than 1");
+        this.segmentCapacity = segmentCapacity;
+        this.minSegmentSize = segmentCapacity >> 2;
+    }
+
+    int size() {
+        return size;
+    }
+
+    V get(long key) {
+        int segmentIndex = findSegment(key);
+        if (segmentIndex < 0) {
+            return null;
+        }
+        Segment segment = segments[segmentIndex];
+        int index = segment.indexOf(key);
+        return index < 0 ? null : (V) segment.values[index];
+    }
+
+    V put(long key, V value) {
+        if (segmentCount == 0) {
+            insertSegment(0, new Segment(INITIAL_SEGMENT_ARRAY_LENGTH));
+        }
+        int segmentIndex = Math.max(findSegment(key), 0);
+        Segment segment = segments[segmentIndex];
+        int index = segment.indexOf(key);
+        if (index >= 0) {
+            V oldValue = (V) segment.values[index];
+            segment.values[index] = value;
+            return oldValue;
+        }
+
+        index = -(index + 1);
+        if (segment.size == segmentCapacity) {
+            segment = split(segmentIndex, index);
+            index = segment.indexOf(key);
+            index = -(index + 1);
+        }
+        segment.insert(index, key, value, segmentCapacity);
+        size++;
+        return null;
+    }
+
+    V remove(long key) {
+        int segmentIndex = findSegment(key);
+        if (segmentIndex < 0) {
+            return null;
+        }
+        Segment segment = segments[segmentIndex];
+        int index = segment.indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V oldValue = (V) segment.values[index];
+        segment.remove(index);
+        size--;
+        if (segment.size == 0) {
+            removeSegment(segmentIndex);
+        } else if (segment.size < minSegmentSize) {
+            mergeWithNext(segmentIndex);
+        }
+        return oldValue;
+    }
+
+    void clear() {
+        segments = new Segment[INITIAL_SEGMENT_ARRAY_LENGTH];
+        segmentCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Visits the values of the keys in the given range in ascending key order.
+     *
+     * @param from          the lower bound of the range
+     * @param fromInclusive true if the lower bound is part of the range
+     * @param to            the upper bound of the range
+     * @param toInclusive   true if the upper bound is part of the range
+     * @param visitor       the visitor of the values
+     */
+    void visitRange(long from, boolean fromInclusive, long to, boolean toInclusive, Visitor<? super V> visitor) {
+        int segmentIndex = Math.max(findSegment(from), 0);
+        for (; segmentIndex < segmentCount; segmentIndex++) {
+            Segment segment = segments[segmentIndex];
+            int index = segment.indexOf(from);
+            if (index < 0) {
+                index = -(index + 1);
+            } else if (!fromInclusive) {
+                index++;
+            }
+
+            for (; index < segment.size; index++) {
+                long key = segment.keys[index];
+                if (key > to || (key == to && !toInclusive)) {
+                    return;
+                }
+                visitor.visit((V) segment.values[index]);
+            }
+        }
+    }
+
+    /**
+     * Counts the keys in the given range.
+     * <p/>
+     * Only the bounds of the range are searched in each segment, so the cost is linear in the number of segments the
+     * range spans rather than in the number of keys.
+     *
+     * @param from          the lower bound of the range
+     * @param fromInclusive true if the lower bound is part of the range
+     * @param to            the upper bound of the range
+     * @param toInclusive   true if the upper bound is part of the range
+     * @return the number of keys in the range
+     */
+    int countRange(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        int count = 0;
+        for (int segmentIndex = Math.max(findSegment(from), 0); segmentIndex < segmentCount; segmentIndex++) {
+            Segment segment = segments[segmentIndex];
+            int start = segment.indexOf(from);
+            if (start < 0) {
+                start = -(start + 1);
+            } else if (!fromInclusive) {
+                start++;
+            }
+            int end = segment.indexOf(to);
+            if (end < 0) {
+                end = -(end + 1);
+            } else if (toInclusive) {
+                end++;
+            }
+
+            count += Math.max(end - start, 0);
+            if (end < segment.size) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the segment that would contain the key, or -1 if the key is smaller than any key in
+     * this map.
+     */
+    private int findSegment(long key) {
+        int low = 0;
+        int high = segmentCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long firstKey = segments[mid].keys[0];
+            if (firstKey < key) {
+                low = mid + 1;
+            } else if (firstKey > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Splits the full segment and returns the segment the insertion index ends up in.
+     * <p/>
+     * If the insertion is at the end of the last segment, e.g. for an ascending sequence of keys, a new empty segment
+     * is appended instead so that the full segment stays full.
+     */
+    private Segment split(int segmentIndex, int insertionIndex) {
+        Segment segment = segments[segmentIndex];
+        if (insertionIndex == segment.size && segmentIndex == segmentCount - 1) {
+            Segment next = new Segment(INITIAL_SEGMENT_ARRAY_LENGTH);
+            insertSegment(segmentIndex + 1, next);
+            return next;
+        }
+
+        int half = segment.size >> 1;
+        Segment next = segment.splitAt(half);
+        insertSegment(segmentIndex + 1, next);
+        return insertionIndex <= half ? segment : next;
+    }
+
+    private void mergeWithNext(int segmentIndex) {
+        if (segmentIndex == segmentCount - 1) {
+            return;
+        }
+        Segment segment = segments[segmentIndex];
+        Segment next = segments[segmentIndex + 1];
+        if (segment.size + next.size > segmentCapacity >> 1) {
+            return;
+        }
+        segment.append(next);
+        removeSegment(segmentIndex + 1);
+    }
+
+    private void insertSegment(int segmentIndex, Segment segment) {
+        if (segmentCount == segments.length) {
+            Segment[] newSegments = new Segment[segments.length << 1];
+            System.arraycopy(segments, 0, newSegments, 0, segmentCount);
+            segments = newSegments;
+        }
+        System.arraycopy(segments, segmentIndex, segments, segmentIndex + 1, segmentCount - segmentIndex);
+        segments[segmentIndex] = segment;
+        segmentCount++;
+    }
+
+    private void removeSegment(int segmentIndex) {
+        segmentCount--;
+        System.arraycopy(segments, segmentIndex + 1, segments, segmentIndex, segmentCount - segmentIndex);
+        segments[segmentCount] = null;
+    }
+
+    /**
+     * A sorted array of keys with their values.
+     */
+    private static final class Segment {
+
+        private long[] keys;
+        private Object[] values;
+        private int size;
+
+        Segment(int initialLength) {
+            keys = new long[initialLength];
+            values = new Object[initialLength];
+        }
+
+        int indexOf(long key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midKey = keys[mid];
+                if (midKey < key) {
+                    low = mid + 1;
+                } else if (midKey > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        void insert(int index, long key, Object value, int capacity) {
+            if (size == keys.length) {
+                ensureLength(Math.min(keys.length << 1, capacity));
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        void remove(int index) {
+            size--;
+            System.arraycopy(keys, index + 1, keys, index, size - index);
+            System.arraycopy(values, index + 1, values, index, size - index);
+            values[size] = null;
+        }
+
+        Segment splitAt(int index) {
+            int count = size - index;
+            Segment next = new Segment(Math.max(count, INITIAL_SEGMENT_ARRAY_LENGTH));
+            System.arraycopy(keys, index, next.keys, 0, count);
+            System.arraycopy(values, index, next.values, 0, count);
+            next.size = count;
+            for (int i = index; i < size; i++) {
+                values[i] = null;
+            }
+            size = index;
+            return next;
+        }
+
+        void append(Segment next) {
+            ensureLength(size + next.size);
+            System.arraycopy(next.keys, 0, keys, size, next.size);
+            System.arraycopy(next.values, 0, values, size, next.size);
+            size += next.size;
+        }
+
+        private void ensureLength(int length) {
+            if (length <= keys.length) {
+                return;
+            }
+            long[] newKeys = new long[length];
+            Object[] newValues = new Object[length];
+            System.arraycopy(keys, 0, newKeys, 0, size);
+            System.arraycopy(values, 0, newValues, 0, size);
+            keys = newKeys;
+            values = newValues;
+        }
+    }
+}
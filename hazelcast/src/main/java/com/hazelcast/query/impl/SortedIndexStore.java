@@ -48,11 +48,14 @@ public class SortedIndexStore extends BaseIndexStore {
 
     private void mapAttributeToEntry(Comparable attribute, QueryableEntry entry) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
+        int distinctValueDelta = 0;
         if (records == null) {
             records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
             recordMap.put(attribute, records);
+            distinctValueDelta = 1;
         }
-        records.put(entry.getKeyData(), entry);
+        boolean added = records.put(entry.getKeyData(), entry) == null;
+        updateStatistics(added ? 1 : 0, distinctValueDelta);
     }
 
     @Override
@@ -67,10 +70,13 @@ public class SortedIndexStore extends BaseIndexStore {
     private void removeMappingForAttribute(Object attribute, Data indexKey) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
         if (records != null) {
-            records.remove(indexKey);
+            boolean removed = records.remove(indexKey) != null;
+            int distinctValueDelta = 0;
             if (records.size() == 0) {
                 recordMap.remove(attribute);
+                distinctValueDelta = -1;
             }
+            updateStatistics(removed ? -1 : 0, distinctValueDelta);
         }
     }
 
@@ -80,6 +86,7 @@ public class SortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            resetStatistics();
         } finally {
             releaseWriteLock();
         }
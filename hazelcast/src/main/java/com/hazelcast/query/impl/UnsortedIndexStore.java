@@ -44,11 +44,14 @@ public class UnsortedIndexStore extends BaseIndexStore {
 
     private void mapAttributeToEntry(Comparable attribute, QueryableEntry entry) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
+        int distinctValueDelta = 0;
         if (records == null) {
             records = new ConcurrentHashMap<Data, QueryableEntry>(1, LOAD_FACTOR, 1);
             recordMap.put(attribute, records);
+            distinctValueDelta = 1;
         }
-        records.put(entry.getKeyData(), entry);
+        boolean added = records.put(entry.getKeyData(), entry) == null;
+        updateStatistics(added ? 1 : 0, distinctValueDelta);
     }
 
     @Override
@@ -63,10 +66,13 @@ public class UnsortedIndexStore extends BaseIndexStore {
     private void removeMappingForAttribute(Object attribute, Data indexKey) {
         ConcurrentMap<Data, QueryableEntry> records = recordMap.get(attribute);
         if (records != null) {
-            records.remove(indexKey);
+            boolean removed = records.remove(indexKey) != null;
+            int distinctValueDelta = 0;
             if (records.size() == 0) {
                 recordMap.remove(attribute);
+                distinctValueDelta = -1;
             }
+            updateStatistics(removed ? -1 : 0, distinctValueDelta);
         }
     }
 
@@ -76,6 +82,7 @@ public class UnsortedIndexStore extends BaseIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            resetStatistics();
         } finally {
             releaseWriteLock();
         }
@@ -34,6 +34,17 @@ public abstract class AbstractIndexAwarePredicate extends AbstractPredicate impl
         return getIndex(queryContext) != null;
     }
 
+    /**
+     * Estimates the number of entries {@link #filter(QueryContext)} returns, from the statistics of the index and
+     * without running the index lookup. Assumes all indexed entries match unless overridden.
+     *
+     * @param queryContext the query context providing the index; the predicate must be indexed
+     * @return the estimated number of entries
+     */
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).getEntryCount();
+    }
+
     protected Index getIndex(QueryContext queryContext) {
         return queryContext.getIndex(attributeName);
     }
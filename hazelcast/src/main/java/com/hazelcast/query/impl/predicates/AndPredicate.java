@@ -28,7 +28,7 @@ import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -61,39 +61,49 @@ public final class AndPredicate
         return visitor.visit(this, indexes);
     }
 
+    /**
+     * Runs the index lookup of the indexed predicate with the smallest estimated result only; all other predicates,
+     * indexed or not, are applied to the entries of that result. So the possibly large results of the less
+     * selective indexes are neither built nor intersected.
+     */
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestIndexedResult = null;
-        List<Set<QueryableEntry>> otherIndexedResults = new LinkedList<Set<QueryableEntry>>();
-        List<Predicate> lsNoIndexPredicates = null;
+        IndexAwarePredicate mostSelectivePredicate = null;
+        long smallestEstimate = Long.MAX_VALUE;
         for (Predicate predicate : predicates) {
-            boolean indexed = false;
             if (predicate instanceof IndexAwarePredicate) {
                 IndexAwarePredicate iap = (IndexAwarePredicate) predicate;
                 if (iap.isIndexed(queryContext)) {
-                    indexed = true;
-                    Set<QueryableEntry> s = iap.filter(queryContext);
-                    if (smallestIndexedResult == null) {
-                        smallestIndexedResult = s;
-                    } else if (s.size() < smallestIndexedResult.size()) {
-                        otherIndexedResults.add(smallestIndexedResult);
-                        smallestIndexedResult = s;
-                    } else {
-                        otherIndexedResults.add(s);
+                    long estimate = estimateResultSize(iap, queryContext);
+                    if (mostSelectivePredicate == null || estimate < smallestEstimate) {
+                        mostSelectivePredicate = iap;
+                        smallestEstimate = estimate;
                     }
                 }
             }
-            if (!indexed) {
-                if (lsNoIndexPredicates == null) {
-                    lsNoIndexPredicates = new LinkedList<Predicate>();
+        }
+        if (mostSelectivePredicate == null) {
+            return null;
+        }
+
+        List<Predicate> otherPredicates = null;
+        for (Predicate predicate : predicates) {
+            if (predicate != mostSelectivePredicate) {
+                if (otherPredicates == null) {
+                    otherPredicates = new ArrayList<Predicate>(predicates.length - 1);
                 }
-                lsNoIndexPredicates.add(predicate);
+                otherPredicates.add(predicate);
             }
         }
-        if (smallestIndexedResult == null) {
-            return null;
+        return new AndResultSet(mostSelectivePredicate.filter(queryContext), null, otherPredicates);
+    }
+
+    private static long estimateResultSize(IndexAwarePredicate predicate, QueryContext queryContext) {
+        if (predicate instanceof AbstractIndexAwarePredicate) {
+            return ((AbstractIndexAwarePredicate) predicate).estimateResultSize(queryContext);
         }
-        return new AndResultSet(smallestIndexedResult, otherIndexedResults, lsNoIndexPredicates);
+        // the cost of composite predicates is not estimated; they are only chosen when nothing else is indexed
+        return Long.MAX_VALUE;
     }
 
     @Override
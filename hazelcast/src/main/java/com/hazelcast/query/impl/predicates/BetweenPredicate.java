@@ -65,6 +65,11 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate {
         return index.getSubRecordsBetween(from, to);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).estimateSubRecordsBetweenCount(from, to);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -53,6 +53,11 @@ public class EqualPredicate extends AbstractIndexAwarePredicate implements Negat
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).estimateRecordCount(value);
+    }
+
     protected boolean applyForSingleAttributeValue(Map.Entry mapEntry, Comparable attributeValue) {
         if (attributeValue == null) {
             return value == null || value == IndexImpl.NULL;
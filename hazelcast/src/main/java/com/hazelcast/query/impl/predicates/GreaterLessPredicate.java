@@ -65,13 +65,19 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
         Index index = getIndex(queryContext);
-        final ComparisonType comparisonType;
+        return index.getSubRecords(getComparisonType(), value);
+    }
+
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        return getIndex(queryContext).estimateSubRecordCount(getComparisonType(), value);
+    }
+
+    private ComparisonType getComparisonType() {
         if (less) {
-            comparisonType = equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
-        } else {
-            comparisonType = equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
+            return equal ? ComparisonType.LESSER_EQUAL : ComparisonType.LESSER;
         }
-        return index.getSubRecords(comparisonType, value);
+        return equal ? ComparisonType.GREATER_EQUAL : ComparisonType.GREATER;
     }
 
     @Override
@@ -73,6 +73,16 @@ public class InPredicate extends AbstractIndexAwarePredicate {
         }
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = getIndex(queryContext);
+        long estimate = 0;
+        for (Comparable value : values) {
+            estimate += index.estimateRecordCount(value);
+        }
+        return estimate;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -41,6 +41,9 @@ import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
 import com.hazelcast.replicatedmap.merge.MergePolicyProvider;
 import com.hazelcast.spi.EventPublishingService;
 import com.hazelcast.spi.ManagedService;
+import com.hazelcast.spi.MemberAttributeServiceEvent;
+import com.hazelcast.spi.MembershipAwareService;
+import com.hazelcast.spi.MembershipServiceEvent;
 import com.hazelcast.spi.MigrationAwareService;
 import com.hazelcast.spi.NodeEngine;
 import com.hazelcast.spi.Operation;
@@ -72,7 +75,7 @@ import static com.hazelcast.cluster.memberselector.MemberSelectors.DATA_MEMBER_S
  * manages the backing {@link PartitionContainer}s that actually hold the data
  */
 public class ReplicatedMapService implements ManagedService, RemoteService, EventPublishingService<Object, Object>,
-        MigrationAwareService, SplitBrainHandlerService, StatisticsAwareService {
+        MigrationAwareService, SplitBrainHandlerService, StatisticsAwareService, MembershipAwareService {
 
     public static final String SERVICE_NAME = "hz:impl:replicatedMapService";
     public static final int INVOCATION_TRY_COUNT = 3;
@@ -88,6 +91,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
     private final ReplicatedMapEventPublishingService eventPublishingService;
     private final MergePolicyProvider mergePolicyProvider;
     private final ReplicatedMapSplitBrainHandlerService replicatedMapSplitBrainHandlerService;
+    private final ReplicationBatcher replicationBatcher;
     private ConcurrentHashMap<String, LocalReplicatedMapStatsImpl> statsMap =
             new ConcurrentHashMap<String, LocalReplicatedMapStatsImpl>();
     private ConstructorFunction<String, LocalReplicatedMapStatsImpl> constructorFunction =
@@ -109,6 +113,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         this.mergePolicyProvider = new MergePolicyProvider(nodeEngine);
         this.replicatedMapSplitBrainHandlerService = new ReplicatedMapSplitBrainHandlerService(this,
                 mergePolicyProvider);
+        this.replicationBatcher = new ReplicationBatcher(nodeEngine);
     }
 
     @Override
@@ -158,6 +163,7 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
             return;
         }
 
+        replicationBatcher.clear();
         for (int i = 0; i < nodeEngine.getPartitionService().getPartitionCount(); i++) {
             ConcurrentMap<String, ReplicatedRecordStore> stores = partitionContainers[i].getStores();
             for (ReplicatedRecordStore store : stores.values()) {
@@ -172,11 +178,25 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
             return;
         }
 
+        replicationBatcher.clear();
         for (PartitionContainer container : partitionContainers) {
             container.shutdown();
         }
     }
 
+    @Override
+    public void memberAdded(MembershipServiceEvent event) {
+    }
+
+    @Override
+    public void memberRemoved(MembershipServiceEvent event) {
+        replicationBatcher.removeTarget(event.getMember().getAddress());
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeServiceEvent event) {
+    }
+
     public LocalReplicatedMapStatsImpl getLocalMapStatsImpl(String name) {
         return ConcurrencyUtil.getOrPutIfAbsent(statsMap, name, constructorFunction);
     }
@@ -324,6 +344,10 @@ public class ReplicatedMapService implements ManagedService, RemoteService, Even
         return eventPublishingService;
     }
 
+    public ReplicationBatcher getReplicationBatcher() {
+        return replicationBatcher;
+    }
+
     @Override
     public Operation prepareReplicationOperation(PartitionReplicationEvent event) {
         if (config.isLiteMember()) {
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl;
+
+import com.hazelcast.config.ReplicatedMapConfig;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.operation.ReplicateUpdateBatchOperation;
+import com.hazelcast.replicatedmap.impl.operation.ReplicatedMapUpdate;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.ConcurrencyUtil;
+import com.hazelcast.util.ConstructorFunction;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.INVOCATION_TRY_COUNT;
+import static com.hazelcast.replicatedmap.impl.ReplicatedMapService.SERVICE_NAME;
+
+/**
+ * Collects the updates of the replicated maps with batched replication per target node and partition, and replicates
+ * them in a {@link ReplicateUpdateBatchOperation}.
+ * <p/>
+ * A batch is sent when it reaches the {@link ReplicatedMapConfig#getReplicationBatchSize() batch size} of the map of
+ * the last update, or when the {@link ReplicatedMapConfig#getReplicationDelayMillis() replication delay} of the map of
+ * its first update has passed. So the replication lag of an update is bounded by the replication delay.
+ * <p/>
+ * An update of a key replaces the pending update of the same key, it is moved to the end of the batch. Since the updates
+ * of a batch are applied in order of their versions on the target node, the target ends up with the same version as if
+ * all updates had been replicated. The batches of a partition are sent in order, while holding the lock of the batch.
+ */
+public class ReplicationBatcher {
+
+    private final NodeEngine nodeEngine;
+    private final ConcurrentMap<BatchKey, Batch> batches = new ConcurrentHashMap<BatchKey, Batch>();
+    private final ConstructorFunction<BatchKey, Batch> batchConstructor = new ConstructorFunction<BatchKey, Batch>() {
+        @Override
+        public Batch createNew(BatchKey key) {
+            return new Batch(key.target, key.partitionId);
+        }
+    };
+
+    public ReplicationBatcher(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+    }
+
+    /**
+     * Adds an update to the batch of a target node and partition.
+     *
+     * @param target      the target node.
+     * @param partitionId the partition of the update.
+     * @param update      the update.
+     * @param config      the config of the replicated map of the update.
+     */
+    public void replicate(Address target, int partitionId, ReplicatedMapUpdate update, ReplicatedMapConfig config) {
+        Batch batch = ConcurrencyUtil.getOrPutIfAbsent(batches, new BatchKey(target, partitionId), batchConstructor);
+        batch.add(update, config);
+    }
+
+    /**
+     * Sends the pending updates of a partition to a target node immediately.
+     *
+     * @param target      the target node.
+     * @param partitionId the partition.
+     */
+    public void flush(Address target, int partitionId) {
+        Batch batch = batches.get(new BatchKey(target, partitionId));
+        if (batch != null) {
+            batch.flush();
+        }
+    }
+
+    /**
+     * Returns the number of updates waiting to be replicated, over all target nodes.
+     */
+    public int getPendingUpdateCount() {
+        int count = 0;
+        for (Batch batch : batches.values()) {
+            count += batch.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the time in ms the oldest pending update is waiting to be replicated, or 0 if there are no pending updates.
+     */
+    public long getReplicationLagMillis() {
+        long now = Clock.currentTimeMillis();
+        long lag = 0;
+        for (Batch batch : batches.values()) {
+            long firstUpdateTime = batch.firstUpdateTime();
+            if (firstUpdateTime > 0) {
+                lag = Math.max(lag, now - firstUpdateTime);
+            }
+        }
+        return lag;
+    }
+
+    /**
+     * Drops the pending updates for a target node, e.g. because it left the cluster.
+     *
+     * @param target the target node.
+     */
+    public void removeTarget(Address target) {
+        Iterator<Batch> iterator = batches.values().iterator();
+        while (iterator.hasNext()) {
+            Batch batch = iterator.next();
+            if (batch.target.equals(target)) {
+                iterator.remove();
+                batch.clear();
+            }
+        }
+    }
+
+    void clear() {
+        batches.clear();
+    }
+
+    /**
+     * The pending updates of a partition for a target node.
+     */
+    private final class Batch implements Runnable {
+
+        private final Address target;
+        private final int partitionId;
+        private final LinkedHashMap<UpdateKey, ReplicatedMapUpdate> updates
+                = new LinkedHashMap<UpdateKey, ReplicatedMapUpdate>();
+        private long firstUpdateTime;
+        private boolean flushScheduled;
+
+        Batch(Address target, int partitionId) {
+            this.target = target;
+            this.partitionId = partitionId;
+        }
+
+        synchronized void add(ReplicatedMapUpdate update, ReplicatedMapConfig config) {
+            UpdateKey key = new UpdateKey(update.getName(), update.getDataKey());
+            updates.remove(key);
+            updates.put(key, update);
+            if (updates.size() == 1) {
+                firstUpdateTime = Clock.currentTimeMillis();
+            }
+
+            if (updates.size() >= config.getReplicationBatchSize()) {
+                flush();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                nodeEngine.getExecutionService().schedule(this, config.getReplicationDelayMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // flushes the batch when the replication delay has passed
+        @Override
+        public synchronized void run() {
+            flushScheduled = false;
+            flush();
+        }
+
+        synchronized void flush() {
+            if (updates.isEmpty()) {
+                return;
+            }
+            ReplicateUpdateBatchOperation operation
+                    = new ReplicateUpdateBatchOperation(new ArrayList<ReplicatedMapUpdate>(updates.values()));
+            updates.clear();
+            operation.setPartitionId(partitionId);
+            operation.setValidateTarget(false);
+            nodeEngine.getOperationService()
+                    .createInvocationBuilder(SERVICE_NAME, operation, target)
+                    .setTryCount(INVOCATION_TRY_COUNT)
+                    .invoke();
+        }
+
+        synchronized int size() {
+            return updates.size();
+        }
+
+        synchronized void clear() {
+            updates.clear();
+        }
+
+        synchronized long firstUpdateTime() {
+            return updates.isEmpty() ? 0 : firstUpdateTime;
+        }
+    }
+
+    /**
+     * Identifies the key of an update in a batch.
+     */
+    private static final class UpdateKey {
+
+        private final String name;
+        private final Data dataKey;
+
+        UpdateKey(String name, Data dataKey) {
+            this.name = name;
+            this.dataKey = dataKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof UpdateKey)) {
+                return false;
+            }
+            UpdateKey that = (UpdateKey) o;
+            return name.equals(that.name) && dataKey.equals(that.dataKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + dataKey.hashCode();
+        }
+    }
+
+    /**
+     * Identifies the batch of a target node and partition.
+     */
+    private static final class BatchKey {
+
+        private final Address target;
+        private final int partitionId;
+
+        BatchKey(Address target, int partitionId) {
+            this.target = target;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return partitionId == that.partitionId && target.equals(that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * target.hashCode() + partitionId;
+        }
+    }
+}
@@ -17,9 +17,11 @@
 package com.hazelcast.replicatedmap.impl.operation;
 
 import com.hazelcast.cluster.memberselector.MemberSelectors;
+import com.hazelcast.config.ReplicatedMapConfig;
 import com.hazelcast.core.Member;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
 import com.hazelcast.spi.AbstractOperation;
 import com.hazelcast.spi.OperationService;
 import com.hazelcast.spi.impl.operationservice.impl.responses.NormalResponse;
@@ -41,6 +43,16 @@ public abstract class AbstractReplicatedMapOperation extends AbstractOperation {
     protected void sendReplicationOperation(final boolean isRemove) {
         final OperationService operationService = getNodeEngine().getOperationService();
         Collection<Address> members = getMemberAddresses();
+        ReplicatedMapConfig config = getNodeEngine().getConfig().getReplicatedMapConfig(name);
+        if (config.getReplicationBatchSize() > 0) {
+            ReplicatedMapService service = getService();
+            ReplicatedMapUpdate update = new ReplicatedMapUpdate(name, key, value, ttl, response, isRemove,
+                    getCallerAddress());
+            for (Address address : members) {
+                service.getReplicationBatcher().replicate(address, getPartitionId(), update, config);
+            }
+            return;
+        }
         for (Address address : members) {
             invoke(isRemove, operationService, address, name, key, value, ttl, response);
         }
@@ -73,6 +85,10 @@ public abstract class AbstractReplicatedMapOperation extends AbstractOperation {
     }
 
     protected void sendUpdateCallerOperation(boolean isRemove) {
+        // the batched updates of the caller have lower versions, so they have to reach it before this update
+        ReplicatedMapService service = getService();
+        service.getReplicationBatcher().flush(getCallerAddress(), getPartitionId());
+
         OperationService operationService = getNodeEngine().getOperationService();
         ReplicateUpdateToCallerOperation updateCallerOperation = new ReplicateUpdateToCallerOperation(name, getCallId(),
                 key, value, response, ttl, isRemove);
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.spi.PartitionAwareOperation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replicates a batch of updates happened on a partition owner to another node. The updates are applied in the order
+ * they happened on the partition owner.
+ */
+public class ReplicateUpdateBatchOperation extends AbstractOperation implements PartitionAwareOperation {
+
+    private List<ReplicatedMapUpdate> updates;
+
+    public ReplicateUpdateBatchOperation() {
+    }
+
+    public ReplicateUpdateBatchOperation(List<ReplicatedMapUpdate> updates) {
+        this.updates = updates;
+    }
+
+    @Override
+    public void run() throws Exception {
+        ReplicatedMapService service = getService();
+        for (ReplicatedMapUpdate update : updates) {
+            ReplicatedRecordStore store = service.getReplicatedRecordStore(update.getName(), true, getPartitionId());
+            if (update.apply(store)) {
+                update.publishEvent(service);
+            } else if (getLogger().isFinestEnabled()) {
+                getLogger().finest("Stale update received for replicated map -> " + update.getName() + ", partitionId -> "
+                        + getPartitionId() + " , current version -> " + store.getVersion() + ", rejecting update!");
+            }
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(updates.size());
+        for (ReplicatedMapUpdate update : updates) {
+            update.writeData(out);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        updates = new ArrayList<ReplicatedMapUpdate>(size);
+        for (int i = 0; i < size; i++) {
+            ReplicatedMapUpdate update = new ReplicatedMapUpdate();
+            update.readData(in);
+            updates.add(update);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap.impl.operation;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapEventPublishingService;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.record.ReplicatedRecordStore;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An update of a replicated map on the partition owner, replicated to the other nodes in a
+ * {@link ReplicateUpdateBatchOperation}.
+ */
+public class ReplicatedMapUpdate implements DataSerializable {
+
+    private String name;
+    private Data dataKey;
+    private Data dataValue;
+    private long ttl;
+    private VersionResponsePair response;
+    private boolean isRemove;
+    private Address origin;
+
+    public ReplicatedMapUpdate() {
+    }
+
+    public ReplicatedMapUpdate(String name, Data dataKey, Data dataValue, long ttl,
+                               VersionResponsePair response, boolean isRemove, Address origin) {
+        this.name = name;
+        this.dataKey = dataKey;
+        this.dataValue = dataValue;
+        this.ttl = ttl;
+        this.response = response;
+        this.isRemove = isRemove;
+        this.origin = origin;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Data getDataKey() {
+        return dataKey;
+    }
+
+    /**
+     * Applies this update to the record store, unless the record store already has the version of the update.
+     *
+     * @param store the record store of the partition of this update.
+     * @return true if the update was applied, false if it was stale.
+     */
+    boolean apply(ReplicatedRecordStore store) {
+        long updateVersion = response.getVersion();
+        if (store.getVersion() >= updateVersion) {
+            return false;
+        }
+        Object key = store.marshall(dataKey);
+        if (isRemove) {
+            store.remove(key);
+        } else {
+            store.put(key, store.marshall(dataValue), ttl, TimeUnit.MILLISECONDS, false);
+        }
+        store.setVersion(updateVersion);
+        return true;
+    }
+
+    void publishEvent(ReplicatedMapService service) {
+        ReplicatedMapEventPublishingService eventPublishingService = service.getEventPublishingService();
+        Data dataOldValue = service.getNodeEngine().toData(response.getResponse());
+        eventPublishingService.fireEntryListenerEvent(dataKey, dataOldValue, isRemove ? null : dataValue, name, origin);
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeData(dataKey);
+        out.writeData(dataValue);
+        out.writeLong(ttl);
+        response.writeData(out);
+        out.writeBoolean(isRemove);
+        out.writeObject(origin);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        name = in.readUTF();
+        dataKey = in.readData();
+        dataValue = in.readData();
+        ttl = in.readLong();
+        response = new VersionResponsePair();
+        response.readData(in);
+        isRemove = in.readBoolean();
+        origin = in.readObject();
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.util.EmptyStatement;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.hazelcast.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.nio.IOUtil.closeResource;
+import static com.hazelcast.nio.IOUtil.delete;
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * Stores the items of a ringbuffer in memory-mapped segment files, so the items outlive the ring of the
+ * {@link RingbufferContainer} and a restart of the member.
+ * <p/>
+ * Each segment file holds a contiguous range of sequences and is named after the sequence of its first item. An item
+ * is appended to the last segment as a record of its length, its expiration time and its serialized bytes; a new
+ * segment is started when the last one has no room left. Only the offsets of the records are kept on heap. When the
+ * store is opened, the segment files in its directory are scanned to recover the items.
+ * <p/>
+ * The store is truncated a whole segment at a time: the oldest segment is deleted when all of its items are expired,
+ * or when the store without it still holds the capacity. So the store can hold up to a segment more items than its
+ * capacity, and an expired item remains readable until the rest of its segment expires.
+ * <p/>
+ * The records are written to the page cache, so they survive a restart of the process, but not necessarily a crash
+ * of the machine. Like the container, this class isn't thread-safe; it is only accessed by the partition thread.
+ */
+final class MappedRingbufferStore {
+
+    static final int MIN_SEGMENT_SIZE = 64 * 1024;
+    static final int MAX_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    private static final int ESTIMATED_RECORD_SIZE = 128;
+    private static final int SEGMENTS_PER_CAPACITY = 4;
+    private static final String SEGMENT_FILE_SUFFIX = ".segment";
+    private static final int RECORD_HEADER_SIZE = INT_SIZE_IN_BYTES + LONG_SIZE_IN_BYTES;
+    private static final int INITIAL_OFFSETS_LENGTH = 1024;
+
+    private final File directory;
+    private final long capacity;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<Segment>();
+    private final List<File> undeletedFiles = new ArrayList<File>();
+
+    MappedRingbufferStore(File directory, long capacity) {
+        this(directory, capacity, defaultSegmentSize(capacity));
+    }
+
+    MappedRingbufferStore(File directory, long capacity, int segmentSize) {
+        this.directory = directory;
+        this.capacity = checkPositive(capacity, "capacity can't be smaller than 1");
+        this.segmentSize = checkPositive(segmentSize, "segmentSize can't be smaller than 1");
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new HazelcastException("Failed to create ringbuffer store directory " + directory);
+        }
+        recover();
+    }
+
+    boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Returns the sequence of the oldest item in the store. Only valid if the store isn't empty.
+     */
+    long headSequence() {
+        return segments.get(0).baseSequence;
+    }
+
+    /**
+     * Returns the sequence of the newest item in the store. Only valid if the store isn't empty.
+     */
+    long tailSequence() {
+        return segments.get(segments.size() - 1).tailSequence();
+    }
+
+    long size() {
+        return isEmpty() ? 0 : tailSequence() - headSequence() + 1;
+    }
+
+    /**
+     * Appends an item to the store.
+     * <p/>
+     * If the sequence doesn't directly follow the tail sequence, the store is cleared first; so the store always holds a
+     * contiguous range of sequences. The oldest segments are deleted if the store exceeds its capacity.
+     *
+     * @param sequence     the sequence of the item.
+     * @param item         the serialized item.
+     * @param expirationMs the expiration time of the item, or 0 if it doesn't expire.
+     */
+    void append(long sequence, Data item, long expirationMs) {
+        if (!isEmpty() && sequence != tailSequence() + 1) {
+            clear();
+        }
+
+        byte[] bytes = item.toByteArray();
+        int recordSize = RECORD_HEADER_SIZE + bytes.length;
+        Segment segment = isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || !segment.hasRoom(recordSize)) {
+            segment = createSegment(sequence, Math.max(segmentSize, recordSize));
+        }
+        segment.append(bytes, expirationMs);
+
+        truncateToCapacity();
+    }
+
+    Data read(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return new HeapData(segment.read((int) (sequence - segment.baseSequence)));
+    }
+
+    long expirationMs(long sequence) {
+        Segment segment = segmentOf(sequence);
+        return segment.expirationMs((int) (sequence - segment.baseSequence));
+    }
+
+    /**
+     * Deletes the oldest segments as long as all of their items are expired.
+     *
+     * @param now the current time in ms.
+     */
+    void truncateExpired(long now) {
+        while (!isEmpty()) {
+            Segment oldest = segments.get(0);
+            if (oldest.lastExpirationMs == 0 || oldest.lastExpirationMs > now) {
+                return;
+            }
+            deleteOldestSegment();
+        }
+    }
+
+    /**
+     * Deletes all segments.
+     */
+    void clear() {
+        while (!isEmpty()) {
+            deleteOldestSegment();
+        }
+    }
+
+    /**
+     * Releases the segments, but keeps the segment files so the store can be recovered.
+     */
+    void close() {
+        for (Segment segment : segments) {
+            unmap(segment.buffer);
+        }
+        segments.clear();
+    }
+
+    /**
+     * Deletes all segments and the directory of the store.
+     */
+    void destroy() {
+        close();
+        undeletedFiles.clear();
+        delete(directory);
+    }
+
+    /**
+     * Returns the segment size for a store of the given capacity: a quarter of the capacity, assuming records of
+     * {@value #ESTIMATED_RECORD_SIZE} bytes, bounded by {@link #MIN_SEGMENT_SIZE} and {@link #MAX_SEGMENT_SIZE}. Since
+     * every partition has a store for every ringbuffer, the segments are kept small; a larger capacity only adds
+     * segments.
+     */
+    static int defaultSegmentSize(long capacity) {
+        long size = Math.min(capacity, MAX_SEGMENT_SIZE) * ESTIMATED_RECORD_SIZE / SEGMENTS_PER_CAPACITY;
+        return (int) Math.min(MAX_SEGMENT_SIZE, Math.max(MIN_SEGMENT_SIZE, size));
+    }
+
+    private void truncateToCapacity() {
+        while (segments.size() > 1 && size() - segments.get(0).count >= capacity) {
+            deleteOldestSegment();
+        }
+    }
+
+    private Segment segmentOf(long sequence) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Segment segment = segments.get(mid);
+            if (sequence < segment.baseSequence) {
+                high = mid - 1;
+            } else if (sequence > segment.tailSequence()) {
+                low = mid + 1;
+            } else {
+                return segment;
+            }
+        }
+        throw new IllegalArgumentException("sequence:" + sequence + " is not in the store");
+    }
+
+    private Segment createSegment(long baseSequence, int size) {
+        File file = new File(directory, String.format("%020d", baseSequence) + SEGMENT_FILE_SUFFIX);
+        Segment segment = new Segment(baseSequence, file, map(file, size));
+        segments.add(segment);
+        return segment;
+    }
+
+    /**
+     * Deletes the oldest segment. Its file is unmapped first, since a mapped file can't be deleted on some platforms. A
+     * file that still can't be deleted is retried with the next deleted segment instead of failing the append.
+     */
+    private void deleteOldestSegment() {
+        Segment segment = segments.remove(0);
+        unmap(segment.buffer);
+        undeletedFiles.add(segment.file);
+        Iterator<File> iterator = undeletedFiles.iterator();
+        while (iterator.hasNext()) {
+            File file = iterator.next();
+            if (file.delete() || !file.exists()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void recover() {
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SEGMENT_FILE_SUFFIX);
+            }
+        });
+        if (files == null) {
+            return;
+        }
+        // the names are zero padded, so they sort in the order of the sequences
+        Arrays.sort(files);
+
+        for (File file : files) {
+            String name = file.getName();
+            long baseSequence = Long.parseLong(name.substring(0, name.length() - SEGMENT_FILE_SUFFIX.length()));
+            Segment segment = new Segment(baseSequence, file, map(file, (int) file.length()));
+            segment.recover();
+
+            if (!isEmpty() && baseSequence != tailSequence() + 1) {
+                // there is a gap in the sequences, only the segments after the gap are kept
+                clear();
+            }
+            if (segment.count == 0) {
+                unmap(segment.buffer);
+                delete(file);
+            } else {
+                segments.add(segment);
+            }
+        }
+        truncateToCapacity();
+    }
+
+    private static MappedByteBuffer map(File file, int size) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            // the mapping remains valid after the file is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            throw new HazelcastException("Failed to map ringbuffer segment " + file, e);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    /**
+     * Releases the mapping of the buffer right away instead of when the buffer is garbage collected. The buffer must
+     * not be accessed afterwards. If the mapping can't be released explicitly, it is left to the garbage collector.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Method invokeCleaner = UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(UNSAFE, buffer);
+        } catch (NoSuchMethodException e) {
+            // before Java 9 the cleaner of the buffer is invoked directly
+            clean(buffer);
+        } catch (Exception e) {
+            EmptyStatement.ignore(e);
+        }
+    }
+
+    private static void clean(MappedByteBuffer buffer) {
+        try {
+            Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+            cleanerMethod.setAccessible(true);
+            Object cleaner = cleanerMethod.invoke(buffer);
+            if (cleaner != null) {
+                cleaner.getClass().getMethod("clean").invoke(cleaner);
+            }
+        } catch (Exception e) {
+            EmptyStatement.ignore(e);
+        }
+    }
+
+    /**
+     * A mapped segment file.
+     * <p/>
+     * A record starts with the length of the item; it is written after the rest of the record, so a partially written
+     * record is recognized as the end of the segment. The unused part of the file is zero filled, so a length of 0 marks
+     * the end of the segment as well.
+     */
+    private static final class Segment {
+
+        private final long baseSequence;
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private int[] offsets = new int[INITIAL_OFFSETS_LENGTH];
+        private int count;
+        private int writeOffset;
+        private long lastExpirationMs;
+
+        Segment(long baseSequence, File file, MappedByteBuffer buffer) {
+            this.baseSequence = baseSequence;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        long tailSequence() {
+            return baseSequence + count - 1;
+        }
+
+        boolean hasRoom(int recordSize) {
+            return writeOffset + recordSize <= buffer.capacity();
+        }
+
+        void append(byte[] bytes, long expirationMs) {
+            buffer.putLong(writeOffset + INT_SIZE_IN_BYTES, expirationMs);
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(writeOffset + RECORD_HEADER_SIZE);
+            slice.put(bytes);
+            // a recovered segment can contain the remains of a partially written record after its end
+            int nextOffset = writeOffset + RECORD_HEADER_SIZE + bytes.length;
+            if (nextOffset + INT_SIZE_IN_BYTES <= buffer.capacity()) {
+                buffer.putInt(nextOffset, 0);
+            }
+            buffer.putInt(writeOffset, bytes.length);
+            addRecord(RECORD_HEADER_SIZE + bytes.length, expirationMs);
+        }
+
+        byte[] read(int index) {
+            int offset = offsets[index];
+            byte[] bytes = new byte[buffer.getInt(offset)];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset + RECORD_HEADER_SIZE);
+            slice.get(bytes);
+            return bytes;
+        }
+
+        long expirationMs(int index) {
+            return buffer.getLong(offsets[index] + INT_SIZE_IN_BYTES);
+        }
+
+        void recover() {
+            while (writeOffset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(writeOffset);
+                if (length <= 0 || !hasRoom(RECORD_HEADER_SIZE + length)) {
+                    return;
+                }
+                addRecord(RECORD_HEADER_SIZE + length, buffer.getLong(writeOffset + INT_SIZE_IN_BYTES));
+            }
+        }
+
+        private void addRecord(int recordSize, long expirationMs) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count << 1);
+            }
+            offsets[count++] = writeOffset;
+            writeOffset += recordSize;
+            lastExpirationMs = expirationMs;
+        }
+    }
+}
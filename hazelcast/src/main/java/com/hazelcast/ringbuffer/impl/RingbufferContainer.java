@@ -49,6 +49,10 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * each other.
  * The reason why 2 array are created instead of just wrapping the item in a new object containing the expiration is that
  * we don't want to generate more waste than needed.
+ *
+ * If a store directory is configured, the items are also appended to a {@link MappedRingbufferStore}. The ring then is a
+ * window over the last 'capacity' items of the store, the headSequence is the head of the store and the items older than
+ * the window are read from the store. Only the window is replicated.
  */
 public class RingbufferContainer implements DataSerializable {
 
@@ -66,6 +70,8 @@ public class RingbufferContainer implements DataSerializable {
     long tailSequence = -1;
     long headSequence = tailSequence + 1;
     int capacity;
+    // the optional store of the items; if set, the ring only contains the last 'capacity' items
+    MappedRingbufferStore store;
 
     // a cached version of the wait notify key needed to wait for a change if the ringbuffer is empty
     private final RingbufferWaitNotifyKey emptyRingWaitNotifyKey;
@@ -94,6 +100,26 @@ public class RingbufferContainer implements DataSerializable {
         }
     }
 
+    RingbufferContainer(String name, RingbufferConfig config, SerializationService serializationService,
+                        MappedRingbufferStore store) {
+        this(name, config, serializationService);
+        this.store = store;
+        if (store.isEmpty()) {
+            return;
+        }
+
+        tailSequence = store.tailSequence();
+        headSequence = store.headSequence();
+        for (long seq = windowHeadSequence(); seq <= tailSequence; seq++) {
+            int index = toIndex(seq);
+            Data item = store.read(seq);
+            ringItems[index] = inMemoryFormat == OBJECT ? serializationService.toObject(item) : item;
+            if (isTTLEnabled()) {
+                ringExpirationMs[index] = store.expirationMs(seq);
+            }
+        }
+    }
+
     public void init(NodeEngine nodeEngine) {
         this.config = nodeEngine.getConfig().getRingbufferConfig(name);
         this.serializationService = nodeEngine.getSerializationService();
@@ -107,6 +133,36 @@ public class RingbufferContainer implements DataSerializable {
         return config;
     }
 
+    MappedRingbufferStore getStore() {
+        return store;
+    }
+
+    /**
+     * Attaches a store to a replicated ringbuffer.
+     *
+     * If the store holds the items directly preceding the replicated ones, e.g. because this member was a backup of the
+     * ringbuffer, the replicated items are appended to it and the older items in the store remain readable. Otherwise the
+     * store is cleared first.
+     *
+     * @param store the store.
+     */
+    void attachStore(MappedRingbufferStore store) {
+        this.store = store;
+        if (!store.isEmpty() && (store.headSequence() > headSequence || store.tailSequence() < headSequence - 1
+                || store.tailSequence() > tailSequence)) {
+            store.clear();
+        }
+
+        long seq = store.isEmpty() ? headSequence : store.tailSequence() + 1;
+        for (; seq <= tailSequence; seq++) {
+            int index = toIndex(seq);
+            store.append(seq, serializationService.toData(ringItems[index]), isTTLEnabled() ? ringExpirationMs[index] : 0);
+        }
+        if (!store.isEmpty()) {
+            headSequence = store.headSequence();
+        }
+    }
+
     public long tailSequence() {
         return tailSequence;
     }
@@ -139,11 +195,16 @@ public class RingbufferContainer implements DataSerializable {
     }
 
     public long remainingCapacity() {
+        long totalCapacity = store == null ? capacity : storeCapacity();
         if (isTTLEnabled()) {
-            return capacity - size();
+            return totalCapacity - size();
         }
 
-        return capacity;
+        return totalCapacity;
+    }
+
+    private long storeCapacity() {
+        return Math.max(config.getStoreCapacity(), capacity);
     }
 
     private boolean isTTLEnabled() {
@@ -154,6 +215,20 @@ public class RingbufferContainer implements DataSerializable {
         return (int) (sequence % ringItems.length);
     }
 
+    /**
+     * Returns the sequence of the oldest item in the ring.
+     */
+    private long windowHeadSequence() {
+        return Math.max(headSequence, tailSequence - capacity + 1);
+    }
+
+    private Object readItem(long sequence) {
+        if (store != null && sequence < windowHeadSequence()) {
+            return store.read(sequence);
+        }
+        return ringItems[toIndex(sequence)];
+    }
+
     void checkReadSequence(long sequence) {
         if (sequence > tailSequence) {
             throw new IllegalArgumentException("sequence:" + sequence
@@ -187,7 +262,12 @@ public class RingbufferContainer implements DataSerializable {
     private long addInternal(Data dataItem) {
         tailSequence++;
 
-        if (tailSequence - capacity == headSequence) {
+        long expirationMs = isTTLEnabled() ? currentTimeMillis() + ttlMs : TTL_DISABLED;
+        if (store != null) {
+            // the store decides how many items are retained
+            store.append(tailSequence, dataItem, expirationMs);
+            headSequence = store.headSequence();
+        } else if (tailSequence - capacity == headSequence) {
             headSequence++;
         }
 
@@ -203,7 +283,7 @@ public class RingbufferContainer implements DataSerializable {
 
         // and then we optionally write the expiration.
         if (isTTLEnabled()) {
-            ringExpirationMs[index] = currentTimeMillis() + ttlMs;
+            ringExpirationMs[index] = expirationMs;
         }
 
         return tailSequence;
@@ -220,8 +300,7 @@ public class RingbufferContainer implements DataSerializable {
     public Data read(long sequence) {
         checkReadSequence(sequence);
 
-        int index = toIndex(sequence);
-        Object item = ringItems[index];
+        Object item = readItem(sequence);
         return serializationService.toData(item);
     }
 
@@ -235,8 +314,7 @@ public class RingbufferContainer implements DataSerializable {
 
         long seq = beginSequence;
         while (seq <= tailSequence) {
-            int index = toIndex(seq);
-            Object item = ringItems[index];
+            Object item = readItem(seq);
 
             result.addItem(item);
 
@@ -260,6 +338,11 @@ public class RingbufferContainer implements DataSerializable {
         }
 
         long now = currentTimeMillis();
+        if (store != null) {
+            cleanupStore(now);
+            return;
+        }
+
         while (headSequence <= tailSequence) {
             int index = toIndex(headSequence);
 
@@ -279,10 +362,21 @@ public class RingbufferContainer implements DataSerializable {
         }
     }
 
+    private void cleanupStore(long now) {
+        store.truncateExpired(now);
+        long newHeadSequence = store.isEmpty() ? tailSequence + 1 : store.headSequence();
+        for (long seq = windowHeadSequence(); seq < newHeadSequence; seq++) {
+            ringItems[toIndex(seq)] = null;
+        }
+        headSequence = newHeadSequence;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
+        // the items which are only in the store are not written
+        long windowHeadSequence = windowHeadSequence();
         out.writeLong(tailSequence);
-        out.writeLong(headSequence);
+        out.writeLong(windowHeadSequence);
         out.writeInt(capacity);
         out.writeLong(ttlMs);
         out.writeInt(inMemoryFormat.ordinal());
@@ -292,7 +386,7 @@ public class RingbufferContainer implements DataSerializable {
         long now = System.currentTimeMillis();
 
         // we only write the actual content of the ringbuffer. So we don't write empty slots.
-        for (long seq = headSequence; seq <= tailSequence; seq++) {
+        for (long seq = windowHeadSequence; seq <= tailSequence; seq++) {
             int index = toIndex(seq);
 
             if (inMemoryFormat == BINARY) {
@@ -29,7 +29,10 @@ import com.hazelcast.spi.PartitionMigrationEvent;
 import com.hazelcast.spi.PartitionReplicationEvent;
 import com.hazelcast.spi.RemoteService;
 import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -39,6 +42,7 @@ import java.util.concurrent.ConcurrentMap;
 
 import static com.hazelcast.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.partition.MigrationEndpoint.SOURCE;
+import static com.hazelcast.nio.IOUtil.toFileName;
 import static com.hazelcast.partition.strategy.StringPartitioningStrategy.getPartitionKey;
 import static com.hazelcast.util.Preconditions.checkNotNull;
 
@@ -75,7 +79,10 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
 
     @Override
     public void destroyDistributedObject(String name) {
-        containers.remove(name);
+        RingbufferContainer container = containers.remove(name);
+        if (container != null) {
+            releaseStore(name, container, true);
+        }
         nodeEngine.getEventService().deregisterAllListeners(SERVICE_NAME, name);
     }
 
@@ -86,6 +93,9 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
 
     @Override
     public void reset() {
+        for (Map.Entry<String, RingbufferContainer> entry : containers.entrySet()) {
+            releaseStore(entry.getKey(), entry.getValue(), false);
+        }
         containers.clear();
     }
 
@@ -141,6 +151,8 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
             String name = entry.getKey();
             int containerPartitionId = partitionService.getPartitionId(getPartitionKey(name));
             if (containerPartitionId == partitionId) {
+                // the store files are kept, they are reused if the partition is replicated to this member again
+                releaseStore(name, entry.getValue(), false);
                 iterator.remove();
             }
         }
@@ -158,11 +170,64 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
         }
 
         RingbufferConfig ringbufferConfig = getRingbufferConfig(name);
-        ringbuffer = new RingbufferContainer(name, ringbufferConfig, nodeEngine.getSerializationService());
+        MappedRingbufferStore store = openStore(name, ringbufferConfig);
+        if (store == null) {
+            ringbuffer = new RingbufferContainer(name, ringbufferConfig, nodeEngine.getSerializationService());
+        } else {
+            ringbuffer = new RingbufferContainer(name, ringbufferConfig, nodeEngine.getSerializationService(), store);
+        }
         containers.put(name, ringbuffer);
         return ringbuffer;
     }
 
+    /**
+     * Opens the store of a ringbuffer, recovering the items stored before.
+     *
+     * The store of a ringbuffer is in a directory named after the ringbuffer, within a directory named after its partition.
+     *
+     * @return the store, or null if the ringbuffer has no store configured.
+     */
+    private MappedRingbufferStore openStore(String name, RingbufferConfig ringbufferConfig) {
+        String storeDirectory = ringbufferConfig.getStoreDirectory();
+        if (storeDirectory == null) {
+            return null;
+        }
+
+        int partitionId = nodeEngine.getPartitionService().getPartitionId(getPartitionKey(name));
+        File directory = new File(new File(storeDirectory, String.valueOf(partitionId)), toFileName(name));
+        long storeCapacity = Math.max(ringbufferConfig.getStoreCapacity(), ringbufferConfig.getCapacity());
+        return new MappedRingbufferStore(directory, storeCapacity);
+    }
+
+    /**
+     * Closes or destroys the store of a ringbuffer on the partition thread of the ringbuffer. The segments of the store
+     * are unmapped, so they may not be released while an operation of the ringbuffer still reads them.
+     */
+    private void releaseStore(String name, RingbufferContainer container, final boolean destroy) {
+        final MappedRingbufferStore store = container.getStore();
+        if (store == null) {
+            return;
+        }
+
+        final int partitionId = nodeEngine.getPartitionService().getPartitionId(getPartitionKey(name));
+        InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
+        operationService.execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return partitionId;
+            }
+
+            @Override
+            public void run() {
+                if (destroy) {
+                    store.destroy();
+                } else {
+                    store.close();
+                }
+            }
+        });
+    }
+
     private RingbufferConfig getRingbufferConfig(String name) {
         Config config = nodeEngine.getConfig();
         return config.getRingbufferConfig(getConfigName(name));
@@ -173,6 +238,15 @@ public class RingbufferService implements ManagedService, RemoteService, Migrati
         checkNotNull(ringbuffer, "ringbuffer can't be null");
 
         ringbuffer.init(nodeEngine);
+
+        RingbufferContainer existing = containers.get(name);
+        MappedRingbufferStore store = existing == null ? null : existing.getStore();
+        if (store == null) {
+            store = openStore(name, getRingbufferConfig(name));
+        }
+        if (store != null) {
+            ringbuffer.attachStore(store);
+        }
         containers.put(name, ringbuffer);
     }
 
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi;
+
+/**
+ * A {@link MigrationAwareService} that is able to compare the data of a partition replica with the data of the
+ * partition owner using digests.
+ * <p/>
+ * The data of a partition is divided into a number of segments and for every segment a digest is calculated. When a
+ * backup replica detects it is out of sync, it sends the digests of its segments along with the replica sync request.
+ * The owner then only needs to send the data of the segments whose digest is different, instead of all data of the
+ * partition.
+ * <p/>
+ * The way the data is divided into segments and the way the digest of a segment is calculated, should only depend on the
+ * data itself; so that the same data on different members results in the same digests.
+ */
+public interface ReplicaDigestAwareService extends MigrationAwareService {
+
+    /**
+     * Calculates the segment digests of the data of the given partition replica.
+     * <p/>
+     * This method is called on the partition thread of the replica.
+     *
+     * @param event        the partition and replica index of the replica
+     * @param segmentCount the number of segments
+     * @return an array with the digest of every segment, or null if no digests could be calculated.
+     */
+    long[] getReplicaDigests(PartitionReplicationEvent event, int segmentCount);
+
+    /**
+     * Creates the replication operation for the given replica that only contains the segments whose digest differs from
+     * the given replica digests. The number of segments is equal to the length of the replicaDigests.
+     *
+     * @param event          the partition and replica index of the replica
+     * @param replicaDigests the segment digests of the replica
+     * @return the replication operation, or null if nothing needs to be replicated.
+     */
+    Operation prepareReplicationOperation(PartitionReplicationEvent event, long[] replicaDigests);
+}
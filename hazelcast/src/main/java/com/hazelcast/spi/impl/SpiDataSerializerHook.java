@@ -24,6 +24,7 @@ import com.hazelcast.spi.impl.eventservice.impl.EventEnvelope;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation;
 import com.hazelcast.spi.impl.operationservice.impl.operations.PartitionIteratingOperation.PartitionResponse;
 import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.impl.operationservice.impl.operations.BackupBatch;
 import com.hazelcast.spi.impl.operationservice.impl.responses.BackupResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.CallTimeoutResponse;
 import com.hazelcast.spi.impl.operationservice.impl.responses.ErrorResponse;
@@ -46,6 +47,7 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
     public static final int COLLECTION = 7;
     public static final int CALL_TIMEOUT_RESPONSE = 8;
     public static final int ERROR_RESPONSE = 9;
+    public static final int BACKUP_BATCH = 10;
 
     @Override
     public DataSerializableFactory createFactory() {
@@ -73,6 +75,8 @@ public final class SpiDataSerializerHook implements DataSerializerHook {
                         return new CallTimeoutResponse();
                     case ERROR_RESPONSE:
                         return new ErrorResponse();
+                    case BACKUP_BATCH:
+                        return new BackupBatch();
                     default:
                         return null;
                 }
@@ -57,6 +57,9 @@ import static com.hazelcast.util.Preconditions.checkNotNull;
  * specific to a partition. E.g. a heart beat.
  * </li>
  * </ol>
+ * The queue of the partition operation threads can be selected using the
+ * {@link GroupProperty#PARTITION_OPERATION_QUEUE_TYPE}; see {@link MPSCScheduleQueue} for the lock-free alternative
+ * to the {@link DefaultScheduleQueue}.
  */
 public final class ClassicOperationExecutor implements OperationExecutor {
 
@@ -149,7 +152,7 @@ public final class ClassicOperationExecutor implements OperationExecutor {
         PartitionOperationThread[] threads = new PartitionOperationThread[threadCount];
         for (int threadId = 0; threadId < threads.length; threadId++) {
             String threadName = threadGroup.getThreadPoolNamePrefix("partition-operation") + threadId;
-            ScheduleQueue scheduleQueue = new DefaultScheduleQueue();
+            ScheduleQueue scheduleQueue = ScheduleQueueFactory.newPartitionScheduleQueue(properties);
 
             PartitionOperationThread operationThread = new PartitionOperationThread(threadName, threadId, scheduleQueue, logger,
                     threadGroup, nodeExtension, partitionOperationRunners);
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.util.concurrent.IdleStrategy;
+import com.hazelcast.util.concurrent.ManyToOneConcurrentArrayQueue;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+
+/**
+ * A {@link ScheduleQueue} for a single consuming thread, e.g. a {@link PartitionOperationThread}.
+ * <p/>
+ * Normal tasks are offered to a bounded {@link ManyToOneConcurrentArrayQueue}; so adding a task doesn't allocate a node
+ * and doesn't acquire a lock. The consuming thread drains the normal tasks in batches into a thread local buffer.
+ * <p/>
+ * If there is no work, the consuming thread is not blocked; instead it makes use of an {@link IdleStrategy}. This means
+ * that producers never need to unpark the consumer. The price is that an idle consumer will be spinning, yielding
+ * or waking up periodically depending on the idle strategy.
+ * <p/>
+ * Priority tasks are rare and are stored in an unbounded {@link ConcurrentLinkedQueue}. They are taken before any
+ * normal task.
+ * <p/>
+ * If the normal queue is full, a producer is delayed using the idle strategy until space becomes available. If
+ * the producer is the consumer itself, waiting would lead to a deadlock. In that case the consumer moves all pending
+ * normal tasks into its local buffer and appends the task; this way the FIFO ordering is preserved.
+ * <p/>
+ * This queue is not suited for the Multiple-Producer Multiple-Consumer scenario of the {@link GenericOperationThread}.
+ */
+public final class MPSCScheduleQueue implements ScheduleQueue {
+
+    static final int DEFAULT_DRAIN_BATCH_SIZE = 64;
+
+    private final ManyToOneConcurrentArrayQueue<Object> normalQueue;
+    private final ConcurrentLinkedQueue<Object> priorityQueue = new ConcurrentLinkedQueue<Object>();
+    private final IdleStrategy consumerIdleStrategy;
+    private final IdleStrategy producerIdleStrategy;
+    private final int drainBatchSize;
+
+    // only accessed by the consumer thread
+    private final ArrayDeque<Object> localBuffer = new ArrayDeque<Object>();
+    // only written by the consumer thread; the racy read by other threads is only used for monitoring purposes.
+    private int localBufferSize;
+    private volatile Thread consumerThread;
+
+    public MPSCScheduleQueue(int capacity, IdleStrategy consumerIdleStrategy, IdleStrategy producerIdleStrategy) {
+        this(capacity, DEFAULT_DRAIN_BATCH_SIZE, consumerIdleStrategy, producerIdleStrategy);
+    }
+
+    public MPSCScheduleQueue(int capacity, int drainBatchSize,
+                             IdleStrategy consumerIdleStrategy, IdleStrategy producerIdleStrategy) {
+        this.normalQueue = new ManyToOneConcurrentArrayQueue<Object>(capacity);
+        this.drainBatchSize = checkPositive(drainBatchSize, "drainBatchSize should be a positive number");
+        this.consumerIdleStrategy = checkNotNull(consumerIdleStrategy, "consumerIdleStrategy can't be null");
+        this.producerIdleStrategy = checkNotNull(producerIdleStrategy, "producerIdleStrategy can't be null");
+    }
+
+    @Override
+    public void add(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        if (normalQueue.offer(task)) {
+            return;
+        }
+
+        if (Thread.currentThread() == consumerThread) {
+            moveToLocalBuffer(task);
+            return;
+        }
+
+        for (long idleCount = 0; !normalQueue.offer(task); idleCount++) {
+            producerIdleStrategy.idle(idleCount);
+        }
+    }
+
+    private void moveToLocalBuffer(Object task) {
+        normalQueue.drainTo(localBuffer, Integer.MAX_VALUE);
+        localBuffer.add(task);
+        localBufferSize = localBuffer.size();
+    }
+
+    @Override
+    public void addUrgent(Object task) {
+        checkNotNull(task, "task can't be null");
+
+        priorityQueue.add(task);
+    }
+
+    @Override
+    public Object take() throws InterruptedException {
+        if (consumerThread == null) {
+            consumerThread = Thread.currentThread();
+        }
+
+        for (long idleCount = 0; ; idleCount++) {
+            Object task = poll();
+            if (task != null) {
+                return task;
+            }
+
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            consumerIdleStrategy.idle(idleCount);
+        }
+    }
+
+    private Object poll() {
+        Object task = priorityQueue.poll();
+        if (task != null) {
+            return task;
+        }
+
+        if (localBuffer.isEmpty() && normalQueue.drainTo(localBuffer, drainBatchSize) == 0) {
+            return null;
+        }
+
+        task = localBuffer.poll();
+        localBufferSize = localBuffer.size();
+        return task;
+    }
+
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + localBufferSize;
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.GroupProperty;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.BusySpinIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Creates the {@link ScheduleQueue} for a {@link PartitionOperationThread} based on the
+ * {@link GroupProperty#PARTITION_OPERATION_QUEUE_TYPE} and {@link GroupProperty#PARTITION_OPERATION_IDLE_STRATEGY}.
+ */
+final class ScheduleQueueFactory {
+
+    private static final long IDLE_MAX_SPINS = 20;
+    private static final long IDLE_MAX_YIELDS = 50;
+    private static final long IDLE_MIN_PARK_NS = 1;
+    private static final long IDLE_MAX_PARK_NS = MICROSECONDS.toNanos(100);
+
+    private ScheduleQueueFactory() {
+    }
+
+    static ScheduleQueue newPartitionScheduleQueue(GroupProperties properties) {
+        String queueType = properties.getString(GroupProperty.PARTITION_OPERATION_QUEUE_TYPE);
+        if ("blocking".equals(queueType)) {
+            return new DefaultScheduleQueue();
+        }
+
+        if ("mpsc".equals(queueType)) {
+            int capacity = properties.getInteger(GroupProperty.PARTITION_OPERATION_QUEUE_CAPACITY);
+            IdleStrategy idleStrategy = newPartitionIdleStrategy(properties);
+            return new MPSCScheduleQueue(capacity, idleStrategy, newBackoffIdleStrategy());
+        }
+
+        throw new IllegalArgumentException("Unrecognized partition operation queue type: " + queueType);
+    }
+
+    private static IdleStrategy newPartitionIdleStrategy(GroupProperties properties) {
+        String idleStrategy = properties.getString(GroupProperty.PARTITION_OPERATION_IDLE_STRATEGY);
+        if ("backoff".equals(idleStrategy)) {
+            return newBackoffIdleStrategy();
+        }
+
+        if ("busyspin".equals(idleStrategy)) {
+            return new BusySpinIdleStrategy();
+        }
+
+        throw new IllegalArgumentException("Unrecognized partition operation idle strategy: " + idleStrategy);
+    }
+
+    private static IdleStrategy newBackoffIdleStrategy() {
+        return new BackoffIdleStrategy(IDLE_MAX_SPINS, IDLE_MAX_YIELDS, IDLE_MIN_PARK_NS, IDLE_MAX_PARK_NS);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.instance.Node;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ConnectionManager;
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationexecutor.classic.PartitionOperationThread;
+import com.hazelcast.spi.impl.operationservice.impl.operations.Backup;
+import com.hazelcast.spi.impl.operationservice.impl.operations.BackupBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces the {@link Backup} operations that are sent by a partition operation thread into a single {@link BackupBatch}
+ * per target member; so a stream of small mutations doesn't cause an equal stream of small backup packets.
+ * <p/>
+ * The pending backups of a partition operation thread are only accessed by that thread, so no synchronization is needed.
+ * The backups for a member are sent when:
+ * <ol>
+ * <li>the batch is full; either by number of backups or by number of bytes</li>
+ * <li>a backup is added while the first pending backup has been waiting longer than the maximum delay</li>
+ * <li>the partition operation thread has processed the tasks that were pending when the first backup was added. For
+ * this a flush task is appended to the queue of the partition operation thread. So if the thread has no other work,
+ * the backups are sent immediately.</li>
+ * <li>any other operation is sent from the partition operation thread to the same member; so the order of the operations
+ * sent from a partition operation thread to a member is preserved.</li>
+ * </ol>
+ * A batch containing a single backup is sent as a plain {@link Backup}.
+ * <p/>
+ * If the backup isn't sent from a partition operation thread of this member, it isn't batched.
+ */
+final class BackupBatcher {
+
+    static final int MAX_BATCH_BYTES = 64 * 1024;
+
+    private final Node node;
+    private final OperationExecutor operationExecutor;
+    private final SerializationService serializationService;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final ThreadBackups[] threadBackups;
+
+    BackupBatcher(OperationServiceImpl operationService, int maxBatchSize, long maxDelayNanos) {
+        this.node = operationService.node;
+        this.serializationService = operationService.nodeEngine.getSerializationService();
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelayNanos;
+        this.operationExecutor = operationService.operationExecutor;
+
+        OperationRunner[] partitionOperationRunners = operationExecutor.getPartitionOperationRunners();
+        this.threadBackups = new ThreadBackups[operationExecutor.getPartitionOperationThreadCount()];
+        for (int threadId = 0; threadId < threadBackups.length; threadId++) {
+            // the first partition of a partition operation thread has the same id as the thread
+            Thread owner = threadId < partitionOperationRunners.length
+                    ? partitionOperationRunners[threadId].currentThread()
+                    : null;
+            threadBackups[threadId] = new ThreadBackups(owner, threadId);
+        }
+    }
+
+    /**
+     * Adds a backup to the batch for the target member.
+     *
+     * @param backup the backup to add
+     * @param target the member to send the backup to
+     * @return true if the backup is batched, false if the calling thread isn't a partition operation thread of this member
+     * and therefor the backup should be sent directly.
+     */
+    boolean add(Backup backup, Address target) {
+        ThreadBackups backups = getCurrentThreadBackups();
+        if (backups == null) {
+            return false;
+        }
+
+        Data backupData = serializationService.toData(backup);
+        backups.add(target, backupData, backup.getPartitionId());
+        return true;
+    }
+
+    /**
+     * Sends the pending backups of the calling partition operation thread for the target member. If the calling thread isn't
+     * a partition operation thread, the call is ignored.
+     *
+     * @param target the member to send the pending backups to
+     */
+    void flush(Address target) {
+        ThreadBackups backups = getCurrentThreadBackups();
+        if (backups != null) {
+            backups.flush(target);
+        }
+    }
+
+    private ThreadBackups getCurrentThreadBackups() {
+        Thread currentThread = Thread.currentThread();
+        if (!(currentThread instanceof PartitionOperationThread)) {
+            return null;
+        }
+
+        int threadId = ((PartitionOperationThread) currentThread).getThreadId();
+        if (threadId >= threadBackups.length) {
+            return null;
+        }
+
+        ThreadBackups backups = threadBackups[threadId];
+        // the thread could belong to another member running in the same JVM
+        return backups.owner == currentThread ? backups : null;
+    }
+
+    private void send(Address target, PendingBatch batch) {
+        byte[] bytes;
+        if (batch.backups.size() == 1) {
+            bytes = batch.backups.get(0).toByteArray();
+        } else {
+            bytes = serializationService.toBytes(new BackupBatch(batch.backups, batch.partitionIds()));
+        }
+
+        Packet packet = new Packet(bytes, batch.partitionId);
+        packet.setHeader(Packet.HEADER_OP);
+        if (batch.backups.size() > 1) {
+            packet.setHeader(Packet.HEADER_BACKUP_BATCH);
+        }
+
+        ConnectionManager connectionManager = node.getConnectionManager();
+        Connection connection = connectionManager.getOrConnect(target);
+        connectionManager.transmit(packet, connection);
+    }
+
+    /**
+     * The pending backups of a single partition operation thread.
+     */
+    private final class ThreadBackups implements PartitionSpecificRunnable {
+
+        private final Thread owner;
+        private final int threadId;
+        private final Map<Address, PendingBatch> batches = new HashMap<Address, PendingBatch>();
+        private int pendingCount;
+        private long firstPendingNanos;
+        private boolean flushScheduled;
+
+        ThreadBackups(Thread owner, int threadId) {
+            this.owner = owner;
+            this.threadId = threadId;
+        }
+
+        void add(Address target, Data backupData, int partitionId) {
+            PendingBatch batch = batches.get(target);
+            if (batch == null) {
+                batch = new PendingBatch(partitionId);
+                batches.put(target, batch);
+            }
+
+            if (pendingCount == 0) {
+                firstPendingNanos = System.nanoTime();
+            }
+            batch.add(backupData, partitionId);
+            pendingCount++;
+
+            if (batch.backups.size() >= maxBatchSize || batch.bytes >= MAX_BATCH_BYTES) {
+                flush(target);
+            } else if (System.nanoTime() - firstPendingNanos >= maxDelayNanos) {
+                flushAll();
+            }
+
+            if (pendingCount > 0 && !flushScheduled) {
+                flushScheduled = true;
+                // the flush task ends up at the back of the queue of this thread
+                operationExecutor.execute(this);
+            }
+        }
+
+        void flush(Address target) {
+            PendingBatch batch = batches.remove(target);
+            if (batch != null) {
+                pendingCount -= batch.backups.size();
+                send(target, batch);
+            }
+        }
+
+        void flushAll() {
+            for (Map.Entry<Address, PendingBatch> entry : batches.entrySet()) {
+                send(entry.getKey(), entry.getValue());
+            }
+            batches.clear();
+            pendingCount = 0;
+        }
+
+        @Override
+        public int getPartitionId() {
+            // the partition with the same id as the thread is owned by this thread
+            return threadId;
+        }
+
+        @Override
+        public void run() {
+            flushScheduled = false;
+            flushAll();
+        }
+    }
+
+    /**
+     * The pending backups of a partition operation thread for a single member.
+     */
+    private static final class PendingBatch {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        // the partition-id of the packet; needed when the batch contains a single backup, which is sent as a plain backup
+        private final int partitionId;
+        private final List<Data> backups = new ArrayList<Data>();
+        private int[] partitionIds = new int[INITIAL_CAPACITY];
+        private int bytes;
+
+        PendingBatch(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        void add(Data backupData, int backupPartitionId) {
+            if (backups.size() == partitionIds.length) {
+                partitionIds = Arrays.copyOf(partitionIds, partitionIds.length * 2);
+            }
+            partitionIds[backups.size()] = backupPartitionId;
+            backups.add(backupData);
+            bytes += backupData.totalSize();
+        }
+
+        int[] partitionIds() {
+            return Arrays.copyOf(partitionIds, backups.size());
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.hazelcast.spi.impl.operationservice.impl;
 
+import com.hazelcast.instance.GroupProperties;
+import com.hazelcast.instance.GroupProperty;
 import com.hazelcast.instance.Node;
 import com.hazelcast.nio.Address;
 import com.hazelcast.nio.serialization.Data;
@@ -32,6 +34,9 @@ import static java.lang.Math.min;
 
 /**
  * Responsible for creating a backups of an operation.
+ * <p/>
+ * If {@link GroupProperty#OPERATION_BACKUP_BATCH_ENABLED} is set, the backups sent by a partition operation thread are
+ * coalesced by a {@link BackupBatcher}.
  */
 final class OperationBackupHandler {
 
@@ -39,12 +44,25 @@ final class OperationBackupHandler {
     private final OperationServiceImpl operationService;
     private final NodeEngineImpl nodeEngine;
     private final BackpressureRegulator backpressureRegulator;
+    private final BackupBatcher backupBatcher;
 
     public OperationBackupHandler(OperationServiceImpl operationService) {
         this.operationService = operationService;
         this.node = operationService.node;
         this.nodeEngine = operationService.nodeEngine;
         this.backpressureRegulator = operationService.backpressureRegulator;
+        this.backupBatcher = newBackupBatcher(operationService);
+    }
+
+    private static BackupBatcher newBackupBatcher(OperationServiceImpl operationService) {
+        GroupProperties properties = operationService.node.getGroupProperties();
+        if (!properties.getBoolean(GroupProperty.OPERATION_BACKUP_BATCH_ENABLED)) {
+            return null;
+        }
+
+        return new BackupBatcher(operationService,
+                properties.getInteger(GroupProperty.OPERATION_BACKUP_BATCH_MAX_SIZE),
+                properties.getNanos(GroupProperty.OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS));
     }
 
     public int backup(BackupAwareOperation backupAwareOp) throws Exception {
@@ -184,7 +202,7 @@ final class OperationBackupHandler {
             boolean isSyncBackup = syncBackups == 1;
 
             Backup backup = newBackup(backupAwareOp, backupOp, replicaVersions, 1, isSyncBackup);
-            operationService.send(backup, target);
+            send(backup, target);
 
             if (isSyncBackup) {
                 return 1;
@@ -211,7 +229,7 @@ final class OperationBackupHandler {
             boolean isSyncBackup = replicaIndex <= syncBackups;
 
             Backup backup = newBackup(backupAwareOp, backupOpData, replicaVersions, replicaIndex, isSyncBackup);
-            operationService.send(backup, target);
+            send(backup, target);
 
             if (isSyncBackup) {
                 sendSyncBackups++;
@@ -221,6 +239,22 @@ final class OperationBackupHandler {
         return sendSyncBackups;
     }
 
+    private void send(Backup backup, Address target) {
+        if (backupBatcher == null || !backupBatcher.add(backup, target)) {
+            operationService.send(backup, target);
+        }
+    }
+
+    /**
+     * Sends the backups for the target that are pending on the calling partition operation thread. This needs to be
+     * done before any other operation is sent to the target, so that the operations arrive in order.
+     */
+    void flushBackups(Address target) {
+        if (backupBatcher != null) {
+            backupBatcher.flush(target);
+        }
+    }
+
     private Operation getBackupOperation(BackupAwareOperation backupAwareOp) {
         Operation backupOp = backupAwareOp.getBackupOperation();
         if (backupOp == null) {
@@ -46,6 +46,7 @@ import com.hazelcast.spi.impl.operationexecutor.OperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.classic.ClassicOperationExecutor;
 import com.hazelcast.spi.impl.operationexecutor.slowoperationdetector.SlowOperationDetector;
 import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+import com.hazelcast.spi.impl.operationservice.impl.operations.BackupBatch;
 import com.hazelcast.spi.impl.operationservice.impl.responses.Response;
 import com.hazelcast.util.EmptyStatement;
 import com.hazelcast.util.counters.MwCounter;
@@ -154,8 +155,6 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
                 nodeEngine.getExecutionService(),
                 nodeEngine.getMetricsRegistry());
 
-        this.operationBackupHandler = new OperationBackupHandler(this);
-
         this.responsePacketExecutor = new AsyncResponsePacketHandler(
                 node.getHazelcastThreadGroup(),
                 logger,
@@ -174,6 +173,9 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
                 metricsRegistry
         );
 
+        // needs the partition operation threads of the operationExecutor
+        this.operationBackupHandler = new OperationBackupHandler(this);
+
         this.isStillRunningService = new IsStillRunningService(operationExecutor, nodeEngine, logger);
 
         ExecutionService executionService = nodeEngine.getExecutionService();
@@ -267,6 +269,10 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
 
         if (packet.isHeaderSet(Packet.HEADER_RESPONSE)) {
             responsePacketExecutor.handle(packet);
+        } else if (packet.isHeaderSet(Packet.HEADER_BACKUP_BATCH)) {
+            // dispatched on the receiving thread, so the backups keep their order relative to the other packets
+            BackupBatch batch = (BackupBatch) nodeEngine.toObject(packet);
+            batch.dispatch(nodeEngine, packet.getConn());
         } else {
             operationExecutor.execute(packet);
         }
@@ -396,6 +402,8 @@ public final class OperationServiceImpl implements InternalOperationService, Pac
             throw new IllegalArgumentException("Target is this node! -> " + target + ", op: " + op);
         }
 
+        operationBackupHandler.flushBackups(target);
+
         byte[] bytes = serializationService.toBytes(op);
         int partitionId = op.getPartitionId();
         Packet packet = new Packet(bytes, partitionId);
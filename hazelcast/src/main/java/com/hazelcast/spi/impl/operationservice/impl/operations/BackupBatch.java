@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.operations;
+
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.Connection;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+import com.hazelcast.spi.impl.operationservice.InternalOperationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.spi.OperationAccessor.setCallerAddress;
+import static com.hazelcast.spi.OperationAccessor.setConnection;
+import static com.hazelcast.spi.impl.OperationResponseHandlerFactory.createEmptyResponseHandler;
+
+/**
+ * Contains the serialized {@link Backup} operations that a partition operation thread has sent to the same member,
+ * together with their partition-ids.
+ * <p/>
+ * A batch is sent in a packet with {@link com.hazelcast.nio.Packet#HEADER_BACKUP_BATCH} set. It isn't an operation; the
+ * receiving member {@link #dispatch(NodeEngine, Connection) dispatches} it as soon as the packet is received. The backups
+ * are grouped by partition and each group is scheduled as a single task on the partition operation thread of its
+ * partition. So the backups of a partition are applied in the order they were sent, also relative to the backups in
+ * other packets of the same connection; independent of the partition thread count of the members.
+ * <p/>
+ * Each backup takes care of its own acknowledgement, so the sync backup semantics are not affected by batching.
+ */
+public final class BackupBatch implements IdentifiedDataSerializable {
+
+    private List<Data> backups;
+    private int[] partitionIds;
+
+    public BackupBatch() {
+    }
+
+    public BackupBatch(List<Data> backups, int[] partitionIds) {
+        this.backups = backups;
+        this.partitionIds = partitionIds;
+    }
+
+    /**
+     * Schedules the backups of this batch on the partition operation threads of their partitions.
+     *
+     * @param nodeEngine the node engine of the receiving member
+     * @param connection the connection the batch was received on
+     */
+    public void dispatch(NodeEngine nodeEngine, Connection connection) {
+        Address caller = connection.getEndPoint();
+        if (nodeEngine.getClusterService().getMember(caller) == null) {
+            nodeEngine.getLogger(BackupBatch.class).warning("Ignoring " + backups.size()
+                    + " backups from " + caller + ", since it isn't a member of the cluster");
+            return;
+        }
+
+        Map<Integer, PartitionBackups> partitionBackups = new LinkedHashMap<Integer, PartitionBackups>();
+        for (int k = 0; k < backups.size(); k++) {
+            int partitionId = partitionIds[k];
+            PartitionBackups task = partitionBackups.get(partitionId);
+            if (task == null) {
+                task = new PartitionBackups(nodeEngine, connection, partitionId);
+                partitionBackups.put(partitionId, task);
+            }
+            task.backups.add(backups.get(k));
+        }
+
+        InternalOperationService operationService = (InternalOperationService) nodeEngine.getOperationService();
+        for (PartitionBackups task : partitionBackups.values()) {
+            operationService.execute(task);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return SpiDataSerializerHook.BACKUP_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(backups.size());
+        for (int k = 0; k < backups.size(); k++) {
+            out.writeInt(partitionIds[k]);
+            out.writeData(backups.get(k));
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        backups = new ArrayList<Data>(size);
+        partitionIds = new int[size];
+        for (int k = 0; k < size; k++) {
+            partitionIds[k] = in.readInt();
+            backups.add(in.readData());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BackupBatch{backups=" + (backups == null ? 0 : backups.size()) + '}';
+    }
+
+    /**
+     * The backups of a batch for a single partition; they are applied in order by the partition operation thread of
+     * their partition.
+     */
+    private static final class PartitionBackups implements PartitionSpecificRunnable {
+
+        private final NodeEngine nodeEngine;
+        private final Connection connection;
+        private final int partitionId;
+        private final List<Data> backups = new ArrayList<Data>();
+
+        private PartitionBackups(NodeEngine nodeEngine, Connection connection, int partitionId) {
+            this.nodeEngine = nodeEngine;
+            this.connection = connection;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            for (Data backupData : backups) {
+                try {
+                    Backup backup = nodeEngine.toObject(backupData);
+                    backup.setNodeEngine(nodeEngine);
+                    setCallerAddress(backup, connection.getEndPoint());
+                    setConnection(backup, connection);
+                    backup.setOperationResponseHandler(createEmptyResponseHandler());
+                    nodeEngine.getOperationService().runOperationOnCallingThread(backup);
+                } catch (Throwable t) {
+                    // a failing backup should not prevent the other backups in the batch from being applied
+                    nodeEngine.getLogger(BackupBatch.class).warning("Failed to process backup in batch from "
+                            + connection.getEndPoint(), t);
+                }
+            }
+        }
+    }
+}
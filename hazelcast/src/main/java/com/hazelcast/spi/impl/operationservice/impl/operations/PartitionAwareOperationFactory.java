@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationservice.impl.operations;
+
+import com.hazelcast.spi.NodeEngine;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.spi.OperationFactory;
+
+import java.util.List;
+
+/**
+ * An {@link OperationFactory} which can create a different operation for each partition.
+ * <p/>
+ * {@link PartitionIteratingOperation} calls {@link #createFactoryOnRunner(NodeEngine, List)} once on the member which
+ * runs the partition operations, and then creates the operation of each partition with
+ * {@link #createPartitionOperation(int)}. So work shared by all partitions of a member, e.g. an index query, is done
+ * only once per member. {@link #createOperation()} is still used when a partition is invoked on its own, e.g. when it
+ * is retried after a migration.
+ */
+public abstract class PartitionAwareOperationFactory implements OperationFactory {
+
+    /**
+     * Creates the factory used to create the operations of the given partitions on this member.
+     *
+     * @param nodeEngine the node engine of this member
+     * @param partitions the partitions to create the operations for
+     * @return the factory; this factory by default
+     */
+    public PartitionAwareOperationFactory createFactoryOnRunner(NodeEngine nodeEngine, List<Integer> partitions) {
+        return this;
+    }
+
+    /**
+     * Creates the operation of the given partition.
+     *
+     * @param partitionId the id of the partition
+     * @return the created operation
+     */
+    public abstract Operation createPartitionOperation(int partitionId);
+}
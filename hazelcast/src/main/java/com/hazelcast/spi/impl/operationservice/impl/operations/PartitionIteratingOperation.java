@@ -16,6 +16,7 @@
 
 package com.hazelcast.spi.impl.operationservice.impl.operations;
 
+import com.hazelcast.client.impl.operations.OperationFactoryWrapper;
 import com.hazelcast.core.HazelcastException;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.nio.ObjectDataInput;
@@ -80,9 +81,12 @@ public final class PartitionIteratingOperation extends AbstractOperation impleme
     private Map<Integer, ResponseQueue> executeOperations() {
         NodeEngine nodeEngine = getNodeEngine();
         Map<Integer, ResponseQueue> responses = new HashMap<Integer, ResponseQueue>(partitions.size());
+        PartitionAwareOperationFactory partitionAwareFactory = getPartitionAwareFactory(nodeEngine);
         for (final int partitionId : partitions) {
             ResponseQueue responseQueue = new ResponseQueue();
-            final Operation op = operationFactory.createOperation();
+            final Operation op = partitionAwareFactory != null
+                    ? partitionAwareFactory.createPartitionOperation(partitionId)
+                    : operationFactory.createOperation();
             op.setNodeEngine(nodeEngine)
                     .setPartitionId(partitionId)
                     .setReplicaIndex(getReplicaIndex())
@@ -97,6 +101,17 @@ public final class PartitionIteratingOperation extends AbstractOperation impleme
         return responses;
     }
 
+    private PartitionAwareOperationFactory getPartitionAwareFactory(NodeEngine nodeEngine) {
+        OperationFactory factory = operationFactory;
+        if (factory instanceof OperationFactoryWrapper) {
+            factory = ((OperationFactoryWrapper) factory).getOperationFactory();
+        }
+        if (factory instanceof PartitionAwareOperationFactory) {
+            return ((PartitionAwareOperationFactory) factory).createFactoryOnRunner(nodeEngine, partitions);
+        }
+        return null;
+    }
+
     @Override
     public void afterRun() throws Exception {
     }
@@ -19,12 +19,9 @@ package com.hazelcast.topic.impl.reliable;
 import com.hazelcast.cluster.ClusterService;
 import com.hazelcast.core.ExecutionCallback;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
-import com.hazelcast.core.ICompletableFuture;
 import com.hazelcast.core.Message;
 import com.hazelcast.instance.MemberImpl;
 import com.hazelcast.logging.ILogger;
-import com.hazelcast.internal.serialization.SerializationService;
-import com.hazelcast.ringbuffer.ReadResultSet;
 import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.NodeEngine;
@@ -37,14 +34,14 @@ import com.hazelcast.topic.ReliableMessageListener;
  * if no item is available. All data that are read is pushed into the {@link com.hazelcast.core.MessageListener}. It is
  * a self-perpetuating stream of async calls.
  *
- * The ReliableTopicRunner keeps track of the sequence.
+ * The ReliableTopicRunner keeps track of the sequence. The ringbuffer is read through the {@link ReliableTopicReader}
+ * of the topic, which is shared with the other listeners of the topic.
  */
-class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReliableTopicBatch> {
 
     final ReliableMessageListener<E> listener;
     private final Ringbuffer<ReliableTopicMessage> ringbuffer;
     private final String topicName;
-    private final SerializationService serializationService;
     private final ClusterService clusterService;
     private final ILogger logger;
     private final String id;
@@ -52,7 +49,6 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
 
     private long sequence;
     private volatile boolean cancelled;
-    private final int batchSze;
 
     public ReliableMessageListenerRunner(String id,
                                          ReliableMessageListener<E> listener,
@@ -63,10 +59,8 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         this.ringbuffer = proxy.ringbuffer;
         this.topicName = proxy.getName();
         NodeEngine nodeEngine = proxy.getNodeEngine();
-        this.serializationService = nodeEngine.getSerializationService();
         this.clusterService = nodeEngine.getClusterService();
         this.logger = nodeEngine.getLogger(ReliableMessageListenerRunner.class);
-        this.batchSze = proxy.topicConfig.getReadBatchSize();
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
@@ -81,25 +75,23 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
             return;
         }
 
-        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSze, null);
-        f.andThen(this, proxy.executor);
+        proxy.reader.read(sequence, this);
     }
 
     // This method is called from the provided executor.
     @Override
-    public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+    public void onResponse(ReliableTopicBatch batch) {
         // we process all messages in batch. So we don't release the thread and reschedule ourselves;
-        // but we'll process whatever was received in 1 go.
-        for (Object item : result) {
-            ReliableTopicMessage message = (ReliableTopicMessage) item;
-
+        // but we'll process whatever was received in 1 go. The batch can start before our sequence if it was
+        // read for another listener.
+        while (sequence < batch.nextSequence()) {
             if (cancelled) {
                 return;
             }
 
             try {
                 listener.storeSequence(sequence);
-                process(message);
+                process(batch, sequence);
             } catch (Throwable t) {
                 if (terminate(t)) {
                     cancel();
@@ -113,14 +105,15 @@ class ReliableMessageListenerRunner<E> implements ExecutionCallback<ReadResultSe
         next();
     }
 
-    private void process(ReliableTopicMessage message) throws Throwable {
+    private void process(ReliableTopicBatch batch, long sequence) throws Throwable {
         proxy.localTopicStats.incrementReceives();
-        listener.onMessage(toMessage(message));
+        listener.onMessage(toMessage(batch, sequence));
     }
 
-    private Message<E> toMessage(ReliableTopicMessage m) {
+    private Message<E> toMessage(ReliableTopicBatch batch, long sequence) {
+        ReliableTopicMessage m = batch.getMessage(sequence);
         MemberImpl member = clusterService.getMember(m.getPublisherAddress());
-        E payload = serializationService.toObject(m.getPayload());
+        E payload = batch.getPayload(sequence);
         return new Message<E>(topicName, payload, m.getPublishTime(), member);
     }
 
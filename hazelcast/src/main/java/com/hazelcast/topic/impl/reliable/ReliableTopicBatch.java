@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.ringbuffer.ReadResultSet;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A batch of consecutive {@link ReliableTopicMessage}s read from the ringbuffer of a reliable topic, shared by all local
+ * listeners of the topic.
+ * <p/>
+ * The payload of a message is deserialized when a listener first asks for it; the other listeners get the same payload
+ * instance.
+ */
+public final class ReliableTopicBatch {
+
+    private final long startSequence;
+    private final ReliableTopicMessage[] messages;
+    private final AtomicReferenceArray<Object> payloads;
+    private final SerializationService serializationService;
+
+    ReliableTopicBatch(long startSequence, ReadResultSet<ReliableTopicMessage> result,
+                       SerializationService serializationService) {
+        this.startSequence = startSequence;
+        this.serializationService = serializationService;
+        this.messages = new ReliableTopicMessage[result.readCount()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = result.get(i);
+        }
+        this.payloads = new AtomicReferenceArray<Object>(messages.length);
+    }
+
+    /**
+     * Returns the sequence of the first message in this batch.
+     */
+    public long startSequence() {
+        return startSequence;
+    }
+
+    /**
+     * Returns the sequence of the message following the last message in this batch.
+     */
+    public long nextSequence() {
+        return startSequence + messages.length;
+    }
+
+    boolean contains(long sequence) {
+        return sequence >= startSequence && sequence < nextSequence();
+    }
+
+    public ReliableTopicMessage getMessage(long sequence) {
+        return messages[toIndex(sequence)];
+    }
+
+    public <E> E getPayload(long sequence) {
+        int index = toIndex(sequence);
+        Object payload = payloads.get(index);
+        if (payload == null) {
+            payload = serializationService.toObject(messages[index].getPayload());
+            // if another listener raced us, its payload is used
+            if (!payloads.compareAndSet(index, null, payload)) {
+                payload = payloads.get(index);
+            }
+        }
+        return (E) payload;
+    }
+
+    private int toIndex(long sequence) {
+        if (!contains(sequence)) {
+            throw new IllegalArgumentException("sequence:" + sequence + " is not in the batch [" + startSequence
+                    + ", " + nextSequence() + ")");
+        }
+        return (int) (sequence - startSequence);
+    }
+}
@@ -59,6 +59,7 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
 
     final Ringbuffer<ReliableTopicMessage> ringbuffer;
     final Executor executor;
+    final ReliableTopicReader reader;
     final ConcurrentMap<String, ReliableMessageListenerRunner> runnersMap
             = new ConcurrentHashMap<String, ReliableMessageListenerRunner>();
     final LocalTopicStatsImpl localTopicStats = new LocalTopicStatsImpl();
@@ -78,6 +79,8 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.nodeEngine = nodeEngine;
         this.ringbuffer = nodeEngine.getHazelcastInstance().getRingbuffer(TOPIC_RB_PREFIX + name);
         this.executor = initExecutor(nodeEngine, topicConfig);
+        this.reader = new ReliableTopicReader(ringbuffer, topicConfig.getReadBatchSize(), executor,
+                nodeEngine.getSerializationService());
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
 
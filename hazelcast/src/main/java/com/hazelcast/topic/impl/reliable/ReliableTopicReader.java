@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Reads the ringbuffer of a reliable topic on behalf of all listeners of the topic in this JVM, a member or a client.
+ * <p/>
+ * Every listener tracks its own sequence and asks the reader for the batch starting at it. Listeners that ask for the
+ * same sequence while a read for it is pending, typically all listeners that keep up with the publishers, share a single
+ * read. The last batch read is retained, so a listener that asks for a sequence in it is served without a read. The
+ * batches are shared as well, so every message is deserialized once.
+ * <p/>
+ * The callbacks are executed on the executor of the topic, each in its own task; so a slow listener only delays itself.
+ * A listener that falls behind the last batch does its own reads until it catches up with the others.
+ */
+public final class ReliableTopicReader {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final int batchSize;
+    private final Executor executor;
+    private final SerializationService serializationService;
+    // the pending reads by their start sequence
+    private final Map<Long, PendingRead> pendingReads = new HashMap<Long, PendingRead>();
+    private ReliableTopicBatch lastBatch;
+
+    public ReliableTopicReader(Ringbuffer<ReliableTopicMessage> ringbuffer, int batchSize, Executor executor,
+                               SerializationService serializationService) {
+        this.ringbuffer = ringbuffer;
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Reads the batch containing the given sequence. If no message is available yet, the callback is notified when one
+     * is published.
+     *
+     * @param sequence the sequence of the first message to read.
+     * @param callback the callback notified with the batch, or with the failure of the read.
+     */
+    public void read(long sequence, ExecutionCallback<ReliableTopicBatch> callback) {
+        PendingRead pendingRead;
+        synchronized (this) {
+            ReliableTopicBatch batch = lastBatch;
+            if (batch != null && batch.contains(sequence)) {
+                executor.execute(new Notification(callback, batch, null));
+                return;
+            }
+
+            pendingRead = pendingReads.get(sequence);
+            if (pendingRead != null) {
+                pendingRead.callbacks.add(callback);
+                return;
+            }
+
+            pendingRead = new PendingRead(sequence);
+            pendingRead.callbacks.add(callback);
+            pendingReads.put(sequence, pendingRead);
+        }
+
+        // the read is issued outside of the lock, since the response could be processed on this thread
+        ICompletableFuture<ReadResultSet<ReliableTopicMessage>> f = ringbuffer.readManyAsync(sequence, 1, batchSize, null);
+        f.andThen(pendingRead, executor);
+    }
+
+    /**
+     * A read of the ringbuffer with the callbacks of the listeners waiting for it.
+     */
+    private final class PendingRead implements ExecutionCallback<ReadResultSet<ReliableTopicMessage>> {
+
+        private final long sequence;
+        private final List<ExecutionCallback<ReliableTopicBatch>> callbacks
+                = new ArrayList<ExecutionCallback<ReliableTopicBatch>>();
+
+        PendingRead(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void onResponse(ReadResultSet<ReliableTopicMessage> result) {
+            ReliableTopicBatch batch = new ReliableTopicBatch(sequence, result, serializationService);
+            synchronized (ReliableTopicReader.this) {
+                pendingReads.remove(sequence);
+                if (lastBatch == null || batch.nextSequence() >= lastBatch.nextSequence()) {
+                    lastBatch = batch;
+                }
+            }
+            notify(batch, null);
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            synchronized (ReliableTopicReader.this) {
+                pendingReads.remove(sequence);
+            }
+            notify(null, t);
+        }
+
+        private void notify(ReliableTopicBatch batch, Throwable failure) {
+            // no callbacks are added once the read is removed from the pending reads
+            for (int i = 1; i < callbacks.size(); i++) {
+                executor.execute(new Notification(callbacks.get(i), batch, failure));
+            }
+            // the first callback is notified on this thread, which is already a thread of the executor
+            new Notification(callbacks.get(0), batch, failure).run();
+        }
+    }
+
+    /**
+     * Notifies a single callback.
+     */
+    private static final class Notification implements Runnable {
+
+        private final ExecutionCallback<ReliableTopicBatch> callback;
+        private final ReliableTopicBatch batch;
+        private final Throwable failure;
+
+        Notification(ExecutionCallback<ReliableTopicBatch> callback, ReliableTopicBatch batch, Throwable failure) {
+            this.callback = callback;
+            this.batch = batch;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            if (failure == null) {
+                callback.onResponse(batch);
+            } else {
+                callback.onFailure(failure);
+            }
+        }
+    }
+}
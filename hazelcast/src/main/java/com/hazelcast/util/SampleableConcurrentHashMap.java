@@ -68,6 +68,25 @@ public class SampleableConcurrentHashMap<K, V> extends ConcurrentReferenceHashMa
      * @return the next index (checkpoint) for later fetches
      */
     public int fetch(int tableIndex, int size, List<Data> keys) {
+        return fetchNext(tableIndex, size, keys, true);
+    }
+
+    /**
+     * Fetches values from given <code>tableIndex</code> as <code>size</code>
+     * and puts them into <code>values</code> list.
+     *
+     * @param tableIndex    Index (checkpoint) for starting point of fetch operation
+     * @param size          Count of how many values will be fetched
+     * @param values        List that fetched values will be put into
+     *
+     * @return the next index (checkpoint) for later fetches
+     */
+    public int fetchValues(int tableIndex, int size, List<V> values) {
+        return fetchNext(tableIndex, size, values, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int fetchNext(int tableIndex, int size, List target, boolean fetchKeys) {
         final long now = Clock.currentTimeMillis();
         final Segment<K, V> segment = segments[0];
         final HashEntry<K, V>[] currentTable = segment.table;
@@ -84,7 +103,7 @@ public class SampleableConcurrentHashMap<K, V> extends ConcurrentReferenceHashMa
                 if (nextEntry.key() != null) {
                     final V value = nextEntry.value();
                     if (isValidForFetching(value, now)) {
-                        keys.add((Data) nextEntry.key());
+                        target.add(fetchKeys ? nextEntry.key() : value);
                         counter++;
                     }
                 }
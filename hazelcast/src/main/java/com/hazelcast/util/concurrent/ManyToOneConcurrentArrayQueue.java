@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.util.concurrent;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.util.Preconditions.checkNotNull;
+import static com.hazelcast.util.Preconditions.checkPositive;
+import static com.hazelcast.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A bounded, array based, lock-free queue for the Multiple-Producer Single-Consumer scenario.
+ * <p/>
+ * Producers claim a slot by a CAS on the tail sequence and then publish the item in the claimed slot. The single
+ * consumer never needs a CAS; it reads the slot at the head sequence and advances the head using an ordered write.
+ * Unlike a {@link java.util.concurrent.LinkedBlockingQueue} no node is allocated and no lock is acquired per item.
+ * <p/>
+ * The queue is bounded; {@link #offer(Object)} returns false if the queue is full. The capacity is rounded up to
+ * the next power of two.
+ * <p/>
+ * The {@link #poll()} and {@link #drainTo(Collection, int)} methods should always be called by the same thread.
+ *
+ * @param <E> the type of the items in this queue
+ */
+public final class ManyToOneConcurrentArrayQueue<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Only accessed by producers. It is a stale view on the head so that producers don't need to read the head
+    // (which is written by the consumer) on every offer.
+    private volatile long headCache;
+
+    public ManyToOneConcurrentArrayQueue(int requestedCapacity) {
+        checkPositive(requestedCapacity, "requestedCapacity should be a positive number");
+        this.capacity = nextPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<E>(capacity);
+    }
+
+    /**
+     * Offers an item to this queue.
+     * <p/>
+     * This method is thread safe.
+     *
+     * @param item the item to offer
+     * @return true if the item was added, false if the queue is full
+     * @throws NullPointerException if item is null
+     */
+    public boolean offer(E item) {
+        checkNotNull(item, "item can't be null");
+
+        long currentTail;
+        for (; ; ) {
+            currentTail = tail.get();
+            long wrapPoint = currentTail - capacity;
+            if (headCache <= wrapPoint) {
+                long currentHead = head.get();
+                if (currentHead <= wrapPoint) {
+                    return false;
+                }
+                headCache = currentHead;
+            }
+
+            if (tail.compareAndSet(currentTail, currentTail + 1)) {
+                break;
+            }
+        }
+
+        buffer.lazySet((int) currentTail & mask, item);
+        return true;
+    }
+
+    /**
+     * Polls an item from this queue.
+     * <p/>
+     * This method should only be called by the consumer thread.
+     *
+     * @return the polled item or null if there is no item available
+     */
+    public E poll() {
+        long currentHead = head.get();
+        int index = (int) currentHead & mask;
+        E item = buffer.get(index);
+        if (item == null) {
+            // either the queue is empty, or a producer has claimed the slot but not yet published the item
+            return null;
+        }
+
+        buffer.lazySet(index, null);
+        head.lazySet(currentHead + 1);
+        return item;
+    }
+
+    /**
+     * Drains at most maxItems items from this queue into the given collection.
+     * <p/>
+     * This method should only be called by the consumer thread.
+     *
+     * @param target   the collection to drain the items into
+     * @param maxItems the maximum number of items to drain
+     * @return the number of drained items
+     */
+    public int drainTo(Collection<? super E> target, int maxItems) {
+        long currentHead = head.get();
+        int drained = 0;
+        while (drained < maxItems) {
+            int index = (int) currentHead & mask;
+            E item = buffer.get(index);
+            if (item == null) {
+                break;
+            }
+
+            buffer.lazySet(index, null);
+            currentHead++;
+            drained++;
+            target.add(item);
+        }
+
+        if (drained > 0) {
+            head.lazySet(currentHead);
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the number of items in this queue.
+     * <p/>
+     * This method returns a best effort value and should only be used for monitoring purposes.
+     *
+     * @return the number of items.
+     */
+    public int size() {
+        // the head needs to be read before the tail, else the size could end up negative
+        long currentHead = head.get();
+        long currentTail = tail.get();
+        long size = currentTail - currentHead;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.cluster.impl.operations.AuthorizationOperation;
+import com.hazelcast.config.NetworkConfig;
+import com.hazelcast.config.WANQueueFullBehavior;
+import com.hazelcast.config.WanTargetClusterConfig;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.instance.HazelcastThreadGroup;
+import com.hazelcast.instance.Node;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.wan.MapReplicationRemove;
+import com.hazelcast.map.impl.wan.MapReplicationUpdate;
+import com.hazelcast.monitor.LocalWanPublisherStats;
+import com.hazelcast.monitor.impl.LocalWanPublisherStatsImpl;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
+import com.hazelcast.util.AddressUtil;
+import com.hazelcast.util.Clock;
+import com.hazelcast.util.EmptyStatement;
+import com.hazelcast.util.ExceptionUtil;
+import com.hazelcast.wan.ReplicationEventObject;
+import com.hazelcast.wan.WANReplicationQueueFullException;
+import com.hazelcast.wan.WanReplicationEndpoint;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.WanReplicationService;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.instance.OutOfMemoryErrorDispatcher.inspectOutputMemoryError;
+import static com.hazelcast.util.Preconditions.checkTrue;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * {@link WanReplicationEndpoint} which replicates map events to a target cluster in batches.
+ * <p/>
+ * The events are buffered in a queue per partition. An update or remove of a map entry replaces the event of the same
+ * entry which is still queued, so only the latest state of an entry is sent. All partition queues together are bounded by
+ * {@link WanTargetClusterConfig#getQueueCapacity()}; when they are full, new events are dropped and, if the
+ * {@link WANQueueFullBehavior} is {@link WANQueueFullBehavior#THROW_EXCEPTION}, {@link #checkWanReplicationQueues()}
+ * rejects further mutations.
+ * <p/>
+ * A single sender thread drains the partition queues round-robin into batches of at most
+ * {@link WanTargetClusterConfig#getBatchSize()} events. A batch is sent as soon as it is full or
+ * {@link WanTargetClusterConfig#getBatchMaxDelayMillis()} has passed. Only one batch is in flight at a time; if it is not
+ * acknowledged within {@link WanTargetClusterConfig#getResponseTimeoutMillis()} it is resent to the next target endpoint.
+ * While a batch is in flight new events keep queueing up, so a slow target cluster pushes back on the publishers through
+ * the queue capacity.
+ */
+public class WanBatchReplication implements WanReplicationEndpoint {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final LocalWanPublisherStatsImpl stats = new LocalWanPublisherStatsImpl();
+
+    private WanTargetClusterConfig config = new WanTargetClusterConfig();
+    private Node node;
+    private ILogger logger;
+    private String groupName;
+    private String password;
+    private Address[] targets;
+    private PartitionQueue[] partitionQueues;
+    private SenderThread sender;
+
+    private volatile boolean paused;
+
+    /**
+     * Sets the batching and queueing configuration. Needs to be called before {@link #init(Node, String, String, String...)},
+     * otherwise the defaults of {@link WanTargetClusterConfig} are used.
+     *
+     * @param config the configuration of the target cluster
+     */
+    void configure(WanTargetClusterConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void init(Node node, String groupName, String password, String... targets) {
+        checkTrue(targets.length > 0, "No end-points configured for WAN target cluster " + groupName);
+        this.node = node;
+        this.logger = node.getLogger(WanBatchReplication.class);
+        this.groupName = groupName;
+        this.password = password;
+        this.targets = toAddresses(targets);
+
+        int partitionCount = node.getPartitionService().getPartitionCount();
+        this.partitionQueues = new PartitionQueue[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionQueues[i] = new PartitionQueue();
+        }
+
+        this.sender = new SenderThread(node.getHazelcastThreadGroup());
+        sender.start();
+    }
+
+    private static Address[] toAddresses(String[] targets) {
+        Address[] addresses = new Address[targets.length];
+        for (int i = 0; i < targets.length; i++) {
+            AddressUtil.AddressHolder holder = AddressUtil.getAddressHolder(targets[i], NetworkConfig.DEFAULT_PORT);
+            try {
+                addresses[i] = new Address(holder.getAddress(), holder.getPort());
+            } catch (Exception e) {
+                throw ExceptionUtil.rethrow(e);
+            }
+        }
+        return addresses;
+    }
+
+    public String getGroupName() {
+        return groupName;
+    }
+
+    @Override
+    public void publishReplicationEvent(String serviceName, ReplicationEventObject eventObject) {
+        WanReplicationEvent event = new WanReplicationEvent(serviceName, eventObject);
+        Object entryKey = null;
+        int partitionId = 0;
+        if (eventObject instanceof MapReplicationUpdate) {
+            MapReplicationUpdate update = (MapReplicationUpdate) eventObject;
+            Data key = node.nodeEngine.toData(update.getEntryView().getKey());
+            entryKey = new EntryKey(update.getMapName(), key);
+            partitionId = node.getPartitionService().getPartitionId(key);
+        } else if (eventObject instanceof MapReplicationRemove) {
+            MapReplicationRemove remove = (MapReplicationRemove) eventObject;
+            entryKey = new EntryKey(remove.getMapName(), remove.getKey());
+            partitionId = node.getPartitionService().getPartitionId(remove.getKey());
+        }
+        offer(partitionQueues[partitionId], entryKey, event);
+    }
+
+    private void offer(PartitionQueue queue, Object entryKey, WanReplicationEvent event) {
+        synchronized (queue) {
+            QueuedEvent queued = entryKey == null ? null : queue.events.get(entryKey);
+            if (queued != null) {
+                // the entry is still waiting to be sent, it is enough to send its latest state
+                queued.event = event;
+                return;
+            }
+            if (!reserve()) {
+                if (logger.isFinestEnabled()) {
+                    logger.finest("WAN replication queue of target cluster " + groupName + " is full, dropping " + event);
+                }
+                return;
+            }
+            queued = new QueuedEvent(event, Clock.currentTimeMillis());
+            queue.events.put(entryKey == null ? queued : entryKey, queued);
+        }
+    }
+
+    private boolean reserve() {
+        int size = queueSize.incrementAndGet();
+        if (size > config.getQueueCapacity()) {
+            queueSize.decrementAndGet();
+            return false;
+        }
+        if (size == config.getBatchSize()) {
+            LockSupport.unpark(sender);
+        }
+        return true;
+    }
+
+    @Override
+    public void publishReplicationEventBackup(String serviceName, ReplicationEventObject eventObject) {
+        //NOP
+    }
+
+    @Override
+    public void publishReplicationEvent(WanReplicationEvent wanReplicationEvent) {
+        publishReplicationEvent(wanReplicationEvent.getServiceName(), wanReplicationEvent.getEventObject());
+    }
+
+    @Override
+    public void checkWanReplicationQueues() {
+        if (config.getQueueFullBehavior() == WANQueueFullBehavior.THROW_EXCEPTION
+                && queueSize.get() >= config.getQueueCapacity()) {
+            throw new WANReplicationQueueFullException("WAN replication queue of target cluster " + groupName
+                    + " is full, capacity: " + config.getQueueCapacity());
+        }
+    }
+
+    /**
+     * Stops sending batches. Events are still queued while paused.
+     */
+    public void pause() {
+        paused = true;
+        stats.setPaused(true);
+    }
+
+    public void resume() {
+        paused = false;
+        stats.setPaused(false);
+        LockSupport.unpark(sender);
+    }
+
+    public LocalWanPublisherStats getStats() {
+        stats.setOutboundQueueSize(queueSize.get());
+        return stats;
+    }
+
+    @Override
+    public void shutdown() {
+        SenderThread thread = sender;
+        if (thread != null) {
+            thread.shutdown();
+        }
+    }
+
+    /**
+     * The events of a partition in the order they were published, keyed by the map entry they belong to. Events which
+     * are not bound to a map entry are keyed by themselves.
+     */
+    private static final class PartitionQueue {
+
+        // guarded by this
+        private final Map<Object, QueuedEvent> events = new LinkedHashMap<Object, QueuedEvent>();
+
+        synchronized void drainTo(List<QueuedEvent> batch, int maxCount) {
+            Iterator<QueuedEvent> iterator = events.values().iterator();
+            for (int i = 0; i < maxCount && iterator.hasNext(); i++) {
+                batch.add(iterator.next());
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class QueuedEvent {
+
+        private final long creationTime;
+        // guarded by the partition queue until the event is drained
+        private WanReplicationEvent event;
+
+        QueuedEvent(WanReplicationEvent event, long creationTime) {
+            this.event = event;
+            this.creationTime = creationTime;
+        }
+    }
+
+    private static final class EntryKey {
+
+        private final String mapName;
+        private final Data key;
+
+        EntryKey(String mapName, Data key) {
+            this.mapName = mapName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EntryKey)) {
+                return false;
+            }
+            EntryKey that = (EntryKey) o;
+            return key.equals(that.key) && mapName.equals(that.mapName);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mapName.hashCode() + key.hashCode();
+        }
+    }
+
+    private final class SenderThread extends Thread {
+
+        private final List<QueuedEvent> batch = new ArrayList<QueuedEvent>();
+
+        private volatile boolean shutdown;
+        private int nextPartitionId;
+        private int targetIndex;
+        private boolean authorized;
+
+        private SenderThread(HazelcastThreadGroup hzThreadGroup) {
+            super(hzThreadGroup.getInternalThreadGroup(), hzThreadGroup.getThreadNamePrefix("wan-batch-" + groupName));
+            setDaemon(true);
+        }
+
+        void shutdown() {
+            shutdown = true;
+            interrupt();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!shutdown) {
+                    awaitBatch();
+                    if (shutdown || paused) {
+                        continue;
+                    }
+                    drainBatch();
+                    if (!batch.isEmpty()) {
+                        send();
+                        batch.clear();
+                    }
+                }
+            } catch (Throwable t) {
+                inspectOutputMemoryError(t);
+                logger.severe("Failed to run", t);
+            }
+        }
+
+        private void awaitBatch() {
+            long deadline = Clock.currentTimeMillis() + config.getBatchMaxDelayMillis();
+            long remaining = config.getBatchMaxDelayMillis();
+            while (!shutdown && remaining > 0 && (paused || queueSize.get() < config.getBatchSize())) {
+                LockSupport.parkNanos(MILLISECONDS.toNanos(remaining));
+                remaining = deadline - Clock.currentTimeMillis();
+            }
+        }
+
+        private void drainBatch() {
+            int batchSize = config.getBatchSize();
+            int partitionCount = partitionQueues.length;
+            for (int i = 0; i < partitionCount && batch.size() < batchSize; i++) {
+                PartitionQueue queue = partitionQueues[nextPartitionId];
+                nextPartitionId = (nextPartitionId + 1) % partitionCount;
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            queueSize.addAndGet(-batch.size());
+        }
+
+        private void send() {
+            List<WanReplicationEvent> events = new ArrayList<WanReplicationEvent>(batch.size());
+            for (QueuedEvent queued : batch) {
+                events.add(queued.event);
+            }
+
+            while (!shutdown) {
+                Address target = targets[targetIndex];
+                try {
+                    if (!authorized) {
+                        authorize(target);
+                    }
+                    invoke(new WanBatchReplicationOperation(events, config.getAcknowledgeType()), target);
+                    stats.setConnected(true);
+                    long now = Clock.currentTimeMillis();
+                    for (QueuedEvent queued : batch) {
+                        stats.incrementPublishedEventCount(now - queued.creationTime);
+                    }
+                    return;
+                } catch (Exception e) {
+                    if (shutdown) {
+                        return;
+                    }
+                    logger.warning("Failed to replicate " + events.size() + " events to " + target + " of target cluster "
+                            + groupName + ", retrying with the next end-point: " + e.getMessage());
+                    stats.setConnected(false);
+                    authorized = false;
+                    targetIndex = (targetIndex + 1) % targets.length;
+                    sleep();
+                }
+            }
+        }
+
+        private void authorize(Address target) throws Exception {
+            Object authorized = invoke(new AuthorizationOperation(groupName, password), target);
+            if (!Boolean.TRUE.equals(authorized)) {
+                throw new HazelcastException("Invalid group name or password for target cluster " + groupName);
+            }
+            this.authorized = true;
+        }
+
+        private Object invoke(Operation op, Address target) throws Exception {
+            long timeout = config.getResponseTimeoutMillis();
+            Future<Object> future = node.nodeEngine.getOperationService()
+                    .createInvocationBuilder(WanReplicationService.SERVICE_NAME, op, target)
+                    .setTryCount(1)
+                    .setCallTimeout(timeout)
+                    .invoke();
+            return future.get(timeout, MILLISECONDS);
+        }
+
+        private void sleep() {
+            try {
+                Thread.sleep(RETRY_DELAY_MILLIS);
+            } catch (InterruptedException ignore) {
+                // can safely be ignored. If this thread wants to shut down, it will read the shutdown variable.
+                EmptyStatement.ignore(ignore);
+            }
+        }
+    }
+}
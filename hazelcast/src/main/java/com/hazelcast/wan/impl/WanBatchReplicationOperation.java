@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.cluster.impl.operations.WanReplicationOperation;
+import com.hazelcast.config.WanAcknowledgeType;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.AbstractOperation;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.WanReplicationService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries a batch of {@link WanReplicationEvent}s from a {@link WanBatchReplication} publisher to a member of the target
+ * cluster.
+ * <p/>
+ * The events are applied on the WAN replication executor of the target member, striped by partition so the events of a
+ * partition are applied in the order they were published. With {@link WanAcknowledgeType#ACK_ON_RECEIPT} the batch is
+ * acknowledged as soon as it is handed to the executor, with {@link WanAcknowledgeType#ACK_ON_OPERATION_COMPLETE} only
+ * after all of its events have been applied.
+ */
+public class WanBatchReplicationOperation extends AbstractOperation
+        implements WanReplicationOperation, IdentifiedDataSerializable {
+
+    private List<WanReplicationEvent> events;
+    private WanAcknowledgeType acknowledgeType;
+
+    public WanBatchReplicationOperation() {
+    }
+
+    public WanBatchReplicationOperation(List<WanReplicationEvent> events, WanAcknowledgeType acknowledgeType) {
+        this.events = events;
+        this.acknowledgeType = acknowledgeType;
+    }
+
+    @Override
+    public void run() throws Exception {
+        WanReplicationServiceImpl service = getService();
+        if (acknowledgeType == WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE) {
+            service.applyBatch(events, this);
+        } else {
+            service.applyBatch(events, null);
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return acknowledgeType != WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE;
+    }
+
+    @Override
+    public Object getResponse() {
+        return Boolean.TRUE;
+    }
+
+    @Override
+    public String getServiceName() {
+        return WanReplicationService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return WanDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getId() {
+        return WanDataSerializerHook.WAN_BATCH_REPLICATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(acknowledgeType.getId());
+        out.writeInt(events.size());
+        for (WanReplicationEvent event : events) {
+            out.writeObject(event);
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        acknowledgeType = WanAcknowledgeType.getById(in.readInt());
+        int size = in.readInt();
+        events = new ArrayList<WanReplicationEvent>(size);
+        for (int i = 0; i < size; i++) {
+            WanReplicationEvent event = in.readObject();
+            events.add(event);
+        }
+    }
+}
@@ -49,6 +49,11 @@ public class WanDataSerializerHook implements DataSerializerHook {
      */
     public static final int MAP_REPLICATION_REMOVE = 2;
 
+    /**
+     * Id of {@link com.hazelcast.wan.impl.WanBatchReplicationOperation}
+     */
+    public static final int WAN_BATCH_REPLICATION = 3;
+
     @Override
     public int getFactoryId() {
         return F_ID;
@@ -67,6 +72,8 @@ public class WanDataSerializerHook implements DataSerializerHook {
                         return new MapReplicationUpdate();
                     case MAP_REPLICATION_REMOVE:
                         return new MapReplicationRemove();
+                    case WAN_BATCH_REPLICATION:
+                        return new WanBatchReplicationOperation();
                 }
                 throw new IllegalArgumentException("Unknown type-id: " + typeId);
             }
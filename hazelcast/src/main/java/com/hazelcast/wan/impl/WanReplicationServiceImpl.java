@@ -22,21 +22,33 @@ import com.hazelcast.config.WanTargetClusterConfig;
 import com.hazelcast.instance.HazelcastThreadGroup;
 import com.hazelcast.instance.Node;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.wan.MapReplicationRemove;
+import com.hazelcast.map.impl.wan.MapReplicationUpdate;
+import com.hazelcast.monitor.LocalWanPublisherStats;
 import com.hazelcast.monitor.LocalWanStats;
+import com.hazelcast.monitor.impl.LocalWanStatsImpl;
 import com.hazelcast.nio.ClassLoaderUtil;
 import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.spi.Operation;
 import com.hazelcast.spi.ReplicationSupportingService;
 import com.hazelcast.util.ExceptionUtil;
 import com.hazelcast.util.executor.StripedExecutor;
 import com.hazelcast.util.executor.StripedRunnable;
+import com.hazelcast.wan.ReplicationEventObject;
 import com.hazelcast.wan.WanReplicationEndpoint;
 import com.hazelcast.wan.WanReplicationEvent;
 import com.hazelcast.wan.WanReplicationPublisher;
 import com.hazelcast.wan.WanReplicationService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Open source implementation of the {@link com.hazelcast.wan.WanReplicationService}
@@ -75,23 +87,7 @@ public class WanReplicationServiceImpl implements WanReplicationService {
             WanReplicationEndpoint[] targetEndpoints = new WanReplicationEndpoint[targets.size()];
             int count = 0;
             for (WanTargetClusterConfig targetClusterConfig : targets) {
-                WanReplicationEndpoint target;
-                try {
-                    if (targetClusterConfig.getReplicationImplObject() != null) {
-                        target = (WanReplicationEndpoint) targetClusterConfig.getReplicationImplObject();
-                    } else {
-                        target = ClassLoaderUtil
-                                .newInstance(node.getConfigClassLoader(), targetClusterConfig.getReplicationImpl());
-                    }
-                } catch (Exception e) {
-                    throw ExceptionUtil.rethrow(e);
-                }
-                String groupName = targetClusterConfig.getGroupName();
-                String password = targetClusterConfig.getGroupPassword();
-                String[] addresses = new String[targetClusterConfig.getEndpoints().size()];
-                targetClusterConfig.getEndpoints().toArray(addresses);
-                target.init(node, groupName, password, addresses);
-                targetEndpoints[count++] = target;
+                targetEndpoints[count++] = createEndpoint(targetClusterConfig);
             }
             wr = new WanReplicationPublisherDelegate(name, targetEndpoints);
             wanReplications.put(name, wr);
@@ -99,6 +95,35 @@ public class WanReplicationServiceImpl implements WanReplicationService {
         }
     }
 
+    private WanReplicationEndpoint createEndpoint(WanTargetClusterConfig targetClusterConfig) {
+        WanReplicationEndpoint target = newEndpoint(targetClusterConfig);
+        if (target instanceof WanBatchReplication) {
+            ((WanBatchReplication) target).configure(targetClusterConfig);
+        }
+        String groupName = targetClusterConfig.getGroupName();
+        String password = targetClusterConfig.getGroupPassword();
+        String[] addresses = new String[targetClusterConfig.getEndpoints().size()];
+        targetClusterConfig.getEndpoints().toArray(addresses);
+        target.init(node, groupName, password, addresses);
+        return target;
+    }
+
+    /**
+     * Creates the configured endpoint implementation, or a {@link WanBatchReplication} if none is configured.
+     */
+    private WanReplicationEndpoint newEndpoint(WanTargetClusterConfig targetClusterConfig) {
+        try {
+            if (targetClusterConfig.getReplicationImplObject() != null) {
+                return (WanReplicationEndpoint) targetClusterConfig.getReplicationImplObject();
+            } else if (targetClusterConfig.getReplicationImpl() != null) {
+                return ClassLoaderUtil.newInstance(node.getConfigClassLoader(), targetClusterConfig.getReplicationImpl());
+            }
+            return new WanBatchReplication();
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
     @Override
     public void handle(final Packet packet) {
         StripedExecutor ex = getExecutor();
@@ -107,9 +132,7 @@ public class WanReplicationServiceImpl implements WanReplicationService {
             public void run() {
                 try {
                     WanReplicationEvent replicationEvent = (WanReplicationEvent) node.nodeEngine.toObject(packet);
-                    String serviceName = replicationEvent.getServiceName();
-                    ReplicationSupportingService service = node.nodeEngine.getService(serviceName);
-                    service.onReplicationEvent(replicationEvent);
+                    applyEvent(replicationEvent);
                 } catch (Exception e) {
                     logger.severe(e);
                 }
@@ -122,6 +145,101 @@ public class WanReplicationServiceImpl implements WanReplicationService {
         });
     }
 
+    /**
+     * Applies a batch of events received from a {@link WanBatchReplication} of another cluster. The events are grouped by
+     * the partition of their key and each group is applied as one task of the striped executor, so the events of a
+     * partition are applied in the order they were sent.
+     *
+     * @param events    the events to apply
+     * @param operation the operation to send a response to once all events are applied, or null if no response is expected
+     */
+    void applyBatch(List<WanReplicationEvent> events, final Operation operation) {
+        Map<Integer, List<WanReplicationEvent>> eventsByPartition = new HashMap<Integer, List<WanReplicationEvent>>();
+        for (WanReplicationEvent event : events) {
+            Integer partitionId = getPartitionId(event.getEventObject());
+            List<WanReplicationEvent> partitionEvents = eventsByPartition.get(partitionId);
+            if (partitionEvents == null) {
+                partitionEvents = new ArrayList<WanReplicationEvent>();
+                eventsByPartition.put(partitionId, partitionEvents);
+            }
+            partitionEvents.add(event);
+        }
+        if (eventsByPartition.isEmpty() && operation != null) {
+            operation.sendResponse(Boolean.TRUE);
+            return;
+        }
+
+        final AtomicInteger remaining = new AtomicInteger(eventsByPartition.size());
+        final AtomicReference<Exception> failure = new AtomicReference<Exception>();
+        StripedExecutor ex = getExecutor();
+        int submitted = 0;
+        for (Map.Entry<Integer, List<WanReplicationEvent>> entry : eventsByPartition.entrySet()) {
+            final int partitionId = entry.getKey();
+            final List<WanReplicationEvent> partitionEvents = entry.getValue();
+            try {
+                ex.execute(new StripedRunnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            for (WanReplicationEvent event : partitionEvents) {
+                                applyEvent(event);
+                            }
+                        } finally {
+                            if (remaining.decrementAndGet() == 0) {
+                                sendBatchResponse(operation, failure.get());
+                            }
+                        }
+                    }
+
+                    @Override
+                    public int getKey() {
+                        return partitionId;
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the events of the partitions not submitted yet are lost, the batch fails so the publisher resends it
+                logger.warning("Failed to apply a batch of " + events.size() + " wan replication events: " + e.getMessage());
+                failure.set(e);
+                if (remaining.addAndGet(submitted - eventsByPartition.size()) == 0) {
+                    sendBatchResponse(operation, e);
+                }
+                if (operation == null) {
+                    throw e;
+                }
+                return;
+            }
+            submitted++;
+        }
+    }
+
+    private static void sendBatchResponse(Operation operation, Exception failure) {
+        if (operation != null) {
+            operation.sendResponse(failure != null ? failure : Boolean.TRUE);
+        }
+    }
+
+    private int getPartitionId(ReplicationEventObject eventObject) {
+        Data key;
+        if (eventObject instanceof MapReplicationUpdate) {
+            key = node.nodeEngine.toData(((MapReplicationUpdate) eventObject).getEntryView().getKey());
+        } else if (eventObject instanceof MapReplicationRemove) {
+            key = ((MapReplicationRemove) eventObject).getKey();
+        } else {
+            return 0;
+        }
+        return node.getPartitionService().getPartitionId(key);
+    }
+
+    private void applyEvent(WanReplicationEvent replicationEvent) {
+        try {
+            String serviceName = replicationEvent.getServiceName();
+            ReplicationSupportingService service = node.nodeEngine.getService(serviceName);
+            service.onReplicationEvent(replicationEvent);
+        } catch (Exception e) {
+            logger.severe(e);
+        }
+    }
+
     private StripedExecutor getExecutor() {
         StripedExecutor ex = executor;
         if (ex == null) {
@@ -163,17 +281,46 @@ public class WanReplicationServiceImpl implements WanReplicationService {
 
     @Override
     public void pause(String name, String targetGroupName) {
-        throw new UnsupportedOperationException("Pausing wan replication is not supported.");
+        WanBatchReplication batchReplication = getBatchReplication(name, targetGroupName);
+        if (batchReplication != null) {
+            batchReplication.pause();
+        }
     }
 
     @Override
     public void resume(String name, String targetGroupName) {
-        throw new UnsupportedOperationException("Resuming wan replication is not supported");
+        WanBatchReplication batchReplication = getBatchReplication(name, targetGroupName);
+        if (batchReplication != null) {
+            batchReplication.resume();
+        }
+    }
+
+    /**
+     * Returns the {@link WanBatchReplication} replicating to the target group, or null if the target group is replicated
+     * to by another endpoint implementation. Such an endpoint can't be paused, it keeps publishing every event.
+     */
+    private WanBatchReplication getBatchReplication(String name, String targetGroupName) {
+        WanReplicationPublisherDelegate wr = (WanReplicationPublisherDelegate) getWanReplicationPublisher(name);
+        if (wr != null) {
+            for (WanReplicationEndpoint endpoint : wr.getEndpoints()) {
+                if (endpoint instanceof WanBatchReplication
+                        && targetGroupName.equals(((WanBatchReplication) endpoint).getGroupName())) {
+                    return (WanBatchReplication) endpoint;
+                }
+            }
+        }
+        logger.warning("Pausing and resuming wan replication is only supported by " + WanBatchReplication.class.getName()
+                + ", events of wan replication " + name + " to target group " + targetGroupName
+                + " are still published one by one");
+        return null;
     }
 
     @Override
     public void checkWanReplicationQueues(String name) {
-        //NOP
+        WanReplicationPublisherDelegate wr = wanReplications.get(name);
+        if (wr != null) {
+            wr.checkWanReplicationQueues();
+        }
     }
 
     private ConcurrentHashMap<String, WanReplicationPublisherDelegate> initializeWanReplicationPublisherMapping() {
@@ -182,6 +329,21 @@ public class WanReplicationServiceImpl implements WanReplicationService {
 
     @Override
     public Map<String, LocalWanStats> getStats() {
-        return null;
+        Map<String, LocalWanStats> stats = new HashMap<String, LocalWanStats>();
+        for (WanReplicationPublisherDelegate wanReplication : wanReplications.values()) {
+            Map<String, LocalWanPublisherStats> publisherStats = new HashMap<String, LocalWanPublisherStats>();
+            for (WanReplicationEndpoint endpoint : wanReplication.getEndpoints()) {
+                if (endpoint instanceof WanBatchReplication) {
+                    WanBatchReplication batchReplication = (WanBatchReplication) endpoint;
+                    publisherStats.put(batchReplication.getGroupName(), batchReplication.getStats());
+                }
+            }
+            if (!publisherStats.isEmpty()) {
+                LocalWanStatsImpl wanStats = new LocalWanStatsImpl();
+                wanStats.setLocalPublisherStatsMap(publisherStats);
+                stats.put(wanReplication.getName(), wanStats);
+            }
+        }
+        return stats;
     }
 }
@@ -0,0 +1,102 @@
+package com.hazelcast.aggregation;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.AbstractMap;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class AggregatorsTest {
+
+    @Test
+    public void count() {
+        Aggregator<Object, Long> aggregator = accumulate(Aggregators.count(), 1, 2, null, 3);
+
+        assertEquals(Long.valueOf(3), aggregator.aggregate());
+    }
+
+    @Test
+    public void distinct() {
+        Aggregator<Object, Set<Integer>> aggregator = accumulate(Aggregators.<Integer>distinct(), 1, 2, 2, 3);
+
+        assertEquals(3, aggregator.aggregate().size());
+    }
+
+    @Test
+    public void sums() {
+        assertEquals(Long.valueOf(6), accumulate(Aggregators.longSum(), 1, 2L, (short) 3).aggregate());
+        assertEquals(4.5, accumulate(Aggregators.doubleSum(), 1.5, 3).aggregate(), 0);
+    }
+
+    @Test
+    public void averages() {
+        assertEquals(2.5, accumulate(Aggregators.longAvg(), 1, 4).aggregate(), 0);
+        assertEquals(1.25, accumulate(Aggregators.doubleAvg(), 1.0, 1.5).aggregate(), 0);
+        assertNull(Aggregators.longAvg().aggregate());
+        assertNull(Aggregators.doubleAvg().aggregate());
+    }
+
+    @Test
+    public void minAndMax() {
+        assertEquals(Long.valueOf(-5), accumulate(Aggregators.longMin(), 3, -5, 7).aggregate());
+        assertEquals(Long.valueOf(7), accumulate(Aggregators.longMax(), 3, -5, 7).aggregate());
+        assertEquals(-0.5, accumulate(Aggregators.doubleMin(), 3.0, -0.5).aggregate(), 0);
+        assertEquals(3.0, accumulate(Aggregators.doubleMax(), 3.0, -0.5).aggregate(), 0);
+        assertEquals("a", accumulate(Aggregators.<String>comparableMin(), "b", "a", "c").aggregate());
+        assertEquals("c", accumulate(Aggregators.<String>comparableMax(), "b", "a", "c").aggregate());
+        assertNull(Aggregators.longMin().aggregate());
+        assertNull(Aggregators.<String>comparableMax().aggregate());
+    }
+
+    @Test
+    public void combine() {
+        Aggregator<Object, Double> first = accumulate(Aggregators.longAvg(), 1, 2);
+        Aggregator<Object, Double> second = accumulate(Aggregators.longAvg(), 6);
+        Aggregator<Object, Double> empty = Aggregators.longAvg();
+
+        first.combine(second);
+        first.combine(empty);
+
+        assertEquals(3.0, first.aggregate(), 0);
+    }
+
+    @Test
+    public void combine_minAndMax_withEmpty() {
+        Aggregator<Object, Long> min = Aggregators.longMin();
+        min.combine(accumulate(Aggregators.longMin(), 4));
+        min.combine(Aggregators.longMin());
+
+        assertEquals(Long.valueOf(4), min.aggregate());
+    }
+
+    @Test
+    public void entryValueIsAggregated() {
+        Aggregator<Object, Long> aggregator = Aggregators.longSum();
+        aggregator.accumulate(new AbstractMap.SimpleEntry<String, Integer>("a", 5));
+        aggregator.accumulate(new AbstractMap.SimpleEntry<String, Integer>("b", 6));
+
+        assertEquals(Long.valueOf(11), aggregator.aggregate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void attributePath_whenInputNotExtractable() {
+        Aggregators.longSum("age").accumulate(new AbstractMap.SimpleEntry<String, Integer>("a", 5));
+    }
+
+    private static <R> Aggregator<Object, R> accumulate(Aggregator<Object, R> aggregator, Object... values) {
+        for (Object value : asList(values)) {
+            aggregator.accumulate(value);
+        }
+        return aggregator;
+    }
+}
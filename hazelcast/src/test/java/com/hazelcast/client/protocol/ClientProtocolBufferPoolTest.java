@@ -0,0 +1,133 @@
+package com.hazelcast.client.protocol;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientMessageBuilder;
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool.MAX_POOLED_SIZE;
+import static com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool.MIN_POOLED_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ClientProtocolBufferPoolTest {
+
+    private final ClientProtocolBufferPool pool = new ClientProtocolBufferPool(2);
+
+    @Test
+    public void acquire_roundsUpToSizeClass() {
+        assertEquals(MIN_POOLED_SIZE, pool.acquire(1).length);
+        assertEquals(MIN_POOLED_SIZE * 2, pool.acquire(MIN_POOLED_SIZE + 1).length);
+    }
+
+    @Test
+    public void acquire_whenLargerThanMaxPooledSize() {
+        assertEquals(MAX_POOLED_SIZE + 1, pool.acquire(MAX_POOLED_SIZE + 1).length);
+    }
+
+    @Test
+    public void release_thenAcquireReturnsSameArray() {
+        byte[] array = pool.acquire(MIN_POOLED_SIZE);
+        pool.release(array);
+
+        assertEquals(1, pool.pooledCount());
+        assertSame(array, pool.acquire(MIN_POOLED_SIZE));
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    public void release_whenArrayNotPoolable() {
+        pool.release(new byte[MIN_POOLED_SIZE + 1]);
+        pool.release(new byte[MAX_POOLED_SIZE * 2]);
+
+        assertEquals(0, pool.pooledCount());
+    }
+
+    @Test
+    public void release_whenSizeClassFull() {
+        pool.release(new byte[MIN_POOLED_SIZE]);
+        pool.release(new byte[MIN_POOLED_SIZE]);
+        pool.release(new byte[MIN_POOLED_SIZE]);
+
+        assertEquals(2, pool.pooledCount());
+    }
+
+    @Test
+    public void pooledMessage_growsAndReleasesItsBuffers() {
+        byte[] payload = new byte[3 * MIN_POOLED_SIZE];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ByteBuffer frame = frame(1, ClientMessage.BEGIN_AND_END_FLAGS, payload);
+
+        ClientMessage message = ClientMessage.create(pool);
+        assertTrue(message.readFrom(frame));
+        // the initial buffer was released when the message grew
+        assertEquals(1, pool.pooledCount());
+        assertEquals(1, message.getCorrelationId());
+        assertEquals(payload[payload.length - 1], message.buffer().getByte(message.getFrameLength() - 1));
+
+        message.release();
+        assertEquals(2, pool.pooledCount());
+
+        // a second release is ignored
+        message.release();
+        assertEquals(2, pool.pooledCount());
+    }
+
+    @Test
+    public void builder_releasesFragments() {
+        final List<ClientMessage> messages = new ArrayList<ClientMessage>();
+        ClientMessageBuilder builder = new ClientMessageBuilder(new ClientMessageBuilder.MessageHandler() {
+            @Override
+            public void handleMessage(ClientMessage message) {
+                messages.add(message);
+            }
+        }, pool);
+
+        builder.onData(frame(5, ClientMessage.BEGIN_FLAG, new byte[]{1, 2}));
+        builder.onData(frame(5, ClientMessage.END_FLAG, new byte[]{3}));
+        builder.onData(frame(6, ClientMessage.BEGIN_AND_END_FLAGS, new byte[]{4}));
+
+        assertEquals(2, messages.size());
+        ClientMessage merged = messages.get(0);
+        assertEquals(5, merged.getCorrelationId());
+        assertEquals(3, merged.getFrameLength() - merged.getDataOffset());
+        assertEquals(3, merged.buffer().getByte(merged.getDataOffset() + 2));
+
+        ClientMessage single = messages.get(1);
+        assertEquals(6, single.getCorrelationId());
+
+        // the buffers of the fragments were released and reused for the next messages
+        assertEquals(0, pool.pooledCount());
+        single.release();
+        assertEquals(1, pool.pooledCount());
+    }
+
+    private static ByteBuffer frame(long correlationId, short flags, byte[] payload) {
+        ClientMessage message = ClientMessage.createForEncode(ClientMessage.HEADER_SIZE + payload.length);
+        message.setCorrelationId(correlationId);
+        message.addFlag(flags);
+        for (byte b : payload) {
+            message.set(b);
+        }
+        message.updateFrameLength();
+
+        ByteBuffer buffer = ByteBuffer.allocate(message.getFrameLength());
+        message.writeTo(buffer);
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -23,6 +23,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import static org.junit.Assert.assertEquals;
+
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
 public class ReplicatedMapConfigTest {
@@ -34,4 +36,25 @@ public class ReplicatedMapConfigTest {
     public void testReadOnlyReplicatedMapConfigSetStatisticsEnabled() {
         new ReplicatedMapConfigReadOnly(new ReplicatedMapConfig()).setStatisticsEnabled(true);
     }
+
+    /**
+     * Test method for {@link ReplicatedMapConfigReadOnly#setReplicationBatchSize(int)}
+     */
+    @Test(expected = java.lang.UnsupportedOperationException.class)
+    public void testReadOnlyReplicatedMapConfigSetReplicationBatchSize() {
+        new ReplicatedMapConfigReadOnly(new ReplicatedMapConfig()).setReplicationBatchSize(10);
+    }
+
+    @Test
+    public void testSetReplicationBatchSize() {
+        ReplicatedMapConfig config = new ReplicatedMapConfig().setReplicationBatchSize(10);
+
+        assertEquals(10, config.getReplicationBatchSize());
+        assertEquals(10, new ReplicatedMapConfig(config).getReplicationBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetReplicationBatchSize_whenNegative() {
+        new ReplicatedMapConfig().setReplicationBatchSize(-1);
+    }
 }
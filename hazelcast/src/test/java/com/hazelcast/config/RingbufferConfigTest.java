@@ -185,6 +185,35 @@ public class RingbufferConfigTest {
         assertEquals(InMemoryFormat.OBJECT, config.getInMemoryFormat());
     }
 
+    // ================== store =================================
+
+    @Test
+    public void setStoreDirectory() {
+        RingbufferConfig config = new RingbufferConfig(NAME);
+
+        RingbufferConfig returned = config.setStoreDirectory("/tmp/ringbuffers");
+
+        assertSame(config, returned);
+        assertEquals("/tmp/ringbuffers", config.getStoreDirectory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setStoreCapacity_whenZero() {
+        RingbufferConfig config = new RingbufferConfig(NAME);
+
+        config.setStoreCapacity(0);
+    }
+
+    @Test
+    public void setStoreCapacity() {
+        RingbufferConfig config = new RingbufferConfig(NAME);
+
+        RingbufferConfig returned = config.setStoreCapacity(1000);
+
+        assertSame(config, returned);
+        assertEquals(1000, config.getStoreCapacity());
+    }
+
     // ==================== toString ================================
 
     @Test
@@ -194,7 +223,8 @@ public class RingbufferConfigTest {
         String s = config.toString();
 
         assertEquals("RingbufferConfig{name='someringbuffer', capacity=10000, backupCount=1, " +
-                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY}", s);
+                "asyncBackupCount=0, timeToLiveSeconds=0, inMemoryFormat=BINARY, storeDirectory=null, " +
+                "storeCapacity=10000000}", s);
     }
 
     // =================== getAsReadOnly ============================
@@ -202,7 +232,8 @@ public class RingbufferConfigTest {
     @Test
     public void getAsReadOnly() {
         RingbufferConfig original = new RingbufferConfig(NAME);
-        original.setBackupCount(2).setAsyncBackupCount(1).setCapacity(10).setTimeToLiveSeconds(400);
+        original.setBackupCount(2).setAsyncBackupCount(1).setCapacity(10).setTimeToLiveSeconds(400)
+                .setStoreDirectory("/tmp/ringbuffers").setStoreCapacity(1000);
 
         RingbufferConfig readonly = original.getAsReadOnly();
         assertNotNull(readonly);
@@ -213,6 +244,8 @@ public class RingbufferConfigTest {
         assertEquals(original.getCapacity(), readonly.getCapacity());
         assertEquals(original.getTimeToLiveSeconds(), readonly.getTimeToLiveSeconds());
         assertEquals(original.getInMemoryFormat(), readonly.getInMemoryFormat());
+        assertEquals(original.getStoreDirectory(), readonly.getStoreDirectory());
+        assertEquals(original.getStoreCapacity(), readonly.getStoreCapacity());
 
         try {
             readonly.setCapacity(10);
@@ -243,5 +276,17 @@ public class RingbufferConfigTest {
             fail();
         } catch (UnsupportedOperationException expected) {
         }
+
+        try {
+            readonly.setStoreDirectory("/tmp/ringbuffers");
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        try {
+            readonly.setStoreCapacity(1000);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
     }
 }
@@ -0,0 +1,74 @@
+package com.hazelcast.core;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.executor.CompletedFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PipeliningTest extends HazelcastTestSupport {
+
+    private HazelcastInstance hz;
+
+    @Before
+    public void setUp() {
+        hz = createHazelcastInstance(new Config());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_whenZeroDepth() {
+        new Pipelining<String>(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() throws Exception {
+        Pipelining<String> pipelining = new Pipelining<String>(1);
+        pipelining.add(null);
+    }
+
+    @Test
+    public void results_inOrderOfAdding() throws Exception {
+        IMap<Integer, String> map = hz.getMap(randomMapName());
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+
+        Pipelining<String> pipelining = new Pipelining<String>(10);
+        for (int i = 0; i < 1000; i++) {
+            pipelining.add((ICompletableFuture<String>) map.getAsync(i));
+        }
+        List<String> results = pipelining.results();
+
+        assertEquals(1000, results.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("value" + i, results.get(i));
+        }
+    }
+
+    @Test
+    public void results_whenCallFailed() throws Exception {
+        Pipelining<String> pipelining = new Pipelining<String>(1);
+        pipelining.add(new CompletedFuture<String>(null, new IllegalStateException(), null));
+
+        try {
+            pipelining.results();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+}
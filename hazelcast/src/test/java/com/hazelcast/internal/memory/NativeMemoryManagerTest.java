@@ -0,0 +1,86 @@
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryStats;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED;
+import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.STANDARD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeMemoryManagerTest {
+
+    @Test
+    public void getAllocator_isStripedByPartition() {
+        NativeMemoryManager manager = new NativeMemoryManager(newConfig(POOLED), 4);
+
+        assertSame(manager.getAllocator(1), manager.getAllocator(5));
+        assertNotSame(manager.getAllocator(1), manager.getAllocator(2));
+        assertTrue(manager.getAllocator(0) instanceof PoolingMemoryAllocator);
+    }
+
+    @Test
+    public void getAllocator_whenStandard() {
+        NativeMemoryManager manager = new NativeMemoryManager(newConfig(STANDARD), 4);
+
+        assertTrue(manager.getAllocator(0) instanceof StandardMemoryAllocator);
+    }
+
+    @Test
+    public void memoryStats_sharedByAllocators() {
+        NativeMemoryManager manager = new NativeMemoryManager(newConfig(STANDARD), 2);
+        MemoryAllocator allocator1 = manager.getAllocator(0);
+        MemoryAllocator allocator2 = manager.getAllocator(1);
+
+        long address1 = allocator1.allocate(100);
+        long address2 = allocator2.allocate(200);
+
+        MemoryStats stats = manager.getMemoryStats();
+        assertEquals(MemoryUnit.MEGABYTES.toBytes(1), stats.getMaxNativeMemory());
+        assertEquals(300, stats.getUsedNativeMemory());
+        assertEquals(300, stats.getCommittedNativeMemory());
+
+        allocator1.free(address1, 100);
+        allocator2.free(address2, 200);
+        assertEquals(0, stats.getUsedNativeMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void allocate_whenLimitExceeded() {
+        NativeMemoryManager manager = new NativeMemoryManager(newConfig(STANDARD), 2);
+
+        manager.getAllocator(0).allocate(MemoryUnit.MEGABYTES.toBytes(2));
+    }
+
+    @Test
+    public void dispose() {
+        NativeMemoryManager manager = new NativeMemoryManager(newConfig(POOLED), 2);
+        manager.getAllocator(0).allocate(100);
+        manager.getAllocator(1).allocate(100);
+
+        manager.dispose();
+
+        assertEquals(0, manager.getMemoryStats().getCommittedNativeMemory());
+    }
+
+    private static NativeMemoryConfig newConfig(NativeMemoryConfig.MemoryAllocatorType allocatorType) {
+        return new NativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(allocatorType)
+                .setPageSize(1 << 16)
+                .setSize(new MemorySize(1, MemoryUnit.MEGABYTES));
+    }
+}
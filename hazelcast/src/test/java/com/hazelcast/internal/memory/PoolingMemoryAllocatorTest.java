@@ -0,0 +1,129 @@
+package com.hazelcast.internal.memory;
+
+import com.hazelcast.memory.NativeOutOfMemoryError;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.nio.UnsafeHelper.UNSAFE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class PoolingMemoryAllocatorTest {
+
+    private static final int MIN_BLOCK_SIZE = 16;
+    private static final int PAGE_SIZE = 1 << 16;
+
+    private NativeMemoryStats stats;
+    private PoolingMemoryAllocator allocator;
+
+    @Before
+    public void setup() {
+        stats = new NativeMemoryStats(1 << 24);
+        allocator = new PoolingMemoryAllocator(stats, MIN_BLOCK_SIZE, PAGE_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        allocator.dispose();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenMinBlockSizeNotPowerOfTwo() {
+        new PoolingMemoryAllocator(stats, 24, PAGE_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void construct_whenPageSizeSmallerThanMinBlockSize() {
+        new PoolingMemoryAllocator(stats, MIN_BLOCK_SIZE, 8);
+    }
+
+    @Test
+    public void allocate_roundsUpToSizeClass() {
+        allocator.allocate(1);
+        assertEquals(MIN_BLOCK_SIZE, stats.getUsedNativeMemory());
+
+        allocator.allocate(100);
+        assertEquals(MIN_BLOCK_SIZE + 128, stats.getUsedNativeMemory());
+    }
+
+    @Test
+    public void allocate_whenMemoryIsWritable() {
+        long address = allocator.allocate(64);
+        for (int i = 0; i < 8; i++) {
+            UNSAFE.putLong(address + i * 8, i);
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i, UNSAFE.getLong(address + i * 8));
+        }
+    }
+
+    @Test
+    public void allocate_returnsDistinctBlocks() {
+        long address1 = allocator.allocate(32);
+        long address2 = allocator.allocate(32);
+
+        assertNotEquals(address1, address2);
+        assertEquals(32, Math.abs(address1 - address2));
+    }
+
+    @Test
+    public void free_blockIsReused() {
+        long address = allocator.allocate(32);
+        allocator.free(address, 32);
+
+        assertEquals(0, stats.getUsedNativeMemory());
+        assertEquals(address, allocator.allocate(32));
+    }
+
+    @Test
+    public void allocate_committedMemoryIsRetainedAfterFree() {
+        long address = allocator.allocate(32);
+        long committed = stats.getCommittedNativeMemory();
+        allocator.free(address, 32);
+
+        assertEquals(committed, stats.getCommittedNativeMemory());
+    }
+
+    @Test
+    public void allocate_largerThanPageSize() {
+        long size = PAGE_SIZE * 2;
+        long address = allocator.allocate(size);
+        assertEquals(size, stats.getUsedNativeMemory());
+        assertEquals(size, stats.getCommittedNativeMemory());
+
+        allocator.free(address, size);
+        assertEquals(0, stats.getUsedNativeMemory());
+        assertEquals(0, stats.getCommittedNativeMemory());
+    }
+
+    @Test
+    public void dispose_releasesCommittedMemory() {
+        for (int i = 0; i < 1000; i++) {
+            allocator.allocate(i + 1);
+        }
+
+        allocator.dispose();
+
+        assertEquals(0, stats.getCommittedNativeMemory());
+    }
+
+    @Test(expected = NativeOutOfMemoryError.class)
+    public void allocate_whenMaxNativeMemoryExceeded() {
+        NativeMemoryStats smallStats = new NativeMemoryStats(PAGE_SIZE);
+        PoolingMemoryAllocator smallAllocator = new PoolingMemoryAllocator(smallStats, MIN_BLOCK_SIZE, PAGE_SIZE);
+        try {
+            smallAllocator.allocate(PAGE_SIZE);
+            smallAllocator.allocate(PAGE_SIZE);
+        } finally {
+            smallAllocator.dispose();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.EmptyStatement;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BulkLoadSessionTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = getConfig();
+        config.getMapConfig("nearCached*").setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true));
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        instance = instances[0];
+    }
+
+    @Test
+    public void putAllAsync() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        ICompletableFuture<Void> future = map.putAllAsync(entries(ENTRY_COUNT, 0));
+        future.andThen(new ExecutionCallback<Void>() {
+            @Override
+            public void onResponse(Void response) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+            }
+        });
+
+        assertNull(future.get());
+        assertOpenEventually(completed);
+        assertEntries(map, ENTRY_COUNT, 0);
+    }
+
+    @Test
+    public void putAllAsync_whenEmpty() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        ICompletableFuture<Void> future = map.putAllAsync(new HashMap<Integer, Integer>());
+
+        assertTrue(future.isDone());
+        assertNull(future.get());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void putAllAsync_whenNullValue() {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        entries.put(1, null);
+
+        map.putAllAsync(entries);
+    }
+
+    @Test
+    public void session() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(10, 2);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            session.add(i, i);
+        }
+        session.close();
+
+        assertEquals(ENTRY_COUNT, session.getAddedCount());
+        assertEntries(map, ENTRY_COUNT, 0);
+    }
+
+    @Test
+    public void session_flushSendsPartialBatches() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(1000, 1);
+        session.add(1, 1);
+        assertEquals(0, map.size());
+
+        session.flush();
+        assertEquals(1, map.size());
+        session.close();
+    }
+
+    @Test
+    public void session_whenSendInterrupted_thenBatchSentByNextFlush() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(1000, 1);
+        session.add(1, 1);
+        Thread.currentThread().interrupt();
+        try {
+            session.flush();
+            fail("flush should have been interrupted");
+        } catch (InterruptedException expected) {
+            EmptyStatement.ignore(expected);
+        }
+        assertEquals(0, map.size());
+
+        session.flush();
+        assertEquals(1, map.size());
+        session.close();
+    }
+
+    @Test
+    public void session_invalidatesNearCache() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap("nearCached" + randomMapName());
+        map.putAll(entries(ENTRY_COUNT, 0));
+        // populate the near cache
+        assertEntries(map, ENTRY_COUNT, 0);
+
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(10, 4);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            session.add(i, i + 1);
+        }
+        session.close();
+
+        assertEntries(map, ENTRY_COUNT, 1);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void session_addWhenClosed() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+        BulkLoadSession<Integer, Integer> session = map.newBulkLoadSession(10, 2);
+        session.close();
+
+        session.add(1, 1);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void session_addNullKey() throws Exception {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        map.newBulkLoadSession(10, 2).add(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void session_whenInvalidBatchSize() {
+        IMap<Integer, Integer> map = instance.getMap(randomMapName());
+
+        map.newBulkLoadSession(0, 2);
+    }
+
+    private static Map<Integer, Integer> entries(int count, int valueOffset) {
+        Map<Integer, Integer> entries = new HashMap<Integer, Integer>();
+        for (int i = 0; i < count; i++) {
+            entries.put(i, i + valueOffset);
+        }
+        return entries;
+    }
+
+    private static void assertEntries(IMap<Integer, Integer> map, int count, int valueOffset) {
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.valueOf(i + valueOffset), map.get(i));
+        }
+    }
+}
@@ -261,6 +261,30 @@ public class EntryProcessorTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testEntryProcessorWithIndexedPredicate() {
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        Config cfg = getConfig();
+        cfg.getMapConfig("test").setBackupCount(1);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(cfg);
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(cfg);
+        IMap<Integer, Integer> map = instance1.getMap("test");
+        map.addIndex("this", true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        Map<Integer, Object> result = map.executeOnEntries(new IncrementorEntryProcessor(), Predicates.greaterEqual("this", 90));
+
+        assertEquals(10, result.size());
+        instance1.shutdown();
+        IMap<Integer, Integer> map2 = instance2.getMap("test");
+        for (int i = 0; i < 100; i++) {
+            int expected = i >= 90 ? i + 1 : i;
+            assertEquals(expected, (int) map2.get(i));
+        }
+    }
+
     @Test
     public void testEntryProcessorWithKey() {
         Config cfg = getConfig();
@@ -485,10 +485,8 @@ public class EvictionTest extends HazelcastTestSupport {
         }
         assertOpenEventually(latch, 120);
         assertFalse("No eviction!?!?!?", map.size() == size);
-        // these entries should exist in map after evicting LFU.
-        for (int i = 0; i < size / 2; i++) {
-            assertNotNull(map.get(i));
-        }
+        // these entries should mostly exist in map after evicting LFU.
+        assertMostlyNotEvicted(map, size / 2);
     }
 
     @Test
@@ -529,10 +527,62 @@ public class EvictionTest extends HazelcastTestSupport {
         }
         assertOpenEventually(latch, 120);
         assertFalse("No eviction!?!?!?", map.size() == size);
-        // these entries should exist in map after evicting LFU.
+        // these entries should mostly exist in map after evicting LFU.
+        assertMostlyNotEvicted(map, size / 2);
+    }
+
+    @Test
+    public void testEvictionLFU_whenEvictedBySampling() {
+        final String mapName = "testEvictionLFU_whenEvictedBySampling_" + randomString();
+        final int size = 10000;
+
+        Config cfg = getConfig();
+        cfg.setProperty(GroupProperty.PARTITION_COUNT, "1");
+        MapConfig mc = cfg.getMapConfig(mapName);
+        mc.setEvictionPolicy(EvictionPolicy.LFU);
+        // a small eviction percentage, so the entries are evicted in many small runs
+        mc.setEvictionPercentage(1);
+        mc.setMinEvictionCheckMillis(0);
+        MaxSizeConfig msc = new MaxSizeConfig();
+        msc.setMaxSizePolicy(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+        msc.setSize(size);
+        mc.setMaxSizeConfig(msc);
+
+        HazelcastInstance node = createHazelcastInstance(cfg);
+        IMap<Object, Object> map = node.getMap(mapName);
+        final CountDownLatch latch = new CountDownLatch(size / 100);
+        map.addLocalEntryListener(new EntryAdapter<Object, Object>() {
+            @Override
+            public void entryEvicted(EntryEvent<Object, Object> event) {
+                latch.countDown();
+            }
+        });
+        // these are frequently used entries.
         for (int i = 0; i < size / 2; i++) {
-            assertNotNull(map.get(i));
+            map.put(i, i);
+            map.get(i);
+        }
+        // expecting these entries to be evicted.
+        for (int i = size / 2; i < size + 1; i++) {
+            map.put(i, i);
+        }
+        assertOpenEventually(latch, 120);
+        assertFalse("No eviction!?!?!?", map.size() == size + 1);
+        assertMostlyNotEvicted(map, size / 2);
+    }
+
+    /**
+     * Eviction is based on sampling; so once in a while a sample consists of frequently used entries only and one of
+     * them is evicted. Asserts that this happens to less than one percent of the entries.
+     */
+    private static void assertMostlyNotEvicted(IMap<Object, Object> map, int entryCount) {
+        int evictedCount = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (map.get(i) == null) {
+                evictedCount++;
+            }
         }
+        assertTrue("Too many frequently used entries are evicted: " + evictedCount, evictedCount < entryCount / 100);
     }
 
     @Test
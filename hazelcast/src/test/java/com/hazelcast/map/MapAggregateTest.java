@@ -0,0 +1,179 @@
+package com.hazelcast.map;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapAggregateTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.getMapConfig("indexed*").addMapIndexConfig(new MapIndexConfig("age", true));
+        config.getMapConfig("object*").setInMemoryFormat(InMemoryFormat.OBJECT);
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenAggregatorNull() {
+        instance.getMap(randomName()).aggregate(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenPredicateNull() {
+        instance.getMap(randomName()).aggregate(Aggregators.count(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPagingPredicate() {
+        instance.getMap(randomName()).aggregate(Aggregators.count(), new PagingPredicate(10));
+    }
+
+    @Test
+    public void whenMapEmpty() {
+        IMap<Integer, Person> map = instance.getMap(randomName());
+
+        assertEquals(Long.valueOf(0), map.aggregate(Aggregators.count()));
+        assertNull(map.aggregate(Aggregators.longAvg("age")));
+    }
+
+    @Test
+    public void withoutPredicate() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        assertAggregatesAllEntries(map);
+    }
+
+    @Test
+    public void withoutPredicate_objectFormat() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap("object" + randomName()));
+
+        assertAggregatesAllEntries(map);
+    }
+
+    @Test
+    public void withPredicate() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        assertAggregatesMatchingEntries(map);
+    }
+
+    @Test
+    public void withPredicate_indexed() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap("indexed" + randomName()));
+
+        assertAggregatesMatchingEntries(map);
+    }
+
+    @Test
+    public void entryValues() {
+        IMap<Integer, Integer> map = instance.getMap(randomName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        Set<Integer> distinct = map.aggregate(Aggregators.<Integer>distinct(), new SqlPredicate("this < 10"));
+
+        assertEquals(10, distinct.size());
+        assertEquals(Integer.valueOf(ENTRY_COUNT - 1), map.aggregate(Aggregators.<Integer>comparableMax()));
+    }
+
+    @Test
+    public void customAggregator() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        long keySum = map.aggregate(new KeySumAggregator());
+
+        assertEquals((long) ENTRY_COUNT * (ENTRY_COUNT - 1) / 2, keySum);
+    }
+
+    private static void assertAggregatesAllEntries(IMap<Integer, Person> map) {
+        assertEquals(Long.valueOf(ENTRY_COUNT), map.aggregate(Aggregators.count()));
+        assertEquals(Long.valueOf(ENTRY_COUNT * (ENTRY_COUNT - 1) / 2), map.aggregate(Aggregators.longSum("age")));
+        assertEquals(Long.valueOf(0), map.aggregate(Aggregators.longMin("age")));
+        assertEquals(Long.valueOf(ENTRY_COUNT - 1), map.aggregate(Aggregators.longMax("age")));
+        assertEquals((ENTRY_COUNT - 1) / 2.0, map.aggregate(Aggregators.longAvg("age")), 0.0001);
+    }
+
+    private static void assertAggregatesMatchingEntries(IMap<Integer, Person> map) {
+        Predicate predicate = new SqlPredicate("age >= 100 and age < 200");
+
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.count(), predicate));
+        assertEquals(Long.valueOf(14950), map.aggregate(Aggregators.longSum("age"), predicate));
+        assertEquals(149.5, map.aggregate(Aggregators.doubleAvg("age"), predicate), 0.0001);
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.longMin("age"), predicate));
+        assertEquals(Long.valueOf(199), map.aggregate(Aggregators.longMax("age"), predicate));
+    }
+
+    private static IMap<Integer, Person> populate(IMap<Integer, Person> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i));
+        }
+        return map;
+    }
+
+    private static class KeySumAggregator extends Aggregator<Map.Entry<Integer, Person>, Long> {
+
+        private long sum;
+
+        @Override
+        public void accumulate(Map.Entry<Integer, Person> entry) {
+            sum += entry.getKey();
+        }
+
+        @Override
+        public void combine(Aggregator aggregator) {
+            sum += ((KeySumAggregator) aggregator).sum;
+        }
+
+        @Override
+        public Long aggregate() {
+            return sum;
+        }
+    }
+
+    public static class Person implements Serializable {
+
+        private final int age;
+
+        Person(int age) {
+            this.age = age;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapPartitionIteratorTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testIterator_returnsAllEntries_whenKeysAreFetched() {
+        testIteratorReturnsAllEntries(createMap(getConfig()), false);
+    }
+
+    @Test
+    public void testIterator_returnsAllEntries_whenValuesArePrefetched() {
+        testIteratorReturnsAllEntries(createMap(getConfig()), true);
+    }
+
+    @Test
+    public void testIterator_returnsAllEntries_withNativeInMemoryFormat() {
+        Config config = getConfig();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(NativeMemoryConfig.MemoryAllocatorType.STANDARD)
+                .setSize(new MemorySize(64, MemoryUnit.MEGABYTES));
+        config.getMapConfig("native*").setInMemoryFormat(InMemoryFormat.NATIVE);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        MapProxyImpl<Integer, String> map = (MapProxyImpl<Integer, String>) instance.<Integer, String>getMap("native");
+
+        testIteratorReturnsAllEntries(map, false);
+        testIteratorReturnsAllEntries(map, true);
+    }
+
+    @Test
+    public void testIterator_onEmptyPartition() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.iterator(10, 0, false);
+
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testNext_whenExhausted() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+
+        map.iterator(10, 0, true).next();
+    }
+
+    @Test
+    public void testIterator_skipsRemovedEntries_whenKeysAreFetched() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+        int partitionId = fillMap(map);
+        assertTrue(count(map.iterator(ENTRY_COUNT, partitionId, false)) > 1);
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.iterator(ENTRY_COUNT, partitionId, false);
+        // fetches the keys of the whole partition and retrieves the value of the first entry
+        assertTrue(iterator.hasNext());
+        map.clear();
+
+        assertEquals(1, count(iterator));
+    }
+
+    @Test
+    public void testRemove() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+        int partitionId = fillMap(map);
+        int size = map.size();
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.iterator(10, partitionId, false);
+        Map.Entry<Integer, String> entry = iterator.next();
+        iterator.remove();
+
+        assertNull(map.get(entry.getKey()));
+        assertEquals(size - 1, map.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRemove_withoutNext() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+        int partitionId = fillMap(map);
+
+        map.iterator(10, partitionId, false).remove();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIterator_withInvalidPartitionId() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+
+        map.iterator(10, -1, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIterator_withInvalidFetchSize() {
+        MapProxyImpl<Integer, String> map = createMap(getConfig());
+
+        map.iterator(0, 0, false);
+    }
+
+    private MapProxyImpl<Integer, String> createMap(Config config) {
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        IMap<Integer, String> map = instances[0].getMap(randomMapName());
+        return (MapProxyImpl<Integer, String>) map;
+    }
+
+    /**
+     * Fills the map and returns the id of a partition which contains entries.
+     */
+    private static int fillMap(IMap<Integer, String> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+        return ((MapProxyImpl) map).getNodeEngine().getPartitionService().getPartitionId(0);
+    }
+
+    private static int count(Iterator<?> iterator) {
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    private static void testIteratorReturnsAllEntries(MapProxyImpl<Integer, String> map, boolean prefetchValues) {
+        fillMap(map);
+        int partitionCount = map.getNodeEngine().getPartitionService().getPartitionCount();
+
+        Map<Integer, String> entries = new HashMap<Integer, String>();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            Iterator<Map.Entry<Integer, String>> iterator = map.iterator(1, partitionId, prefetchValues);
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, String> entry = iterator.next();
+                assertNull("Entry returned twice: " + entry, entries.put(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        assertEquals(ENTRY_COUNT, entries.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, entries.get(i));
+        }
+    }
+}
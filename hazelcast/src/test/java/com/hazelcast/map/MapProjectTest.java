@@ -0,0 +1,165 @@
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapProjectTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.getMapConfig("indexed*").addMapIndexConfig(new MapIndexConfig("age", true));
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenProjectionNull() {
+        instance.getMap(randomName()).project(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenPredicateNull() {
+        instance.getMap(randomName()).project(Projections.singleAttribute("age"), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPagingPredicate() {
+        instance.getMap(randomName()).project(Projections.singleAttribute("age"), new PagingPredicate(10));
+    }
+
+    @Test
+    public void whenMapEmpty() {
+        IMap<Integer, Person> map = instance.getMap(randomName());
+
+        assertTrue(map.project(Projections.singleAttribute("age")).isEmpty());
+    }
+
+    @Test
+    public void singleAttribute() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        Collection<Integer> ages = map.project(Projections.<Integer>singleAttribute("age"));
+
+        assertEquals(ENTRY_COUNT, ages.size());
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<Integer>(ages));
+    }
+
+    @Test
+    public void singleAttribute_withPredicate() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        Collection<String> names = map.project(Projections.<String>singleAttribute("name"), new SqlPredicate("age < 3"));
+
+        assertEquals(new HashSet<String>(asList("name0", "name1", "name2")), new HashSet<String>(names));
+    }
+
+    @Test
+    public void multiAttribute_withIndexedPredicate() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap("indexed" + randomName()));
+
+        Collection<Object[]> rows = map.project(Projections.multiAttribute("__key", "name", "tags[any]"),
+                new SqlPredicate("age = 42"));
+
+        assertEquals(1, rows.size());
+        Object[] row = rows.iterator().next();
+        assertEquals(42, row[0]);
+        assertEquals("name42", row[1]);
+        assertEquals(asList("even", "42"), row[2]);
+    }
+
+    @Test
+    public void nullAttribute() {
+        IMap<Integer, Person> map = instance.getMap(randomName());
+        map.put(1, new Person(1, null));
+
+        Collection<String> names = map.project(Projections.<String>singleAttribute("name"));
+
+        assertEquals(1, names.size());
+        assertEquals(null, names.iterator().next());
+    }
+
+    @Test
+    public void customProjection() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        Collection<Integer> keys = map.project(new KeyProjection(), new SqlPredicate("age >= 90"));
+
+        assertEquals(10, keys.size());
+    }
+
+    private static IMap<Integer, Person> populate(IMap<Integer, Person> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i, "name" + i));
+        }
+        return map;
+    }
+
+    private static class KeyProjection extends Projection<Map.Entry<Integer, Person>, Integer> {
+        @Override
+        public Integer transform(Map.Entry<Integer, Person> entry) {
+            return entry.getKey();
+        }
+    }
+
+    public static class Person implements Serializable {
+
+        private final int age;
+        private final String name;
+
+        Person(int age, String name) {
+            this.age = age;
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String[] getTags() {
+            return new String[]{age % 2 == 0 ? "even" : "odd", String.valueOf(age)};
+        }
+    }
+}
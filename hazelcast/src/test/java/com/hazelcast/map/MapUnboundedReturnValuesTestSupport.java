@@ -8,6 +8,7 @@ import com.hazelcast.core.TransactionalMap;
 import com.hazelcast.instance.GroupProperty;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.query.QueryResultSizeLimiter;
+import com.hazelcast.projection.Projections;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.TruePredicate;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -279,6 +280,13 @@ abstract class MapUnboundedReturnValuesTestSupport extends HazelcastTestSupport
         } catch (QueryResultSizeExceededException e) {
             checkException(e);
         }
+
+        try {
+            map.project(Projections.singleAttribute("__key"));
+            failExpectedException("IMap.project()");
+        } catch (QueryResultSizeExceededException e) {
+            checkException(e);
+        }
     }
 
     /**
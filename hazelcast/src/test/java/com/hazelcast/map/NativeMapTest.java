@@ -0,0 +1,282 @@
+package com.hazelcast.map;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.NativeMemoryConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.memory.MemorySize;
+import com.hazelcast.memory.MemoryStats;
+import com.hazelcast.memory.MemoryUnit;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED;
+import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.STANDARD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeMapTest extends HazelcastTestSupport {
+
+    private static final String MAP_NAME = "native";
+
+    @Test
+    public void basicOperations() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+
+        assertNull(map.put(1, "a"));
+        assertEquals("a", map.put(1, "b"));
+        assertNull(map.putIfAbsent(2, "c"));
+        assertEquals("c", map.putIfAbsent(2, "d"));
+        assertTrue(map.replace(2, "c", "e"));
+        assertEquals("b", map.get(1));
+        assertEquals("e", map.get(2));
+        assertTrue(map.containsKey(1));
+        assertTrue(map.containsValue("e"));
+        assertEquals(2, map.size());
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void nativeMemoryIsUsed() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(STANDARD));
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+        long usedBefore = getMemoryStats(instance).getUsedNativeMemory();
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+
+        assertTrue(getMemoryStats(instance).getUsedNativeMemory() > usedBefore);
+        assertTrue(map.getLocalMapStats().getOwnedEntryMemoryCost() > 0);
+
+        map.destroy();
+        assertEquals(usedBefore, getMemoryStats(instance).getUsedNativeMemory());
+    }
+
+    @Test
+    public void clear_whenManyEntries_thenAllRemovedAndMemoryFreed() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(STANDARD));
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+        long usedBefore = getMemoryStats(instance).getUsedNativeMemory();
+
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, "value" + i);
+        }
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(usedBefore, getMemoryStats(instance).getUsedNativeMemory());
+    }
+
+    @Test
+    public void evictAll_whenManyEntries_thenAllRemovedAndMemoryFreed() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, String> map = instance.getMap(MAP_NAME);
+        long usedBefore = getMemoryStats(instance).getUsedNativeMemory();
+
+        for (int i = 0; i < 5000; i++) {
+            map.put(i, "value" + i);
+        }
+        map.evictAll();
+
+        assertEquals(0, map.size());
+        assertEquals(usedBefore, getMemoryStats(instance).getUsedNativeMemory());
+    }
+
+    @Test
+    public void query() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Person> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Person(i));
+        }
+
+        Collection<Person> values = map.values(new SqlPredicate("age >= 90"));
+        Set<Integer> keys = map.keySet(new SqlPredicate("age < 10"));
+
+        assertEquals(10, values.size());
+        assertEquals(10, keys.size());
+        for (Person person : values) {
+            assertTrue(person.getAge() >= 90);
+        }
+    }
+
+    @Test
+    public void aggregate() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Person> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Person(i));
+        }
+
+        assertEquals(Long.valueOf(100), map.aggregate(Aggregators.count()));
+        assertEquals(Long.valueOf(945), map.aggregate(Aggregators.longSum("age"), new SqlPredicate("age >= 90")));
+    }
+
+    @Test
+    public void query_withIndex() {
+        Config config = newConfig(POOLED);
+        config.getMapConfig(MAP_NAME).addMapIndexConfig(new MapIndexConfig("age", true));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Person> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, new Person(i));
+        }
+        map.remove(95);
+
+        Collection<Person> values = map.values(new SqlPredicate("age >= 90"));
+
+        assertEquals(9, values.size());
+    }
+
+    @Test
+    public void query_withPagingPredicate() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        PagingPredicate predicate = new PagingPredicate(10);
+        predicate.nextPage();
+        Set<Integer> keys = map.keySet(predicate);
+
+        Set<Integer> expected = new HashSet<Integer>();
+        for (int i = 10; i < 20; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, keys);
+    }
+
+    @Test
+    public void entryProcessor() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        map.executeOnEntries(new IncrementingEntryProcessor());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void expiration() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        final IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+
+        map.put(1, 1, 1, TimeUnit.SECONDS);
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNull(map.get(1));
+                assertEquals(0, map.size());
+            }
+        });
+    }
+
+    @Test
+    public void entryView() {
+        HazelcastInstance instance = createHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Integer> map = instance.getMap(MAP_NAME);
+
+        map.put(1, 1);
+        map.put(1, 2);
+        map.get(1);
+
+        assertEquals(2, (int) map.getEntryView(1).getValue());
+        assertEquals(1, map.getEntryView(1).getVersion());
+        assertFalse(map.getEntryView(1).getHits() == 0);
+    }
+
+    @Test
+    public void dataSurvivesMemberShutdown() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(newConfig(POOLED));
+        HazelcastInstance instance2 = factory.newHazelcastInstance(newConfig(POOLED));
+        IMap<Integer, Integer> map = instance1.getMap(MAP_NAME);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        instance1.shutdown();
+
+        IMap<Integer, Integer> map2 = instance2.getMap(MAP_NAME);
+        assertEquals(1000, map2.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, (int) map2.get(i));
+        }
+    }
+
+    private static MemoryStats getMemoryStats(HazelcastInstance instance) {
+        return getNode(instance).getNodeExtension().getMemoryStats();
+    }
+
+    private static Config newConfig(NativeMemoryConfig.MemoryAllocatorType allocatorType) {
+        Config config = new Config();
+        config.getNativeMemoryConfig()
+                .setEnabled(true)
+                .setAllocatorType(allocatorType)
+                .setSize(new MemorySize(64, MemoryUnit.MEGABYTES));
+        MapConfig mapConfig = config.getMapConfig(MAP_NAME);
+        mapConfig.setInMemoryFormat(InMemoryFormat.NATIVE);
+        mapConfig.setStatisticsEnabled(true);
+        return config;
+    }
+
+    private static class IncrementingEntryProcessor extends AbstractEntryProcessor<Integer, Integer> {
+        @Override
+        public Object process(Map.Entry<Integer, Integer> entry) {
+            entry.setValue(entry.getValue() + 1);
+            return null;
+        }
+    }
+
+    public static class Person implements Serializable {
+
+        private final int age;
+
+        Person(int age) {
+            this.age = age;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EntryListenerConfig;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapIndexConfig;
+import com.hazelcast.config.QueryCacheConfig;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.TruePredicate;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class QueryCacheTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private TestHazelcastInstanceFactory factory;
+    private Config config;
+    private HazelcastInstance instance;
+
+    @Before
+    public void setup() {
+        config = new Config();
+        factory = createHazelcastInstanceFactory(3);
+        instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void whenPredicateNull() {
+        getQueryCache(instance.getMap(randomName()), null, true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenPagingPredicate() {
+        getQueryCache(instance.getMap(randomName()), new PagingPredicate(10), true);
+    }
+
+    @Test
+    public void populatedOnCreation() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age >= 90"), true);
+
+        assertEquals(10, cache.size());
+        assertEquals(new Person(95), cache.get(95));
+        assertNull(cache.get(5));
+        assertTrue(cache.containsValue(new Person(99)));
+    }
+
+    @Test
+    public void sameNameReturnsSameQueryCache() {
+        IMap<Integer, Person> map = instance.getMap(randomName());
+
+        QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+
+        assertSame(cache, getQueryCache(map, new SqlPredicate("age > 1"), false));
+    }
+
+    @Test
+    public void followsUpdates() {
+        final IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        final QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age >= 90"), true);
+
+        map.put(1000, new Person(1000));
+        map.put(95, new Person(5));
+        map.remove(99);
+        map.put(5, new Person(91));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(new HashSet<Integer>(asList(90, 91, 92, 93, 94, 96, 97, 98, 1000, 5)), cache.keySet());
+                assertEquals(new Person(91), cache.get(5));
+            }
+        });
+    }
+
+    @Test
+    public void followsClear() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+        assertEquals(ENTRY_COUNT, cache.size());
+
+        map.clear();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(cache.isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void followsEvictAll() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+        map.lock(1);
+
+        map.evictAll();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, cache.size());
+                assertTrue(cache.containsKey(1));
+            }
+        });
+    }
+
+    @Test
+    public void queryWithIndex() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age >= 50"), true);
+
+        cache.addIndex("age", true);
+
+        assertEquals(new HashSet<Integer>(asList(50, 51, 52)), cache.keySet(new SqlPredicate("age < 53")));
+        assertEquals(3, cache.values(new SqlPredicate("age between 60 and 62")).size());
+        assertEquals(1, cache.entrySet(new SqlPredicate("age = 77")).size());
+    }
+
+    @Test
+    public void withoutValues() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+
+        QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age < 10"), false);
+
+        assertEquals(10, cache.size());
+        assertTrue(cache.containsKey(3));
+        assertNull(cache.get(3));
+    }
+
+    @Test
+    public void entryListener() {
+        IMap<Integer, Person> map = instance.getMap(randomName());
+        QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age > 10"), true);
+        final CountDownLatch latch = new CountDownLatch(1);
+        cache.addEntryListener(new EntryAddedListener<Integer, Person>() {
+            @Override
+            public void entryAdded(EntryEvent<Integer, Person> event) {
+                if (event.getKey() == 2 && event.getValue().age == 20) {
+                    latch.countDown();
+                }
+            }
+        }, true);
+
+        map.put(1, new Person(1));
+        map.put(2, new Person(20));
+
+        assertOpenEventually(latch);
+    }
+
+    @Test
+    public void queryCacheConfig() {
+        String mapName = randomName();
+        final CountDownLatch latch = new CountDownLatch(1);
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache")
+                .setPopulate(false)
+                .setBatchSize(10)
+                .addIndexConfig(new MapIndexConfig("age", false))
+                .addEntryListenerConfig(new EntryListenerConfig(new EntryAddedListener() {
+                    @Override
+                    public void entryAdded(EntryEvent event) {
+                        latch.countDown();
+                    }
+                }, false, false));
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        HazelcastInstance configured = factory.newHazelcastInstance(config);
+        IMap<Integer, Person> map = populate(configured.<Integer, Person>getMap(mapName));
+
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+        assertTrue(cache.isEmpty());
+
+        map.put(1000, new Person(1000));
+
+        assertOpenEventually(latch);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(1, cache.keySet(new SqlPredicate("age = 1000")).size());
+            }
+        });
+    }
+
+    @Test
+    public void tryRecover() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        QueryCache<Integer, Person> cache = getQueryCache(map, new SqlPredicate("age >= 90"), true);
+
+        assertTrue(cache.tryRecover());
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void destroy() {
+        IMap<Integer, Person> map = populate(instance.<Integer, Person>getMap(randomName()));
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+
+        cache.destroy();
+        map.put(1000, new Person(1000));
+
+        assertTrueAllTheTime(new AssertTask() {
+            @Override
+            public void run() {
+                assertTrue(cache.isEmpty());
+            }
+        }, 2);
+        assertFalse(getQueryCache(map, TruePredicate.INSTANCE, true).isEmpty());
+    }
+
+    @Test
+    public void memberLeaves() {
+        HazelcastInstance leaving = factory.newHazelcastInstance(config);
+        String mapName = randomName();
+        populate(leaving.<Integer, Person>getMap(mapName));
+        final IMap<Integer, Person> map = instance.getMap(mapName);
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+
+        leaving.getLifecycleService().terminate();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i + ENTRY_COUNT));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(ENTRY_COUNT, cache.size());
+                assertEquals(ENTRY_COUNT, cache.values(new SqlPredicate("age >= " + ENTRY_COUNT)).size());
+            }
+        });
+    }
+
+    @Test
+    public void queryCacheConfig_eviction() {
+        String mapName = randomName();
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache")
+                .setEvictionConfig(new EvictionConfig(10, EvictionConfig.MaxSizePolicy.ENTRY_COUNT, EvictionPolicy.LRU));
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        HazelcastInstance configured = factory.newHazelcastInstance(config);
+        IMap<Integer, Person> map = populate(configured.<Integer, Person>getMap(mapName));
+
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+        assertEquals(10, cache.size());
+
+        map.put(1000, new Person(1000));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(new Person(1000), cache.get(1000));
+            }
+        });
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void queryCacheConfig_objectInMemoryFormat() {
+        String mapName = randomName();
+        config.getMapConfig(mapName).addQueryCacheConfig(new QueryCacheConfig("cache")
+                .setInMemoryFormat(InMemoryFormat.OBJECT));
+        HazelcastInstance configured = factory.newHazelcastInstance(config);
+        IMap<Integer, Person> map = populate(configured.<Integer, Person>getMap(mapName));
+
+        QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+
+        assertEquals(new Person(95), cache.get(95));
+        assertSame(cache.get(95), cache.get(95));
+    }
+
+    @Test
+    public void queryCacheConfig_delayAndCoalesce() {
+        String mapName = randomName();
+        QueryCacheConfig queryCacheConfig = new QueryCacheConfig("cache")
+                .setBatchSize(100)
+                .setBufferSize(100)
+                .setDelaySeconds(2);
+        queryCacheConfig.setCoalesce(true);
+        config.getMapConfig(mapName).addQueryCacheConfig(queryCacheConfig);
+        HazelcastInstance configured = factory.newHazelcastInstance(config);
+        IMap<Integer, Person> map = configured.getMap(mapName);
+        final QueryCache<Integer, Person> cache = getQueryCache(map, TruePredicate.INSTANCE, true);
+        final AtomicInteger eventCount = new AtomicInteger();
+        cache.addEntryListener(new CountingListener(eventCount), false);
+
+        for (int i = 0; i < 10; i++) {
+            map.put(1, new Person(i));
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() {
+                assertEquals(new Person(9), cache.get(1));
+            }
+        });
+        // the buffered events of the key are coalesced into a single addition
+        assertEquals(1, eventCount.get());
+    }
+
+    private static <K, V> QueryCache<K, V> getQueryCache(IMap<K, V> map, Predicate<K, V> predicate, boolean includeValue) {
+        return map.getQueryCache("cache", predicate, includeValue);
+    }
+
+    private static IMap<Integer, Person> populate(IMap<Integer, Person> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i));
+        }
+        return map;
+    }
+
+    private static class CountingListener implements EntryAddedListener, EntryUpdatedListener {
+
+        private final AtomicInteger count;
+
+        CountingListener(AtomicInteger count) {
+            this.count = count;
+        }
+
+        @Override
+        public void entryAdded(EntryEvent event) {
+            count.incrementAndGet();
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent event) {
+            count.incrementAndGet();
+        }
+    }
+
+    private static class Person implements Serializable {
+
+        private int age;
+
+        Person(int age) {
+            this.age = age;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Person && ((Person) o).age == age;
+        }
+
+        @Override
+        public int hashCode() {
+            return age;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl;
 
 import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.NativeMemoryConfig;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +26,8 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import static com.hazelcast.map.impl.MapConfigValidator.checkInMemoryFormat;
+import static com.hazelcast.map.impl.MapConfigValidator.checkMapInMemoryFormat;
+import static com.hazelcast.map.impl.MapConfigValidator.checkReadBackupData;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelTest.class})
@@ -47,4 +50,34 @@ public class MapConfigValidatorTest {
     public void test_checkInMemoryFormat_BINARY() throws Exception {
         checkInMemoryFormat(InMemoryFormat.BINARY);
     }
-}
\ No newline at end of file
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_checkMapInMemoryFormat_NATIVE_whenNativeMemoryDisabled() throws Exception {
+        checkMapInMemoryFormat(InMemoryFormat.NATIVE, new NativeMemoryConfig());
+    }
+
+    @Test
+    public void test_checkMapInMemoryFormat_NATIVE_whenNativeMemoryEnabled() throws Exception {
+        checkMapInMemoryFormat(InMemoryFormat.NATIVE, new NativeMemoryConfig().setEnabled(true));
+    }
+
+    @Test
+    public void test_checkMapInMemoryFormat_BINARY_whenNativeMemoryDisabled() throws Exception {
+        checkMapInMemoryFormat(InMemoryFormat.BINARY, new NativeMemoryConfig());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_checkReadBackupData_NATIVE_whenEnabled() throws Exception {
+        checkReadBackupData(InMemoryFormat.NATIVE, true);
+    }
+
+    @Test
+    public void test_checkReadBackupData_NATIVE_whenDisabled() throws Exception {
+        checkReadBackupData(InMemoryFormat.NATIVE, false);
+    }
+
+    @Test
+    public void test_checkReadBackupData_BINARY_whenEnabled() throws Exception {
+        checkReadBackupData(InMemoryFormat.BINARY, true);
+    }
+}
@@ -0,0 +1,222 @@
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperty;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.partition.InternalPartitionService;
+import com.hazelcast.spi.PartitionReplicationEvent;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapReplicaDigestsTest extends HazelcastTestSupport {
+
+    private static final int SEGMENT_COUNT = 64;
+
+    private HazelcastInstance owner;
+    private HazelcastInstance backup;
+    private IMap<String, String> map;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.PARTITION_COUNT.getName(), "11");
+        config.setProperty(GroupProperty.PARTITION_BACKUP_SYNC_INTERVAL.getName(), "1");
+
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        owner = instances[0];
+        backup = instances[1];
+        map = owner.getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, "value" + i);
+        }
+        waitAllForSafeState(instances);
+    }
+
+    @Test
+    public void whenReplicaInSync_thenDigestsEqual() throws Exception {
+        int partitionId = getPartitionId(owner, generateKeyOwnedBy(owner));
+
+        long[] ownerDigests = getReplicaDigests(owner, partitionId);
+        long[] backupDigests = getReplicaDigests(backup, partitionId);
+
+        assertArrayEquals(ownerDigests, backupDigests);
+    }
+
+    @Test
+    public void whenBackupVersionDiffers_thenDigestsDiffer() throws Exception {
+        String key = generateKeyOwnedBy(owner);
+        map.put(key, "value");
+        waitAllForSafeState(owner, backup);
+
+        int partitionId = getPartitionId(owner, key);
+        final Record record = getBackupRecord(partitionId, key);
+        runOnPartitionThread(backup, partitionId, new Runnable() {
+            @Override
+            public void run() {
+                record.setVersion(record.getVersion() + 1);
+            }
+        });
+
+        assertFalse(Arrays.equals(getReplicaDigests(owner, partitionId), getReplicaDigests(backup, partitionId)));
+    }
+
+    @Test
+    public void whenBackupTtlDiffers_thenDigestsDiffer() throws Exception {
+        String key = generateKeyOwnedBy(owner);
+        map.put(key, "value", 1, TimeUnit.HOURS);
+        waitAllForSafeState(owner, backup);
+
+        int partitionId = getPartitionId(owner, key);
+        final Record record = getBackupRecord(partitionId, key);
+        runOnPartitionThread(backup, partitionId, new Runnable() {
+            @Override
+            public void run() {
+                record.setTtl(TimeUnit.HOURS.toMillis(2));
+            }
+        });
+
+        assertFalse(Arrays.equals(getReplicaDigests(owner, partitionId), getReplicaDigests(backup, partitionId)));
+    }
+
+    @Test
+    public void whenReplicaInSync_thenNoReplicationOperation() throws Exception {
+        int partitionId = getPartitionId(owner, generateKeyOwnedBy(owner));
+        long[] backupDigests = getReplicaDigests(backup, partitionId);
+
+        PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, 1);
+        assertNull(getMapService(owner).prepareReplicationOperation(event, backupDigests));
+    }
+
+    @Test
+    public void whenDigestDiffers_thenReplicationOperationCreated() throws Exception {
+        int partitionId = getPartitionId(owner, generateKeyOwnedBy(owner));
+        long[] backupDigests = getReplicaDigests(backup, partitionId);
+        backupDigests[0]++;
+
+        PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, 1);
+        assertNotNull(getMapService(owner).prepareReplicationOperation(event, backupDigests));
+    }
+
+    @Test
+    public void whenBackupOutOfSync_thenOnlyDifferingSegmentsReplaced() throws Exception {
+        String missingKey = generateKeyOwnedBy(owner);
+        final int partitionId = getPartitionId(owner, missingKey);
+        String untouchedKey = findKeyInOtherSegment(partitionId, missingKey);
+        map.put(missingKey, "missing");
+        map.put(untouchedKey, "untouched");
+        waitAllForSafeState(owner, backup);
+
+        final Data missingKeyData = getSerializationService(owner).toData(missingKey);
+        final Data untouchedKeyData = getSerializationService(owner).toData(untouchedKey);
+        final RecordStore recordStore = getMapServiceContext(backup).getRecordStore(partitionId, map.getName());
+        final AtomicReference<Record> untouchedRecord = new AtomicReference<Record>();
+
+        runOnPartitionThread(backup, partitionId, new Runnable() {
+            @Override
+            public void run() {
+                untouchedRecord.set((Record) recordStore.getStorage().get(untouchedKeyData));
+                recordStore.getStorage().removeRecord(recordStore.getStorage().get(missingKeyData));
+                // makes the owner detect that the backup replica is out of sync
+                InternalPartitionService partitionService = getNode(backup).getNodeEngine().getPartitionService();
+                partitionService.getPartitionReplicaVersions(partitionId)[0]--;
+            }
+        });
+        assertNull(recordStore.getStorage().get(missingKeyData));
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertNotNull(recordStore.getStorage().get(missingKeyData));
+            }
+        });
+        assertSame(untouchedRecord.get(), recordStore.getStorage().get(untouchedKeyData));
+    }
+
+    private Record getBackupRecord(int partitionId, String key) {
+        Data keyData = getSerializationService(backup).toData(key);
+        RecordStore recordStore = getMapServiceContext(backup).getRecordStore(partitionId, map.getName());
+        Record record = (Record) recordStore.getStorage().get(keyData);
+        assertNotNull(record);
+        return record;
+    }
+
+    private String findKeyInOtherSegment(int partitionId, String key) {
+        int segment = MapReplicaDigests.getSegment(getSerializationService(owner).toData(key), SEGMENT_COUNT);
+        for (int i = 0; ; i++) {
+            String candidate = "candidate" + i;
+            Data candidateData = getSerializationService(owner).toData(candidate);
+            if (getPartitionId(owner, candidate) == partitionId
+                    && MapReplicaDigests.getSegment(candidateData, SEGMENT_COUNT) != segment) {
+                return candidate;
+            }
+        }
+    }
+
+    private long[] getReplicaDigests(HazelcastInstance instance, final int partitionId) throws Exception {
+        final AtomicReference<long[]> digests = new AtomicReference<long[]>();
+        final MapService mapService = getMapService(instance);
+        runOnPartitionThread(instance, partitionId, new Runnable() {
+            @Override
+            public void run() {
+                PartitionReplicationEvent event = new PartitionReplicationEvent(partitionId, 1);
+                digests.set(mapService.getReplicaDigests(event, SEGMENT_COUNT));
+            }
+        });
+        assertNotNull(digests.get());
+        return digests.get();
+    }
+
+    private static void runOnPartitionThread(HazelcastInstance instance, final int partitionId, final Runnable task)
+            throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        getNode(instance).getNodeEngine().getOperationService().execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return partitionId;
+            }
+
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    latch.countDown();
+                }
+            }
+        });
+        assertOpenEventually(latch);
+    }
+
+    private static MapService getMapService(HazelcastInstance instance) {
+        return getNode(instance).getNodeEngine().getService(MapService.SERVICE_NAME);
+    }
+
+    private static MapServiceContext getMapServiceContext(HazelcastInstance instance) {
+        return getMapService(instance).getMapServiceContext();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.eviction;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.SampleableStorage;
+import com.hazelcast.map.impl.recordstore.Storage;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingBasedEvictionStrategy.SAMPLE_COUNT;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class EvictorImplTest {
+
+    private static final int RECORD_STORE_SIZE = 1000;
+
+    private MapConfig mapConfig;
+    private RecordStore recordStore;
+    private SampleableStorage storage;
+    private EvictorImpl evictor;
+
+    @Before
+    public void setUp() {
+        // only the eviction policy is set; the eviction percentage is the default one
+        mapConfig = new MapConfig("default").setEvictionPolicy(EvictionPolicy.LRU);
+
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.getMapConfig()).thenReturn(mapConfig);
+
+        storage = (SampleableStorage) mock(Storage.class, withSettings().extraInterfaces(SampleableStorage.class));
+        doReturn(Collections.<EvictionCandidate<Data, Evictable>>emptyList()).when(storage).getRandomSamples(SAMPLE_COUNT);
+
+        recordStore = mock(RecordStore.class);
+        when(recordStore.getMapContainer()).thenReturn(mapContainer);
+        when(recordStore.getStorage()).thenReturn((Storage) storage);
+        when(recordStore.size()).thenReturn(RECORD_STORE_SIZE);
+
+        MapServiceContext mapServiceContext = mock(MapServiceContext.class, RETURNS_DEEP_STUBS);
+        evictor = new EvictorImpl(mock(EvictionChecker.class), mapServiceContext);
+    }
+
+    @Test
+    public void removeSize_whenDefaultEvictionPercentage_thenEvictedBySampling() {
+        int removalSize = RECORD_STORE_SIZE * mapConfig.getEvictionPercentage() / EvictorImpl.ONE_HUNDRED_PERCENT;
+
+        evictor.removeSize(removalSize, recordStore);
+
+        verify(storage, times(removalSize)).getRandomSamples(SAMPLE_COUNT);
+        verify(recordStore, never()).iterator();
+    }
+}
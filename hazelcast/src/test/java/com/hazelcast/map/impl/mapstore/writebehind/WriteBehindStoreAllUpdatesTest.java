@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.mapstore.writebehind;
 
 import com.hazelcast.core.IMap;
+import com.hazelcast.core.MapStoreAdapter;
 import com.hazelcast.test.AssertTask;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -26,6 +27,13 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -69,4 +77,72 @@ public class WriteBehindStoreAllUpdatesTest extends HazelcastTestSupport {
             }
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAllUpdatesStoredInOrder_usingBatchStore() throws Exception {
+        final int keyCount = 100;
+        final int updateCount = 3;
+        final UpdateHistoryMapStore mapStore = new UpdateHistoryMapStore();
+        TestMapUsingMapStoreBuilder<Integer, Integer> builder = TestMapUsingMapStoreBuilder.<Integer, Integer>create()
+                .withMapStore(mapStore)
+                .withNodeCount(1)
+                .withNodeFactory(createHazelcastInstanceFactory(1))
+                .withPartitionCount(1)
+                .withWriteCoalescing(false)
+                .withWriteDelaySeconds(1);
+        IMap<Integer, Integer> map = builder.build();
+
+        for (int update = 0; update < updateCount; update++) {
+            for (int key = 0; key < keyCount; key++) {
+                map.put(key, update);
+            }
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (int key = 0; key < keyCount; key++) {
+                    List<Integer> history = mapStore.getHistory(key);
+                    assertEquals("History of key " + key, updateCount, history.size());
+                    for (int update = 0; update < updateCount; update++) {
+                        assertEquals(Integer.valueOf(update), history.get(update));
+                    }
+                }
+            }
+        });
+        assertEquals(0, mapStore.singleStoreCount.get());
+    }
+
+    private static class UpdateHistoryMapStore extends MapStoreAdapter<Integer, Integer> {
+
+        private final ConcurrentMap<Integer, List<Integer>> histories = new ConcurrentHashMap<Integer, List<Integer>>();
+        private final AtomicInteger singleStoreCount = new AtomicInteger();
+
+        @Override
+        public void store(Integer key, Integer value) {
+            singleStoreCount.incrementAndGet();
+            addToHistory(key, value);
+        }
+
+        @Override
+        public void storeAll(Map<Integer, Integer> map) {
+            for (Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                addToHistory(entry.getKey(), entry.getValue());
+            }
+        }
+
+        private synchronized void addToHistory(Integer key, Integer value) {
+            List<Integer> history = histories.get(key);
+            if (history == null) {
+                history = new ArrayList<Integer>();
+                histories.put(key, history);
+            }
+            history.add(value);
+        }
+
+        synchronized List<Integer> getHistory(Integer key) {
+            List<Integer> history = histories.get(key);
+            return history == null ? new ArrayList<Integer>() : new ArrayList<Integer>(history);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.hazelcast.map.impl.nearcache;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NearCacheRecordHashMapTest extends HazelcastTestSupport {
+
+    private NearCacheRecordHashMap<Integer> map = new NearCacheRecordHashMap<Integer>(16);
+
+    @Test
+    public void evict_whenLRU_thenLeastRecentlyAccessedRecordEvicted() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, new NearCacheRecord(i, i));
+        }
+        sleepAtLeastMillis(10);
+        for (int i = 0; i < 10; i++) {
+            if (i != 4) {
+                map.get(i).access();
+            }
+        }
+
+        assertEquals(1, map.evict(1, EvictionPolicy.LRU, null));
+
+        assertEquals(9, map.size());
+        assertFalse(map.containsKey(4));
+    }
+
+    @Test
+    public void evict_whenLFU_thenLeastFrequentlyAccessedRecordEvicted() {
+        for (int i = 0; i < 10; i++) {
+            NearCacheRecord record = new NearCacheRecord(i, i);
+            for (int hit = 0; hit < i + 1; hit++) {
+                record.access();
+            }
+            map.put(i, record);
+        }
+
+        assertEquals(2, map.evict(2, EvictionPolicy.LFU, null));
+
+        assertEquals(8, map.size());
+        assertFalse(map.containsKey(0));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    public void evict_whenRandom_thenRecordsEvicted() {
+        for (int i = 0; i < 10; i++) {
+            map.put(i, new NearCacheRecord(i, i));
+        }
+
+        assertEquals(3, map.evict(3, EvictionPolicy.RANDOM, null));
+
+        assertEquals(7, map.size());
+    }
+
+    @Test
+    public void evict_whenMoreThanSize_thenAllEvicted() {
+        for (int i = 0; i < 5; i++) {
+            map.put(i, new NearCacheRecord(i, i));
+        }
+
+        assertEquals(5, map.evict(10, EvictionPolicy.LRU, null));
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void evict_notifiesListener() {
+        NearCacheRecord record = new NearCacheRecord(1, 1);
+        map.put(1, record);
+        final List<NearCacheRecord> evicted = Collections.synchronizedList(new ArrayList<NearCacheRecord>());
+
+        map.evict(1, EvictionPolicy.LFU, new EvictionListener<Integer, NearCacheRecord>() {
+            @Override
+            public void onEvict(Integer key, NearCacheRecord evictedRecord) {
+                evicted.add(evictedRecord);
+            }
+        });
+
+        assertEquals(1, evicted.size());
+        assertSame(record, evicted.get(0));
+    }
+
+    @Test
+    public void evictCandidates_whenRecordReplaced_thenNotEvicted() {
+        map.put(1, new NearCacheRecord(1, 1));
+        List<NearCacheRecordHashMap<Integer>.EvictableSamplingEntry> candidates
+                = new ArrayList<NearCacheRecordHashMap<Integer>.EvictableSamplingEntry>();
+        for (NearCacheRecordHashMap<Integer>.EvictableSamplingEntry candidate : map.sample(1)) {
+            candidates.add(candidate);
+        }
+        NearCacheRecord replacement = new NearCacheRecord(1, 2);
+        map.put(1, replacement);
+
+        assertEquals(0, map.evict(candidates, null));
+
+        assertSame(replacement, map.get(1));
+    }
+}
@@ -0,0 +1,127 @@
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperty;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.SqlPredicate;
+import com.hazelcast.query.impl.predicates.RuleBasedQueryOptimizer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.EmptyStatement;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.util.IterationType.ENTRY;
+import static com.hazelcast.util.IterationType.KEY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class MapQueryEngineImpl_queryLocalPartitions_parallelTest extends HazelcastTestSupport {
+
+    private static final int PARTITION_COUNT = 271;
+
+    private HazelcastInstance hz;
+    private MapQueryEngineImpl queryEngine;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setProperty(GroupProperty.PARTITION_COUNT, "" + PARTITION_COUNT);
+        config.setProperty(GroupProperty.QUERY_PREDICATE_PARALLEL_EVALUATION, "true");
+
+        hz = createHazelcastInstance(config);
+
+        MapService mapService = getNodeEngineImpl(hz).getService(MapService.SERVICE_NAME);
+        queryEngine = new MapQueryEngineImpl(mapService.getMapServiceContext(), new RuleBasedQueryOptimizer());
+    }
+
+    @Test
+    public void whenFullTableScan_thenAllMatchesReturned() throws Exception {
+        IMap<Integer, Integer> map = fillMap(1000);
+
+        QueryResult result = queryEngine.queryLocalPartitions(map.getName(), new SqlPredicate("this >= 500"), KEY);
+
+        Set<Integer> keys = new HashSet<Integer>();
+        for (QueryResultRow row : result) {
+            Integer key = getSerializationService(hz).toObject(row.getKey());
+            assertTrue("Unexpected key " + key, key >= 500);
+            keys.add(key);
+        }
+        assertEquals(500, keys.size());
+        assertEquals(PARTITION_COUNT, result.getPartitionIds().size());
+    }
+
+    @Test
+    public void whenPagingPredicate_thenOnlyRequestedPagesReturned() throws Exception {
+        IMap<Integer, Integer> map = fillMap(1000);
+        PagingPredicate predicate = new PagingPredicate(10);
+        predicate.setIterationType(ENTRY);
+        predicate.nextPage();
+
+        QueryResult result = queryEngine.queryLocalPartitions(map.getName(), predicate, ENTRY);
+
+        // the first two pages are returned, the requested one is taken out of them by the caller
+        assertEquals(20, result.size());
+        Set<Integer> values = new HashSet<Integer>();
+        for (QueryResultRow row : result) {
+            values.add((Integer) getSerializationService(hz).toObject(row.getValue()));
+        }
+        for (int i = 0; i < 20; i++) {
+            assertTrue("Missing value " + i, values.contains(i));
+        }
+    }
+
+    @Test
+    public void partitionScan_handsOutEachPartitionOnce() {
+        Set<Integer> partitions = new HashSet<Integer>();
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+            partitions.add(i);
+        }
+        PartitionScan scan = new PartitionScan(partitions, Long.MAX_VALUE);
+
+        Set<Integer> scanned = new HashSet<Integer>();
+        int partitionId;
+        while ((partitionId = scan.nextPartition()) != PartitionScan.NO_PARTITION) {
+            assertTrue("Partition handed out twice: " + partitionId, scanned.add(partitionId));
+        }
+        assertEquals(partitions, scanned);
+    }
+
+    @Test
+    public void partitionScan_whenResultLimitExceeded_thenNoPartitionHandedOut() {
+        Set<Integer> partitions = new HashSet<Integer>();
+        partitions.add(0);
+        partitions.add(1);
+        PartitionScan scan = new PartitionScan(partitions, 5);
+
+        scan.nextPartition();
+        try {
+            scan.addMatches(6);
+        } catch (QueryResultSizeExceededException expected) {
+            EmptyStatement.ignore(expected);
+        }
+
+        assertEquals(PartitionScan.NO_PARTITION, scan.nextPartition());
+    }
+
+    private IMap<Integer, Integer> fillMap(int count) {
+        IMap<Integer, Integer> map = hz.getMap(randomMapName());
+        for (int i = 0; i < count; i++) {
+            map.put(i, i);
+        }
+        return map;
+    }
+}
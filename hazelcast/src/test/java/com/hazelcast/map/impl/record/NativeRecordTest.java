@@ -0,0 +1,124 @@
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.NativeMemoryStats;
+import com.hazelcast.internal.memory.StandardMemoryAllocator;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeRecordTest {
+
+    private SerializationService serializationService;
+    private NativeMemoryStats memoryStats;
+    private MemoryAllocator allocator;
+    private NativeRecordFactory recordFactory;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        memoryStats = new NativeMemoryStats(1 << 20);
+        allocator = new StandardMemoryAllocator(memoryStats);
+        recordFactory = new NativeRecordFactory(new MapConfig().setStatisticsEnabled(true), serializationService, null);
+    }
+
+    @Test
+    public void attach_movesStateOffHeap() {
+        Data key = serializationService.toData("key");
+        NativeRecord record = newRecord("value");
+        record.setTtl(10);
+        record.setVersion(3);
+        record.getStatistics().setHits(7);
+
+        long address = record.attach(key, allocator);
+
+        assertNotEquals(NULL_ADDRESS, address);
+        assertEquals(record.getCost(), memoryStats.getUsedNativeMemory());
+        NativeRecord flyweight = new NativeRecord(address, allocator, true);
+        assertEquals(key, flyweight.getKey());
+        assertEquals(serializationService.toData("value"), flyweight.getValue());
+        assertEquals(10, flyweight.getTtl());
+        assertEquals(3, flyweight.getVersion());
+        assertEquals(7, flyweight.getStatistics().getHits());
+    }
+
+    @Test
+    public void setValue_whenAttached() {
+        NativeRecord record = newRecord("value");
+        record.attach(serializationService.toData("key"), allocator);
+
+        recordFactory.setValue(record, "a much longer value than before");
+
+        assertEquals(serializationService.toData("a much longer value than before"), record.getValue());
+        assertEquals(record.getCost(), memoryStats.getUsedNativeMemory());
+    }
+
+    @Test
+    public void detach_copiesStateToHeapAndFrees() {
+        Data key = serializationService.toData("key");
+        NativeRecord record = newRecord("value");
+        record.setCreationTime(100);
+        record.attach(key, allocator);
+        record.onAccess();
+        record.onUpdate();
+
+        record.detach();
+
+        assertEquals(0, memoryStats.getUsedNativeMemory());
+        assertEquals(key, record.getKey());
+        assertEquals(serializationService.toData("value"), record.getValue());
+        assertEquals(100, record.getCreationTime());
+        assertEquals(1, record.getVersion());
+        assertEquals(1, record.getStatistics().getHits());
+    }
+
+    @Test
+    public void getValue_returnsHeapCopy() {
+        NativeRecord record = newRecord("value");
+        record.attach(serializationService.toData("key"), allocator);
+
+        assertNotSame(record.getValue(), record.getValue());
+        assertEquals(record.getValue(), record.getValue());
+    }
+
+    @Test
+    public void getStatistics_whenStatisticsDisabled() {
+        NativeRecordFactory factory = new NativeRecordFactory(new MapConfig().setStatisticsEnabled(false),
+                serializationService, null);
+        Record<Data> record = factory.newRecord("value");
+
+        assertSame(RecordStatistics.EMPTY_STATS, record.getStatistics());
+    }
+
+    @Test
+    public void buildRecordInfo_snapshotsStatistics() {
+        NativeRecord record = newRecord("value");
+        record.attach(serializationService.toData("key"), allocator);
+        record.getStatistics().setHits(5);
+
+        RecordInfo info = Records.buildRecordInfo(record);
+        record.getStatistics().setHits(6);
+
+        assertEquals(5, info.getStatistics().getHits());
+    }
+
+    private NativeRecord newRecord(Object value) {
+        return (NativeRecord) recordFactory.newRecord(value);
+    }
+}
@@ -0,0 +1,227 @@
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.memory.NativeMemoryStats;
+import com.hazelcast.internal.memory.StandardMemoryAllocator;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.NativeRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static com.hazelcast.util.HashUtil.MurmurHash3_fmix;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NativeStorageTest {
+
+    private SerializationService serializationService;
+    private NativeMemoryStats memoryStats;
+    private NativeRecordFactory recordFactory;
+    private NativeStorage storage;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        memoryStats = new NativeMemoryStats(1 << 26);
+        recordFactory = new NativeRecordFactory(new MapConfig(), serializationService, null);
+        storage = new NativeStorage(recordFactory, new StandardMemoryAllocator(memoryStats));
+    }
+
+    @After
+    public void tearDown() {
+        storage.clear();
+        storage.destroy();
+    }
+
+    @Test
+    public void put_get() {
+        put(1, "value");
+
+        Record record = storage.get(toData(1));
+        assertEquals(toData(1), record.getKey());
+        assertEquals(toData("value"), record.getValue());
+        assertTrue(storage.containsKey(toData(1)));
+        assertFalse(storage.containsKey(toData(2)));
+        assertNull(storage.get(toData(2)));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void put_whenKeyExists_thenReplaced() {
+        put(1, "value1");
+        put(1, "value2");
+
+        assertEquals(1, storage.size());
+        assertEquals(toData("value2"), storage.get(toData(1)).getValue());
+        assertEquals(storage.getSizeEstimator().getSize(), costOfRecords());
+    }
+
+    @Test
+    public void put_manyEntries_thenResized() {
+        int count = NativeStorage.INITIAL_CAPACITY * 10;
+        for (int i = 0; i < count; i++) {
+            put(i, "value" + i);
+        }
+
+        assertEquals(count, storage.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(toData("value" + i), storage.get(toData(i)).getValue());
+        }
+    }
+
+    @Test
+    public void removeRecord() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            put(i, "value" + i);
+        }
+        for (int i = 0; i < count; i += 2) {
+            Record record = storage.get(toData(i));
+            storage.removeRecord(record);
+            // the removed record is still usable
+            assertEquals(toData("value" + i), record.getValue());
+        }
+
+        assertEquals(count / 2, storage.size());
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(toData(i)));
+        }
+        assertEquals(storage.getSizeEstimator().getSize(), costOfRecords());
+    }
+
+    @Test
+    public void updateRecordValue() {
+        put(1, "value1");
+        Record record = storage.get(toData(1));
+
+        storage.updateRecordValue(toData(1), record, "value2");
+
+        assertEquals(toData("value2"), storage.get(toData(1)).getValue());
+        assertEquals(storage.getSizeEstimator().getSize(), costOfRecords());
+    }
+
+    @Test
+    public void values() {
+        Set<Data> expected = new HashSet<Data>();
+        for (int i = 0; i < 100; i++) {
+            put(i, "value" + i);
+            expected.add(toData(i));
+        }
+
+        Set<Data> found = new HashSet<Data>();
+        for (Record record : storage.values()) {
+            found.add(record.getKey());
+        }
+
+        assertEquals(expected, found);
+        assertEquals(100, storage.values().size());
+    }
+
+    @Test
+    public void values_whenRemovingWhileIterating() {
+        for (int i = 0; i < 100; i++) {
+            put(i, "value" + i);
+        }
+
+        Iterator<Record> iterator = storage.values().iterator();
+        while (iterator.hasNext()) {
+            storage.removeRecord(iterator.next());
+        }
+
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    public void values_whenRemovingWhileIterating_andProbeSequenceWraps() {
+        // keys with the last slot as home slot occupy the last and the first slots of the table
+        List<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; keys.size() < 3; i++) {
+            if ((MurmurHash3_fmix(toData(i).hashCode()) & (NativeStorage.INITIAL_CAPACITY - 1))
+                    == NativeStorage.INITIAL_CAPACITY - 1) {
+                keys.add(i);
+                put(i, "value" + i);
+            }
+        }
+
+        Set<Data> found = new HashSet<Data>();
+        Iterator<Record> iterator = storage.values().iterator();
+        while (iterator.hasNext()) {
+            Record record = iterator.next();
+            found.add(record.getKey());
+            storage.removeRecord(record);
+        }
+
+        assertEquals(keys.size(), found.size());
+        assertEquals(0, storage.size());
+    }
+
+    @Test
+    public void values_whenRemovingByIterator_thenRecordsFreed() {
+        int count = NativeStorage.INITIAL_CAPACITY * 4;
+        for (int i = 0; i < count; i++) {
+            put(i, "value" + i);
+        }
+
+        Iterator<Record> iterator = storage.values().iterator();
+        int visited = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            visited++;
+        }
+
+        assertEquals(count, visited);
+        assertEquals(0, storage.size());
+        assertEquals(0, storage.getSizeEstimator().getSize());
+        assertEquals(0, memoryStats.getUsedNativeMemory());
+    }
+
+    @Test
+    public void clear_freesMemory() {
+        for (int i = 0; i < 100; i++) {
+            put(i, "value" + i);
+        }
+
+        storage.clear();
+
+        assertEquals(0, storage.size());
+        assertEquals(0, storage.getSizeEstimator().getSize());
+        assertEquals(0, memoryStats.getUsedNativeMemory());
+        assertNull(storage.get(toData(1)));
+    }
+
+    private void put(Object key, Object value) {
+        storage.put(toData(key), recordFactory.newRecord(value));
+    }
+
+    private Data toData(Object object) {
+        return serializationService.toData(object);
+    }
+
+    private long costOfRecords() {
+        long cost = 0;
+        for (Record record : storage.values()) {
+            cost += record.getCost();
+        }
+        return cost;
+    }
+}
@@ -0,0 +1,121 @@
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.eviction.EvictionCandidate;
+import com.hazelcast.internal.eviction.EvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.Evictable;
+import com.hazelcast.internal.eviction.impl.evaluator.LFUEvictionPolicyEvaluator;
+import com.hazelcast.internal.eviction.impl.evaluator.LRUEvictionPolicyEvaluator;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.impl.record.AbstractRecord;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class StorageSCHMTest {
+
+    private SerializationService serializationService;
+    private DataRecordFactory recordFactory;
+    private StorageSCHM<Record> map;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        // without statistics the access hit of a record is its eviction criteria number
+        recordFactory = new DataRecordFactory(new MapConfig().setStatisticsEnabled(false), serializationService, null);
+        map = new StorageSCHM<Record>(100);
+    }
+
+    @Test
+    public void sample_returnsEvictionCandidatesOfRecords() {
+        for (int i = 0; i < 100; i++) {
+            put(i, i);
+        }
+
+        Set<Data> sampledKeys = new HashSet<Data>();
+        for (StorageSCHM<Record>.EvictableSamplingEntry entry : map.sample(15)) {
+            Record record = map.get(entry.getAccessor());
+            assertEquals(record.getKey(), entry.getAccessor());
+            assertEquals(record.getLastAccessTime(), entry.getEvictable().getAccessTime());
+            assertEquals(record.getEvictionCriteriaNumber(), entry.getEvictable().getAccessHit());
+            assertTrue(sampledKeys.add(entry.getAccessor()));
+        }
+        assertEquals(15, sampledKeys.size());
+    }
+
+    @Test
+    public void sample_whenStatisticsEnabled_thenAccessHitIsHitCount() {
+        recordFactory = new DataRecordFactory(new MapConfig().setStatisticsEnabled(true), serializationService, null);
+        put(1, 20);
+        Record record = map.get(toData(1));
+        record.onAccess();
+        record.onAccess();
+
+        for (StorageSCHM<Record>.EvictableSamplingEntry entry : map.sample(15)) {
+            assertEquals(2, entry.getAccessHit());
+        }
+    }
+
+    @Test
+    public void sample_whenEmpty_thenNoSamples() {
+        assertFalse(map.sample(15).iterator().hasNext());
+    }
+
+    @Test
+    public void sample_whenEvaluatedByLRU_thenLeastRecentlyAccessedSelected() {
+        put(1, 20);
+        put(2, 10);
+        put(3, 30);
+
+        assertEquals(toData(2), evaluate(new LRUEvictionPolicyEvaluator<Data, Evictable>()));
+    }
+
+    @Test
+    public void sample_whenEvaluatedByLFU_thenLowestEvictionCriteriaNumberSelected() {
+        put(1, 5);
+        put(2, 7);
+        put(3, 1);
+
+        assertEquals(toData(3), evaluate(new LFUEvictionPolicyEvaluator<Data, Evictable>()));
+    }
+
+    private Data evaluate(EvictionPolicyEvaluator<Data, Evictable> evaluator) {
+        Iterable<StorageSCHM<Record>.EvictableSamplingEntry> samples = map.sample(15);
+        Iterator<StorageSCHM<Record>.EvictableSamplingEntry> selected = evaluator.evaluate(samples).iterator();
+        EvictionCandidate<Data, Evictable> candidate = selected.next();
+        assertFalse(selected.hasNext());
+        return candidate.getAccessor();
+    }
+
+    private void put(int key, long accessValue) {
+        Data keyData = toData(key);
+        Record record = recordFactory.newRecord(key);
+        ((AbstractRecord) record).setKey(keyData);
+        record.setCreationTime(1);
+        record.setLastAccessTime(accessValue);
+        record.setEvictionCriteriaNumber(accessValue);
+        map.put(keyData, record);
+    }
+
+    private Data toData(Object o) {
+        return serializationService.toData(o);
+    }
+}
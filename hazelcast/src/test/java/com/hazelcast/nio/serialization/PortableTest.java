@@ -19,8 +19,10 @@ package com.hazelcast.nio.serialization;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.config.SerializerConfig;
 import com.hazelcast.internal.serialization.PortableContext;
+import com.hazelcast.internal.serialization.PortableFieldAccessor;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.BufferObjectDataInput;
 import com.hazelcast.test.HazelcastSerialClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Test;
@@ -32,6 +34,8 @@ import java.nio.ByteOrder;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -349,6 +353,31 @@ public class PortableTest {
 
     }
 
+    @Test
+    public void testFieldAccessor_readsNestedField() throws IOException {
+        SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+        PortableContext portableContext = serializationService.getPortableContext();
+
+        ChildPortableObject child = new ChildPortableObject(System.nanoTime());
+        ParentPortableObject parent = new ParentPortableObject(System.currentTimeMillis(), child);
+        GrandParentPortableObject grandParent = new GrandParentPortableObject(System.nanoTime(), parent);
+
+        Data data = serializationService.toData(grandParent);
+        ClassDefinition classDefinition = portableContext.lookupClassDefinition(data);
+
+        PortableFieldAccessor accessor = portableContext.getFieldAccessor(classDefinition, "child.child.timestamp");
+        assertSame(accessor, portableContext.getFieldAccessor(classDefinition, "child.child.timestamp"));
+        assertEquals(FieldType.LONG, accessor.getFieldDefinition().getType());
+        assertNull(portableContext.getFieldAccessor(classDefinition, "child.child.unknown"));
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(data);
+        assertEquals(grandParent.getFactoryId(), in.readInt());
+        assertEquals(grandParent.getClassId(), in.readInt());
+        assertEquals(classDefinition.getVersion(), in.readInt());
+        assertTrue(accessor.moveToField(in));
+        assertEquals(child.timestamp, in.readLong());
+    }
+
     @Test
     public void testWriteRead_withNullPortableArray() {
         ClassDefinitionBuilder builder0 = new ClassDefinitionBuilder(PORTABLE_FACTORY_ID, 1);
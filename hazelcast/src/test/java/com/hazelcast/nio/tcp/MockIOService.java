@@ -180,6 +180,11 @@ public class MockIOService implements IOService {
         return 32;
     }
 
+    @Override
+    public boolean isSocketGatheringWriteEnabled() {
+        return true;
+    }
+
     @Override
     public int getSocketLingerSeconds() {
         return 0;
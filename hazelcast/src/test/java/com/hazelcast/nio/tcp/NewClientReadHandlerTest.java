@@ -1,6 +1,7 @@
 package com.hazelcast.nio.tcp;
 
 import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.util.ClientProtocolBufferPool;
 import com.hazelcast.nio.Connection;
 import com.hazelcast.nio.IOService;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -31,7 +32,7 @@ public class NewClientReadHandlerTest {
     public void setup() throws IOException {
         ioService = mock(IOService.class);
         connection = mock(Connection.class);
-        readHandler = new NewClientReadHandler(connection, ioService);
+        readHandler = new NewClientReadHandler(connection, ioService, new ClientProtocolBufferPool());
     }
 
     @Test
@@ -0,0 +1,174 @@
+package com.hazelcast.nio.tcp.nonblocking;
+
+import com.hazelcast.nio.Packet;
+import com.hazelcast.nio.tcp.SocketChannelWrapper;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class GatheringPacketWriterTest extends HazelcastTestSupport {
+
+    private ByteBuffer received;
+    private int maxBytesPerWrite;
+    private SocketChannelWrapper channel;
+
+    @Before
+    public void setup() throws Exception {
+        received = ByteBuffer.allocate(100000);
+        maxBytesPerWrite = Integer.MAX_VALUE;
+        channel = mock(SocketChannelWrapper.class);
+        when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(new Answer<Long>() {
+            @Override
+            public Long answer(InvocationOnMock invocation) throws Throwable {
+                ByteBuffer[] srcs = (ByteBuffer[]) invocation.getArguments()[0];
+                int offset = (Integer) invocation.getArguments()[1];
+                int length = (Integer) invocation.getArguments()[2];
+                long written = 0;
+                for (int k = offset; k < offset + length && written < maxBytesPerWrite; k++) {
+                    ByteBuffer src = srcs[k];
+                    while (src.hasRemaining() && written < maxBytesPerWrite) {
+                        received.put(src.get());
+                        written++;
+                    }
+                }
+                return written;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenZeroBatchSize_thenIllegalArgumentException() {
+        new GatheringPacketWriter(0, 1000);
+    }
+
+    @Test
+    public void whenEmpty_thenNothingWritten() throws Exception {
+        GatheringPacketWriter writer = new GatheringPacketWriter(10, 1000);
+
+        assertTrue(writer.isEmpty());
+        assertEquals(0, writer.write(channel));
+    }
+
+    @Test
+    public void whenBatchWritten_thenPacketsReceivedInOrder() throws Exception {
+        GatheringPacketWriter writer = new GatheringPacketWriter(10, 100000);
+        List<Packet> packets = new ArrayList<Packet>();
+        for (int k = 0; k < 5; k++) {
+            Packet packet = newPacket(k, 100 * k);
+            packets.add(packet);
+            assertTrue(writer.add(packet));
+        }
+
+        long written = writer.write(channel);
+
+        assertTrue(writer.isEmpty());
+        assertEquals(received.position(), written);
+        assertReceived(packets);
+    }
+
+    @Test
+    public void whenPartialWrites_thenRemainderWrittenLater() throws Exception {
+        GatheringPacketWriter writer = new GatheringPacketWriter(10, 100000);
+        List<Packet> packets = new ArrayList<Packet>();
+        for (int k = 0; k < 3; k++) {
+            Packet packet = newPacket(k, 1000);
+            packets.add(packet);
+            writer.add(packet);
+        }
+
+        maxBytesPerWrite = 7;
+        writer.write(channel);
+        assertFalse(writer.isEmpty());
+
+        // a packet can be added while the batch is partially written
+        Packet packet = newPacket(3, 10);
+        packets.add(packet);
+        assertTrue(writer.add(packet));
+
+        maxBytesPerWrite = 500;
+        while (!writer.isEmpty()) {
+            writer.write(channel);
+        }
+
+        assertReceived(packets);
+    }
+
+    @Test
+    public void whenMaxPacketsReached_thenAddRejected() {
+        GatheringPacketWriter writer = new GatheringPacketWriter(2, 100000);
+
+        assertTrue(writer.add(newPacket(0, 10)));
+        assertTrue(writer.add(newPacket(1, 10)));
+        assertFalse(writer.add(newPacket(2, 10)));
+    }
+
+    @Test
+    public void whenMaxBytesReached_thenAddRejected_butFirstPacketAlwaysAccepted() throws Exception {
+        GatheringPacketWriter writer = new GatheringPacketWriter(10, 100);
+
+        assertTrue(writer.add(newPacket(0, 1000)));
+        assertFalse(writer.add(newPacket(1, 10)));
+
+        writer.write(channel);
+
+        assertTrue(writer.isEmpty());
+        assertTrue(writer.add(newPacket(1, 10)));
+    }
+
+    @Test
+    public void whenPacketWithoutPayload() throws Exception {
+        GatheringPacketWriter writer = new GatheringPacketWriter(10, 1000);
+        Packet packet = new Packet(null, 5);
+
+        writer.add(packet);
+        writer.write(channel);
+
+        assertEquals(Packet.FRAME_HEADER_SIZE, received.position());
+        received.flip();
+        Packet result = new Packet();
+        assertTrue(result.readFrom(received));
+        assertEquals(5, result.getPartitionId());
+        assertEquals(0, result.totalSize());
+    }
+
+    private Packet newPacket(int partitionId, int payloadSize) {
+        byte[] payload = new byte[payloadSize];
+        for (int k = 0; k < payloadSize; k++) {
+            payload[k] = (byte) (k + partitionId);
+        }
+        Packet packet = new Packet(payload, partitionId);
+        packet.setHeader(Packet.HEADER_OP);
+        return packet;
+    }
+
+    private void assertReceived(List<Packet> packets) {
+        received.flip();
+        for (Packet packet : packets) {
+            Packet result = new Packet();
+            assertTrue(result.readFrom(received));
+            assertEquals(packet, result);
+        }
+        assertFalse(received.hasRemaining());
+    }
+}
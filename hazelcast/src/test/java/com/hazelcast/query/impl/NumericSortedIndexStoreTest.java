@@ -0,0 +1,188 @@
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.QueryConstants;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.ComparisonType.GREATER;
+import static com.hazelcast.query.impl.ComparisonType.GREATER_EQUAL;
+import static com.hazelcast.query.impl.ComparisonType.LESSER;
+import static com.hazelcast.query.impl.ComparisonType.NOT_EQUAL;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class NumericSortedIndexStoreTest {
+
+    private final SerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testIsSupported() {
+        assertTrue(NumericSortedIndexStore.isSupported(AttributeType.LONG));
+        assertTrue(NumericSortedIndexStore.isSupported(AttributeType.INTEGER));
+        assertTrue(NumericSortedIndexStore.isSupported(AttributeType.DOUBLE));
+        assertTrue(NumericSortedIndexStore.isSupported(AttributeType.DATE));
+        assertFalse(NumericSortedIndexStore.isSupported(AttributeType.STRING));
+        assertFalse(NumericSortedIndexStore.isSupported(AttributeType.SQL_TIMESTAMP));
+        assertFalse(NumericSortedIndexStore.isSupported(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstruct_whenUnsupportedType() {
+        new NumericSortedIndexStore(AttributeType.STRING);
+    }
+
+    @Test
+    public void testDoubleOrdering() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.DOUBLE);
+        double[] values = {-10.5, -1.0, -0.0, 0.0, 0.5, 3.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        for (int i = 0; i < values.length; i++) {
+            store.newIndex(values[i], entry(i, values[i]));
+        }
+
+        assertEquals(keys(0, 1, 2, 6), keysOf(store.getSubRecords(LESSER, 0.0)));
+        assertEquals(keys(4, 5, 7), keysOf(store.getSubRecords(GREATER, 0.0)));
+        assertEquals(keys(0, 1, 2, 3, 4), keysOf(store.getSubRecordsBetween(-10.5, 0.5)));
+        assertEquals(keys(3), keysOf(store.getRecords(0.0)));
+        assertEquals(7, store.getSubRecords(NOT_EQUAL, 3.0).size());
+    }
+
+    @Test
+    public void testDateOrdering() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.DATE);
+        for (int i = 0; i < 10; i++) {
+            store.newIndex(new Date(i * 1000L), entry(i, i));
+        }
+
+        assertEquals(keys(7, 8, 9), keysOf(store.getSubRecords(GREATER_EQUAL, new Date(7000))));
+    }
+
+    @Test
+    public void testManyEntriesPerValue() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.INTEGER);
+        for (int i = 0; i < 100; i++) {
+            store.newIndex(i % 3, entry(i, i % 3));
+        }
+
+        assertEquals(34, store.getRecords(0).size());
+        assertEquals(34, store.getRecordMap(0).size());
+        assertEquals(66, store.getSubRecordsBetween(1, 2).size());
+
+        for (int i = 0; i < 100; i += 3) {
+            store.removeIndex(0, ss.toData(i));
+        }
+        store.removeIndex(1, ss.toData(1));
+
+        assertEquals(0, store.getRecords(0).size());
+        assertEquals(null, store.getRecordMap(0));
+        assertEquals(32, store.getRecords(1).size());
+        assertEquals(65, store.getSubRecords(GREATER_EQUAL, 0).size());
+    }
+
+    @Test
+    public void testStatistics() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.INTEGER);
+        for (int i = 0; i < 1000; i++) {
+            store.newIndex(i % 100, entry(i, i % 100));
+        }
+        store.newIndex(null, entry(1000, null));
+
+        assertEquals(1000, store.getEntryCount());
+        assertEquals(100, store.getDistinctValueCount());
+        assertEquals(10, store.estimateRecordCount(5));
+        assertEquals(100, store.estimateSubRecordCount(LESSER, 10));
+        assertEquals(110, store.estimateSubRecordCount(GREATER_EQUAL, 89));
+        assertEquals(990, store.estimateSubRecordCount(NOT_EQUAL, 89));
+        assertEquals(210, store.estimateSubRecordsBetweenCount(10, 30));
+
+        for (int i = 0; i < 1000; i += 100) {
+            store.removeIndex(0, ss.toData(i));
+        }
+        store.updateIndex(1, 2, entry(1, 2));
+
+        assertEquals(990, store.getEntryCount());
+        assertEquals(99, store.getDistinctValueCount());
+
+        store.clear();
+
+        assertEquals(0, store.getEntryCount());
+        assertEquals(0, store.getDistinctValueCount());
+    }
+
+    @Test
+    public void testUpdateIndex() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.LONG);
+        store.newIndex(1L, entry(1, 1L));
+        store.newIndex(1L, entry(2, 1L));
+
+        store.updateIndex(1L, 2L, entry(1, 2L));
+
+        assertEquals(keys(2), keysOf(store.getRecords(1L)));
+        assertEquals(keys(1), keysOf(store.getRecords(2L)));
+    }
+
+    @Test
+    public void testNullValues() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.LONG);
+        store.newIndex(null, entry(1, null));
+        store.newIndex(5L, entry(2, 5L));
+
+        assertEquals(keys(1), keysOf(store.getRecords(IndexImpl.NULL)));
+        assertEquals(keys(2), keysOf(store.getSubRecords(GREATER, 0L)));
+        assertEquals(0, store.getSubRecords(GREATER, IndexImpl.NULL).size());
+    }
+
+    @Test
+    public void testContains() {
+        NumericSortedIndexStore store = new NumericSortedIndexStore(AttributeType.LONG);
+        QueryableEntry entry = entry(1, 5L);
+        store.newIndex(5L, entry);
+
+        Set<QueryableEntry> results = store.getSubRecords(GREATER, 0L);
+
+        assertTrue(results.contains(entry));
+        assertFalse(results.contains(entry(2, 5L)));
+    }
+
+    @Test
+    public void testIndexImpl_usesNumericStore_whenNullValuesIndexedFirst() {
+        IndexImpl index = new IndexImpl(QueryConstants.THIS_ATTRIBUTE_NAME.value(), true, ss, Extractors.empty());
+        index.saveEntryIndex(entry(1, null), null);
+        index.saveEntryIndex(entry(2, 10L), null);
+        index.saveEntryIndex(entry(3, 20L), null);
+
+        assertEquals(keys(1), keysOf(index.getRecords((Comparable) null)));
+        assertEquals(keys(2, 3), keysOf(index.getSubRecordsBetween(5, 25)));
+        assertEquals(keys(3), keysOf(index.getSubRecords(GREATER, 10)));
+    }
+
+    private QueryableEntry entry(int key, Object value) {
+        return new QueryEntry(ss, ss.toData(key), value, Extractors.empty());
+    }
+
+    private Set<Integer> keysOf(Set<QueryableEntry> entries) {
+        Set<Integer> keys = new HashSet<Integer>();
+        for (QueryableEntry entry : entries) {
+            keys.add((Integer) entry.getKey());
+        }
+        return keys;
+    }
+
+    private static Set<Integer> keys(Integer... keys) {
+        return new HashSet<Integer>(asList(keys));
+    }
+}
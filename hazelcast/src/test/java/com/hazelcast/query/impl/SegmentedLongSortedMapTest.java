@@ -0,0 +1,179 @@
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class SegmentedLongSortedMapTest {
+
+    private SegmentedLongSortedMap<String> map = new SegmentedLongSortedMap<String>(4);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstruct_whenCapacityTooSmall() {
+        new SegmentedLongSortedMap<String>(1);
+    }
+
+    @Test
+    public void testGet_whenEmpty() {
+        assertNull(map.get(1));
+        assertNull(map.remove(1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPut() {
+        assertNull(map.put(5, "5"));
+        assertEquals("5", map.put(5, "five"));
+
+        assertEquals("five", map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testPut_ascending() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals(100, map.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(String.valueOf(i), map.get(i));
+        }
+    }
+
+    @Test
+    public void testPut_descending() {
+        for (int i = 100; i > 0; i--) {
+            map.put(i, String.valueOf(i));
+        }
+
+        assertEquals(100, map.size());
+        assertEquals(range(1, 100), visitRange(Long.MIN_VALUE, true, Long.MAX_VALUE, true));
+    }
+
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            assertEquals(String.valueOf(i), map.remove(i));
+        }
+
+        assertEquals(50, map.size());
+        assertNull(map.get(0));
+        assertEquals("1", map.get(1));
+        assertNull(map.remove(0));
+    }
+
+    @Test
+    public void testClear() {
+        map.put(1, "1");
+        map.put(2, "2");
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testVisitRange() {
+        for (int i = 0; i < 20; i++) {
+            map.put(i * 10, String.valueOf(i * 10));
+        }
+
+        assertEquals(asList(30, 40, 50), visitRange(30, true, 50, true));
+        assertEquals(asList(40), visitRange(30, false, 50, false));
+        assertEquals(asList(30, 40), visitRange(25, true, 45, false));
+        assertEquals(asList(0, 10), visitRange(Long.MIN_VALUE, true, 10, true));
+        assertEquals(asList(180, 190), visitRange(170, false, Long.MAX_VALUE, true));
+        assertEquals(asList(), visitRange(50, true, 30, true));
+        assertEquals(asList(), visitRange(191, true, Long.MAX_VALUE, true));
+    }
+
+    @Test
+    public void testCountRange() {
+        for (int i = 0; i < 20; i++) {
+            map.put(i * 10, String.valueOf(i * 10));
+        }
+
+        assertEquals(3, map.countRange(30, true, 50, true));
+        assertEquals(1, map.countRange(30, false, 50, false));
+        assertEquals(2, map.countRange(25, true, 45, false));
+        assertEquals(20, map.countRange(Long.MIN_VALUE, true, Long.MAX_VALUE, true));
+        assertEquals(2, map.countRange(170, false, Long.MAX_VALUE, true));
+        assertEquals(0, map.countRange(50, true, 30, true));
+        assertEquals(0, map.countRange(191, true, Long.MAX_VALUE, true));
+    }
+
+    @Test
+    public void testRandomOperations_comparedToTreeMap() {
+        Random random = new Random(1);
+        TreeMap<Long, String> expected = new TreeMap<Long, String>();
+        for (int i = 0; i < 10000; i++) {
+            long key = random.nextInt(500) - 250;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = String.valueOf(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        List<String> values = new ArrayList<String>();
+        map.visitRange(-100, true, 100, false, collector(values));
+        assertEquals(new ArrayList<String>(expected.subMap(-100L, true, 100L, false).values()), values);
+        assertEquals(expected.subMap(-100L, true, 100L, false).size(), map.countRange(-100, true, 100, false));
+        assertEquals(expected.headMap(0L, true).size(), map.countRange(Long.MIN_VALUE, true, 0, true));
+    }
+
+    private List<String> visitRange(long from, boolean fromInclusive, long to, boolean toInclusive) {
+        List<String> values = new ArrayList<String>();
+        map.visitRange(from, fromInclusive, to, toInclusive, collector(values));
+        return values;
+    }
+
+    private static SegmentedLongSortedMap.Visitor<String> collector(final List<String> values) {
+        return new SegmentedLongSortedMap.Visitor<String>() {
+            @Override
+            public void visit(String value) {
+                values.add(value);
+            }
+        };
+    }
+
+    private static List<String> range(int from, int to) {
+        List<String> values = new ArrayList<String>();
+        for (int i = from; i <= to; i++) {
+            values.add(String.valueOf(i));
+        }
+        return values;
+    }
+
+    private static List<String> asList(int... keys) {
+        List<String> values = new ArrayList<String>();
+        for (int key : keys) {
+            values.add(String.valueOf(key));
+        }
+        return values;
+    }
+}
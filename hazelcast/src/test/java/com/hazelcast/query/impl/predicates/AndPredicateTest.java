@@ -17,7 +17,11 @@
 package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.ComparisonType;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +29,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Collections;
+import java.util.Set;
+
 import static com.hazelcast.query.Predicates.and;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createDelegatingVisitor;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
@@ -35,8 +42,13 @@ import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.arrayContainingInAnyOrder;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.empty;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -120,4 +132,24 @@ public class AndPredicateTest {
 
         assertThat(result, sameInstance(delegate));
     }
+
+    @Test
+    public void filter_whenSeveralPredicatesIndexed_thenOnlyMostSelectiveIndexQueried() {
+        Index ageIndex = mock(Index.class);
+        Index nameIndex = mock(Index.class);
+        when(ageIndex.estimateSubRecordCount(ComparisonType.GREATER, 10)).thenReturn(1000L);
+        when(nameIndex.estimateRecordCount("foo")).thenReturn(1L);
+        when(nameIndex.getRecords("foo")).thenReturn(Collections.<QueryableEntry>emptySet());
+        QueryContext queryContext = mock(QueryContext.class);
+        when(queryContext.getIndex("age")).thenReturn(ageIndex);
+        when(queryContext.getIndex("name")).thenReturn(nameIndex);
+
+        AndPredicate andPredicate = new AndPredicate(new GreaterLessPredicate("age", 10, false, false),
+                new EqualPredicate("name", "foo"));
+        Set<QueryableEntry> result = andPredicate.filter(queryContext);
+
+        assertThat(result, empty());
+        verify(nameIndex).getRecords("foo");
+        verify(ageIndex, never()).getSubRecords(any(ComparisonType.class), any(Comparable.class));
+    }
 }
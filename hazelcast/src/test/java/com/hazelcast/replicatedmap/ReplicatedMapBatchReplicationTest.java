@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2008-2016, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.replicatedmap;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.ReplicatedMapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReplicatedMap;
+import com.hazelcast.nio.Address;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.replicatedmap.impl.ReplicatedMapService;
+import com.hazelcast.replicatedmap.impl.ReplicationBatcher;
+import com.hazelcast.replicatedmap.impl.operation.ReplicatedMapUpdate;
+import com.hazelcast.replicatedmap.impl.operation.VersionResponsePair;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReplicatedMapBatchReplicationTest extends ReplicatedMapBaseTest {
+
+    @Test
+    public void testPutAndRemove_replicatedToAllMembers() {
+        String mapName = randomMapName();
+        Config config = buildConfig(mapName, 10, 100);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(3).newInstances(config);
+        final ReplicatedMap<Integer, Integer> map1 = instances[0].getReplicatedMap(mapName);
+        final ReplicatedMap<Integer, Integer> map2 = instances[1].getReplicatedMap(mapName);
+        final ReplicatedMap<Integer, Integer> map3 = instances[2].getReplicatedMap(mapName);
+
+        for (int i = 0; i < 100; i++) {
+            map1.put(i, i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            map2.remove(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (ReplicatedMap<Integer, Integer> map : new ReplicatedMap[]{map1, map2, map3}) {
+                    assertEquals(50, map.size());
+                    for (int i = 0; i < 100; i++) {
+                        if (i % 2 == 0) {
+                            assertFalse(map.containsKey(i));
+                        } else {
+                            assertEquals(Integer.valueOf(i), map.get(i));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    public void testRepeatedPutOfKey_replicatesLastValue() {
+        String mapName = randomMapName();
+        Config config = buildConfig(mapName, 100, 100);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        ReplicatedMap<String, Integer> map1 = instances[0].getReplicatedMap(mapName);
+        final ReplicatedMap<String, Integer> map2 = instances[1].getReplicatedMap(mapName);
+
+        for (int i = 0; i < 1000; i++) {
+            map1.put("key", i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(Integer.valueOf(999), map2.get("key"));
+            }
+        });
+    }
+
+    @Test
+    public void testUpdatesOfSameKey_coalesced() {
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance();
+        ReplicatedMapConfig mapConfig = new ReplicatedMapConfig(mapName)
+                .setReplicationBatchSize(100)
+                .setReplicationDelayMillis(60000);
+        ReplicationBatcher batcher = new ReplicationBatcher(getNodeEngineImpl(instance));
+        Address target = getAddress(instance);
+        Data key = getSerializationService(instance).toData("key");
+        Data otherKey = getSerializationService(instance).toData("otherKey");
+
+        batcher.replicate(target, 0, newUpdate(instance, mapName, key, 1), mapConfig);
+        batcher.replicate(target, 0, newUpdate(instance, mapName, key, 2), mapConfig);
+        batcher.replicate(target, 0, newUpdate(instance, mapName, otherKey, 3), mapConfig);
+
+        assertEquals(2, batcher.getPendingUpdateCount());
+
+        batcher.flush(target, 0);
+
+        assertEquals(0, batcher.getPendingUpdateCount());
+        assertEquals(0, batcher.getReplicationLagMillis());
+    }
+
+    @Test
+    public void testRemoveTarget_dropsPendingUpdatesOfTarget() throws Exception {
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance();
+        ReplicatedMapConfig mapConfig = new ReplicatedMapConfig(mapName)
+                .setReplicationBatchSize(100)
+                .setReplicationDelayMillis(60000);
+        ReplicationBatcher batcher = new ReplicationBatcher(getNodeEngineImpl(instance));
+        Address target = getAddress(instance);
+        Address otherTarget = new Address(target.getHost(), target.getPort() + 1);
+        Data key = getSerializationService(instance).toData("key");
+
+        batcher.replicate(target, 0, newUpdate(instance, mapName, key, 1), mapConfig);
+        batcher.replicate(target, 1, newUpdate(instance, mapName, key, 2), mapConfig);
+        batcher.replicate(otherTarget, 0, newUpdate(instance, mapName, key, 3), mapConfig);
+
+        batcher.removeTarget(target);
+
+        assertEquals(1, batcher.getPendingUpdateCount());
+    }
+
+    @Test
+    public void testMemberLeaves_pendingUpdatesForMemberDropped() {
+        String mapName = randomMapName();
+        Config config = buildConfig(mapName, 100, 60000);
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(2).newInstances(config);
+        ReplicatedMap<Integer, Integer> map = instances[0].getReplicatedMap(mapName);
+        ReplicatedMapService service = getNodeEngineImpl(instances[0]).getService(ReplicatedMapService.SERVICE_NAME);
+        final ReplicationBatcher batcher = service.getReplicationBatcher();
+
+        // the updates of the partitions owned by the first member wait in its batcher
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertTrue(batcher.getPendingUpdateCount() > 0);
+
+        instances[1].getLifecycleService().terminate();
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(0, batcher.getPendingUpdateCount());
+            }
+        });
+    }
+
+    private static ReplicatedMapUpdate newUpdate(HazelcastInstance instance, String mapName, Data key, long version) {
+        Data value = getSerializationService(instance).toData(version);
+        return new ReplicatedMapUpdate(mapName, key, value, 0, new VersionResponsePair(null, version), false,
+                getAddress(instance));
+    }
+
+    private static Config buildConfig(String mapName, int batchSize, long delayMillis) {
+        Config config = new Config();
+        config.getReplicatedMapConfig(mapName)
+                .setReplicationBatchSize(batchSize)
+                .setReplicationDelayMillis(delayMillis);
+        return config;
+    }
+}
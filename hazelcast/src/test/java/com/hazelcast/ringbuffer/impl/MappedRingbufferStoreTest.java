@@ -0,0 +1,305 @@
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.Data;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+import static com.hazelcast.nio.IOUtil.delete;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MappedRingbufferStoreTest extends HazelcastTestSupport {
+
+    // room for exactly 10 records of a serialized int: a 12 byte header and 12 bytes of data
+    private static final int SEGMENT_SIZE = 10 * 24;
+
+    private SerializationService serializationService;
+    private File directory;
+
+    @Before
+    public void setup() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        directory = new File(System.getProperty("java.io.tmpdir"), "ringbuffer-store-" + randomString());
+    }
+
+    @After
+    public void tearDown() {
+        delete(directory);
+    }
+
+    @Test
+    public void appendAndRead() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        assertTrue(store.isEmpty());
+
+        for (int i = 0; i < 25; i++) {
+            store.append(i, toData(i), i * 10);
+        }
+
+        assertEquals(0, store.headSequence());
+        assertEquals(24, store.tailSequence());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, toObject(store.read(i)));
+            assertEquals(i * 10, store.expirationMs(i));
+        }
+    }
+
+    @Test
+    public void whenReopened_thenItemsRecovered() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 25; i++) {
+            store.append(i, toData(i), 0);
+        }
+        store.close();
+
+        store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+
+        assertEquals(0, store.headSequence());
+        assertEquals(24, store.tailSequence());
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, toObject(store.read(i)));
+        }
+        store.append(25, toData(25), 0);
+        assertEquals(25, toObject(store.read(25)));
+    }
+
+    @Test
+    public void whenReopenedWithEmptySegment_thenEmptySegmentDeleted() throws Exception {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 5; i++) {
+            store.append(i, toData(i), 0);
+        }
+        store.close();
+        File emptySegment = new File(directory, String.format("%020d", 5) + ".segment");
+        RandomAccessFile raf = new RandomAccessFile(emptySegment, "rw");
+        raf.setLength(SEGMENT_SIZE);
+        raf.close();
+
+        store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+
+        assertFalse(emptySegment.exists());
+        assertEquals(0, store.headSequence());
+        assertEquals(4, store.tailSequence());
+        assertEquals(1, directory.list().length);
+    }
+
+    @Test
+    public void whenClosed_thenSegmentFilesKeptAndDeletable() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 25; i++) {
+            store.append(i, toData(i), 0);
+        }
+
+        store.close();
+
+        File[] files = directory.listFiles();
+        assertEquals(3, files.length);
+        for (File file : files) {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void defaultSegmentSize_scalesWithCapacity() {
+        assertEquals(MappedRingbufferStore.MIN_SEGMENT_SIZE, MappedRingbufferStore.defaultSegmentSize(1));
+        assertEquals(10000 * 32, MappedRingbufferStore.defaultSegmentSize(10000));
+        assertEquals(MappedRingbufferStore.MAX_SEGMENT_SIZE, MappedRingbufferStore.defaultSegmentSize(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void whenCapacityExceeded_thenOldestSegmentsDeleted() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 15, SEGMENT_SIZE);
+        for (int i = 0; i < 40; i++) {
+            store.append(i, toData(i), 0);
+        }
+
+        // the segment with the items 20-29 is retained, since only 10 items remain without it
+        assertEquals(20, store.headSequence());
+        assertEquals(39, store.tailSequence());
+        assertEquals(2, directory.list().length);
+    }
+
+    @Test
+    public void whenAllItemsOfSegmentExpired_thenSegmentDeleted() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 15; i++) {
+            store.append(i, toData(i), 100 + i);
+        }
+
+        store.truncateExpired(109);
+        assertEquals(10, store.headSequence());
+
+        store.truncateExpired(114);
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    public void whenSequenceNotContiguous_thenStoreCleared() {
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 15; i++) {
+            store.append(i, toData(i), 0);
+        }
+
+        store.append(100, toData(100), 0);
+
+        assertEquals(100, store.headSequence());
+        assertEquals(100, store.tailSequence());
+        assertEquals(1, directory.list().length);
+    }
+
+    @Test
+    public void container_readsItemsOlderThanRingFromStore() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(5);
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        RingbufferContainer ringbuffer = new RingbufferContainer("foo", config, serializationService, store);
+        for (int i = 0; i < 20; i++) {
+            ringbuffer.add(toData(i));
+        }
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(19, ringbuffer.tailSequence());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, toObject(ringbuffer.read(i)));
+        }
+
+        ReadResultSetImpl<Integer> result = new ReadResultSetImpl<Integer>(0, 20,
+                getNode(createHazelcastInstance()).hazelcastInstance, null);
+        assertEquals(20, ringbuffer.readMany(0, result));
+        assertEquals(20, result.size());
+        assertEquals(Integer.valueOf(3), result.get(3));
+    }
+
+    @Test
+    public void container_whenRecovered_thenRingFilledFromStore() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(5);
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        RingbufferContainer ringbuffer = new RingbufferContainer("foo", config, serializationService, store);
+        for (int i = 0; i < 20; i++) {
+            ringbuffer.add(toData(i));
+        }
+        store.close();
+
+        store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        ringbuffer = new RingbufferContainer("foo", config, serializationService, store);
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(19, ringbuffer.tailSequence());
+        for (int i = 15; i < 20; i++) {
+            assertEquals(toData(i), ringbuffer.ringItems[ringbuffer.toIndex(i)]);
+        }
+        assertEquals(20, ringbuffer.add(toData(20)));
+        assertEquals(2, toObject(ringbuffer.read(2)));
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void container_whenStoreTruncated_thenStaleSequence() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(5);
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 10, SEGMENT_SIZE);
+        RingbufferContainer ringbuffer = new RingbufferContainer("foo", config, serializationService, store);
+        for (int i = 0; i < 30; i++) {
+            ringbuffer.add(toData(i));
+        }
+
+        // the segment with the items 10-19 is deleted as well, since the store without it still holds 10 items
+        assertEquals(20, ringbuffer.headSequence());
+        ringbuffer.read(19);
+    }
+
+    @Test
+    public void container_whenAttachedToStoreWithPrecedingItems_thenItemsAppended() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(5);
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 17; i++) {
+            store.append(i, toData(i), 0);
+        }
+        RingbufferContainer replicated = new RingbufferContainer("foo", config, serializationService);
+        replicated.setHeadSequence(15);
+        for (int i = 15; i < 20; i++) {
+            replicated.tailSequence = i;
+            replicated.ringItems[replicated.toIndex(i)] = toData(i);
+        }
+
+        replicated.attachStore(store);
+
+        assertEquals(0, replicated.headSequence());
+        assertEquals(19, store.tailSequence());
+        assertEquals(18, toObject(store.read(18)));
+        assertEquals(3, toObject(replicated.read(3)));
+    }
+
+    @Test
+    public void container_whenAttachedToUnrelatedStore_thenStoreCleared() {
+        RingbufferConfig config = new RingbufferConfig("foo").setCapacity(5);
+        MappedRingbufferStore store = new MappedRingbufferStore(directory, 100, SEGMENT_SIZE);
+        for (int i = 0; i < 10; i++) {
+            store.append(i, toData(i), 0);
+        }
+        RingbufferContainer replicated = new RingbufferContainer("foo", config, serializationService);
+        replicated.setHeadSequence(15);
+        for (int i = 15; i < 20; i++) {
+            replicated.tailSequence = i;
+            replicated.ringItems[replicated.toIndex(i)] = toData(i);
+        }
+
+        replicated.attachStore(store);
+
+        assertEquals(15, replicated.headSequence());
+        assertEquals(15, store.headSequence());
+        assertEquals(19, store.tailSequence());
+        assertFalse(store.isEmpty());
+    }
+
+    @Test
+    public void ringbuffer_whenMemberRestarted_thenItemsRecovered() throws Exception {
+        Config config = new Config();
+        config.getRingbufferConfig("foo").setCapacity(10).setStoreDirectory(directory.getPath());
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance hz = factory.newHazelcastInstance(config);
+        Ringbuffer<Integer> ringbuffer = hz.getRingbuffer("foo");
+        for (int i = 0; i < 50; i++) {
+            ringbuffer.add(i);
+        }
+        assertEquals(Integer.valueOf(3), ringbuffer.readOne(3));
+        hz.shutdown();
+
+        hz = factory.newHazelcastInstance(config);
+        ringbuffer = hz.getRingbuffer("foo");
+
+        assertEquals(0, ringbuffer.headSequence());
+        assertEquals(49, ringbuffer.tailSequence());
+        ReadResultSet<Integer> result = ringbuffer.readManyAsync(0, 1, 50, null).get();
+        assertEquals(50, result.readCount());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), result.get(i));
+        }
+    }
+
+    private Data toData(Object item) {
+        return serializationService.toData(item);
+    }
+
+    private Object toObject(Data item) {
+        return serializationService.toObject(item);
+    }
+}
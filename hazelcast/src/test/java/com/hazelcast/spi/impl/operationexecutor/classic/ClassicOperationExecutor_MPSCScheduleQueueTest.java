@@ -0,0 +1,54 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.instance.GroupProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link ClassicOperationExecutorTest} with partition operation threads using the {@link MPSCScheduleQueue}.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClassicOperationExecutor_MPSCScheduleQueueTest extends ClassicOperationExecutorTest {
+
+    @Before
+    @Override
+    public void setup() throws Exception {
+        super.setup();
+        config.setProperty(GroupProperty.PARTITION_OPERATION_QUEUE_TYPE, "mpsc");
+    }
+
+    @Test
+    public void test_partitionThreadsUseMPSCScheduleQueue() {
+        initExecutor();
+
+        OperationThread thread = (OperationThread) executor.getPartitionOperationRunners()[0].currentThread();
+        assertTrue(thread.scheduleQueue instanceof MPSCScheduleQueue);
+    }
+
+    @Test
+    public void test_busySpinIdleStrategy() {
+        config.setProperty(GroupProperty.PARTITION_OPERATION_IDLE_STRATEGY, "busyspin");
+        initExecutor();
+
+        executor.execute(new DummyOperation(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_unrecognizedIdleStrategy() {
+        config.setProperty(GroupProperty.PARTITION_OPERATION_IDLE_STRATEGY, "foo");
+        initExecutor();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_unrecognizedQueueType() {
+        config.setProperty(GroupProperty.PARTITION_OPERATION_QUEUE_TYPE, "foo");
+        initExecutor();
+    }
+}
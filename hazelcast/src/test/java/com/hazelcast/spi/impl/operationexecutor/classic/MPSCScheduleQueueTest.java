@@ -0,0 +1,187 @@
+package com.hazelcast.spi.impl.operationexecutor.classic;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.util.concurrent.BackoffIdleStrategy;
+import com.hazelcast.util.concurrent.IdleStrategy;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class MPSCScheduleQueueTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 4;
+
+    private MPSCScheduleQueue queue;
+
+    @Before
+    public void setup() {
+        IdleStrategy idleStrategy = new BackoffIdleStrategy(10, 10, 1, MICROSECONDS.toNanos(100));
+        queue = new MPSCScheduleQueue(CAPACITY, 2, idleStrategy, idleStrategy);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_add_whenNull() {
+        queue.add(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_addUrgent_whenNull() {
+        queue.addUrgent(null);
+    }
+
+    @Test
+    public void test_add_whenNormal() {
+        queue.add("task");
+
+        assertEquals(0, queue.prioritySize());
+        assertEquals(1, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_add_whenPriority() {
+        queue.addUrgent("task");
+
+        assertEquals(1, queue.prioritySize());
+        assertEquals(0, queue.normalSize());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void test_take_priorityIsRetrievedFirst() throws InterruptedException {
+        queue.add("normal1");
+        queue.add("normal2");
+        queue.addUrgent("priority1");
+        queue.addUrgent("priority2");
+
+        assertEquals("priority1", queue.take());
+        assertEquals("priority2", queue.take());
+        assertEquals("normal1", queue.take());
+        assertEquals("normal2", queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void test_take_normalIsFifoAcrossBatches() throws InterruptedException {
+        queue.add("1");
+        queue.add("2");
+        queue.add("3");
+
+        assertEquals("1", queue.take());
+        // the local buffer now contains the rest of the batch
+        assertEquals(2, queue.normalSize());
+        queue.add("4");
+
+        assertEquals("2", queue.take());
+        assertEquals("3", queue.take());
+        assertEquals("4", queue.take());
+    }
+
+    @Test
+    public void test_take_blocksUntilTaskAvailable() throws Exception {
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                } catch (InterruptedException e) {
+                    taken.set(e);
+                }
+                completed.countDown();
+            }
+        };
+        consumer.start();
+
+        sleepMillis(100);
+        queue.add("task");
+
+        assertOpenEventually(completed);
+        assertEquals("task", taken.get());
+    }
+
+    @Test
+    public void test_take_whenInterrupted() throws Exception {
+        final AtomicReference<Object> taken = new AtomicReference<Object>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        Thread consumer = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    taken.set(queue.take());
+                } catch (InterruptedException e) {
+                    taken.set(e);
+                }
+                completed.countDown();
+            }
+        };
+        consumer.start();
+
+        consumer.interrupt();
+
+        assertOpenEventually(completed);
+        assertTrue(taken.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void test_add_whenFullAndCalledByConsumer() throws InterruptedException {
+        // the first take registers the calling thread as the consumer
+        queue.add("first");
+        assertEquals("first", queue.take());
+
+        for (int k = 0; k < CAPACITY; k++) {
+            queue.add("task" + k);
+        }
+        queue.add("overflow");
+
+        assertEquals(CAPACITY + 1, queue.normalSize());
+        for (int k = 0; k < CAPACITY; k++) {
+            assertEquals("task" + k, queue.take());
+        }
+        assertSame("overflow", queue.take());
+    }
+
+    @Test
+    public void test_add_whenFullAndCalledByProducer() throws Exception {
+        queue.add("first");
+        assertEquals("first", queue.take());
+
+        for (int k = 0; k < CAPACITY; k++) {
+            queue.add("task" + k);
+        }
+
+        final CountDownLatch added = new CountDownLatch(1);
+        new Thread() {
+            @Override
+            public void run() {
+                queue.add("overflow");
+                added.countDown();
+            }
+        }.start();
+
+        // the producer is waiting for space
+        assertTrue(!added.await(100, MILLISECONDS));
+
+        assertEquals("task0", queue.take());
+        assertOpenEventually(added);
+        for (int k = 1; k < CAPACITY; k++) {
+            assertEquals("task" + k, queue.take());
+        }
+        assertEquals("overflow", queue.take());
+    }
+}
@@ -0,0 +1,117 @@
+package com.hazelcast.spi.impl.operationservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ICompletableFuture;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.GroupProperty;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class BackupBatcherTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 5000;
+
+    @Test
+    public void backupsAreApplied_whenBatchingEnabled() throws Exception {
+        backupsAreApplied(new Config().setProperty(GroupProperty.OPERATION_BACKUP_BATCH_ENABLED, "true"));
+    }
+
+    @Test
+    public void backupsAreApplied_whenBatchingDisabled() throws Exception {
+        backupsAreApplied(new Config().setProperty(GroupProperty.OPERATION_BACKUP_BATCH_ENABLED, "false"));
+    }
+
+    @Test
+    public void backupsAreApplied_whenBatchSizeIsOne() throws Exception {
+        backupsAreApplied(new Config().setProperty(GroupProperty.OPERATION_BACKUP_BATCH_MAX_SIZE, "1"));
+    }
+
+    @Test
+    public void backupsAreApplied_whenMaxDelayIsZero() throws Exception {
+        backupsAreApplied(new Config().setProperty(GroupProperty.OPERATION_BACKUP_BATCH_MAX_DELAY_MICROS, "0"));
+    }
+
+    @Test
+    public void backupsAreAppliedInOrder_whenPartitionThreadCountsDiffer() throws Exception {
+        // the backups of a batch are then handled by different partition threads on the receiving member
+        Config config = new Config().setProperty(GroupProperty.PARTITION_OPERATION_THREAD_COUNT, "2");
+        Config otherConfig = new Config().setProperty(GroupProperty.PARTITION_OPERATION_THREAD_COUNT, "3");
+        backupsAreApplied(config, otherConfig);
+    }
+
+    @Test(timeout = 120000)
+    public void syncBackupsAreAcknowledged() {
+        // if a sync backup would not be acknowledged, every put would wait for the backup timeout
+        Config config = new Config().setProperty(GroupProperty.OPERATION_BACKUP_TIMEOUT_MILLIS, "600000");
+        HazelcastInstance[] instances = createHazelcastInstanceFactory(3).newInstances(config);
+        warmUpPartitions(instances);
+
+        IMap<Integer, Integer> map = instances[0].getMap(randomMapName());
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(100, map.size());
+    }
+
+    private void backupsAreApplied(Config config) throws Exception {
+        backupsAreApplied(config, config);
+    }
+
+    private void backupsAreApplied(Config config, Config otherConfig) throws Exception {
+        config.getMapConfig("default").setBackupCount(1);
+        otherConfig.getMapConfig("default").setBackupCount(1);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        final HazelcastInstance hz1 = factory.newHazelcastInstance(config);
+        final HazelcastInstance hz2 = factory.newHazelcastInstance(otherConfig);
+        warmUpPartitions(hz1, hz2);
+
+        final String mapName = randomMapName();
+        IMap<Integer, Integer> map = hz1.getMap(mapName);
+
+        // many operations in flight, so the partition threads have plenty of backups to batch
+        List<ICompletableFuture<Integer>> futures = new ArrayList<ICompletableFuture<Integer>>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            futures.add((ICompletableFuture<Integer>) map.putAsync(i, i));
+        }
+        // the removes need to be applied after the puts on the backups
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            futures.add((ICompletableFuture<Integer>) map.removeAsync(i));
+        }
+        for (ICompletableFuture<Integer> future : futures) {
+            future.get();
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                long backupEntryCount = hz1.getMap(mapName).getLocalMapStats().getBackupEntryCount()
+                        + hz2.getMap(mapName).getLocalMapStats().getBackupEntryCount();
+                assertEquals(ENTRY_COUNT / 2, backupEntryCount);
+            }
+        });
+
+        // the backups contain the current values
+        hz1.shutdown();
+        IMap<Integer, Integer> survivingMap = hz2.getMap(mapName);
+        assertEquals(ENTRY_COUNT / 2, survivingMap.size());
+        for (int i = 1; i < ENTRY_COUNT; i += 2) {
+            assertEquals(Integer.valueOf(i), survivingMap.get(i));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.ExecutionCallback;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ReliableTopicReaderTest extends HazelcastTestSupport {
+
+    private static final int CAPACITY = 100;
+
+    private HazelcastInstance hz;
+    private Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private ReliableTopicReader reader;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.getRingbufferConfig("foo").setCapacity(CAPACITY);
+        hz = createHazelcastInstance(config);
+        ringbuffer = hz.getRingbuffer(TOPIC_RB_PREFIX + "foo");
+        Executor executor = getNodeEngineImpl(hz).getExecutionService().getExecutor("reader");
+        reader = new ReliableTopicReader(ringbuffer, 10, executor, getSerializationService(hz));
+    }
+
+    @Test
+    public void whenSameSequence_thenBatchShared() throws Exception {
+        BatchCallback first = new BatchCallback();
+        BatchCallback second = new BatchCallback();
+        reader.read(0, first);
+        reader.read(0, second);
+
+        publish(1);
+
+        first.assertCompletes();
+        second.assertCompletes();
+        assertSame(first.batch, second.batch);
+        assertEquals(0, first.batch.startSequence());
+        assertEquals(1, first.batch.nextSequence());
+        assertSame(first.batch.getPayload(0), second.batch.getPayload(0));
+    }
+
+    @Test
+    public void whenSequenceInLastBatch_thenLastBatchReturned() throws Exception {
+        publish(3);
+        BatchCallback first = new BatchCallback();
+        reader.read(0, first);
+        first.assertCompletes();
+
+        BatchCallback second = new BatchCallback();
+        reader.read(2, second);
+
+        second.assertCompletes();
+        assertSame(first.batch, second.batch);
+        assertEquals("2", second.batch.getPayload(2));
+    }
+
+    @Test
+    public void whenReadFails_thenAllCallbacksNotified() throws Exception {
+        // a sequence below the head of an overwritten ringbuffer is stale
+        publish(CAPACITY + 5);
+        BatchCallback first = new BatchCallback();
+        BatchCallback second = new BatchCallback();
+        reader.read(0, first);
+        reader.read(0, second);
+
+        first.assertCompletes();
+        second.assertCompletes();
+        assertTrue(first.failure instanceof StaleSequenceException);
+        assertTrue(second.failure instanceof StaleSequenceException);
+    }
+
+    @Test
+    public void allListenersReceiveAllMessages() {
+        ITopic<Integer> topic = hz.getReliableTopic("bar");
+        final List<CollectingListener> listeners = new CopyOnWriteArrayList<CollectingListener>();
+        for (int i = 0; i < 20; i++) {
+            CollectingListener listener = new CollectingListener();
+            listeners.add(listener);
+            topic.addMessageListener(listener);
+        }
+
+        for (int i = 0; i < 500; i++) {
+            topic.publish(i);
+        }
+
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                for (CollectingListener listener : listeners) {
+                    assertEquals(500, listener.messages.size());
+                    for (int i = 0; i < 500; i++) {
+                        assertEquals(Integer.valueOf(i), listener.messages.get(i));
+                    }
+                }
+            }
+        });
+    }
+
+    private void publish(int count) {
+        for (int i = 0; i < count; i++) {
+            long sequence = ringbuffer.tailSequence() + 1;
+            ringbuffer.add(new ReliableTopicMessage(getSerializationService(hz).toData("" + sequence), null));
+        }
+    }
+
+    private static class BatchCallback implements ExecutionCallback<ReliableTopicBatch> {
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile ReliableTopicBatch batch;
+        private volatile Throwable failure;
+
+        @Override
+        public void onResponse(ReliableTopicBatch response) {
+            batch = response;
+            completed.countDown();
+        }
+
+        @Override
+        public void onFailure(Throwable t) {
+            failure = t;
+            completed.countDown();
+        }
+
+        void assertCompletes() {
+            assertOpenEventually(completed);
+        }
+    }
+
+    private static class CollectingListener implements MessageListener<Integer> {
+
+        private final List<Integer> messages = new CopyOnWriteArrayList<Integer>();
+
+        @Override
+        public void onMessage(Message<Integer> message) {
+            messages.add(message.getMessageObject());
+        }
+    }
+}
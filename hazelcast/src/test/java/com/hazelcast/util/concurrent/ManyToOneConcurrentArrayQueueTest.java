@@ -0,0 +1,151 @@
+package com.hazelcast.util.concurrent;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class ManyToOneConcurrentArrayQueueTest extends HazelcastTestSupport {
+
+    private ManyToOneConcurrentArrayQueue<String> queue;
+
+    @Before
+    public void setup() {
+        queue = new ManyToOneConcurrentArrayQueue<String>(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construction_whenZeroCapacity() {
+        new ManyToOneConcurrentArrayQueue<String>(0);
+    }
+
+    @Test
+    public void test_capacity_isRoundedToPowerOfTwo() {
+        assertEquals(8, new ManyToOneConcurrentArrayQueue<String>(5).capacity());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_offer_whenNull() {
+        queue.offer(null);
+    }
+
+    @Test
+    public void test_offer_whenFull() {
+        for (int k = 0; k < queue.capacity(); k++) {
+            assertTrue(queue.offer("item" + k));
+        }
+
+        assertFalse(queue.offer("overflow"));
+        assertEquals(queue.capacity(), queue.size());
+    }
+
+    @Test
+    public void test_poll_whenEmpty() {
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void test_poll_isFifo() {
+        queue.offer("1");
+        queue.offer("2");
+        queue.offer("3");
+
+        assertEquals("1", queue.poll());
+        assertEquals("2", queue.poll());
+        assertEquals("3", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void test_offer_afterPollOnFullQueue() {
+        for (int k = 0; k < queue.capacity(); k++) {
+            queue.offer("item" + k);
+        }
+
+        assertEquals("item0", queue.poll());
+        assertTrue(queue.offer("next"));
+    }
+
+    @Test
+    public void test_drainTo() {
+        queue.offer("1");
+        queue.offer("2");
+        queue.offer("3");
+
+        List<String> drained = new LinkedList<String>();
+        assertEquals(2, queue.drainTo(drained, 2));
+        assertEquals(asList("1", "2"), drained);
+        assertEquals(1, queue.size());
+
+        assertEquals(1, queue.drainTo(drained, 10));
+        assertEquals(asList("1", "2", "3"), drained);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void test_multipleProducers() throws Exception {
+        final int producerCount = 4;
+        final int itemsPerProducer = 10000;
+        final ManyToOneConcurrentArrayQueue<Integer> queue = new ManyToOneConcurrentArrayQueue<Integer>(128);
+        final AtomicBoolean failed = new AtomicBoolean();
+
+        Thread[] producers = new Thread[producerCount];
+        for (int k = 0; k < producerCount; k++) {
+            final int producerId = k;
+            producers[k] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < itemsPerProducer; i++) {
+                        while (!queue.offer(producerId * itemsPerProducer + i)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            };
+            producers[k].start();
+        }
+
+        // the items of a single producer should be consumed in the order they were offered
+        int[] lastSeen = new int[producerCount];
+        for (int k = 0; k < producerCount; k++) {
+            lastSeen[k] = -1;
+        }
+        int consumed = 0;
+        while (consumed < producerCount * itemsPerProducer) {
+            Integer item = queue.poll();
+            if (item == null) {
+                continue;
+            }
+            int producerId = item / itemsPerProducer;
+            int sequence = item % itemsPerProducer;
+            if (sequence != lastSeen[producerId] + 1) {
+                failed.set(true);
+            }
+            lastSeen[producerId] = sequence;
+            consumed++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertFalse(failed.get());
+        assertTrue(queue.isEmpty());
+    }
+}
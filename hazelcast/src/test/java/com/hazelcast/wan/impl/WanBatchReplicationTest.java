@@ -0,0 +1,228 @@
+package com.hazelcast.wan.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.WANQueueFullBehavior;
+import com.hazelcast.config.WanAcknowledgeType;
+import com.hazelcast.config.WanReplicationConfig;
+import com.hazelcast.config.WanReplicationRef;
+import com.hazelcast.config.WanTargetClusterConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.instance.Node;
+import com.hazelcast.map.merge.PassThroughMergePolicy;
+import com.hazelcast.monitor.LocalWanPublisherStats;
+import com.hazelcast.monitor.LocalWanStats;
+import com.hazelcast.nio.Address;
+import com.hazelcast.test.AssertTask;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.wan.ReplicationEventObject;
+import com.hazelcast.wan.WANReplicationQueueFullException;
+import com.hazelcast.wan.WanReplicationEndpoint;
+import com.hazelcast.wan.WanReplicationEvent;
+import com.hazelcast.wan.WanReplicationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelTest.class})
+public class WanBatchReplicationTest extends HazelcastTestSupport {
+
+    private static final String WAN_REPLICATION_NAME = "batchWan";
+    private static final String TARGET_GROUP_NAME = "target";
+    private static final String TARGET_GROUP_PASSWORD = "target-pass";
+
+    private TestHazelcastInstanceFactory factory;
+    private HazelcastInstance target;
+    private Address targetAddress;
+
+    @Before
+    public void setup() throws Exception {
+        factory = createHazelcastInstanceFactory(1);
+        // the target cluster is started on an address the source cluster doesn't try to join
+        targetAddress = new Address("127.0.0.1", 7701);
+        Config targetConfig = new Config();
+        targetConfig.getGroupConfig().setName(TARGET_GROUP_NAME).setPassword(TARGET_GROUP_PASSWORD);
+        target = factory.newHazelcastInstance(targetAddress, targetConfig);
+    }
+
+    @Test
+    public void mapUpdatesAndRemovesAreReplicated() {
+        HazelcastInstance source = factory.newHazelcastInstance(getSourceConfig(newTargetClusterConfig()));
+        IMap<Integer, Integer> map = source.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            map.remove(i);
+        }
+
+        final IMap<Integer, Integer> targetMap = target.getMap("map");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(90, targetMap.size());
+                for (int i = 10; i < 100; i++) {
+                    assertEquals(Integer.valueOf(i), targetMap.get(i));
+                }
+            }
+        });
+    }
+
+    @Test
+    public void whenAckOnOperationComplete_thenMapUpdatesAreReplicated() {
+        WanTargetClusterConfig targetClusterConfig = newTargetClusterConfig();
+        targetClusterConfig.setAcknowledgeType(WanAcknowledgeType.ACK_ON_OPERATION_COMPLETE);
+        HazelcastInstance source = factory.newHazelcastInstance(getSourceConfig(targetClusterConfig));
+        IMap<Integer, Integer> map = source.getMap("map");
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+
+        final IMap<Integer, Integer> targetMap = target.getMap("map");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(100, targetMap.size());
+            }
+        });
+    }
+
+    @Test
+    public void whenPaused_thenUpdatesOfSameKeyAreCoalesced() {
+        HazelcastInstance source = factory.newHazelcastInstance(getSourceConfig(newTargetClusterConfig()));
+        IMap<Integer, Integer> map = source.getMap("map");
+        WanReplicationService wanReplicationService = getNodeEngineImpl(source).getWanReplicationService();
+        // creates the publisher
+        map.put(-1, -1);
+        final LocalWanPublisherStats stats = getPublisherStats(wanReplicationService);
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(1, stats.getTotalPublishedEventCount());
+            }
+        });
+        wanReplicationService.pause(WAN_REPLICATION_NAME, TARGET_GROUP_NAME);
+
+        for (int i = 0; i < 100; i++) {
+            map.put(1, i);
+        }
+
+        assertTrue(stats.isPaused());
+        assertEquals(1, getPublisherStats(wanReplicationService).getOutboundQueueSize());
+
+        wanReplicationService.resume(WAN_REPLICATION_NAME, TARGET_GROUP_NAME);
+        final IMap<Integer, Integer> targetMap = target.getMap("map");
+        assertTrueEventually(new AssertTask() {
+            @Override
+            public void run() throws Exception {
+                assertEquals(Integer.valueOf(99), targetMap.get(1));
+                assertEquals(2, stats.getTotalPublishedEventCount());
+            }
+        });
+        assertFalse(stats.isPaused());
+        assertTrue(stats.isConnected());
+    }
+
+    @Test(expected = WANReplicationQueueFullException.class)
+    public void whenQueueFull_thenMutationsRejected() {
+        WanTargetClusterConfig targetClusterConfig = newTargetClusterConfig();
+        targetClusterConfig.setQueueCapacity(10);
+        targetClusterConfig.setQueueFullBehavior(WANQueueFullBehavior.THROW_EXCEPTION);
+        HazelcastInstance source = factory.newHazelcastInstance(getSourceConfig(targetClusterConfig));
+        IMap<Integer, Integer> map = source.getMap("map");
+        map.put(-1, -1);
+        getNodeEngineImpl(source).getWanReplicationService().pause(WAN_REPLICATION_NAME, TARGET_GROUP_NAME);
+
+        for (int i = 0; i < 11; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void whenEndpointNotBatched_thenPauseIgnoredAndEventsPublished() {
+        WanTargetClusterConfig targetClusterConfig = newTargetClusterConfig();
+        CountingEndpoint endpoint = new CountingEndpoint();
+        targetClusterConfig.setReplicationImplObject(endpoint);
+        HazelcastInstance source = factory.newHazelcastInstance(getSourceConfig(targetClusterConfig));
+        IMap<Integer, Integer> map = source.getMap("map");
+        map.put(-1, -1);
+
+        getNodeEngineImpl(source).getWanReplicationService().pause(WAN_REPLICATION_NAME, TARGET_GROUP_NAME);
+        map.put(1, 1);
+
+        assertEquals(2, endpoint.publishedEventCount.get());
+    }
+
+    private LocalWanPublisherStats getPublisherStats(WanReplicationService wanReplicationService) {
+        Map<String, LocalWanStats> stats = wanReplicationService.getStats();
+        return stats.get(WAN_REPLICATION_NAME).getLocalWanPublisherStats().get(TARGET_GROUP_NAME);
+    }
+
+    private WanTargetClusterConfig newTargetClusterConfig() {
+        WanTargetClusterConfig targetClusterConfig = new WanTargetClusterConfig();
+        targetClusterConfig.setGroupName(TARGET_GROUP_NAME);
+        targetClusterConfig.setGroupPassword(TARGET_GROUP_PASSWORD);
+        targetClusterConfig.addEndpoint(targetAddress.getHost() + ":" + targetAddress.getPort());
+        targetClusterConfig.setBatchSize(10);
+        targetClusterConfig.setBatchMaxDelayMillis(100);
+        return targetClusterConfig;
+    }
+
+    private Config getSourceConfig(WanTargetClusterConfig targetClusterConfig) {
+        WanReplicationConfig wanConfig = new WanReplicationConfig();
+        wanConfig.setName(WAN_REPLICATION_NAME);
+        wanConfig.addTargetClusterConfig(targetClusterConfig);
+
+        WanReplicationRef wanRef = new WanReplicationRef();
+        wanRef.setName(WAN_REPLICATION_NAME);
+        wanRef.setMergePolicy(PassThroughMergePolicy.class.getName());
+
+        Config config = new Config();
+        config.addWanReplicationConfig(wanConfig);
+        config.getMapConfig("default").setWanReplicationRef(wanRef);
+        return config;
+    }
+
+    private static class CountingEndpoint implements WanReplicationEndpoint {
+
+        private final AtomicInteger publishedEventCount = new AtomicInteger();
+
+        @Override
+        public void init(Node node, String groupName, String password, String... targets) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void publishReplicationEvent(String serviceName, ReplicationEventObject eventObject) {
+            publishedEventCount.incrementAndGet();
+        }
+
+        @Override
+        public void publishReplicationEventBackup(String serviceName, ReplicationEventObject eventObject) {
+        }
+
+        @Override
+        public void publishReplicationEvent(WanReplicationEvent wanReplicationEvent) {
+        }
+
+        @Override
+        public void checkWanReplicationQueues() {
+        }
+    }
+}
@@ -31,6 +31,10 @@ public class WanDataSerializerHookTest {
         IdentifiedDataSerializable mapRemove = hook.createFactory()
                 .create(WanDataSerializerHook.MAP_REPLICATION_REMOVE);
         assertTrue(mapRemove instanceof MapReplicationRemove);
+
+        IdentifiedDataSerializable batchReplication = hook.createFactory()
+                .create(WanDataSerializerHook.WAN_BATCH_REPLICATION);
+        assertTrue(batchReplication instanceof WanBatchReplicationOperation);
     }
 
     @Test(expected = IllegalArgumentException.class)